@@ -0,0 +1,41 @@
+package com.alma.alma_backend.config;
+
+import com.alma.alma_backend.logging.SqlRequestStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+@EnableConfigurationProperties(IALimitesProperties.class)
+public class IAConfig {
+
+    /**
+     * Pool acotado para las inferencias del chatbot. Con la cola llena las peticiones se
+     * rechazan (RejectedExecutionException) en lugar de acumular conexiones abiertas.
+     * Las tareas registran sus sentencias SQL en los contadores de la petición que las envía.
+     */
+    @Bean(name = "iaInferenciaExecutor", destroyMethod = "shutdownNow")
+    public ThreadPoolExecutor iaInferenciaExecutor(@Value("${ia.inferencia.hilos:4}") int hilos,
+                                                   @Value("${ia.inferencia.cola:32}") int cola) {
+        AtomicInteger contador = new AtomicInteger();
+        ThreadFactory fabrica = r -> {
+            Thread hilo = new Thread(r, "ia-inferencia-" + contador.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        };
+        return new ThreadPoolExecutor(hilos, hilos, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(cola), fabrica, new ThreadPoolExecutor.AbortPolicy()) {
+            @Override
+            public void execute(Runnable command) {
+                super.execute(SqlRequestStats.propagate(command));
+            }
+        };
+    }
+}
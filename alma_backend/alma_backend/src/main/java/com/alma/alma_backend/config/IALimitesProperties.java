@@ -0,0 +1,38 @@
+package com.alma.alma_backend.config;
+
+import com.alma.alma_backend.entity.TipoSesion;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Límites de las sesiones con el chatbot, configurables por tipo de sesión
+ * (ia.limites.mensajes.TERAPIA=200). Los tipos sin valor usan el límite por defecto.
+ */
+@ConfigurationProperties(prefix = "ia.limites")
+public class IALimitesProperties {
+
+    private int mensajesPorDefecto = 100;
+    private Map<TipoSesion, Integer> mensajes = new EnumMap<>(TipoSesion.class);
+
+    public int limiteMensajes(TipoSesion tipoSesion) {
+        return mensajes.getOrDefault(tipoSesion, mensajesPorDefecto);
+    }
+
+    public int getMensajesPorDefecto() {
+        return mensajesPorDefecto;
+    }
+
+    public void setMensajesPorDefecto(int mensajesPorDefecto) {
+        this.mensajesPorDefecto = mensajesPorDefecto;
+    }
+
+    public Map<TipoSesion, Integer> getMensajes() {
+        return mensajes;
+    }
+
+    public void setMensajes(Map<TipoSesion, Integer> mensajes) {
+        this.mensajes = mensajes;
+    }
+}
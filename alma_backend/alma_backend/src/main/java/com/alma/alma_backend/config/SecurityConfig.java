@@ -3,6 +3,7 @@ package com.alma.alma_backend.config;
 import com.alma.alma_backend.security.JwtAuthenticationEntryPoint;
 import com.alma.alma_backend.security.JwtRequestFilter;
 import com.alma.alma_backend.security.UserDetailsServiceImpl;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -68,6 +69,8 @@ public class SecurityConfig {
             .csrf(AbstractHttpConfigurer::disable)
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .authorizeHttpRequests(auth -> auth
+                    // Los despachos asíncronos (SSE) continúan una petición ya autorizada
+                    .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                     .requestMatchers(SWAGGER_WHITELIST).permitAll()
                     .requestMatchers(PUBLIC_ENDPOINTS).permitAll()
                     .anyRequest().authenticated()
@@ -0,0 +1,56 @@
+package com.alma.alma_backend.config;
+
+import com.alma.alma_backend.logging.SqlBudgetFilter;
+import com.alma.alma_backend.logging.SqlCountingInspector;
+import com.alma.alma_backend.logging.SqlLoadListener;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Presupuesto de consultas SQL por petición: registra en Hibernate el contador de sentencias y
+ * los listeners de carga, y coloca {@link SqlBudgetFilter} delante de la cadena de seguridad para
+ * que también cuenten las consultas de la autenticación.
+ */
+@Configuration
+@ConditionalOnProperty(name = "sql.presupuesto.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlBudgetConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlCountingCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlCountingInspector());
+    }
+
+    @Bean
+    public SmartInitializingSingleton sqlLoadListenerRegistration(EntityManagerFactory entityManagerFactory) {
+        return () -> {
+            EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                    .getServiceRegistry().getService(EventListenerRegistry.class);
+            SqlLoadListener listener = new SqlLoadListener();
+            registry.appendListeners(EventType.POST_LOAD, listener);
+            registry.prependListeners(EventType.LOAD, listener);
+            registry.prependListeners(EventType.INIT_COLLECTION, listener);
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlBudgetFilter> sqlBudgetFilter(
+            @Value("${sql.presupuesto.max-sentencias:20}") int maxStatements,
+            @Value("${sql.presupuesto.max-repeticiones:5}") int maxRepetitions,
+            @Value("${sql.presupuesto.cabeceras:false}") boolean headers) {
+        FilterRegistrationBean<SqlBudgetFilter> registration =
+                new FilterRegistrationBean<>(new SqlBudgetFilter(maxStatements, maxRepetitions, headers));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
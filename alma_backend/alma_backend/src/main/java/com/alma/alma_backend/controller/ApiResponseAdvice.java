@@ -59,7 +59,8 @@ public class ApiResponseAdvice implements ResponseBodyAdvice<Object> {
                                   Class<? extends HttpMessageConverter<?>> selectedConverterType,
                                   ServerHttpRequest request,
                                   ServerHttpResponse response) {
-        if (body == null || body instanceof ApiResponse) {
+        // Los byte[] son respuestas ya serializadas (con su sobre) que se escriben tal cual
+        if (body == null || body instanceof ApiResponse || body instanceof byte[]) {
             return body;
         }
 
@@ -23,6 +23,7 @@ import org.springframework.web.server.ResponseStatusException;
 
 import jakarta.validation.Valid;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Supplier;
 
 @RestController
@@ -34,10 +35,12 @@ public class AuthController {
     private final UsuarioService usuarioService;
     private final AuditLogService auditLogService;
 
+    // Asíncrono: el hilo del servidor se libera mientras se verifica la contraseña
     @PostMapping("/login")
-    public ResponseEntity<ApiResponse<AuthenticationResponse>> login(@Valid @RequestBody AuthenticationRequest authenticationRequest) {
-        AuthenticationResponse response = authService.authenticate(authenticationRequest);
-        return ResponseEntity.ok(ApiResponse.success(response));
+    public CompletableFuture<ResponseEntity<ApiResponse<AuthenticationResponse>>> login(
+            @Valid @RequestBody AuthenticationRequest authenticationRequest) {
+        return authService.authenticate(authenticationRequest)
+                .thenApply(response -> ResponseEntity.ok(ApiResponse.success(response)));
     }
 
     @PostMapping("/register/organization")
@@ -1,11 +1,16 @@
 package com.alma.alma_backend.controller;
 
+import com.alma.alma_backend.dto.ListaJsonStreaming;
 import com.alma.alma_backend.dto.MensajeChatRequestDTO;
 import com.alma.alma_backend.dto.MensajeChatResponseDTO;
+import com.alma.alma_backend.dto.PaginaCursorDTO;
 import com.alma.alma_backend.dto.SesionChatRequestDTO;
 import com.alma.alma_backend.dto.SesionChatResponseDTO;
+import com.alma.alma_backend.entity.SesionChat;
 import com.alma.alma_backend.entity.Usuario;
 import com.alma.alma_backend.mapper.ChatMapper;
+import com.alma.alma_backend.security.JwtUserPrincipal;
+import com.alma.alma_backend.service.ChatPushService;
 import com.alma.alma_backend.service.ChatService;
 import com.alma.alma_backend.service.UsuarioService;
 import jakarta.validation.Valid;
@@ -13,13 +18,16 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @RestController
@@ -34,71 +42,70 @@ public class ChatController {
     @Autowired
     private UsuarioService usuarioService;
 
+    @Autowired
+    private ChatPushService chatPushService;
+
     @PostMapping("/sesion")
     @PreAuthorize("hasAnyRole('PROFESIONAL', 'PACIENTE')")
-    public ResponseEntity<SesionChatResponseDTO> iniciarSesion(@Valid @RequestBody SesionChatRequestDTO request) {
+    public ResponseEntity<SesionChatResponseDTO> iniciarSesion(@Valid @RequestBody SesionChatRequestDTO request,
+                                                               Authentication authentication) {
         logger.info("Iniciando sesión de chat entre paciente ID: {} y profesional ID: {}",
                 request.getIdPaciente(), request.getIdProfesional());
         var sesion = chatService.iniciarSesionChat(request);
-        long unread = chatService.contarMensajesNoLeidos(sesion.getId());
+        long unread = chatService.contarMensajesNoLeidos(sesion.getId(), resolverIdDestinatario(authentication));
         return ResponseEntity.status(HttpStatus.CREATED).body(ChatMapper.toResponse(sesion, unread));
     }
 
     @GetMapping("/sesion/{id}")
     @PreAuthorize("hasAnyRole('PROFESIONAL', 'PACIENTE', 'ADMIN_ORGANIZACION')")
-    public ResponseEntity<SesionChatResponseDTO> obtenerSesion(@PathVariable Integer id) {
+    public ResponseEntity<SesionChatResponseDTO> obtenerSesion(@PathVariable Integer id, Authentication authentication) {
         logger.debug("Obteniendo sesión de chat ID: {}", id);
         var sesion = chatService.obtenerSesionPorId(id);
-        return ResponseEntity.ok(ChatMapper.toResponse(sesion, chatService.contarMensajesNoLeidos(sesion.getId())));
+        return ResponseEntity.ok(ChatMapper.toResponse(sesion, chatService.contarMensajesNoLeidos(sesion.getId(), resolverIdDestinatario(authentication))));
     }
 
     @GetMapping("/sesion/activa")
     @PreAuthorize("hasAnyRole('PROFESIONAL', 'PACIENTE')")
     public ResponseEntity<SesionChatResponseDTO> obtenerOCrearSesionActiva(
             @RequestParam Integer idPaciente,
-            @RequestParam Integer idProfesional) {
+            @RequestParam Integer idProfesional,
+            Authentication authentication) {
         logger.debug("Obteniendo o creando sesión activa entre paciente ID: {} y profesional ID: {}",
                 idPaciente, idProfesional);
         var sesion = chatService.obtenerOCrearSesionActiva(idPaciente, idProfesional);
-        return ResponseEntity.ok(ChatMapper.toResponse(sesion, chatService.contarMensajesNoLeidos(sesion.getId())));
+        return ResponseEntity.ok(ChatMapper.toResponse(sesion, chatService.contarMensajesNoLeidos(sesion.getId(), resolverIdDestinatario(authentication))));
     }
 
     @GetMapping("/sesiones/paciente/{idPaciente}")
     @PreAuthorize("hasAnyRole('PROFESIONAL', 'PACIENTE', 'ADMIN_ORGANIZACION')")
-    public ResponseEntity<List<SesionChatResponseDTO>> obtenerSesionesPaciente(@PathVariable Integer idPaciente) {
+    public ResponseEntity<List<SesionChatResponseDTO>> obtenerSesionesPaciente(@PathVariable Integer idPaciente, Authentication authentication) {
         logger.debug("Obteniendo sesiones del paciente ID: {}", idPaciente);
-        List<SesionChatResponseDTO> sesiones = chatService.obtenerSesionesPorPaciente(idPaciente).stream()
-                .map(sesion -> ChatMapper.toResponse(sesion, chatService.contarMensajesNoLeidos(sesion.getId())))
-                .collect(Collectors.toList());
+        List<SesionChatResponseDTO> sesiones = toResponses(chatService.obtenerSesionesPorPaciente(idPaciente), authentication);
         return ResponseEntity.ok(sesiones);
     }
 
     @GetMapping("/sesiones/profesional/{idProfesional}")
     @PreAuthorize("hasAnyRole('PROFESIONAL', 'ADMIN_ORGANIZACION')")
-    public ResponseEntity<List<SesionChatResponseDTO>> obtenerSesionesProfesional(@PathVariable Integer idProfesional) {
+    public ResponseEntity<List<SesionChatResponseDTO>> obtenerSesionesProfesional(@PathVariable Integer idProfesional, Authentication authentication) {
         logger.debug("Obteniendo sesiones del profesional ID: {}", idProfesional);
-        List<SesionChatResponseDTO> sesiones = chatService.obtenerSesionesPorProfesional(idProfesional).stream()
-                .map(sesion -> ChatMapper.toResponse(sesion, chatService.contarMensajesNoLeidos(sesion.getId())))
-                .collect(Collectors.toList());
+        List<SesionChatResponseDTO> sesiones = toResponses(chatService.obtenerSesionesPorProfesional(idProfesional), authentication);
         return ResponseEntity.ok(sesiones);
     }
 
     @GetMapping("/sesiones/activas")
     @PreAuthorize("hasAnyRole('ADMIN_ORGANIZACION', 'SUPER_ADMIN')")
-    public ResponseEntity<List<SesionChatResponseDTO>> obtenerSesionesActivas() {
+    public ResponseEntity<List<SesionChatResponseDTO>> obtenerSesionesActivas(Authentication authentication) {
         logger.debug("Obteniendo todas las sesiones activas");
-        List<SesionChatResponseDTO> sesiones = chatService.obtenerSesionesActivas().stream()
-                .map(sesion -> ChatMapper.toResponse(sesion, chatService.contarMensajesNoLeidos(sesion.getId())))
-                .collect(Collectors.toList());
+        List<SesionChatResponseDTO> sesiones = toResponses(chatService.obtenerSesionesActivas(), authentication);
         return ResponseEntity.ok(sesiones);
     }
 
     @PutMapping("/sesion/{id}/archivar")
     @PreAuthorize("hasAnyRole('PROFESIONAL', 'PACIENTE')")
-    public ResponseEntity<SesionChatResponseDTO> archivarSesion(@PathVariable Integer id) {
+    public ResponseEntity<SesionChatResponseDTO> archivarSesion(@PathVariable Integer id, Authentication authentication) {
         logger.info("Archivando sesión de chat ID: {}", id);
         var sesion = chatService.archivarSesion(id);
-        return ResponseEntity.ok(ChatMapper.toResponse(sesion, chatService.contarMensajesNoLeidos(sesion.getId())));
+        return ResponseEntity.ok(ChatMapper.toResponse(sesion, chatService.contarMensajesNoLeidos(sesion.getId(), resolverIdDestinatario(authentication))));
     }
 
     @PostMapping("/mensaje")
@@ -118,12 +125,22 @@ public class ChatController {
 
     @GetMapping("/sesion/{idSesionChat}/mensajes")
     @PreAuthorize("hasAnyRole('PROFESIONAL', 'PACIENTE', 'ADMIN_ORGANIZACION')")
-    public ResponseEntity<List<MensajeChatResponseDTO>> obtenerMensajes(@PathVariable Integer idSesionChat) {
+    public ResponseEntity<ListaJsonStreaming<MensajeChatResponseDTO>> obtenerMensajes(@PathVariable Integer idSesionChat) {
         logger.debug("Obteniendo mensajes de la sesión ID: {}", idSesionChat);
-        List<MensajeChatResponseDTO> mensajes = chatService.obtenerMensajesPorSesion(idSesionChat).stream()
-                .map(ChatMapper::toResponse)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(mensajes);
+        return ResponseEntity.ok(ListaJsonStreaming.de(
+                destino -> chatService.recorrerMensajesPorSesion(idSesionChat, destino)));
+    }
+
+    @GetMapping("/sesion/{idSesionChat}/mensajes/pagina")
+    @PreAuthorize("hasAnyRole('PROFESIONAL', 'PACIENTE', 'ADMIN_ORGANIZACION')")
+    public ResponseEntity<PaginaCursorDTO<MensajeChatResponseDTO>> obtenerPaginaMensajes(
+            @PathVariable Integer idSesionChat,
+            @RequestParam(required = false) Integer antesDe,
+            @RequestParam(required = false) Integer despuesDe,
+            @RequestParam(required = false) Integer limite) {
+        logger.debug("Obteniendo página de mensajes de la sesión ID: {} (antesDe: {}, despuesDe: {})",
+                idSesionChat, antesDe, despuesDe);
+        return ResponseEntity.ok(chatService.obtenerPaginaMensajes(idSesionChat, antesDe, despuesDe, limite));
     }
 
     @PutMapping("/mensaje/{idMensaje}/leer")
@@ -151,9 +168,57 @@ public class ChatController {
 
     @GetMapping("/sesion/{idSesionChat}/no-leidos")
     @PreAuthorize("hasAnyRole('PROFESIONAL', 'PACIENTE')")
-    public ResponseEntity<Long> contarMensajesNoLeidos(@PathVariable Integer idSesionChat) {
+    public ResponseEntity<Long> contarMensajesNoLeidos(@PathVariable Integer idSesionChat, Authentication authentication) {
         logger.debug("Contando mensajes no leídos en sesión ID: {}", idSesionChat);
-        Long count = chatService.contarMensajesNoLeidos(idSesionChat);
+        Long count = chatService.contarMensajesNoLeidos(idSesionChat, resolverIdDestinatario(authentication));
         return ResponseEntity.ok(count);
     }
-}
\ No newline at end of file
+
+    /**
+     * Abre un canal Server-Sent Events con los eventos de la sesión ("mensaje", "lectura").
+     * Sustituye al sondeo periódico de los mensajes y del contador de no leídos.
+     */
+    @GetMapping(value = "/sesion/{idSesionChat}/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('PROFESIONAL', 'PACIENTE')")
+    public SseEmitter suscribirEventos(@PathVariable Integer idSesionChat, Authentication authentication) {
+        Integer idUsuario = resolverIdDestinatario(authentication);
+        if (!chatService.esParticipante(idSesionChat, idUsuario)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "El usuario no pertenece a la sesión de chat");
+        }
+
+        logger.debug("Usuario ID: {} suscribiéndose a eventos de la sesión ID: {}", idUsuario, idSesionChat);
+        return chatPushService.suscribir(idSesionChat, idUsuario,
+                chatService.contarMensajesNoLeidos(idSesionChat, idUsuario));
+    }
+
+    /**
+     * Mapea un listado de sesiones resolviendo todos los contadores de no leídos en una única consulta.
+     */
+    private List<SesionChatResponseDTO> toResponses(List<SesionChat> sesiones, Authentication authentication) {
+        Map<Integer, Long> noLeidos = chatService.contarMensajesNoLeidos(
+                sesiones.stream().map(SesionChat::getId).collect(Collectors.toList()),
+                resolverIdDestinatario(authentication));
+        return sesiones.stream()
+                .map(sesion -> ChatMapper.toResponse(sesion, noLeidos.getOrDefault(sesion.getId(), 0L)))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Determina para qué usuario se cuentan los mensajes no leídos.
+     * Pacientes y profesionales ven sus propios pendientes; los administradores,
+     * que no participan en las sesiones, ven el total pendiente de cada sesión.
+     */
+    private Integer resolverIdDestinatario(Authentication authentication) {
+        boolean participante = authentication.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_PACIENTE") || a.getAuthority().equals("ROLE_PROFESIONAL"));
+        if (!participante) {
+            return null;
+        }
+        if (authentication.getPrincipal() instanceof JwtUserPrincipal principal && principal.getIdUsuario() != null) {
+            return principal.getIdUsuario();
+        }
+        return usuarioService.findByEmail(authentication.getName())
+                .map(Usuario::getId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Usuario no encontrado"));
+    }
+}
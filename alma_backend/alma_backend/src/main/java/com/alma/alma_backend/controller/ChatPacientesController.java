@@ -4,11 +4,18 @@ import com.alma.alma_backend.dto.ChatPacientesRequestDTO;
 import com.alma.alma_backend.dto.ChatPacientesResponseDTO;
 import com.alma.alma_backend.dto.MensajeChatPacientesRequestDTO;
 import com.alma.alma_backend.dto.MensajeChatPacientesResponseDTO;
+import com.alma.alma_backend.dto.PaginaCursorDTO;
+import com.alma.alma_backend.entity.Usuario;
+import com.alma.alma_backend.security.JwtUserPrincipal;
 import com.alma.alma_backend.service.ChatPacientesService;
+import com.alma.alma_backend.service.UsuarioService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
 
@@ -19,6 +26,9 @@ public class ChatPacientesController {
     @Autowired
     private ChatPacientesService chatPacientesService;
 
+    @Autowired
+    private UsuarioService usuarioService;
+
     @PostMapping("/sesion")
     @PreAuthorize("hasRole('PACIENTE')")
     public ResponseEntity<ChatPacientesResponseDTO> findOrCreateChat(@RequestBody ChatPacientesRequestDTO request) {
@@ -31,9 +41,37 @@ public class ChatPacientesController {
         return ResponseEntity.ok(chatPacientesService.findMensajesByChatId(chatId));
     }
 
+    @GetMapping("/{chatId}/mensajes/pagina")
+    @PreAuthorize("hasRole('PACIENTE')")
+    public ResponseEntity<PaginaCursorDTO<MensajeChatPacientesResponseDTO>> getPaginaMensajes(
+            @PathVariable Integer chatId,
+            @RequestParam(required = false) Integer antesDe,
+            @RequestParam(required = false) Integer despuesDe,
+            @RequestParam(required = false) Integer limite) {
+        return ResponseEntity.ok(chatPacientesService.findPaginaMensajes(chatId, antesDe, despuesDe, limite));
+    }
+
     @PostMapping("/mensajes")
     @PreAuthorize("hasRole('PACIENTE')")
     public ResponseEntity<MensajeChatPacientesResponseDTO> postMensaje(@RequestBody MensajeChatPacientesRequestDTO request) {
         return ResponseEntity.ok(chatPacientesService.postMensaje(request));
     }
+
+    /**
+     * Marca como leídos los mensajes recibidos por el paciente autenticado, que debe participar en el chat.
+     */
+    @PutMapping("/{chatId}/marcar-leidos")
+    @PreAuthorize("hasRole('PACIENTE')")
+    public ResponseEntity<Integer> marcarMensajesComoLeidos(@PathVariable Integer chatId, Authentication authentication) {
+        return ResponseEntity.ok(chatPacientesService.marcarMensajesComoLeidos(chatId, resolverIdUsuario(authentication)));
+    }
+
+    private Integer resolverIdUsuario(Authentication authentication) {
+        if (authentication.getPrincipal() instanceof JwtUserPrincipal principal && principal.getIdUsuario() != null) {
+            return principal.getIdUsuario();
+        }
+        return usuarioService.findByEmail(authentication.getName())
+                .map(Usuario::getId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Usuario no encontrado"));
+    }
 }
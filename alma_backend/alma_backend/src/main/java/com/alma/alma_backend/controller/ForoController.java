@@ -3,12 +3,15 @@ package com.alma.alma_backend.controller;
 import com.alma.alma_backend.dto.ForoDTO;
 import com.alma.alma_backend.dto.MensajeForoRequestDTO;
 import com.alma.alma_backend.dto.MensajeForoResponseDTO;
+import com.alma.alma_backend.dto.PaginaCursorDTO;
 import com.alma.alma_backend.service.ForoService;
+import com.alma.alma_backend.util.RespuestaCondicional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -21,8 +24,9 @@ public class ForoController {
 
     @GetMapping
     @PreAuthorize("hasRole('PACIENTE')")
-    public ResponseEntity<List<ForoDTO>> getAllForos() {
-        return ResponseEntity.ok(foroService.findAllForos());
+    public ResponseEntity<List<ForoDTO>> getAllForos(WebRequest webRequest) {
+        return RespuestaCondicional.responder(webRequest, "foros", foroService.versionForos(),
+                foroService::findAllForos);
     }
 
     @GetMapping("/{foroId}/mensajes")
@@ -31,6 +35,16 @@ public class ForoController {
         return ResponseEntity.ok(foroService.findMensajesByForoId(foroId));
     }
 
+    @GetMapping("/{foroId}/mensajes/pagina")
+    @PreAuthorize("hasRole('PACIENTE')")
+    public ResponseEntity<PaginaCursorDTO<MensajeForoResponseDTO>> getPaginaMensajes(
+            @PathVariable Integer foroId,
+            @RequestParam(required = false) Integer antesDe,
+            @RequestParam(required = false) Integer despuesDe,
+            @RequestParam(required = false) Integer limite) {
+        return ResponseEntity.ok(foroService.findPaginaMensajes(foroId, antesDe, despuesDe, limite));
+    }
+
     @PostMapping("/mensajes")
     @PreAuthorize("hasRole('PACIENTE')")
     public ResponseEntity<MensajeForoResponseDTO> postMensaje(@RequestBody MensajeForoRequestDTO mensajeForoRequestDTO, Authentication authentication) {
@@ -7,12 +7,15 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/ia")
@@ -34,11 +37,17 @@ public class IAController {
 
     @PostMapping("/mensaje")
     @PreAuthorize("hasRole('PACIENTE')")
-    public ResponseEntity<MensajeIAResponseDTO> enviarMensaje(
+    public CompletableFuture<ResponseEntity<MensajeIAResponseDTO>> enviarMensaje(
             @Valid @RequestBody EnviarMensajeIARequestDTO request) {
         logger.debug("Enviando mensaje a sesión ID: {}", request.getIdSesion());
-        MensajeIAResponseDTO mensaje = iaService.enviarMensaje(request);
-        return ResponseEntity.ok(mensaje);
+        return iaService.enviarMensaje(request).thenApply(ResponseEntity::ok);
+    }
+
+    @PostMapping(value = "/mensaje/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('PACIENTE')")
+    public SseEmitter enviarMensajeStreaming(@Valid @RequestBody EnviarMensajeIARequestDTO request) {
+        logger.debug("Enviando mensaje con respuesta en streaming a sesión ID: {}", request.getIdSesion());
+        return iaService.enviarMensajeStreaming(request);
     }
 
     @PutMapping("/sesion/finalizar")
@@ -76,6 +85,18 @@ public class IAController {
         return ResponseEntity.ok(mensajes);
     }
 
+    @GetMapping("/sesion/{idSesion}/mensajes/pagina")
+    @PreAuthorize("hasAnyRole('PACIENTE', 'PROFESIONAL', 'ADMIN_ORGANIZACION')")
+    public ResponseEntity<PaginaCursorDTO<MensajeIAResponseDTO>> obtenerPaginaMensajes(
+            @PathVariable Integer idSesion,
+            @RequestParam(required = false) Integer antesDe,
+            @RequestParam(required = false) Integer despuesDe,
+            @RequestParam(required = false) Integer limite) {
+        logger.debug("Obteniendo página de mensajes de sesión ID: {} (antesDe: {}, despuesDe: {})",
+                idSesion, antesDe, despuesDe);
+        return ResponseEntity.ok(iaService.obtenerPaginaMensajes(idSesion, antesDe, despuesDe, limite));
+    }
+
     @GetMapping("/alertas/profesional/{idProfesional}")
     @PreAuthorize("hasAnyRole('PROFESIONAL', 'ADMIN_ORGANIZACION')")
     public ResponseEntity<List<SesionInteraccionResponseDTO>> obtenerSesionesConAlertas(
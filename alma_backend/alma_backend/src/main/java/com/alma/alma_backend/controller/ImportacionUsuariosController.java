@@ -0,0 +1,79 @@
+package com.alma.alma_backend.controller;
+
+import com.alma.alma_backend.dto.ApiResponse;
+import com.alma.alma_backend.dto.ResultadoImportacionDTO;
+import com.alma.alma_backend.entity.Usuario;
+import com.alma.alma_backend.logging.AuditLogService;
+import com.alma.alma_backend.service.ImportacionUsuariosService;
+import com.alma.alma_backend.service.UsuarioService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Alta masiva de pacientes y profesionales mediante un fichero CSV (campo "archivo").
+ * La respuesta incluye el resultado de cada fila; las filas válidas se crean aunque otras fallen.
+ */
+@RestController
+@RequestMapping("/api/importacion")
+@RequiredArgsConstructor
+public class ImportacionUsuariosController {
+
+    private final ImportacionUsuariosService importacionUsuariosService;
+    private final UsuarioService usuarioService;
+    private final AuditLogService auditLogService;
+
+    @PostMapping(value = "/pacientes", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasRole('ADMIN_ORGANIZACION')")
+    public ResponseEntity<ApiResponse<ResultadoImportacionDTO>> importarPacientes(@RequestParam("archivo") MultipartFile archivo,
+                                                                                  Authentication authentication) throws IOException {
+        Usuario admin = requireAdmin(authentication);
+        ResultadoImportacionDTO resultado;
+        try (InputStream csv = archivo.getInputStream()) {
+            resultado = importacionUsuariosService.importarPacientes(csv, admin.getOrganizacion().getId());
+        }
+        auditLogService.logAuthWarn("Importación de pacientes por {}: {} creados, {} rechazados",
+                admin.getEmail(), resultado.getCreados(), resultado.getRechazados());
+        return responder(resultado);
+    }
+
+    @PostMapping(value = "/profesionales", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasRole('ADMIN_ORGANIZACION')")
+    public ResponseEntity<ApiResponse<ResultadoImportacionDTO>> importarProfesionales(@RequestParam("archivo") MultipartFile archivo,
+                                                                                      Authentication authentication) throws IOException {
+        Usuario admin = requireAdmin(authentication);
+        ResultadoImportacionDTO resultado;
+        try (InputStream csv = archivo.getInputStream()) {
+            resultado = importacionUsuariosService.importarProfesionales(csv, admin.getOrganizacion().getId());
+        }
+        auditLogService.logAuthWarn("Importación de profesionales por {}: {} creados, {} rechazados",
+                admin.getEmail(), resultado.getCreados(), resultado.getRechazados());
+        return responder(resultado);
+    }
+
+    private Usuario requireAdmin(Authentication authentication) {
+        Usuario usuario = usuarioService.findByEmail(authentication.getName())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Usuario autenticado no encontrado"));
+        if (!Boolean.TRUE.equals(usuario.getActivo())) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "La cuenta del administrador está deshabilitada");
+        }
+        return usuario;
+    }
+
+    private ResponseEntity<ApiResponse<ResultadoImportacionDTO>> responder(ResultadoImportacionDTO resultado) {
+        String mensaje = "Importación finalizada: " + resultado.getCreados() + " de " + resultado.getTotal() + " filas creadas";
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CACHE_CONTROL, "no-store")
+                .body(ApiResponse.success(HttpStatus.OK.value(), mensaje, resultado));
+    }
+}
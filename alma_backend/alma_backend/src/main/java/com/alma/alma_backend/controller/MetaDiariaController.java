@@ -7,6 +7,7 @@ import com.alma.alma_backend.dto.MetaDiariaResponseDTO;
 import com.alma.alma_backend.entity.EstadoMeta;
 import com.alma.alma_backend.mapper.MetaDiariaMapper;
 import com.alma.alma_backend.service.MetaDiariaService;
+import com.alma.alma_backend.util.RespuestaCondicional;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -16,6 +17,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -49,11 +51,13 @@ public class MetaDiariaController {
     @GetMapping("/paciente/{idPaciente}")
     @PreAuthorize("hasAnyRole('PACIENTE', 'PROFESIONAL', 'ADMIN_ORGANIZACION')")
     public ResponseEntity<List<MetaDiariaResponseDTO>> obtenerMetasPorPaciente(
-            @PathVariable Integer idPaciente) {
+            @PathVariable Integer idPaciente, WebRequest webRequest) {
         logger.debug("Obteniendo metas del paciente ID: {}", idPaciente);
-        return ResponseEntity.ok(metaDiariaService.obtenerMetasPorPaciente(idPaciente).stream()
-                .map(MetaDiariaMapper::toResponse)
-                .collect(Collectors.toList()));
+        return RespuestaCondicional.responder(webRequest, "metas/paciente/" + idPaciente,
+                metaDiariaService.versionMetasPorPaciente(idPaciente),
+                () -> metaDiariaService.obtenerMetasPorPaciente(idPaciente).stream()
+                        .map(MetaDiariaMapper::toResponse)
+                        .collect(Collectors.toList()));
     }
 
     @GetMapping("/paciente/{idPaciente}/hoy")
@@ -0,0 +1,71 @@
+package com.alma.alma_backend.controller;
+
+import com.alma.alma_backend.dto.ApiResponse;
+import com.alma.alma_backend.dto.EstadoColaAnalisisDTO;
+import com.alma.alma_backend.dto.MetricaMetodoDTO;
+import com.alma.alma_backend.logging.MethodMetrics;
+import com.alma.alma_backend.logging.MethodMetricsRegistry;
+import com.alma.alma_backend.logging.TraceLayer;
+import com.alma.alma_backend.service.AnalisisSesionWorker;
+import io.swagger.v3.oas.annotations.Operation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Comparator;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/metricas")
+@PreAuthorize("hasRole('SUPER_ADMIN')")
+@RequiredArgsConstructor
+public class MetricasController {
+
+    private final MethodMetricsRegistry metricsRegistry;
+    private final AnalisisSesionWorker analisisSesionWorker;
+
+    @GetMapping("/metodos")
+    @Operation(summary = "Latencias p50/p95/p99 por método de controlador y servicio")
+    public ResponseEntity<List<MetricaMetodoDTO>> obtenerMetricasMetodos(@RequestParam(required = false) TraceLayer capa) {
+        List<MetricaMetodoDTO> metricas = metricsRegistry.getAll().stream()
+                .filter(m -> capa == null || m.getLayer() == capa)
+                .filter(m -> m.getInvocations() > 0)
+                .sorted(Comparator.comparingLong(MethodMetrics::getTotalMicros).reversed())
+                .map(this::toDTO)
+                .toList();
+        return ResponseEntity.ok(metricas);
+    }
+
+    @DeleteMapping("/metodos")
+    @Operation(summary = "Reiniciar las métricas acumuladas")
+    public ResponseEntity<ApiResponse<Void>> reiniciarMetricas() {
+        metricsRegistry.reset();
+        return ResponseEntity.ok(ApiResponse.success("Métricas reiniciadas"));
+    }
+
+    @GetMapping("/analisis-sesiones")
+    @Operation(summary = "Retraso y rendimiento de la cola de análisis de sesiones de IA")
+    public ResponseEntity<EstadoColaAnalisisDTO> obtenerEstadoAnalisisSesiones() {
+        return ResponseEntity.ok(analisisSesionWorker.obtenerEstado());
+    }
+
+    private MetricaMetodoDTO toDTO(MethodMetrics metrics) {
+        long invocaciones = metrics.getInvocations();
+        MetricaMetodoDTO dto = new MetricaMetodoDTO();
+        dto.setMetodo(metrics.getSignature());
+        dto.setCapa(metrics.getLayer());
+        dto.setInvocaciones(invocaciones);
+        dto.setErrores(metrics.getErrors());
+        dto.setMediaMs(toMillis(invocaciones == 0 ? 0 : metrics.getTotalMicros() / invocaciones));
+        dto.setP50Ms(toMillis(metrics.percentileMicros(50)));
+        dto.setP95Ms(toMillis(metrics.percentileMicros(95)));
+        dto.setP99Ms(toMillis(metrics.percentileMicros(99)));
+        dto.setMaxMs(toMillis(metrics.getMaxMicros()));
+        return dto;
+    }
+
+    private double toMillis(long micros) {
+        return micros / 1_000.0;
+    }
+}
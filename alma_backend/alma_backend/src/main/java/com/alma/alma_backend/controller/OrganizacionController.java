@@ -2,6 +2,7 @@ package com.alma.alma_backend.controller;
 
 import com.alma.alma_backend.dto.AuditoriaDTO;
 import com.alma.alma_backend.dto.CambioEstadoOrganizacionDTO;
+import com.alma.alma_backend.dto.ListaJsonStreaming;
 import com.alma.alma_backend.dto.OrganizacionEstadisticasDTO;
 import com.alma.alma_backend.dto.OrganizacionRequestDTO;
 import com.alma.alma_backend.dto.OrganizacionResponseDTO;
@@ -55,12 +56,10 @@ public class OrganizacionController {
     @PreAuthorize("hasAnyRole('ADMIN_ORGANIZACION', 'SUPER_ADMIN')")
     @Operation(summary = "Listar organizaciones")
     @ApiResponse(responseCode = "200", description = "Organizaciones recuperadas")
-    public ResponseEntity<List<OrganizacionResponseDTO>> getAllOrganizaciones() {
+    public ResponseEntity<ListaJsonStreaming<OrganizacionResponseDTO>> getAllOrganizaciones() {
         logger.info("Solicitando todas las organizaciones");
-        List<OrganizacionResponseDTO> response = organizacionService.findAll().stream()
-                .map(OrganizacionMapper::toResponse)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(ListaJsonStreaming.de(
+                destino -> organizacionService.recorrerOrganizaciones(null, destino)));
     }
 
     @GetMapping("/{id}")
@@ -317,12 +316,10 @@ public class OrganizacionController {
      */
     @GetMapping("/estado/{estado}")
     @PreAuthorize("hasRole('SUPER_ADMIN')")
-    public ResponseEntity<List<OrganizacionResponseDTO>> getOrganizacionesByEstado(@PathVariable EstadoOrganizacion estado) {
+    public ResponseEntity<ListaJsonStreaming<OrganizacionResponseDTO>> getOrganizacionesByEstado(@PathVariable EstadoOrganizacion estado) {
         logger.info("Solicitando organizaciones con estado: {}", estado);
-        List<OrganizacionResponseDTO> organizaciones = organizacionService.findByEstado(estado).stream()
-                .map(OrganizacionMapper::toResponse)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(organizaciones);
+        return ResponseEntity.ok(ListaJsonStreaming.de(
+                destino -> organizacionService.recorrerOrganizaciones(estado, destino)));
     }
 
     /**
@@ -9,10 +9,12 @@ import com.alma.alma_backend.entity.Profesional;
 import com.alma.alma_backend.entity.Usuario;
 import com.alma.alma_backend.exceptions.ResourceNotFoundException;
 import com.alma.alma_backend.repository.ProfesionalRepository;
+import com.alma.alma_backend.security.JwtUserPrincipal;
 import com.alma.alma_backend.mapper.PacienteMapper;
 import com.alma.alma_backend.service.PacienteService;
 import com.alma.alma_backend.service.ProfesionalService;
 import com.alma.alma_backend.service.UsuarioService;
+import com.alma.alma_backend.util.RespuestaCondicional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -21,6 +23,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -77,6 +80,7 @@ public class ProfesionalController {
      * Obtiene la lista optimizada de pacientes asignados al profesional autenticado.
      *
      * Utiliza una query optimizada que evita N+1 queries y problemas de lazy loading.
+     * Admite peticiones condicionales: si la lista no ha cambiado responde 304 sin consultarla.
      *
      * @param authentication Autenticación del usuario
      * @param soloActivos Si es true, solo devuelve pacientes con asignación activa
@@ -85,21 +89,28 @@ public class ProfesionalController {
     @GetMapping("/mis-pacientes-detalle")
     public ResponseEntity<List<PacienteDetalleDTO>> getMisPacientesDetalle(
             Authentication authentication,
-            @RequestParam(defaultValue = "true") boolean soloActivos) {
+            @RequestParam(defaultValue = "true") boolean soloActivos,
+            WebRequest webRequest) {
 
         String userEmail = authentication.getName();
-        Usuario usuario = usuarioService.findByEmail(userEmail)
-            .orElseThrow(() -> new ResourceNotFoundException("Usuario autenticado no encontrado con email: " + userEmail));
-
-        Profesional profesional = profesionalRepository.findByUsuario_Id(usuario.getId())
-            .orElseThrow(() -> new ResourceNotFoundException("Perfil de profesional no encontrado para el usuario: " + userEmail));
-
-        logger.info("El profesional '{}' está consultando su lista de pacientes (soloActivos: {})", userEmail, soloActivos);
-
-        List<PacienteDetalleDTO> pacientes = pacienteService.findPacientesByProfesional(
-            profesional.getId(), soloActivos);
-
-        return ResponseEntity.ok(pacientes);
+        Integer idUsuario;
+        if (authentication.getPrincipal() instanceof JwtUserPrincipal principal && principal.getIdUsuario() != null) {
+            idUsuario = principal.getIdUsuario();
+        } else {
+            idUsuario = usuarioService.findByEmail(userEmail)
+                .map(Usuario::getId)
+                .orElseThrow(() -> new ResourceNotFoundException("Usuario autenticado no encontrado con email: " + userEmail));
+        }
+
+        return RespuestaCondicional.responder(webRequest, "mis-pacientes-detalle/" + idUsuario + "/" + soloActivos,
+            pacienteService.versionPacientesByUsuarioProfesional(idUsuario, soloActivos), () -> {
+                Profesional profesional = profesionalRepository.findByUsuario_Id(idUsuario)
+                    .orElseThrow(() -> new ResourceNotFoundException("Perfil de profesional no encontrado para el usuario: " + userEmail));
+
+                logger.info("El profesional '{}' está consultando su lista de pacientes (soloActivos: {})", userEmail, soloActivos);
+
+                return pacienteService.findPacientesByProfesional(profesional.getId(), soloActivos);
+            });
     }
 
     /**
@@ -5,6 +5,7 @@ import com.alma.alma_backend.dto.ProgresoDueloRequestDTO;
 import com.alma.alma_backend.dto.ProgresoDueloResponseDTO;
 import com.alma.alma_backend.mapper.ProgresoDueloMapper;
 import com.alma.alma_backend.service.ProgresoDueloService;
+import com.alma.alma_backend.util.RespuestaCondicional;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -14,6 +15,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -37,11 +39,12 @@ public class ProgresoDueloController {
     }
 
     @GetMapping("/fases")
-    public ResponseEntity<List<FaseDueloDTO>> obtenerFasesDuelo() {
+    public ResponseEntity<List<FaseDueloDTO>> obtenerFasesDuelo(WebRequest webRequest) {
         logger.info("Solicitando catálogo de fases del duelo");
-        return ResponseEntity.ok(progresoDueloService.obtenerTodasLasFases().stream()
-                .map(ProgresoDueloMapper::toResponse)
-                .collect(Collectors.toList()));
+        return RespuestaCondicional.responder(webRequest, "fases-duelo", progresoDueloService.versionFases(),
+                () -> progresoDueloService.obtenerTodasLasFases().stream()
+                        .map(ProgresoDueloMapper::toResponse)
+                        .collect(Collectors.toList()));
     }
 
     @GetMapping("/{id}")
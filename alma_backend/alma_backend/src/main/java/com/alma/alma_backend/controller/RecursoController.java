@@ -1,6 +1,5 @@
 package com.alma.alma_backend.controller;
 
-import com.alma.alma_backend.dto.RecursoDTO;
 import com.alma.alma_backend.dto.UsoRecursoRequestDTO;
 import com.alma.alma_backend.dto.UsoRecursoResponseDTO;
 import com.alma.alma_backend.service.RecursoService;
@@ -8,8 +7,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/recursos")
@@ -20,14 +18,16 @@ public class RecursoController {
 
     @GetMapping
     @PreAuthorize("hasRole('PACIENTE')")
-    public ResponseEntity<List<RecursoDTO>> getAllRecursos() {
-        return ResponseEntity.ok(recursoService.findAllRecursos());
+    public ResponseEntity<byte[]> getAllRecursos(@RequestParam(required = false) String tipo,
+                                                 @RequestParam(required = false) String categoria,
+                                                 WebRequest webRequest) {
+        return recursoService.obtenerVistaCatalogo(tipo, categoria).responder(webRequest);
     }
 
     @GetMapping("/recomendados/{pacienteId}")
     @PreAuthorize("hasRole('PACIENTE')")
-    public ResponseEntity<List<RecursoDTO>> getRecursosRecomendados(@PathVariable Integer pacienteId) {
-        return ResponseEntity.ok(recursoService.findRecursosRecomendados(pacienteId));
+    public ResponseEntity<byte[]> getRecursosRecomendados(@PathVariable Integer pacienteId, WebRequest webRequest) {
+        return recursoService.obtenerVistaRecomendados(pacienteId).responder(webRequest);
     }
 
     @PostMapping("/uso")
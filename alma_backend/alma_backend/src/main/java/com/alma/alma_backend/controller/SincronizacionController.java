@@ -0,0 +1,57 @@
+package com.alma.alma_backend.controller;
+
+import com.alma.alma_backend.dto.SincronizacionDTO;
+import com.alma.alma_backend.entity.Usuario;
+import com.alma.alma_backend.security.JwtUserPrincipal;
+import com.alma.alma_backend.service.SincronizacionService;
+import com.alma.alma_backend.service.UsuarioService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+
+/**
+ * Sincronización incremental para la app móvil: devuelve solo lo modificado desde la última sincronización.
+ */
+@RestController
+@RequestMapping("/api/sync")
+public class SincronizacionController {
+
+    private static final Logger logger = LoggerFactory.getLogger(SincronizacionController.class);
+
+    private final SincronizacionService sincronizacionService;
+    private final UsuarioService usuarioService;
+
+    public SincronizacionController(SincronizacionService sincronizacionService, UsuarioService usuarioService) {
+        this.sincronizacionService = sincronizacionService;
+        this.usuarioService = usuarioService;
+    }
+
+    @GetMapping
+    @PreAuthorize("hasAnyRole('PACIENTE', 'PROFESIONAL')")
+    public ResponseEntity<SincronizacionDTO> sincronizar(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime desde,
+            Authentication authentication) {
+        Integer idUsuario;
+        if (authentication.getPrincipal() instanceof JwtUserPrincipal principal && principal.getIdUsuario() != null) {
+            idUsuario = principal.getIdUsuario();
+        } else {
+            idUsuario = usuarioService.findByEmail(authentication.getName())
+                    .map(Usuario::getId)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Usuario no encontrado"));
+        }
+
+        logger.debug("Sincronización solicitada por usuario ID: {} desde: {}", idUsuario, desde);
+        return ResponseEntity.ok(sincronizacionService.sincronizar(idUsuario, desde));
+    }
+}
@@ -2,6 +2,7 @@ package com.alma.alma_backend.controller;
 
 import com.alma.alma_backend.dto.ApiResponse;
 import com.alma.alma_backend.dto.ErrorResponse;
+import com.alma.alma_backend.dto.ListaJsonStreaming;
 import com.alma.alma_backend.dto.ResetPasswordRequestDTO;
 import com.alma.alma_backend.dto.UpdatePasswordRequest;
 import com.alma.alma_backend.dto.UsuarioResponseDTO;
@@ -21,9 +22,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.util.List;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/usuarios")
@@ -40,17 +39,13 @@ public class UsuarioController {
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN_ORGANIZACION', 'SUPER_ADMIN')")
     @Operation(summary = "Listar usuarios de la organización actual")
-    public ResponseEntity<List<UsuarioResponseDTO>> getAllUsuarios(Authentication authentication) {
+    public ResponseEntity<ListaJsonStreaming<UsuarioResponseDTO>> getAllUsuarios(Authentication authentication) {
         Usuario currentUser = usuarioService.findByEmail(authentication.getName())
                 .orElseThrow(() -> new RuntimeException("Usuario autenticado no encontrado"));
         Integer userOrgId = currentUser.getOrganizacion().getId();
 
-        List<Usuario> usuariosDeLaOrganizacion = usuarioService.findByOrganizacionId(userOrgId);
-        List<UsuarioResponseDTO> usuariosDTO = usuariosDeLaOrganizacion.stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
-
-        return ResponseEntity.ok(usuariosDTO);
+        return ResponseEntity.ok(ListaJsonStreaming.de(
+                destino -> usuarioService.recorrerPorOrganizacionId(userOrgId, destino)));
     }
 
     @GetMapping("/{id}")
@@ -148,6 +143,7 @@ public class UsuarioController {
         usuarioAModificar.setPasswordHash(passwordEncoder.encode(request.getNewPassword()));
         usuarioAModificar.setPasswordTemporal(true);
         usuarioService.save(usuarioAModificar);
+        usuarioService.revocarTokens(id);
 
         return ResponseEntity.ok(ApiResponse.success("Contraseña del usuario " + id + " actualizada correctamente."));
     }
@@ -0,0 +1,17 @@
+package com.alma.alma_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EliminacionDTO {
+    // CITA, META, SESION_CHAT o MENSAJE_CHAT
+    private String tipo;
+    private Integer id;
+    private LocalDateTime fechaEliminacion;
+}
@@ -0,0 +1,21 @@
+package com.alma.alma_backend.dto;
+
+import lombok.Data;
+
+/**
+ * Estado de la cola de análisis de sesiones de IA.
+ * Los contadores de trabajos son globales; los de procesamiento corresponden a este nodo.
+ */
+@Data
+public class EstadoColaAnalisisDTO {
+    private long pendientes;
+    private long enProceso;
+    private long fallidos;
+    // Antigüedad del trabajo pendiente más antiguo
+    private double retrasoSegundos;
+    private int workers;
+    private long procesados;
+    private long errores;
+    private double procesadosPorMinuto;
+    private double mediaProcesamientoMs;
+}
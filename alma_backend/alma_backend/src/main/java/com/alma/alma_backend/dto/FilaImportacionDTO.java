@@ -0,0 +1,21 @@
+package com.alma.alma_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado de una fila de la importación masiva de usuarios.
+ * {@code fila} es el número de registro en el CSV contando la cabecera como 1.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FilaImportacionDTO {
+    private int fila;
+    private String dni;
+    private String email;
+    private boolean creado;
+    private Integer idUsuario;
+    private String error;
+}
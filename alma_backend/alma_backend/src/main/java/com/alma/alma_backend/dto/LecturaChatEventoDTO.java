@@ -0,0 +1,19 @@
+package com.alma.alma_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Evento enviado a los suscriptores de una sesión de chat cuando un participante lee mensajes.
+ * Si la lectura corresponde a un único mensaje se informa su ID; en lecturas masivas es null.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LecturaChatEventoDTO {
+    private Integer idSesionChat;
+    private Integer idLector;
+    private Integer idMensaje;
+    private Integer mensajesMarcados;
+}
@@ -0,0 +1,68 @@
+package com.alma.alma_backend.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Lista que se serializa como array JSON a medida que se recorre su origen, sin materializarla.
+ * <p>
+ * El origen se ejecuta al escribir la respuesta: normalmente un método de servicio
+ * {@code @Transactional(readOnly = true)} que recorre un {@code Stream} del repositorio, convierte
+ * cada fila a DTO y la entrega. Jackson escribe cada elemento en el {@link JsonGenerator} de la
+ * respuesta, que se vuelca al cliente según se llena el búfer, así que la memoria usada no depende
+ * del número de filas. Como cuerpo de un {@code ResponseEntity} pasa por {@code ApiResponseAdvice}
+ * igual que una lista, y el JSON resultante es idéntico.
+ * <p>
+ * Si el origen falla con la respuesta ya enviada en parte, el cliente recibe un JSON truncado.
+ */
+@JsonSerialize(using = ListaJsonStreaming.Serializador.class)
+public final class ListaJsonStreaming<T> {
+
+    private final Consumer<Consumer<? super T>> origen;
+
+    private ListaJsonStreaming(Consumer<Consumer<? super T>> origen) {
+        this.origen = origen;
+    }
+
+    /**
+     * @param origen recibe el destino de los elementos y los entrega en orden
+     */
+    public static <T> ListaJsonStreaming<T> de(Consumer<Consumer<? super T>> origen) {
+        return new ListaJsonStreaming<>(origen);
+    }
+
+    public void recorrer(Consumer<? super T> destino) {
+        origen.accept(destino);
+    }
+
+    static class Serializador extends StdSerializer<ListaJsonStreaming<?>> {
+
+        Serializador() {
+            super(ListaJsonStreaming.class, false);
+        }
+
+        @Override
+        public void serialize(ListaJsonStreaming<?> lista, JsonGenerator generador, SerializerProvider proveedor)
+                throws IOException {
+            generador.writeStartArray();
+            try {
+                lista.recorrer(elemento -> {
+                    try {
+                        proveedor.defaultSerializeValue(elemento, generador);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            generador.writeEndArray();
+        }
+    }
+}
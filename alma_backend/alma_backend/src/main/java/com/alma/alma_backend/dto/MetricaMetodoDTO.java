@@ -0,0 +1,21 @@
+package com.alma.alma_backend.dto;
+
+import com.alma.alma_backend.logging.TraceLayer;
+import lombok.Data;
+
+/**
+ * DTO con las métricas de latencia acumuladas de un método de controlador o servicio.
+ * Las latencias se expresan en milisegundos.
+ */
+@Data
+public class MetricaMetodoDTO {
+    private String metodo;
+    private TraceLayer capa;
+    private Long invocaciones;
+    private Long errores;
+    private Double mediaMs;
+    private Double p50Ms;
+    private Double p95Ms;
+    private Double p99Ms;
+    private Double maxMs;
+}
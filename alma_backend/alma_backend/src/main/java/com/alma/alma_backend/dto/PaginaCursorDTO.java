@@ -0,0 +1,24 @@
+package com.alma.alma_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Página de un historial de mensajes obtenida por cursor (keyset).
+ * Los elementos siempre se devuelven en orden cronológico ascendente.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginaCursorDTO<T> {
+    private List<T> elementos;
+    // ID del primer elemento: se envía como "antesDe" para cargar mensajes más antiguos
+    private Integer cursorAnterior;
+    // ID del último elemento: se envía como "despuesDe" para cargar mensajes más recientes
+    private Integer cursorSiguiente;
+    // Indica si quedan más mensajes en la dirección consultada
+    private boolean hayMas;
+}
@@ -0,0 +1,176 @@
+package com.alma.alma_backend.dto;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Respuesta JSON serializada y comprimida de antemano, para contenido que cambia rara vez y se pide
+ * constantemente. Servirla consiste en elegir uno de los dos buffers y escribirlo.
+ * <p>
+ * Incluye el sobre {@link ApiResponse} completo (con la fecha de preparación como timestamp), porque
+ * {@code ApiResponseAdvice} no envuelve cuerpos {@code byte[]}. El ETag se calcula solo sobre los datos,
+ * de modo que no cambia al volver a preparar el mismo contenido ni entre nodos, y es débil porque lo
+ * identifica sea cual sea la codificación enviada.
+ */
+public final class RespuestaJsonPreparada {
+
+    private static final CacheControl CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
+    private final byte[] json;
+    private final byte[] gzip;
+    private final String etag;
+
+    private RespuestaJsonPreparada(byte[] json, byte[] gzip, String etag) {
+        this.json = json;
+        this.gzip = gzip;
+        this.etag = etag;
+    }
+
+    public static RespuestaJsonPreparada de(ObjectMapper objectMapper, Object data) {
+        byte[] json;
+        String etag;
+        try {
+            json = objectMapper.writeValueAsBytes(ApiResponse.success(data));
+            etag = "W/\"" + DigestUtils.md5DigestAsHex(objectMapper.writeValueAsBytes(data)) + "\"";
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar la respuesta preparada", e);
+        }
+        return new RespuestaJsonPreparada(json, comprimir(json), etag);
+    }
+
+    /**
+     * Responde 304 si el cliente ya tiene este contenido; si no, el JSON comprimido o sin comprimir
+     * según su cabecera Accept-Encoding.
+     */
+    public ResponseEntity<byte[]> responder(WebRequest webRequest) {
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(CACHE_CONTROL).build();
+        }
+        boolean comprimida = aceptaGzip(webRequest.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        ResponseEntity.BodyBuilder respuesta = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(etag)
+                .cacheControl(CACHE_CONTROL)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (comprimida) {
+            respuesta.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return respuesta.body(comprimida ? gzip : json);
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public int getTamanoJson() {
+        return json.length;
+    }
+
+    public int getTamanoGzip() {
+        return gzip.length;
+    }
+
+    /**
+     * Interpreta Accept-Encoding: gzip explícito tiene prioridad sobre el comodín y q=0 lo rechaza.
+     * Se recorre la cabecera a mano, sin expresiones regulares ni cadenas intermedias, porque se
+     * evalúa en cada petición al catálogo.
+     */
+    static boolean aceptaGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Boolean comodin = null;
+        int longitud = acceptEncoding.length();
+        int inicio = 0;
+        while (inicio < longitud) {
+            int fin = acceptEncoding.indexOf(',', inicio);
+            if (fin < 0) {
+                fin = longitud;
+            }
+            int separador = acceptEncoding.indexOf(';', inicio);
+            int finNombre = separador >= 0 && separador < fin ? separador : fin;
+            // Mismo recorte que String.trim()
+            int desde = inicio;
+            int hasta = finNombre;
+            while (desde < hasta && acceptEncoding.charAt(desde) <= ' ') {
+                desde++;
+            }
+            while (hasta > desde && acceptEncoding.charAt(hasta - 1) <= ' ') {
+                hasta--;
+            }
+            boolean aceptada = finNombre == fin || !calidadCero(acceptEncoding, finNombre + 1, fin);
+            if (hasta - desde == 4 && acceptEncoding.regionMatches(true, desde, "gzip", 0, 4)) {
+                return aceptada;
+            }
+            if (hasta - desde == 1 && acceptEncoding.charAt(desde) == '*') {
+                comodin = aceptada;
+            }
+            inicio = fin + 1;
+        }
+        return Boolean.TRUE.equals(comodin);
+    }
+
+    /**
+     * Indica si los parámetros {@code [desde, hasta)} son "q=0", "q=0.", "q=0.0"... hasta tres decimales,
+     * con espacios opcionales alrededor de cada parte.
+     */
+    private static boolean calidadCero(String cabecera, int desde, int hasta) {
+        int i = saltarEspacios(cabecera, desde, hasta);
+        if (i >= hasta || (cabecera.charAt(i) != 'q' && cabecera.charAt(i) != 'Q')) {
+            return false;
+        }
+        i = saltarEspacios(cabecera, i + 1, hasta);
+        if (i >= hasta || cabecera.charAt(i) != '=') {
+            return false;
+        }
+        i = saltarEspacios(cabecera, i + 1, hasta);
+        if (i >= hasta || cabecera.charAt(i) != '0') {
+            return false;
+        }
+        i = saltarEspacios(cabecera, i + 1, hasta);
+        if (i < hasta && cabecera.charAt(i) == '.') {
+            int decimales = 0;
+            i = saltarEspacios(cabecera, i + 1, hasta);
+            while (i < hasta && cabecera.charAt(i) == '0' && decimales < 3) {
+                decimales++;
+                i = saltarEspacios(cabecera, i + 1, hasta);
+            }
+        }
+        return i == hasta;
+    }
+
+    private static int saltarEspacios(String cabecera, int desde, int hasta) {
+        while (desde < hasta && cabecera.charAt(desde) == ' ') {
+            desde++;
+        }
+        return desde;
+    }
+
+    private static byte[] comprimir(byte[] json) {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream(Math.max(64, json.length / 4));
+        // Se comprime una sola vez por versión del contenido, así que compensa el nivel máximo
+        try (GZIPOutputStream gzip = new GZIPOutputStream(salida) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return salida.toByteArray();
+    }
+}
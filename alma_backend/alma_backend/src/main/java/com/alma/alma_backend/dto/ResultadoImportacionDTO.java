@@ -0,0 +1,18 @@
+package com.alma.alma_backend.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Informe de una importación masiva de pacientes o profesionales desde CSV.
+ */
+@Data
+public class ResultadoImportacionDTO {
+    private int total;
+    private int creados;
+    private int rechazados;
+    private long duracionMs;
+    private List<FilaImportacionDTO> filas = new ArrayList<>();
+}
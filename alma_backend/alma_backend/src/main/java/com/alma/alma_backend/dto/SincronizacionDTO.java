@@ -0,0 +1,23 @@
+package com.alma.alma_backend.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cambios de las entidades del usuario desde la marca de agua indicada por el cliente.
+ * El cliente debe guardar "marcaAgua" y enviarla como "desde" en la siguiente sincronización.
+ */
+@Data
+public class SincronizacionDTO {
+    private LocalDateTime marcaAgua;
+    // true si el cliente debe sustituir sus datos locales en lugar de aplicar el delta
+    private boolean resincronizacionCompleta;
+    private List<CitaResponseDTO> citas = new ArrayList<>();
+    private List<MetaDiariaResponseDTO> metas = new ArrayList<>();
+    private List<SesionChatResponseDTO> sesionesChat = new ArrayList<>();
+    private List<MensajeChatResponseDTO> mensajesChat = new ArrayList<>();
+    private List<EliminacionDTO> eliminados = new ArrayList<>();
+}
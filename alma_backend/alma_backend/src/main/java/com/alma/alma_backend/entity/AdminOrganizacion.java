@@ -13,7 +13,8 @@ import lombok.NoArgsConstructor;
 public class AdminOrganizacion {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seq_admin_organizacion")
+    @SequenceGenerator(name = "seq_admin_organizacion", sequenceName = "SEQ_ADMIN_ORGANIZACION", allocationSize = 50)
     @Column(name = "ID_ADMIN")
     private Integer idAdmin;
 
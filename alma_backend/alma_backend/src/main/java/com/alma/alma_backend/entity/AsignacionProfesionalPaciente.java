@@ -17,7 +17,8 @@ import java.time.LocalDateTime;
 public class AsignacionProfesionalPaciente {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seq_asignacion_profesional_paciente")
+    @SequenceGenerator(name = "seq_asignacion_profesional_paciente", sequenceName = "SEQ_ASIGNACION_PROFESIONAL_PACIENTE", allocationSize = 50)
     @Column(name = "ID_ASIGNACION")
     private Integer idAsignacion;
 
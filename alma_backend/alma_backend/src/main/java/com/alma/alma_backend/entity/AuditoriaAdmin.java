@@ -29,7 +29,8 @@ import java.util.Map;
 public class AuditoriaAdmin {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seq_auditoria_admin")
+    @SequenceGenerator(name = "seq_auditoria_admin", sequenceName = "SEQ_AUDITORIA_ADMIN", allocationSize = 50)
     @Column(name = "ID_AUDITORIA")
     private Integer id;
 
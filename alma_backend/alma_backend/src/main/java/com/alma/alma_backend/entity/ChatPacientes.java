@@ -17,7 +17,8 @@ import java.time.LocalDateTime;
 public class ChatPacientes {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seq_chat_pacientes")
+    @SequenceGenerator(name = "seq_chat_pacientes", sequenceName = "SEQ_CHAT_PACIENTES", allocationSize = 50)
     @Column(name = "ID_CHAT_PACIENTES")
     private Integer id;
 
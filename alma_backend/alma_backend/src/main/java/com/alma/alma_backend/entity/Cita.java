@@ -15,7 +15,8 @@ import java.time.LocalDateTime;
 public class Cita {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seq_cita")
+    @SequenceGenerator(name = "seq_cita", sequenceName = "SEQ_CITA", allocationSize = 50)
     @Column(name = "ID_CITA")
     private Integer id;
 
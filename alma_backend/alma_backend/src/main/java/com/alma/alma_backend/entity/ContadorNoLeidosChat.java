@@ -0,0 +1,37 @@
+package com.alma.alma_backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Contador materializado de mensajes no leídos por sesión de chat y destinatario.
+ * Se mantiene mediante actualizaciones atómicas en {@code ContadorNoLeidosChatRepository}.
+ */
+@Entity
+@Table(name = "CONTADOR_NO_LEIDOS_CHAT")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContadorNoLeidosChat {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "ID_CONTADOR")
+    private Integer id;
+
+    @Column(name = "ID_SESION_CHAT", nullable = false)
+    private Integer idSesionChat;
+
+    @Column(name = "ID_USUARIO", nullable = false)
+    private Integer idUsuario;
+
+    @Column(name = "NO_LEIDOS", nullable = false)
+    private Integer noLeidos = 0;
+
+    @Column(name = "FECHA_ACTUALIZACION")
+    private LocalDateTime fechaActualizacion;
+}
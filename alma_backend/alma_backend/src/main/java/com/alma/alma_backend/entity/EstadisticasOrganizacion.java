@@ -0,0 +1,42 @@
+package com.alma.alma_backend.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Número de usuarios de cada tipo por organización.
+ * Solo lectura: la tabla la mantienen los triggers de la migración V18 sobre USUARIO.
+ */
+@Entity
+@Immutable
+@Table(name = "ESTADISTICAS_ORGANIZACION")
+@Data
+@NoArgsConstructor
+public class EstadisticasOrganizacion {
+
+    @Id
+    @Column(name = "ID_ORGANIZACION")
+    private Integer idOrganizacion;
+
+    @Column(name = "TOTAL_USUARIOS", nullable = false)
+    private Long totalUsuarios;
+
+    @Column(name = "ADMINS", nullable = false)
+    private Long admins;
+
+    @Column(name = "PROFESIONALES", nullable = false)
+    private Long profesionales;
+
+    @Column(name = "PACIENTES", nullable = false)
+    private Long pacientes;
+
+    @Column(name = "SUPER_ADMINS", nullable = false)
+    private Long superAdmins;
+
+    @Column(name = "FECHA_ACTUALIZACION")
+    private LocalDateTime fechaActualizacion;
+}
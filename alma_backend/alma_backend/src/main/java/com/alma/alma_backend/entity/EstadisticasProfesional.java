@@ -0,0 +1,39 @@
+package com.alma.alma_backend.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Asignaciones de pacientes por profesional.
+ * Solo lectura: la tabla la mantienen los triggers de la migración V18 sobre ASIGNACION_PROFESIONAL_PACIENTE.
+ */
+@Entity
+@Immutable
+@Table(name = "ESTADISTICAS_PROFESIONAL")
+@Data
+@NoArgsConstructor
+public class EstadisticasProfesional {
+
+    @Id
+    @Column(name = "ID_PROFESIONAL")
+    private Integer idProfesional;
+
+    @Column(name = "TOTAL_ASIGNACIONES", nullable = false)
+    private Long totalAsignaciones;
+
+    @Column(name = "ASIGNACIONES_ACTIVAS", nullable = false)
+    private Long asignacionesActivas;
+
+    @Column(name = "ASIGNACIONES_INACTIVAS", nullable = false)
+    private Long asignacionesInactivas;
+
+    @Column(name = "ASIGNACIONES_PRINCIPALES", nullable = false)
+    private Long asignacionesPrincipales;
+
+    @Column(name = "FECHA_ACTUALIZACION")
+    private LocalDateTime fechaActualizacion;
+}
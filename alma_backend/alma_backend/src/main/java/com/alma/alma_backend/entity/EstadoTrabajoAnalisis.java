@@ -0,0 +1,8 @@
+package com.alma.alma_backend.entity;
+
+public enum EstadoTrabajoAnalisis {
+    PENDIENTE,
+    EN_PROCESO,
+    COMPLETADO,
+    FALLIDO
+}
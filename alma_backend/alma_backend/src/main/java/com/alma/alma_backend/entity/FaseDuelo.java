@@ -16,7 +16,8 @@ import java.util.List;
 public class FaseDuelo {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seq_fase_duelo")
+    @SequenceGenerator(name = "seq_fase_duelo", sequenceName = "SEQ_FASE_DUELO", allocationSize = 50)
     @Column(name = "ID_FASE")
     private Integer id;
 
@@ -17,7 +17,8 @@ import java.time.LocalDateTime;
 public class Foro {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seq_foro")
+    @SequenceGenerator(name = "seq_foro", sequenceName = "SEQ_FORO", allocationSize = 50)
     @Column(name = "ID_FORO")
     private Integer id;
 
@@ -21,7 +21,8 @@ import java.util.Map;
 public class InformeEmocional {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seq_informe_emocional")
+    @SequenceGenerator(name = "seq_informe_emocional", sequenceName = "SEQ_INFORME_EMOCIONAL", allocationSize = 50)
     @Column(name = "ID_INFORME")
     private Integer id;
 
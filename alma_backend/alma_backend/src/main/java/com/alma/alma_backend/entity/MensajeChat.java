@@ -16,7 +16,8 @@ import java.time.LocalDateTime;
 public class MensajeChat {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seq_mensaje_chat")
+    @SequenceGenerator(name = "seq_mensaje_chat", sequenceName = "SEQ_MENSAJE_CHAT", allocationSize = 50)
     @Column(name = "ID_MENSAJE")
     private Integer id;
 
@@ -41,6 +42,10 @@ public class MensajeChat {
     @Column(name = "FECHA_LECTURA")
     private LocalDateTime fechaLectura;
 
+    // Mantenida por la base de datos (trigger actualizar_fecha_modificacion)
+    @Column(name = "FECHA_ULTIMA_MODIFICACION", insertable = false, updatable = false)
+    private LocalDateTime fechaUltimaModificacion;
+
     @PrePersist
     protected void onCreate() {
         fechaEnvio = LocalDateTime.now();
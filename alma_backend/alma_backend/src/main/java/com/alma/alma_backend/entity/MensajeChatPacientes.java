@@ -17,7 +17,8 @@ import java.time.LocalDateTime;
 public class MensajeChatPacientes {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seq_mensaje_chat_pacientes")
+    @SequenceGenerator(name = "seq_mensaje_chat_pacientes", sequenceName = "SEQ_MENSAJE_CHAT_PACIENTES", allocationSize = 50)
     @Column(name = "ID_MENSAJE")
     private Integer id;
 
@@ -17,7 +17,8 @@ import java.time.LocalDateTime;
 public class MensajeForo {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seq_mensaje_foro")
+    @SequenceGenerator(name = "seq_mensaje_foro", sequenceName = "SEQ_MENSAJE_FORO", allocationSize = 50)
     @Column(name = "ID_MENSAJE_FORO")
     private Integer id;
 
@@ -16,7 +16,8 @@ import java.time.LocalDateTime;
 public class MensajeIA {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seq_mensaje_ia")
+    @SequenceGenerator(name = "seq_mensaje_ia", sequenceName = "SEQ_MENSAJE_IA", allocationSize = 50)
     @Column(name = "ID_MENSAJE_IA")
     private Integer id;
 
@@ -16,7 +16,8 @@ import java.time.LocalDateTime;
 public class MetaDiaria {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seq_meta_diaria")
+    @SequenceGenerator(name = "seq_meta_diaria", sequenceName = "SEQ_META_DIARIA", allocationSize = 50)
     @Column(name = "ID_META")
     private Integer id;
 
@@ -17,7 +17,8 @@ import java.time.LocalDateTime;
 public class Musica {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seq_musica")
+    @SequenceGenerator(name = "seq_musica", sequenceName = "SEQ_MUSICA", allocationSize = 50)
     @Column(name = "ID_MUSICA")
     private Integer id;
 
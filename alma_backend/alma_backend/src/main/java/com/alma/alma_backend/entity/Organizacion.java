@@ -15,7 +15,8 @@ import java.time.LocalDateTime;
 public class Organizacion {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seq_organizacion")
+    @SequenceGenerator(name = "seq_organizacion", sequenceName = "SEQ_ORGANIZACION", allocationSize = 50)
     @Column(name = "ID_ORGANIZACION")
     private Integer id;
 
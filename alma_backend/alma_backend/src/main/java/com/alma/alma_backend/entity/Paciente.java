@@ -18,7 +18,8 @@ import java.util.List;
 public class Paciente {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seq_paciente")
+    @SequenceGenerator(name = "seq_paciente", sequenceName = "SEQ_PACIENTE", allocationSize = 50)
     @Column(name = "ID_PACIENTE")
     private Integer id;
 
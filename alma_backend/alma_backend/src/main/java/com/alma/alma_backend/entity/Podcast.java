@@ -17,7 +17,8 @@ import java.time.LocalDateTime;
 public class Podcast {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seq_podcast")
+    @SequenceGenerator(name = "seq_podcast", sequenceName = "SEQ_PODCAST", allocationSize = 50)
     @Column(name = "ID_PODCAST")
     private Integer id;
 
@@ -17,7 +17,8 @@ import java.util.List;
 public class Profesional {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seq_profesional")
+    @SequenceGenerator(name = "seq_profesional", sequenceName = "SEQ_PROFESIONAL", allocationSize = 50)
     @Column(name = "ID_PROFESIONAL")
     private Integer id;
 
@@ -16,7 +16,8 @@ import java.time.LocalDateTime;
 public class ProgresoDuelo {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seq_progreso_duelo")
+    @SequenceGenerator(name = "seq_progreso_duelo", sequenceName = "SEQ_PROGRESO_DUELO", allocationSize = 50)
     @Column(name = "ID_PROGRESO")
     private Integer id;
 
@@ -0,0 +1,40 @@
+package com.alma.alma_backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Registro ("tombstone") de una entidad eliminada, generado por los triggers de la base de datos.
+ * Permite a los clientes con sincronización incremental descartar sus copias locales.
+ */
+@Entity
+@Table(name = "REGISTRO_ELIMINACION")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RegistroEliminacion {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "ID_REGISTRO")
+    private Integer id;
+
+    @Column(name = "TIPO_ENTIDAD", length = 30, nullable = false)
+    private String tipoEntidad;
+
+    @Column(name = "ID_ENTIDAD", nullable = false)
+    private Integer idEntidad;
+
+    @Column(name = "ID_PACIENTE")
+    private Integer idPaciente;
+
+    @Column(name = "ID_PROFESIONAL")
+    private Integer idProfesional;
+
+    @Column(name = "FECHA_ELIMINACION", insertable = false, updatable = false)
+    private LocalDateTime fechaEliminacion;
+}
@@ -17,7 +17,8 @@ import java.util.List;
 public class SesionChat {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seq_sesion_chat")
+    @SequenceGenerator(name = "seq_sesion_chat", sequenceName = "SEQ_SESION_CHAT", allocationSize = 50)
     @Column(name = "ID_SESION_CHAT")
     private Integer id;
 
@@ -35,6 +36,10 @@ public class SesionChat {
     @Column(name = "ULTIMA_ACTIVIDAD")
     private LocalDateTime ultimaActividad;
 
+    // Mantenida por la base de datos (trigger actualizar_fecha_modificacion)
+    @Column(name = "FECHA_ULTIMA_MODIFICACION", insertable = false, updatable = false)
+    private LocalDateTime fechaUltimaModificacion;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "ESTADO", length = 20)
     private EstadoSesionChat estado = EstadoSesionChat.ACTIVA;
@@ -20,7 +20,8 @@ import java.util.List;
 public class SesionInteraccion {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seq_sesion_interaccion")
+    @SequenceGenerator(name = "seq_sesion_interaccion", sequenceName = "SEQ_SESION_INTERACCION", allocationSize = 50)
     @Column(name = "ID_SESION")
     private Integer id;
 
@@ -49,7 +50,8 @@ public class SesionInteraccion {
     @Column(name = "ESTADO", length = 20)
     private EstadoSesion estado = EstadoSesion.ACTIVA;
 
-    @Column(name = "NUMERO_MENSAJES")
+    // Solo se modifica con SesionInteraccionRepository.reservarMensajes/liberarMensajes
+    @Column(name = "NUMERO_MENSAJES", updatable = false)
     private Integer numeroMensajes = 0;
 
     @Column(name = "SATISFACCION")
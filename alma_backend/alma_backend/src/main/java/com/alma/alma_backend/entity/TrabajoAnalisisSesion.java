@@ -0,0 +1,50 @@
+package com.alma.alma_backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Trabajo de la cola de análisis de sesiones de IA finalizadas.
+ * Los cambios de estado se hacen con sentencias de {@code TrabajoAnalisisSesionRepository}.
+ */
+@Entity
+@Table(name = "TRABAJO_ANALISIS_SESION")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrabajoAnalisisSesion {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "ID_TRABAJO")
+    private Integer id;
+
+    @Column(name = "ID_SESION", nullable = false)
+    private Integer idSesion;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "ESTADO", length = 20, nullable = false)
+    private EstadoTrabajoAnalisis estado;
+
+    @Column(name = "INTENTOS", nullable = false)
+    private Integer intentos;
+
+    @Column(name = "FECHA_CREACION", insertable = false, updatable = false)
+    private LocalDateTime fechaCreacion;
+
+    @Column(name = "FECHA_DISPONIBLE")
+    private LocalDateTime fechaDisponible;
+
+    @Column(name = "FECHA_INICIO")
+    private LocalDateTime fechaInicio;
+
+    @Column(name = "FECHA_FIN")
+    private LocalDateTime fechaFin;
+
+    @Column(name = "ULTIMO_ERROR", columnDefinition = "TEXT")
+    private String ultimoError;
+}
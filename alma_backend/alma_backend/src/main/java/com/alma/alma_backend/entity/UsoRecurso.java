@@ -17,7 +17,8 @@ import java.time.LocalDateTime;
 public class UsoRecurso {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seq_uso_recurso")
+    @SequenceGenerator(name = "seq_uso_recurso", sequenceName = "SEQ_USO_RECURSO", allocationSize = 50)
     @Column(name = "ID_USO")
     private Integer id;
 
@@ -16,7 +16,8 @@ import java.time.LocalDateTime;
 public class Usuario {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seq_usuario")
+    @SequenceGenerator(name = "seq_usuario", sequenceName = "SEQ_USUARIO", allocationSize = 50)
     @Column(name = "ID_USUARIO")
     private Integer id;
 
@@ -54,7 +55,8 @@ public class Usuario {
     @ColumnDefault("CURRENT_TIMESTAMP")
     private LocalDateTime fechaRegistro;
 
-    @Column(name = "ULTIMO_ACCESO")
+    // Solo lo escribe RegistroUltimoAcceso; así un save() del usuario no pisa un acceso más reciente
+    @Column(name = "ULTIMO_ACCESO", updatable = false)
     private LocalDateTime ultimoAcceso;
 
     @Column(name = "PASSWORD_TEMPORAL")
@@ -68,6 +70,11 @@ public class Usuario {
     @Column(name = "DOCUMENTO_CARGO_URL", length = 255)
     private String documentoCargoUrl;
 
+    // Versión de los tokens JWT; solo se modifica mediante UPDATE atómico en UsuarioRepository
+    @Column(name = "TOKEN_VERSION", insertable = false, updatable = false)
+    @ColumnDefault("0")
+    private Integer tokenVersion;
+
     @PrePersist
     protected void onCreate() {
         if (fechaRegistro == null) {
@@ -17,7 +17,8 @@ import java.time.LocalDateTime;
 public class Video {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seq_video")
+    @SequenceGenerator(name = "seq_video", sequenceName = "SEQ_VIDEO", allocationSize = 50)
     @Column(name = "ID_VIDEO")
     private Integer id;
 
@@ -17,28 +17,24 @@ public class AuditLogService {
 
     private static final Logger logger = LoggerFactory.getLogger(AuditLogService.class);
 
-    public void logControllerEntry(String signature, Object[] args) {
-        logger.info("[CONTROLLER] Entering {} with args {}", signature, formatArgs(args));
+    public boolean isTraceEnabled() {
+        return logger.isDebugEnabled();
     }
 
-    public void logControllerExit(String signature, Object result) {
-        logger.info("[CONTROLLER] Exiting {} with result {}", signature, safeDescribe(result));
+    public void logEntry(TraceLayer layer, String signature, Object[] args) {
+        logger.debug("[{}] Entering {} with args {}", layer, signature, formatArgs(args));
     }
 
-    public void logControllerException(String signature, Throwable throwable) {
-        logger.error("[CONTROLLER] Exception in {}", signature, throwable);
-    }
-
-    public void logServiceEntry(String signature, Object[] args) {
-        logger.info("[SERVICE] Entering {} with args {}", signature, formatArgs(args));
+    public void logExit(TraceLayer layer, String signature, Object result) {
+        logger.debug("[{}] Exiting {} with result {}", layer, signature, safeDescribe(result));
     }
 
-    public void logServiceExit(String signature, Object result) {
-        logger.info("[SERVICE] Exiting {} with result {}", signature, safeDescribe(result));
+    public void logException(TraceLayer layer, String signature, Throwable throwable) {
+        logger.error("[{}] Exception in {}", layer, signature, throwable);
     }
 
-    public void logServiceException(String signature, Throwable throwable) {
-        logger.error("[SERVICE] Exception in {}", signature, throwable);
+    public void logControllerException(String signature, Throwable throwable) {
+        logException(TraceLayer.CONTROLLER, signature, throwable);
     }
 
     public void logSecurityWarn(String message, Object... args) {
@@ -0,0 +1,71 @@
+package com.alma.alma_backend.logging;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores y latencias acumuladas de un método instrumentado.
+ * Todas las operaciones de registro son sin bloqueos para no añadir contención en el camino caliente.
+ */
+public final class MethodMetrics {
+
+    private final String signature;
+    private final TraceLayer layer;
+    private final LongAdder invocations = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder totalMicros = new LongAdder();
+    private final LongAccumulator maxMicros = new LongAccumulator(Math::max, 0);
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    MethodMetrics(String signature, TraceLayer layer) {
+        this.signature = signature;
+        this.layer = layer;
+    }
+
+    void record(long elapsedNanos, boolean failed) {
+        long micros = elapsedNanos / 1_000;
+        invocations.increment();
+        if (failed) {
+            errors.increment();
+        }
+        totalMicros.add(micros);
+        maxMicros.accumulate(micros);
+        histogram.record(micros);
+    }
+
+    void reset() {
+        invocations.reset();
+        errors.reset();
+        totalMicros.reset();
+        maxMicros.reset();
+        histogram.reset();
+    }
+
+    public String getSignature() {
+        return signature;
+    }
+
+    public TraceLayer getLayer() {
+        return layer;
+    }
+
+    public long getInvocations() {
+        return invocations.sum();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    public long getTotalMicros() {
+        return totalMicros.sum();
+    }
+
+    public long getMaxMicros() {
+        return maxMicros.get();
+    }
+
+    public long percentileMicros(double percentile) {
+        return histogram.percentile(percentile);
+    }
+}
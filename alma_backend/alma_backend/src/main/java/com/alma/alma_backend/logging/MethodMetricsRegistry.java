@@ -0,0 +1,33 @@
+package com.alma.alma_backend.logging;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registro en memoria de métricas por método de controladores y servicios.
+ * Cada firma tiene su propio {@link MethodMetrics}, creado la primera vez que se invoca.
+ */
+@Component
+public class MethodMetricsRegistry {
+
+    private final Map<String, MethodMetrics> metrics = new ConcurrentHashMap<>();
+
+    public void record(String signature, TraceLayer layer, long elapsedNanos, boolean failed) {
+        MethodMetrics methodMetrics = metrics.get(signature);
+        if (methodMetrics == null) {
+            methodMetrics = metrics.computeIfAbsent(signature, key -> new MethodMetrics(key, layer));
+        }
+        methodMetrics.record(elapsedNanos, failed);
+    }
+
+    public Collection<MethodMetrics> getAll() {
+        return metrics.values();
+    }
+
+    public void reset() {
+        metrics.values().forEach(MethodMetrics::reset);
+    }
+}
@@ -0,0 +1,156 @@
+package com.alma.alma_backend.logging;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Mide los accesos a base de datos de cada petición HTTP con {@link SqlRequestStats}.
+ * <p>
+ * Con las cabeceras activadas (perfiles de desarrollo) la respuesta incluye {@value #HEADER_STATEMENTS},
+ * {@value #HEADER_ENTITIES} y {@value #HEADER_LAZY_LOADS}. Se escriben justo antes de enviar la respuesta,
+ * así que no incluyen lo que ocurra después, por ejemplo en el resto de una respuesta de streaming.
+ * <p>
+ * Las peticiones asíncronas conservan los mismos contadores en sus despachos posteriores y el
+ * presupuesto se comprueba una sola vez, cuando termina la petición completa.
+ * <p>
+ * Al terminar, si la petición supera el presupuesto de sentencias o repite una misma sentencia
+ * demasiadas veces (un N+1), se registra un aviso con la ruta, los contadores y el SQL más repetido.
+ */
+@Slf4j
+public class SqlBudgetFilter extends OncePerRequestFilter {
+
+    public static final String HEADER_STATEMENTS = "X-SQL-Sentencias";
+    public static final String HEADER_ENTITIES = "X-SQL-Entidades";
+    public static final String HEADER_LAZY_LOADS = "X-SQL-Cargas-Lazy";
+
+    private static final String STATS_ATTRIBUTE = SqlBudgetFilter.class.getName() + ".STATS";
+
+    private final int maxStatements;
+    private final int maxRepetitions;
+    private final boolean headers;
+
+    public SqlBudgetFilter(int maxStatements, int maxRepetitions, boolean headers) {
+        this.maxStatements = maxStatements;
+        this.maxRepetitions = maxRepetitions;
+        this.headers = headers;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean asyncDispatch = isAsyncDispatch(request);
+        SqlRequestStats stats = asyncDispatch ? (SqlRequestStats) request.getAttribute(STATS_ATTRIBUTE) : null;
+        if (stats != null) {
+            SqlRequestStats.resume(stats);
+        } else {
+            stats = SqlRequestStats.begin();
+            request.setAttribute(STATS_ATTRIBUTE, stats);
+        }
+        // En un despacho asíncrono la respuesta original ya lleva el envoltorio del primer despacho
+        HttpServletResponse target = headers && !asyncDispatch ? new StatsHeadersResponse(response, stats) : response;
+        try {
+            chain.doFilter(request, target);
+            if (headers && !response.isCommitted()) {
+                writeHeaders(response, stats);
+            }
+        } finally {
+            SqlRequestStats.end();
+            // Los ciclos asíncronos posteriores heredan el listener a través de onStartAsync
+            if (asyncDispatch) {
+                return;
+            }
+            if (isAsyncStarted(request)) {
+                request.getAsyncContext().addListener(new BudgetListener(request, stats));
+            } else {
+                checkBudget(request, stats);
+            }
+        }
+    }
+
+    private void checkBudget(HttpServletRequest request, SqlRequestStats stats) {
+        boolean overBudget = stats.getStatements() > maxStatements;
+        int repetitions = stats.getMaxRepetitions();
+        boolean repeated = repetitions >= maxRepetitions;
+        if (!overBudget && !repeated) {
+            return;
+        }
+        String mostRepeated = stats.getMostRepeatedSql();
+        log.warn("{} {} {}: {} (presupuesto {} sentencias). Sentencia más repetida ({} veces): {}",
+                request.getMethod(), request.getRequestURI(),
+                repeated ? "posible N+1" : "supera el presupuesto SQL",
+                stats, maxStatements, repetitions,
+                mostRepeated == null ? "-" : mostRepeated.replaceAll("\\s+", " "));
+    }
+
+    private static void writeHeaders(HttpServletResponse response, SqlRequestStats stats) {
+        response.setHeader(HEADER_STATEMENTS, Integer.toString(stats.getStatements()));
+        response.setHeader(HEADER_ENTITIES, Integer.toString(stats.getEntitiesLoaded()));
+        response.setHeader(HEADER_LAZY_LOADS, Integer.toString(stats.getLazyLoads()));
+    }
+
+    /**
+     * Comprueba el presupuesto cuando termina la petición asíncrona, con lo registrado en todos sus despachos.
+     */
+    private final class BudgetListener implements AsyncListener {
+
+        private final HttpServletRequest request;
+        private final SqlRequestStats stats;
+
+        BudgetListener(HttpServletRequest request, SqlRequestStats stats) {
+            this.request = request;
+            this.stats = stats;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            checkBudget(request, stats);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Un nuevo ciclo asíncrono descarta los listeners registrados
+            event.getAsyncContext().addListener(this);
+        }
+    }
+
+    /**
+     * Añade las cabeceras en el momento en que se confirma la respuesta, cuando ya se ha
+     * serializado el cuerpo (y con él las cargas lazy que provoque Jackson).
+     */
+    private static final class StatsHeadersResponse extends OnCommittedResponseWrapper {
+
+        private final SqlRequestStats stats;
+
+        StatsHeadersResponse(HttpServletResponse response, SqlRequestStats stats) {
+            super(response);
+            this.stats = stats;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            writeHeaders((HttpServletResponse) getResponse(), stats);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.alma.alma_backend.logging;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Cuenta cada sentencia que Hibernate prepara en la petición en curso (consultas JPQL, nativas,
+ * cargas por id e inicializaciones lazy). No modifica el SQL.
+ */
+public class SqlCountingInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        SqlRequestStats.recordStatement(sql);
+        return sql;
+    }
+}
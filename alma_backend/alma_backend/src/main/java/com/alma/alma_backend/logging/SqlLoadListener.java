@@ -0,0 +1,40 @@
+package com.alma.alma_backend.logging;
+
+import org.hibernate.HibernateException;
+import org.hibernate.event.spi.InitializeCollectionEvent;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.LoadEvent;
+import org.hibernate.event.spi.LoadEventListener;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+
+/**
+ * Escucha los eventos de carga de Hibernate para la petición en curso.
+ * <ul>
+ *   <li>Post-load: una entidad materializada desde un resultado JDBC.</li>
+ *   <li>Load de tipo IMMEDIATE_LOAD: inicialización de un proxy (p. ej. {@code paciente.getUsuario().getNombre()}).</li>
+ *   <li>Initialize-collection: primer acceso a una colección lazy.</li>
+ * </ul>
+ * Se registra por delante de los listeners por defecto para ver las colecciones antes de que se inicialicen.
+ */
+public class SqlLoadListener implements PostLoadEventListener, LoadEventListener, InitializeCollectionEventListener {
+
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        SqlRequestStats.recordEntityLoaded();
+    }
+
+    @Override
+    public void onLoad(LoadEvent event, LoadType loadType) throws HibernateException {
+        if (loadType == LoadEventListener.IMMEDIATE_LOAD) {
+            SqlRequestStats.recordLazyLoad();
+        }
+    }
+
+    @Override
+    public void onInitializeCollection(InitializeCollectionEvent event) throws HibernateException {
+        if (!event.getCollection().wasInitialized()) {
+            SqlRequestStats.recordLazyLoad();
+        }
+    }
+}
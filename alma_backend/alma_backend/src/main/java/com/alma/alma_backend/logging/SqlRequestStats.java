@@ -0,0 +1,186 @@
+package com.alma.alma_backend.logging;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Contadores de acceso a base de datos de la petición en curso.
+ * <p>
+ * Se asocian al hilo que atiende la petición ({@link #begin()} / {@link #end()}) y los alimentan
+ * {@link SqlCountingInspector} (sentencias) y {@link SqlLoadListener} (entidades materializadas y
+ * cargas lazy). Fuera de una medición los métodos de registro no hacen nada, de modo que las tareas
+ * programadas y los hilos de fondo no pagan el coste.
+ * <p>
+ * Una petición puede continuar en otros hilos: las tareas enviadas a un executor envuelto con
+ * {@link #propagate(Runnable)} (el de inferencia de la IA) y el despacho asíncrono de la respuesta,
+ * que {@link SqlBudgetFilter} reanuda con los mismos contadores. Las sentencias de cualquier otro
+ * hilo no se atribuyen a la petición. Como varios hilos pueden registrar a la vez, los contadores
+ * están sincronizados.
+ * <p>
+ * Las sentencias se cuentan al prepararse: un lote JDBC cuenta una vez aunque ejecute muchas filas.
+ * Cada texto SQL distinto lleva su propio contador para detectar la firma típica de un N+1, la misma
+ * consulta repetida una vez por elemento de una lista.
+ */
+public final class SqlRequestStats {
+
+    private static final ThreadLocal<SqlRequestStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private int entitiesLoaded;
+    private int lazyLoads;
+    private final Map<String, int[]> statementsBySql = new HashMap<>();
+
+    private SqlRequestStats() {
+    }
+
+    public static SqlRequestStats begin() {
+        SqlRequestStats stats = new SqlRequestStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    public static SqlRequestStats current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Asocia al hilo actual unos contadores ya abiertos, p. ej. en el despacho asíncrono de una petición.
+     */
+    static void resume(SqlRequestStats stats) {
+        CURRENT.set(stats);
+    }
+
+    /**
+     * Envuelve la tarea para que registre en los contadores del hilo que la envía, si los hay.
+     */
+    public static Runnable propagate(Runnable task) {
+        SqlRequestStats stats = CURRENT.get();
+        if (stats == null) {
+            return task;
+        }
+        return () -> {
+            SqlRequestStats previous = CURRENT.get();
+            CURRENT.set(stats);
+            try {
+                task.run();
+            } finally {
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        };
+    }
+
+    /**
+     * Ejecuta la acción midiendo sus accesos a base de datos. Pensado para pruebas del tipo
+     * "este caso de uso lanza como mucho N consultas sea cual sea el volumen de datos".
+     */
+    public static SqlRequestStats measure(Runnable action) {
+        return measure(() -> {
+            action.run();
+            return null;
+        }).stats();
+    }
+
+    public static <T> Measured<T> measure(Supplier<T> action) {
+        SqlRequestStats previous = CURRENT.get();
+        SqlRequestStats stats = new SqlRequestStats();
+        CURRENT.set(stats);
+        try {
+            return new Measured<>(action.get(), stats);
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+                previous.add(stats);
+            }
+        }
+    }
+
+    static void recordStatement(String sql) {
+        SqlRequestStats stats = CURRENT.get();
+        if (stats != null) {
+            synchronized (stats) {
+                stats.statements++;
+                stats.statementsBySql.computeIfAbsent(sql, key -> new int[1])[0]++;
+            }
+        }
+    }
+
+    static void recordEntityLoaded() {
+        SqlRequestStats stats = CURRENT.get();
+        if (stats != null) {
+            synchronized (stats) {
+                stats.entitiesLoaded++;
+            }
+        }
+    }
+
+    static void recordLazyLoad() {
+        SqlRequestStats stats = CURRENT.get();
+        if (stats != null) {
+            synchronized (stats) {
+                stats.lazyLoads++;
+            }
+        }
+    }
+
+    private synchronized void add(SqlRequestStats other) {
+        statements += other.statements;
+        entitiesLoaded += other.entitiesLoaded;
+        lazyLoads += other.lazyLoads;
+        other.statementsBySql.forEach((sql, count) ->
+                statementsBySql.computeIfAbsent(sql, key -> new int[1])[0] += count[0]);
+    }
+
+    public synchronized int getStatements() {
+        return statements;
+    }
+
+    public synchronized int getEntitiesLoaded() {
+        return entitiesLoaded;
+    }
+
+    public synchronized int getLazyLoads() {
+        return lazyLoads;
+    }
+
+    /**
+     * Veces que se preparó la sentencia más repetida; 1 significa que no hubo repeticiones.
+     */
+    public synchronized int getMaxRepetitions() {
+        int max = 0;
+        for (int[] count : statementsBySql.values()) {
+            max = Math.max(max, count[0]);
+        }
+        return max;
+    }
+
+    public synchronized String getMostRepeatedSql() {
+        String sql = null;
+        int max = 0;
+        for (Map.Entry<String, int[]> entry : statementsBySql.entrySet()) {
+            if (entry.getValue()[0] > max) {
+                max = entry.getValue()[0];
+                sql = entry.getKey();
+            }
+        }
+        return sql;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return statements + " sentencias, " + entitiesLoaded + " entidades, " + lazyLoads + " cargas lazy";
+    }
+
+    public record Measured<T>(T result, SqlRequestStats stats) {
+    }
+}
@@ -0,0 +1,9 @@
+package com.alma.alma_backend.logging;
+
+/**
+ * Capa de la aplicación a la que pertenece un método instrumentado.
+ */
+public enum TraceLayer {
+    CONTROLLER,
+    SERVICE
+}
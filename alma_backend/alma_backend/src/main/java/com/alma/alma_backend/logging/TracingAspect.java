@@ -0,0 +1,121 @@
+package com.alma.alma_backend.logging;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Instrumentación de controladores y servicios de bajo coste.
+ * Registra latencia, invocaciones y errores de cada método en {@link MethodMetricsRegistry}
+ * y solo registra argumentos y resultados en el log para una muestra configurable de llamadas.
+ * Las firmas de los métodos (con los tipos de sus parámetros) se calculan una única vez y se
+ * cachean por {@link Method}.
+ */
+@Aspect
+@Component
+public class TracingAspect {
+
+    private final AuditLogService auditLogService;
+    private final MethodMetricsRegistry metricsRegistry;
+    private final Map<Method, String> signatures = new ConcurrentHashMap<>();
+
+    @Value("${tracing.enabled:true}")
+    private boolean enabled;
+
+    @Value("${tracing.args-sample-rate:0.1}")
+    private double argsSampleRate;
+
+    public TracingAspect(AuditLogService auditLogService, MethodMetricsRegistry metricsRegistry) {
+        this.auditLogService = auditLogService;
+        this.metricsRegistry = metricsRegistry;
+    }
+
+    @Pointcut("within(com.alma.alma_backend.controller..*)")
+    public void controllerBeans() {
+    }
+
+    @Pointcut("within(com.alma.alma_backend.service..*)")
+    public void serviceBeans() {
+    }
+
+    @Around("controllerBeans()")
+    public Object traceController(final ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, TraceLayer.CONTROLLER);
+    }
+
+    @Around("serviceBeans()")
+    public Object traceService(final ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, TraceLayer.SERVICE);
+    }
+
+    private Object trace(ProceedingJoinPoint joinPoint, TraceLayer layer) throws Throwable {
+        if (!enabled) {
+            return joinPoint.proceed();
+        }
+
+        String signature = resolveSignature(joinPoint);
+        boolean sampled = isSampled();
+        if (sampled) {
+            auditLogService.logEntry(layer, signature, joinPoint.getArgs());
+        }
+
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            metricsRegistry.record(signature, layer, System.nanoTime() - start, false);
+            if (sampled) {
+                auditLogService.logExit(layer, signature, result);
+            }
+            return result;
+        } catch (Throwable throwable) {
+            metricsRegistry.record(signature, layer, System.nanoTime() - start, true);
+            auditLogService.logException(layer, signature, throwable);
+            throw throwable;
+        }
+    }
+
+    private String resolveSignature(ProceedingJoinPoint joinPoint) {
+        if (!(joinPoint.getSignature() instanceof MethodSignature methodSignature)) {
+            return joinPoint.getSignature().toShortString();
+        }
+        Method method = methodSignature.getMethod();
+        String signature = signatures.get(method);
+        if (signature == null) {
+            signature = describe(methodSignature.getDeclaringType(), method);
+            signatures.putIfAbsent(method, signature);
+        }
+        return signature;
+    }
+
+    /**
+     * Clave de las métricas: tipo declarante, nombre y tipos de los parámetros, para que las
+     * sobrecargas de un mismo método no compartan histograma.
+     */
+    static String describe(Class<?> declaringType, Method method) {
+        StringBuilder signature = new StringBuilder(declaringType.getSimpleName())
+                .append('.').append(method.getName()).append('(');
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (i > 0) {
+                signature.append(',');
+            }
+            signature.append(parameterTypes[i].getSimpleName());
+        }
+        return signature.append(')').toString();
+    }
+
+    private boolean isSampled() {
+        return argsSampleRate > 0
+                && auditLogService.isTraceEnabled()
+                && (argsSampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < argsSampleRate);
+    }
+}
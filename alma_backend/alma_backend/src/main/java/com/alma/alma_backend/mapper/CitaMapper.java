@@ -0,0 +1,36 @@
+package com.alma.alma_backend.mapper;
+
+import com.alma.alma_backend.dto.CitaResponseDTO;
+import com.alma.alma_backend.entity.Cita;
+
+/**
+ * Mapper for {@link Cita} entities.
+ */
+public final class CitaMapper {
+
+    private CitaMapper() {
+    }
+
+    public static CitaResponseDTO toResponse(Cita cita) {
+        if (cita == null) {
+            return null;
+        }
+
+        CitaResponseDTO dto = new CitaResponseDTO();
+        dto.setId(cita.getId());
+        dto.setIdPaciente(cita.getPaciente().getId());
+        dto.setNombrePaciente(cita.getPaciente().getUsuario().getNombre() + " " +
+                cita.getPaciente().getUsuario().getApellidos());
+        dto.setIdProfesional(cita.getProfesional().getId());
+        dto.setNombreProfesional(cita.getProfesional().getUsuario().getNombre() + " " +
+                cita.getProfesional().getUsuario().getApellidos());
+        dto.setFechaHora(cita.getFechaHora());
+        dto.setDuracionMinutos(cita.getDuracionMinutos());
+        dto.setTipoCita(cita.getTipoCita());
+        dto.setEstado(cita.getEstado());
+        dto.setMotivo(cita.getMotivo());
+        dto.setNotasSesion(cita.getNotasSesion());
+        dto.setFechaCreacion(cita.getFechaCreacion());
+        return dto;
+    }
+}
@@ -14,4 +14,12 @@ public interface ChatPacientesRepository extends JpaRepository<ChatPacientes, In
     @Query("SELECT cp FROM ChatPacientes cp WHERE (cp.paciente1.id = :id1 AND cp.paciente2.id = :id2) OR (cp.paciente1.id = :id2 AND cp.paciente2.id = :id1)")
     Optional<ChatPacientes> findChatByPacientes(@Param("id1") Integer id1, @Param("id2") Integer id2);
 
+    /**
+     * ID del paciente del usuario dentro del chat; vacío si el usuario no es ninguno de los dos participantes.
+     */
+    @Query("SELECT CASE WHEN p1.usuario.id = :idUsuario THEN p1.id ELSE p2.id END " +
+           "FROM ChatPacientes cp JOIN cp.paciente1 p1 JOIN cp.paciente2 p2 " +
+           "WHERE cp.id = :chatId AND (p1.usuario.id = :idUsuario OR p2.usuario.id = :idUsuario)")
+    Optional<Integer> findPacienteParticipante(@Param("chatId") Integer chatId, @Param("idUsuario") Integer idUsuario);
+
 }
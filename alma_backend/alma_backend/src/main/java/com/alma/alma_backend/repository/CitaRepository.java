@@ -60,4 +60,21 @@ public interface CitaRepository extends JpaRepository<Cita, Integer> {
         @Param("idProfesional") Integer idProfesional,
         @Param("fechaActual") LocalDateTime fechaActual
     );
-}
\ No newline at end of file
+
+    // Sincronización incremental: citas modificadas después de la marca de agua
+    @Query("SELECT c FROM Cita c JOIN FETCH c.paciente p JOIN FETCH p.usuario " +
+           "JOIN FETCH c.profesional pr JOIN FETCH pr.usuario " +
+           "WHERE p.id = :idPaciente AND c.fechaUltimaModificacion > :desde")
+    List<Cita> findModificadasPorPaciente(
+        @Param("idPaciente") Integer idPaciente,
+        @Param("desde") LocalDateTime desde
+    );
+
+    @Query("SELECT c FROM Cita c JOIN FETCH c.paciente p JOIN FETCH p.usuario " +
+           "JOIN FETCH c.profesional pr JOIN FETCH pr.usuario " +
+           "WHERE pr.id = :idProfesional AND c.fechaUltimaModificacion > :desde")
+    List<Cita> findModificadasPorProfesional(
+        @Param("idProfesional") Integer idProfesional,
+        @Param("desde") LocalDateTime desde
+    );
+}
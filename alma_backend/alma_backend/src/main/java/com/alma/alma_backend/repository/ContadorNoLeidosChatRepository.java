@@ -0,0 +1,95 @@
+package com.alma.alma_backend.repository;
+
+import com.alma.alma_backend.entity.ContadorNoLeidosChat;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repositorio de los contadores de mensajes no leídos del chat profesional-paciente.
+ * Todas las modificaciones se resuelven en una única sentencia para que sean seguras
+ * ante envíos y lecturas concurrentes.
+ */
+@Repository
+public interface ContadorNoLeidosChatRepository extends JpaRepository<ContadorNoLeidosChat, Integer> {
+
+    /**
+     * Suma un mensaje pendiente al destinatario, creando el contador si no existe.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO CONTADOR_NO_LEIDOS_CHAT (ID_SESION_CHAT, ID_USUARIO, NO_LEIDOS) " +
+                   "VALUES (:idSesionChat, :idUsuario, 1) " +
+                   "ON CONFLICT (ID_SESION_CHAT, ID_USUARIO) DO UPDATE " +
+                   "SET NO_LEIDOS = CONTADOR_NO_LEIDOS_CHAT.NO_LEIDOS + 1, " +
+                   "FECHA_ACTUALIZACION = CURRENT_TIMESTAMP",
+           nativeQuery = true)
+    int incrementar(@Param("idSesionChat") Integer idSesionChat, @Param("idUsuario") Integer idUsuario);
+
+    /**
+     * Descuenta los mensajes marcados como leídos por el destinatario sin bajar de cero.
+     */
+    @Modifying
+    @Query(value = "UPDATE CONTADOR_NO_LEIDOS_CHAT " +
+                   "SET NO_LEIDOS = GREATEST(NO_LEIDOS - :cantidad, 0), " +
+                   "FECHA_ACTUALIZACION = CURRENT_TIMESTAMP " +
+                   "WHERE ID_SESION_CHAT = :idSesionChat AND ID_USUARIO = :idUsuario",
+           nativeQuery = true)
+    int descontar(@Param("idSesionChat") Integer idSesionChat,
+                  @Param("idUsuario") Integer idUsuario,
+                  @Param("cantidad") int cantidad);
+
+    /**
+     * Descuenta un mensaje leído al participante que no es su remitente.
+     * Cada sesión tiene exactamente dos participantes, por lo que el destinatario queda determinado.
+     */
+    @Modifying
+    @Query(value = "UPDATE CONTADOR_NO_LEIDOS_CHAT " +
+                   "SET NO_LEIDOS = GREATEST(NO_LEIDOS - 1, 0), " +
+                   "FECHA_ACTUALIZACION = CURRENT_TIMESTAMP " +
+                   "WHERE ID_SESION_CHAT = :idSesionChat AND ID_USUARIO <> :idRemitente",
+           nativeQuery = true)
+    int descontarMensajeDe(@Param("idSesionChat") Integer idSesionChat, @Param("idRemitente") Integer idRemitente);
+
+    @Query("SELECT c.noLeidos FROM ContadorNoLeidosChat c " +
+           "WHERE c.idSesionChat = :idSesionChat AND c.idUsuario = :idUsuario")
+    Optional<Integer> findNoLeidos(@Param("idSesionChat") Integer idSesionChat, @Param("idUsuario") Integer idUsuario);
+
+    @Query("SELECT COALESCE(SUM(c.noLeidos), 0) FROM ContadorNoLeidosChat c WHERE c.idSesionChat = :idSesionChat")
+    Long sumNoLeidosBySesion(@Param("idSesionChat") Integer idSesionChat);
+
+    @Query("SELECT c.idSesionChat AS idSesionChat, SUM(c.noLeidos) AS noLeidos " +
+           "FROM ContadorNoLeidosChat c " +
+           "WHERE c.idSesionChat IN :idsSesion AND c.idUsuario = :idUsuario " +
+           "GROUP BY c.idSesionChat")
+    List<NoLeidosPorSesionView> findNoLeidosBySesiones(
+        @Param("idsSesion") Collection<Integer> idsSesion,
+        @Param("idUsuario") Integer idUsuario
+    );
+
+    @Query("SELECT c.idSesionChat AS idSesionChat, SUM(c.noLeidos) AS noLeidos " +
+           "FROM ContadorNoLeidosChat c WHERE c.idSesionChat IN :idsSesion " +
+           "GROUP BY c.idSesionChat")
+    List<NoLeidosPorSesionView> sumNoLeidosBySesiones(@Param("idsSesion") Collection<Integer> idsSesion);
+
+    /**
+     * Recalcula todos los contadores a partir de MENSAJE_CHAT.
+     * @return número de contadores corregidos
+     */
+    @Query(value = "SELECT reconciliar_contadores_no_leidos()", nativeQuery = true)
+    Integer reconciliar();
+
+    /**
+     * Proyección con el número de mensajes no leídos de una sesión.
+     */
+    interface NoLeidosPorSesionView {
+        Integer getIdSesionChat();
+
+        Long getNoLeidos();
+    }
+}
@@ -2,6 +2,7 @@ package com.alma.alma_backend.repository;
 
 import com.alma.alma_backend.entity.FaseDuelo;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -14,4 +15,12 @@ public interface FaseDueloRepository extends JpaRepository<FaseDuelo, Integer> {
      * @return Lista de entidades FaseDuelo ordenadas.
      */
     List<FaseDuelo> findAllByOrderByOrdenFaseAsc();
+
+    /**
+     * Resumen de las marcas de modificación del catálogo, para las peticiones condicionales.
+     */
+    @Query(value = "SELECT COUNT(*) AS total, MAX(FECHA_ULTIMA_MODIFICACION) AS \"ultimaModificacion\", " +
+                   "CAST(SUM(EXTRACT(EPOCH FROM FECHA_ULTIMA_MODIFICACION)) AS TEXT) AS huella " +
+                   "FROM FASE_DUELO", nativeQuery = true)
+    VersionDatos obtenerVersion();
 }
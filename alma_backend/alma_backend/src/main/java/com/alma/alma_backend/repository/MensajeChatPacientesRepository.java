@@ -1,9 +1,14 @@
 package com.alma.alma_backend.repository;
 
 import com.alma.alma_backend.entity.MensajeChatPacientes;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -11,4 +16,41 @@ public interface MensajeChatPacientesRepository extends JpaRepository<MensajeCha
 
     List<MensajeChatPacientes> findByChatPacientesIdOrderByFechaEnvioAsc(Integer chatPacientesId);
 
+    /**
+     * Marca como leídos en una sola sentencia los mensajes que el paciente ha recibido en el chat.
+     * @return número de mensajes marcados
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE MensajeChatPacientes m SET m.leido = true, m.fechaLectura = :fechaLectura " +
+           "WHERE m.chatPacientes.id = :chatPacientesId AND m.remitente.id <> :pacienteId " +
+           "AND m.leido = false")
+    int marcarLeidosPorDestinatario(
+        @Param("chatPacientesId") Integer chatPacientesId,
+        @Param("pacienteId") Integer pacienteId,
+        @Param("fechaLectura") LocalDateTime fechaLectura
+    );
+
+    @Query("SELECT m FROM MensajeChatPacientes m JOIN FETCH m.remitente r JOIN FETCH r.usuario WHERE m.chatPacientes.id = :chatPacientesId " +
+           "ORDER BY m.fechaEnvio DESC, m.id DESC")
+    List<MensajeChatPacientes> findUltimos(@Param("chatPacientesId") Integer chatPacientesId, Limit limite);
+
+    @Query("SELECT m FROM MensajeChatPacientes m JOIN FETCH m.remitente r JOIN FETCH r.usuario WHERE m.chatPacientes.id = :chatPacientesId " +
+           "AND m.fechaEnvio <= :fecha AND (m.fechaEnvio < :fecha OR m.id < :id) " +
+           "ORDER BY m.fechaEnvio DESC, m.id DESC")
+    List<MensajeChatPacientes> findAnteriores(
+        @Param("chatPacientesId") Integer chatPacientesId,
+        @Param("fecha") LocalDateTime fecha,
+        @Param("id") Integer id,
+        Limit limite
+    );
+
+    @Query("SELECT m FROM MensajeChatPacientes m JOIN FETCH m.remitente r JOIN FETCH r.usuario WHERE m.chatPacientes.id = :chatPacientesId " +
+           "AND m.fechaEnvio >= :fecha AND (m.fechaEnvio > :fecha OR m.id > :id) " +
+           "ORDER BY m.fechaEnvio ASC, m.id ASC")
+    List<MensajeChatPacientes> findPosteriores(
+        @Param("chatPacientesId") Integer chatPacientesId,
+        @Param("fecha") LocalDateTime fecha,
+        @Param("id") Integer id,
+        Limit limite
+    );
 }
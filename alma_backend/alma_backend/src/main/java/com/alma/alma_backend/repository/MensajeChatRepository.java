@@ -1,17 +1,31 @@
 package com.alma.alma_backend.repository;
 
 import com.alma.alma_backend.entity.MensajeChat;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface MensajeChatRepository extends JpaRepository<MensajeChat, Integer> {
 
-    List<MensajeChat> findBySesionChat_IdOrderByFechaEnvioAsc(Integer idSesionChat);
+    // Historial completo en bloques de 500 filas; se consume dentro de una transacción
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT m FROM MensajeChat m JOIN FETCH m.remitente WHERE m.sesionChat.id = :idSesionChat " +
+           "ORDER BY m.fechaEnvio ASC, m.id ASC")
+    Stream<MensajeChat> streamBySesion(@Param("idSesionChat") Integer idSesionChat);
 
     @Query("SELECT m FROM MensajeChat m WHERE m.sesionChat.id = :idSesionChat " +
            "AND m.leido = false ORDER BY m.fechaEnvio ASC")
@@ -28,4 +42,62 @@ public interface MensajeChatRepository extends JpaRepository<MensajeChat, Intege
     @Query("SELECT COUNT(m) FROM MensajeChat m WHERE m.sesionChat.id = :idSesionChat " +
            "AND m.leido = false")
     Long countMensajesNoLeidos(@Param("idSesionChat") Integer idSesionChat);
-}
\ No newline at end of file
+
+    /**
+     * Marca como leídos en una sola sentencia los mensajes que el usuario ha recibido en la sesión.
+     * @return número de mensajes marcados
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE MensajeChat m SET m.leido = true, m.fechaLectura = :fechaLectura " +
+           "WHERE m.sesionChat.id = :idSesionChat AND m.remitente.id <> :idUsuario " +
+           "AND m.leido = false")
+    int marcarLeidosPorDestinatario(
+        @Param("idSesionChat") Integer idSesionChat,
+        @Param("idUsuario") Integer idUsuario,
+        @Param("fechaLectura") LocalDateTime fechaLectura
+    );
+
+    /**
+     * Marca un mensaje como leído solo si aún no lo estaba.
+     * @return 1 si el mensaje ha pasado a leído, 0 si ya lo estaba
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE MensajeChat m SET m.leido = true, m.fechaLectura = :fechaLectura " +
+           "WHERE m.id = :idMensaje AND m.leido = false")
+    int marcarLeidoSiPendiente(@Param("idMensaje") Integer idMensaje, @Param("fechaLectura") LocalDateTime fechaLectura);
+
+    // Paginación por cursor: se ordena por (fechaEnvio, id) y la condición redundante
+    // sobre la fecha permite acotar el recorrido del índice (padre, fecha, id)
+    @Query("SELECT m FROM MensajeChat m JOIN FETCH m.remitente WHERE m.sesionChat.id = :idSesionChat " +
+           "ORDER BY m.fechaEnvio DESC, m.id DESC")
+    List<MensajeChat> findUltimos(@Param("idSesionChat") Integer idSesionChat, Limit limite);
+
+    @Query("SELECT m FROM MensajeChat m JOIN FETCH m.remitente WHERE m.sesionChat.id = :idSesionChat " +
+           "AND m.fechaEnvio <= :fecha AND (m.fechaEnvio < :fecha OR m.id < :id) " +
+           "ORDER BY m.fechaEnvio DESC, m.id DESC")
+    List<MensajeChat> findAnteriores(
+        @Param("idSesionChat") Integer idSesionChat,
+        @Param("fecha") LocalDateTime fecha,
+        @Param("id") Integer id,
+        Limit limite
+    );
+
+    @Query("SELECT m FROM MensajeChat m JOIN FETCH m.remitente WHERE m.sesionChat.id = :idSesionChat " +
+           "AND m.fechaEnvio >= :fecha AND (m.fechaEnvio > :fecha OR m.id > :id) " +
+           "ORDER BY m.fechaEnvio ASC, m.id ASC")
+    List<MensajeChat> findPosteriores(
+        @Param("idSesionChat") Integer idSesionChat,
+        @Param("fecha") LocalDateTime fecha,
+        @Param("id") Integer id,
+        Limit limite
+    );
+
+    @Query("SELECT m FROM MensajeChat m JOIN FETCH m.remitente JOIN m.sesionChat s " +
+           "WHERE (s.paciente.usuario.id = :idUsuario OR s.profesional.usuario.id = :idUsuario) " +
+           "AND m.fechaUltimaModificacion > :desde " +
+           "ORDER BY m.fechaEnvio ASC, m.id ASC")
+    List<MensajeChat> findModificadosPorUsuario(
+        @Param("idUsuario") Integer idUsuario,
+        @Param("desde") LocalDateTime desde
+    );
+}
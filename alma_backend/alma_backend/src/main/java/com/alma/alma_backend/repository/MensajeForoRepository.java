@@ -1,9 +1,13 @@
 package com.alma.alma_backend.repository;
 
 import com.alma.alma_backend.entity.MensajeForo;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -11,4 +15,27 @@ public interface MensajeForoRepository extends JpaRepository<MensajeForo, Intege
 
     List<MensajeForo> findByForoIdOrderByFechaPublicacionAsc(Integer foroId);
 
+    @Query("SELECT m FROM MensajeForo m JOIN FETCH m.usuario WHERE m.foro.id = :foroId " +
+           "ORDER BY m.fechaPublicacion DESC, m.id DESC")
+    List<MensajeForo> findUltimos(@Param("foroId") Integer foroId, Limit limite);
+
+    @Query("SELECT m FROM MensajeForo m JOIN FETCH m.usuario WHERE m.foro.id = :foroId " +
+           "AND m.fechaPublicacion <= :fecha AND (m.fechaPublicacion < :fecha OR m.id < :id) " +
+           "ORDER BY m.fechaPublicacion DESC, m.id DESC")
+    List<MensajeForo> findAnteriores(
+        @Param("foroId") Integer foroId,
+        @Param("fecha") LocalDateTime fecha,
+        @Param("id") Integer id,
+        Limit limite
+    );
+
+    @Query("SELECT m FROM MensajeForo m JOIN FETCH m.usuario WHERE m.foro.id = :foroId " +
+           "AND m.fechaPublicacion >= :fecha AND (m.fechaPublicacion > :fecha OR m.id > :id) " +
+           "ORDER BY m.fechaPublicacion ASC, m.id ASC")
+    List<MensajeForo> findPosteriores(
+        @Param("foroId") Integer foroId,
+        @Param("fecha") LocalDateTime fecha,
+        @Param("id") Integer id,
+        Limit limite
+    );
 }
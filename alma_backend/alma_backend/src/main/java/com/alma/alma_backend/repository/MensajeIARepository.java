@@ -2,11 +2,13 @@ package com.alma.alma_backend.repository;
 
 import com.alma.alma_backend.entity.MensajeIA;
 import com.alma.alma_backend.entity.RolMensajeIA;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -27,4 +29,28 @@ public interface MensajeIARepository extends JpaRepository<MensajeIA, Integer> {
     @Query("SELECT m FROM MensajeIA m WHERE m.sesion.paciente.id = :idPaciente " +
            "ORDER BY m.timestampMensaje DESC")
     List<MensajeIA> findByPacienteId(@Param("idPaciente") Integer idPaciente);
-}
\ No newline at end of file
+
+    @Query("SELECT m FROM MensajeIA m WHERE m.sesion.id = :idSesion " +
+           "ORDER BY m.timestampMensaje DESC, m.id DESC")
+    List<MensajeIA> findUltimos(@Param("idSesion") Integer idSesion, Limit limite);
+
+    @Query("SELECT m FROM MensajeIA m WHERE m.sesion.id = :idSesion " +
+           "AND m.timestampMensaje <= :fecha AND (m.timestampMensaje < :fecha OR m.id < :id) " +
+           "ORDER BY m.timestampMensaje DESC, m.id DESC")
+    List<MensajeIA> findAnteriores(
+        @Param("idSesion") Integer idSesion,
+        @Param("fecha") LocalDateTime fecha,
+        @Param("id") Integer id,
+        Limit limite
+    );
+
+    @Query("SELECT m FROM MensajeIA m WHERE m.sesion.id = :idSesion " +
+           "AND m.timestampMensaje >= :fecha AND (m.timestampMensaje > :fecha OR m.id > :id) " +
+           "ORDER BY m.timestampMensaje ASC, m.id ASC")
+    List<MensajeIA> findPosteriores(
+        @Param("idSesion") Integer idSesion,
+        @Param("fecha") LocalDateTime fecha,
+        @Param("id") Integer id,
+        Limit limite
+    );
+}
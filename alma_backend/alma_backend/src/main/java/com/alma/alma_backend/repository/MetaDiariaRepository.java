@@ -8,6 +8,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -15,6 +16,12 @@ public interface MetaDiariaRepository extends JpaRepository<MetaDiaria, Integer>
 
     List<MetaDiaria> findByPacienteIdOrderByFechaAsignadaDesc(Integer idPaciente);
 
+    // Se resuelve solo con idx_meta_paciente_modificacion
+    @Query(value = "SELECT COUNT(*) AS total, MAX(FECHA_ULTIMA_MODIFICACION) AS \"ultimaModificacion\", " +
+                   "CAST(SUM(EXTRACT(EPOCH FROM FECHA_ULTIMA_MODIFICACION)) AS TEXT) AS huella " +
+                   "FROM META_DIARIA WHERE ID_PACIENTE = :idPaciente", nativeQuery = true)
+    VersionDatos obtenerVersionPorPaciente(@Param("idPaciente") Integer idPaciente);
+
     List<MetaDiaria> findByPacienteIdAndFechaAsignadaOrderByFechaCreacionDesc(
         Integer idPaciente,
         LocalDate fechaAsignada
@@ -54,4 +61,11 @@ public interface MetaDiariaRepository extends JpaRepository<MetaDiaria, Integer>
         @Param("fecha") LocalDate fecha,
         @Param("textoMeta") String textoMeta
     );
-}
\ No newline at end of file
+
+    @Query("SELECT m FROM MetaDiaria m JOIN FETCH m.paciente p JOIN FETCH p.usuario " +
+           "WHERE p.id = :idPaciente AND m.fechaUltimaModificacion > :desde")
+    List<MetaDiaria> findModificadasPorPaciente(
+        @Param("idPaciente") Integer idPaciente,
+        @Param("desde") LocalDateTime desde
+    );
+}
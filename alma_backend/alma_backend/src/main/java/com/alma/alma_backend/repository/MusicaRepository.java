@@ -2,6 +2,7 @@ package com.alma.alma_backend.repository;
 
 import com.alma.alma_backend.entity.Musica;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,4 +12,9 @@ public interface MusicaRepository extends JpaRepository<Musica, Integer> {
     List<Musica> findByActivoTrue();
     List<Musica> findByFaseDueloRecomendadaIdAndActivoTrue(Integer faseDueloId);
     List<Musica> findByGeneroAndActivoTrue(String genero);
+
+    @Query(value = "SELECT COUNT(*) AS total, MAX(FECHA_ULTIMA_MODIFICACION) AS \"ultimaModificacion\", " +
+                   "CAST(SUM(EXTRACT(EPOCH FROM FECHA_ULTIMA_MODIFICACION)) AS TEXT) AS huella " +
+                   "FROM MUSICA", nativeQuery = true)
+    VersionDatos obtenerVersion();
 }
@@ -3,50 +3,54 @@ package com.alma.alma_backend.repository;
 import com.alma.alma_backend.dto.OrganizacionEstadisticasDTO;
 import com.alma.alma_backend.entity.EstadoOrganizacion;
 import com.alma.alma_backend.entity.Organizacion;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface OrganizacionRepository extends JpaRepository<Organizacion, Integer> {
     Optional<Organizacion> findByCif(String cif);
     Optional<Organizacion> findByEmailCorporativo(String emailCorporativo);
 
+    // Las estadísticas se leen de ESTADISTICAS_ORGANIZACION (mantenida por triggers, V18);
+    // el LEFT JOIN cubre organizaciones que aún no tienen fila de contadores.
     @Query("SELECT new com.alma.alma_backend.dto.OrganizacionEstadisticasDTO(" +
            "o.id, o.nombreOficial, o.cif, o.estadoVerificacion, " +
-           "COUNT(DISTINCT u.id), " +
-           "SUM(CASE WHEN u.tipoUsuario = com.alma.alma_backend.entity.TipoUsuario.PROFESIONAL THEN 1 ELSE 0 END), " +
-           "SUM(CASE WHEN u.tipoUsuario = com.alma.alma_backend.entity.TipoUsuario.PACIENTE THEN 1 ELSE 0 END)) " +
-           "FROM Organizacion o LEFT JOIN Usuario u ON u.organizacion.id = o.id " +
-           "GROUP BY o.id, o.nombreOficial, o.cif, o.estadoVerificacion")
+           "e.totalUsuarios, e.profesionales, e.pacientes) " +
+           "FROM Organizacion o LEFT JOIN EstadisticasOrganizacion e ON e.idOrganizacion = o.id")
     List<OrganizacionEstadisticasDTO> obtenerEstadisticasOrganizaciones();
 
     @Query("SELECT new com.alma.alma_backend.dto.OrganizacionEstadisticasDTO(" +
            "o.id, o.nombreOficial, o.cif, " +
            "(o.estadoVerificacion = com.alma.alma_backend.entity.EstadoVerificacion.VERIFICADA), " +
-           "SUM(CASE WHEN u.tipoUsuario = com.alma.alma_backend.entity.TipoUsuario.ADMIN_ORGANIZACION THEN 1 ELSE 0 END), " +
-           "SUM(CASE WHEN u.tipoUsuario = com.alma.alma_backend.entity.TipoUsuario.PROFESIONAL THEN 1 ELSE 0 END), " +
-           "SUM(CASE WHEN u.tipoUsuario = com.alma.alma_backend.entity.TipoUsuario.PACIENTE THEN 1 ELSE 0 END), " +
-           "SUM(CASE WHEN u.tipoUsuario = com.alma.alma_backend.entity.TipoUsuario.SUPER_ADMIN THEN 1 ELSE 0 END)) " +
-           "FROM Organizacion o LEFT JOIN Usuario u ON u.organizacion.id = o.id " +
-           "WHERE o.id = :idOrganizacion " +
-           "GROUP BY o.id, o.nombreOficial, o.cif, o.estadoVerificacion")
+           "e.admins, e.profesionales, e.pacientes, e.superAdmins) " +
+           "FROM Organizacion o LEFT JOIN EstadisticasOrganizacion e ON e.idOrganizacion = o.id " +
+           "WHERE o.id = :idOrganizacion")
     Optional<OrganizacionEstadisticasDTO> obtenerEstadisticasPorOrganizacion(@Param("idOrganizacion") Integer idOrganizacion);
 
     @Query("SELECT new com.alma.alma_backend.dto.OrganizacionEstadisticasDTO(" +
            "o.id, o.nombreOficial, o.cif, o.estadoVerificacion, " +
-           "COUNT(DISTINCT u.id), " +
-           "SUM(CASE WHEN u.tipoUsuario = com.alma.alma_backend.entity.TipoUsuario.PROFESIONAL THEN 1 ELSE 0 END), " +
-           "SUM(CASE WHEN u.tipoUsuario = com.alma.alma_backend.entity.TipoUsuario.PACIENTE THEN 1 ELSE 0 END)) " +
-           "FROM Organizacion o LEFT JOIN Usuario u ON u.organizacion.id = o.id " +
-           "WHERE o.estadoVerificacion = com.alma.alma_backend.entity.EstadoVerificacion.VERIFICADA " +
-           "GROUP BY o.id, o.nombreOficial, o.cif, o.estadoVerificacion")
+           "e.totalUsuarios, e.profesionales, e.pacientes) " +
+           "FROM Organizacion o LEFT JOIN EstadisticasOrganizacion e ON e.idOrganizacion = o.id " +
+           "WHERE o.estadoVerificacion = com.alma.alma_backend.entity.EstadoVerificacion.VERIFICADA")
     List<OrganizacionEstadisticasDTO> obtenerEstadisticasOrganizacionesActivas();
 
+    /**
+     * Recalcula ESTADISTICAS_ORGANIZACION y ESTADISTICAS_PROFESIONAL desde USUARIO
+     * y ASIGNACION_PROFESIONAL_PACIENTE.
+     * @return número de filas de estadísticas corregidas
+     */
+    @Query(value = "SELECT reconciliar_estadisticas()", nativeQuery = true)
+    Integer reconciliarEstadisticas();
+
     /**
      * Busca organizaciones por estado operativo.
      *
@@ -54,4 +58,25 @@ public interface OrganizacionRepository extends JpaRepository<Organizacion, Inte
      * @return Lista de organizaciones con ese estado
      */
     List<Organizacion> findByEstado(EstadoOrganizacion estado);
+
+    /**
+     * Recorre todas las organizaciones sin cargarlas a la vez; el driver las trae en bloques de
+     * 500 filas. Debe consumirse y cerrarse dentro de una transacción.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT o FROM Organizacion o ORDER BY o.id")
+    Stream<Organizacion> streamAll();
+
+    /**
+     * Variante en streaming de {@link #findByEstado(EstadoOrganizacion)}.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT o FROM Organizacion o WHERE o.estado = :estado ORDER BY o.id")
+    Stream<Organizacion> streamByEstado(@Param("estado") EstadoOrganizacion estado);
 }
\ No newline at end of file
@@ -65,6 +65,26 @@ public interface PacienteRepository extends JpaRepository<Paciente, Integer> {
         @Param("activo") boolean activo
     );
 
+    /**
+     * Resumen de las marcas de modificación del listado anterior, para el profesional asociado al
+     * usuario indicado. Cubre todas las tablas de las que salen columnas del DTO.
+     */
+    @Query(value = "SELECT COUNT(*) AS total, " +
+                   "MAX(GREATEST(a.FECHA_ULTIMA_MODIFICACION, pac.FECHA_ULTIMA_MODIFICACION, " +
+                   "u.FECHA_ULTIMA_MODIFICACION, o.FECHA_ULTIMA_MODIFICACION)) AS \"ultimaModificacion\", " +
+                   "CAST(SUM(EXTRACT(EPOCH FROM a.FECHA_ULTIMA_MODIFICACION) + EXTRACT(EPOCH FROM pac.FECHA_ULTIMA_MODIFICACION) " +
+                   "+ EXTRACT(EPOCH FROM u.FECHA_ULTIMA_MODIFICACION) + EXTRACT(EPOCH FROM o.FECHA_ULTIMA_MODIFICACION)) AS TEXT) AS huella " +
+                   "FROM ASIGNACION_PROFESIONAL_PACIENTE a " +
+                   "JOIN PROFESIONAL pr ON pr.ID_PROFESIONAL = a.ID_PROFESIONAL " +
+                   "JOIN PACIENTE pac ON pac.ID_PACIENTE = a.ID_PACIENTE " +
+                   "JOIN USUARIO u ON u.ID_USUARIO = pac.ID_USUARIO " +
+                   "JOIN ORGANIZACION o ON o.ID_ORGANIZACION = u.ID_ORGANIZACION " +
+                   "WHERE pr.ID_USUARIO = :idUsuarioProfesional AND a.activo = :activo", nativeQuery = true)
+    VersionDatos obtenerVersionPacientesPorProfesional(
+        @Param("idUsuarioProfesional") Integer idUsuarioProfesional,
+        @Param("activo") boolean activo
+    );
+
     @Query("SELECT new com.alma.alma_backend.dto.PacienteDetalleDTO(" +
            "pac.id, u.nombre, u.apellidos, u.email, pac.tarjetaSanitaria, " +
            "pac.fechaNacimiento, pac.genero, u.activo) " +
@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,6 +18,9 @@ public interface ProfesionalRepository extends JpaRepository<Profesional, Intege
 
     Optional<Profesional> findByUsuario_Id(Integer idUsuario);
 
+    @Query("SELECT p.numeroColegiado FROM Profesional p WHERE p.numeroColegiado IN :numeros")
+    List<String> findNumerosColegiadoExistentes(@Param("numeros") Collection<String> numeros);
+
     @Query("SELECT new com.alma.alma_backend.dto.ProfesionalDetalleDTO(" +
            "p.id, p.numeroColegiado, p.especialidad, p.centroSalud, " +
            "u.id, u.email, u.nombre, u.apellidos, u.tipoUsuario, u.activo, u.fechaRegistro, u.ultimoAcceso, " +
@@ -38,28 +42,23 @@ public interface ProfesionalRepository extends JpaRepository<Profesional, Intege
            "FROM Profesional p JOIN p.usuario u JOIN u.organizacion o WHERE o.id = :organizacionId AND u.activo = true")
     List<ProfesionalDetalleDTO> findActivosByOrganizacion(@Param("organizacionId") Integer organizacionId);
 
+    // Contadores leídos de ESTADISTICAS_PROFESIONAL (mantenida por triggers, V18)
     @Query("SELECT new com.alma.alma_backend.dto.ProfesionalEstadisticasDTO(" +
            "p.id, u.nombre, u.apellidos, u.email, p.numeroColegiado, p.especialidad, " +
-           "COUNT(a.id), " +
-           "SUM(CASE WHEN a.activo = true THEN 1 ELSE 0 END), " +
-           "SUM(CASE WHEN a.activo = false THEN 1 ELSE 0 END), " +
-           "SUM(CASE WHEN a.esPrincipal = true THEN 1 ELSE 0 END), " +
+           "e.totalAsignaciones, e.asignacionesActivas, e.asignacionesInactivas, e.asignacionesPrincipales, " +
            "org.id, org.nombreOficial) " +
-           "FROM Profesional p JOIN p.usuario u JOIN u.organizacion org LEFT JOIN p.asignaciones a " +
-           "WHERE org.id = :organizacionId " +
-           "GROUP BY p.id, u.nombre, u.apellidos, u.email, p.numeroColegiado, p.especialidad, org.id, org.nombreOficial")
+           "FROM Profesional p JOIN p.usuario u JOIN u.organizacion org " +
+           "LEFT JOIN EstadisticasProfesional e ON e.idProfesional = p.id " +
+           "WHERE org.id = :organizacionId")
     List<ProfesionalEstadisticasDTO> findEstadisticasByOrganizacion(@Param("organizacionId") Integer organizacionId);
 
     @Query("SELECT new com.alma.alma_backend.dto.ProfesionalEstadisticasDTO(" +
            "p.id, u.nombre, u.apellidos, u.email, p.numeroColegiado, p.especialidad, " +
-           "COUNT(a.id), " +
-           "SUM(CASE WHEN a.activo = true THEN 1 ELSE 0 END), " +
-           "SUM(CASE WHEN a.activo = false THEN 1 ELSE 0 END), " +
-           "SUM(CASE WHEN a.esPrincipal = true THEN 1 ELSE 0 END), " + // BUG CORREGIDO
+           "e.totalAsignaciones, e.asignacionesActivas, e.asignacionesInactivas, e.asignacionesPrincipales, " +
            "org.id, org.nombreOficial) " +
-           "FROM Profesional p JOIN p.usuario u JOIN u.organizacion org LEFT JOIN p.asignaciones a " +
-           "WHERE p.id = :id " +
-           "GROUP BY p.id, u.nombre, u.apellidos, u.email, p.numeroColegiado, p.especialidad, org.id, org.nombreOficial")
+           "FROM Profesional p JOIN p.usuario u JOIN u.organizacion org " +
+           "LEFT JOIN EstadisticasProfesional e ON e.idProfesional = p.id " +
+           "WHERE p.id = :id")
     Optional<ProfesionalEstadisticasDTO> findEstadisticasById(@Param("id") Integer id);
 
     @Query("SELECT new com.alma.alma_backend.dto.ProfesionalDetalleDTO(" +
@@ -0,0 +1,31 @@
+package com.alma.alma_backend.repository;
+
+import com.alma.alma_backend.entity.RegistroEliminacion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RegistroEliminacionRepository extends JpaRepository<RegistroEliminacion, Integer> {
+
+    List<RegistroEliminacion> findByIdPacienteAndFechaEliminacionAfterOrderByFechaEliminacionAsc(
+        Integer idPaciente, LocalDateTime desde);
+
+    List<RegistroEliminacion> findByIdProfesionalAndFechaEliminacionAfterOrderByFechaEliminacionAsc(
+        Integer idProfesional, LocalDateTime desde);
+
+    @Modifying
+    @Query("DELETE FROM RegistroEliminacion r WHERE r.fechaEliminacion < :limite")
+    int deleteAnteriores(@Param("limite") LocalDateTime limite);
+
+    /**
+     * Hora actual de la base de datos, el mismo reloj que usan los triggers de modificación.
+     */
+    @Query(value = "SELECT LOCALTIMESTAMP", nativeQuery = true)
+    LocalDateTime obtenerFechaServidor();
+}
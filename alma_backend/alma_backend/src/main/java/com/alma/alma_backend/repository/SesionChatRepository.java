@@ -2,21 +2,27 @@ package com.alma.alma_backend.repository;
 
 import com.alma.alma_backend.entity.EstadoSesionChat;
 import com.alma.alma_backend.entity.SesionChat;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface SesionChatRepository extends JpaRepository<SesionChat, Integer> {
 
+    // Los listados cargan paciente, profesional y sus usuarios en la misma consulta para evitar N+1 al mapear
+    @EntityGraph(attributePaths = {"paciente.usuario", "profesional.usuario"})
     List<SesionChat> findByPaciente_IdOrderByUltimaActividadDesc(Integer idPaciente);
 
+    @EntityGraph(attributePaths = {"paciente.usuario", "profesional.usuario"})
     List<SesionChat> findByProfesional_IdOrderByUltimaActividadDesc(Integer idProfesional);
 
+    @EntityGraph(attributePaths = {"paciente.usuario", "profesional.usuario"})
     List<SesionChat> findByEstadoOrderByUltimaActividadDesc(EstadoSesionChat estado);
 
     @Query("SELECT s FROM SesionChat s WHERE s.paciente.id = :idPaciente " +
@@ -41,4 +47,20 @@ public interface SesionChatRepository extends JpaRepository<SesionChat, Integer>
         @Param("idProfesional") Integer idProfesional,
         @Param("estado") EstadoSesionChat estado
     );
-}
\ No newline at end of file
+
+    @Query("SELECT COUNT(s) > 0 FROM SesionChat s WHERE s.id = :idSesionChat " +
+           "AND (s.paciente.usuario.id = :idUsuario OR s.profesional.usuario.id = :idUsuario)")
+    boolean existsParticipante(
+        @Param("idSesionChat") Integer idSesionChat,
+        @Param("idUsuario") Integer idUsuario
+    );
+
+    @Query("SELECT s FROM SesionChat s JOIN FETCH s.paciente p JOIN FETCH p.usuario up " +
+           "JOIN FETCH s.profesional pr JOIN FETCH pr.usuario upr " +
+           "WHERE (up.id = :idUsuario OR upr.id = :idUsuario) " +
+           "AND s.fechaUltimaModificacion > :desde")
+    List<SesionChat> findModificadasPorUsuario(
+        @Param("idUsuario") Integer idUsuario,
+        @Param("desde") LocalDateTime desde
+    );
+}
@@ -3,6 +3,7 @@ package com.alma.alma_backend.repository;
 import com.alma.alma_backend.entity.EstadoSesion;
 import com.alma.alma_backend.entity.SesionInteraccion;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -15,6 +16,31 @@ public interface SesionInteraccionRepository extends JpaRepository<SesionInterac
 
     List<SesionInteraccion> findByPacienteIdOrderByFechaInicioDesc(Integer idPaciente);
 
+    /**
+     * Reserva {@code cantidad} mensajes en una sesión activa si no supera el límite de su tipo.
+     * Comprobación e incremento se hacen en la misma sentencia, sin carreras entre envíos concurrentes.
+     * @param tipos Tipos de sesión con límite propio, emparejados por posición con {@code limites}
+     * @return 1 si se ha reservado, 0 si la sesión no existe, no está activa o alcanzaría el límite
+     */
+    @Modifying
+    @Query(value = "UPDATE SESION_INTERACCION SET NUMERO_MENSAJES = NUMERO_MENSAJES + :cantidad " +
+                   "WHERE ID_SESION = :idSesion AND ESTADO = 'ACTIVA' " +
+                   "AND NUMERO_MENSAJES + :cantidad <= COALESCE(" +
+                   "(SELECT l.LIMITE FROM UNNEST(CAST(:tipos AS VARCHAR[]), CAST(:limites AS INTEGER[])) AS l(TIPO, LIMITE) " +
+                   "WHERE l.TIPO = TIPO_SESION), :limitePorDefecto)",
+           nativeQuery = true)
+    int reservarMensajes(@Param("idSesion") Integer idSesion, @Param("cantidad") int cantidad,
+                         @Param("tipos") String[] tipos, @Param("limites") Integer[] limites,
+                         @Param("limitePorDefecto") int limitePorDefecto);
+
+    /**
+     * Devuelve mensajes reservados que finalmente no se han guardado.
+     */
+    @Modifying
+    @Query("UPDATE SesionInteraccion s SET s.numeroMensajes = s.numeroMensajes - :cantidad " +
+           "WHERE s.id = :idSesion AND s.numeroMensajes >= :cantidad")
+    int liberarMensajes(@Param("idSesion") Integer idSesion, @Param("cantidad") int cantidad);
+
     List<SesionInteraccion> findByProfesionalIdOrderByFechaInicioDesc(Integer idProfesional);
 
     List<SesionInteraccion> findByEstadoOrderByFechaInicioDesc(EstadoSesion estado);
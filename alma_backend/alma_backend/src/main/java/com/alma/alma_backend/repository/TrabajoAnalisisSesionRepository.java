@@ -0,0 +1,95 @@
+package com.alma.alma_backend.repository;
+
+import com.alma.alma_backend.entity.EstadoTrabajoAnalisis;
+import com.alma.alma_backend.entity.TrabajoAnalisisSesion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TrabajoAnalisisSesionRepository extends JpaRepository<TrabajoAnalisisSesion, Integer> {
+
+    /**
+     * Encola el análisis de una sesión; si ya tiene un trabajo pendiente o en curso no hace nada.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO TRABAJO_ANALISIS_SESION (ID_SESION) VALUES (:idSesion) " +
+                   "ON CONFLICT (ID_SESION) WHERE ESTADO IN ('PENDIENTE', 'EN_PROCESO') DO NOTHING",
+           nativeQuery = true)
+    int encolar(@Param("idSesion") Integer idSesion);
+
+    /**
+     * Bloquea hasta {@code lote} trabajos disponibles saltándose los que ya tiene bloqueados otro worker.
+     * Debe ejecutarse en la misma transacción que {@link #marcarEnProceso}.
+     */
+    @Query(value = "SELECT ID_TRABAJO FROM TRABAJO_ANALISIS_SESION " +
+                   "WHERE ESTADO = 'PENDIENTE' AND FECHA_DISPONIBLE <= CURRENT_TIMESTAMP " +
+                   "ORDER BY FECHA_DISPONIBLE, ID_TRABAJO " +
+                   "LIMIT :lote FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<Integer> bloquearDisponibles(@Param("lote") int lote);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE TRABAJO_ANALISIS_SESION SET ESTADO = 'EN_PROCESO', INTENTOS = INTENTOS + 1, " +
+                   "FECHA_INICIO = CURRENT_TIMESTAMP WHERE ID_TRABAJO IN (:ids)",
+           nativeQuery = true)
+    int marcarEnProceso(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Las escrituras de un worker solo se aplican si el trabajo sigue siendo la reclamación que
+     * obtuvo: si se liberó por tiempo y otro worker lo reclamó, {@code INTENTOS} ya no coincide
+     * y la sentencia no actualiza ninguna fila.
+     */
+    @Modifying
+    @Query(value = "UPDATE TRABAJO_ANALISIS_SESION SET ESTADO = 'COMPLETADO', FECHA_FIN = CURRENT_TIMESTAMP, " +
+                   "ULTIMO_ERROR = NULL " +
+                   "WHERE ID_TRABAJO = :id AND ESTADO = 'EN_PROCESO' AND INTENTOS = :intentoReclamado",
+           nativeQuery = true)
+    int marcarCompletado(@Param("id") Integer id, @Param("intentoReclamado") int intentoReclamado);
+
+    /**
+     * Devuelve el trabajo a la cola con una espera o, agotados los intentos, lo marca como fallido.
+     * Como {@link #marcarCompletado}, no hace nada si el worker ha perdido la reclamación.
+     */
+    @Modifying
+    @Query(value = "UPDATE TRABAJO_ANALISIS_SESION SET " +
+                   "ESTADO = CASE WHEN INTENTOS >= :maxIntentos THEN 'FALLIDO' ELSE 'PENDIENTE' END, " +
+                   "FECHA_DISPONIBLE = CURRENT_TIMESTAMP + make_interval(secs => INTENTOS * :esperaSegundos), " +
+                   "FECHA_FIN = CASE WHEN INTENTOS >= :maxIntentos THEN CURRENT_TIMESTAMP END, " +
+                   "ULTIMO_ERROR = :error " +
+                   "WHERE ID_TRABAJO = :id AND ESTADO = 'EN_PROCESO' AND INTENTOS = :intentoReclamado",
+           nativeQuery = true)
+    int registrarFallo(@Param("id") Integer id, @Param("intentoReclamado") int intentoReclamado,
+                       @Param("error") String error,
+                       @Param("maxIntentos") int maxIntentos, @Param("esperaSegundos") int esperaSegundos);
+
+    /**
+     * Recupera los trabajos reclamados por un worker que no terminó (caída del nodo): vuelven a
+     * PENDIENTE o, si ya agotaron los intentos, quedan como FALLIDO para no reintentarse sin fin.
+     */
+    @Modifying
+    @Query(value = "UPDATE TRABAJO_ANALISIS_SESION SET " +
+                   "ESTADO = CASE WHEN INTENTOS >= :maxIntentos THEN 'FALLIDO' ELSE 'PENDIENTE' END, " +
+                   "FECHA_INICIO = CASE WHEN INTENTOS >= :maxIntentos THEN FECHA_INICIO END, " +
+                   "FECHA_FIN = CASE WHEN INTENTOS >= :maxIntentos THEN CURRENT_TIMESTAMP END, " +
+                   "ULTIMO_ERROR = CASE WHEN INTENTOS >= :maxIntentos " +
+                   "THEN 'Superado el tiempo máximo en proceso' ELSE ULTIMO_ERROR END " +
+                   "WHERE ESTADO = 'EN_PROCESO' AND FECHA_INICIO < CURRENT_TIMESTAMP - make_interval(secs => :segundos)",
+           nativeQuery = true)
+    int liberarBloqueados(@Param("segundos") long segundos, @Param("maxIntentos") int maxIntentos);
+
+    long countByEstado(EstadoTrabajoAnalisis estado);
+
+    /**
+     * Antigüedad en segundos del trabajo pendiente más antiguo (retraso de la cola), o null si está vacía.
+     */
+    @Query(value = "SELECT EXTRACT(EPOCH FROM (CURRENT_TIMESTAMP - MIN(FECHA_CREACION))) " +
+                   "FROM TRABAJO_ANALISIS_SESION WHERE ESTADO = 'PENDIENTE'",
+           nativeQuery = true)
+    Double findRetrasoSegundos();
+}
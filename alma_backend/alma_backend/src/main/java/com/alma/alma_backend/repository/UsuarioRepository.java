@@ -2,12 +2,22 @@ package com.alma.alma_backend.repository;
 
 import com.alma.alma_backend.entity.TipoUsuario;
 import com.alma.alma_backend.entity.Usuario;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repositorio para la entidad Usuario.
@@ -31,6 +41,15 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Integer> {
      */
     Optional<Usuario> findByDni(String dni);
 
+    /**
+     * Devuelve DNI y email de los usuarios que coinciden con alguno de los indicados.
+     * Usado por la importación masiva para detectar duplicados de un bloque en una sola consulta.
+     * @return pares [dni, email]
+     */
+    @Query("SELECT u.dni, u.email FROM Usuario u WHERE u.dni IN :dnis OR u.email IN :emails")
+    List<Object[]> findDniYEmailExistentes(@Param("dnis") Collection<String> dnis,
+                                           @Param("emails") Collection<String> emails);
+
     /**
      * Verifica si existe un usuario con el email dado.
      * @param email El email a verificar
@@ -61,4 +80,74 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Integer> {
     default List<Usuario> findByOrganizacionIdOrganizacion(Integer organizacionId) {
         return findByOrganizacion_Id(organizacionId);
     }
+
+    /**
+     * Recorre los usuarios de una organización en bloques de 500 filas, con la organización ya
+     * cargada para el mapeo. Debe consumirse y cerrarse dentro de una transacción.
+     * @param organizacionId El ID de la organización
+     * @return Stream de usuarios ordenados por ID
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT u FROM Usuario u JOIN FETCH u.organizacion o WHERE o.id = :organizacionId ORDER BY u.id")
+    Stream<Usuario> streamByOrganizacionId(@Param("organizacionId") Integer organizacionId);
+
+    /**
+     * Incrementa atómicamente la versión de tokens del usuario, revocando los JWT emitidos hasta ahora.
+     * @param id El ID del usuario
+     * @return Número de filas actualizadas
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Usuario u SET u.tokenVersion = u.tokenVersion + 1 WHERE u.id = :id")
+    int incrementarTokenVersion(@Param("id") Integer id);
+
+    /**
+     * Actualiza en una sola sentencia el último acceso de varios usuarios (posiciones emparejadas).
+     * Nunca retrocede una fecha ya guardada.
+     * @param ids IDs de usuario
+     * @param fechas Fecha de acceso de cada usuario
+     * @return Número de filas actualizadas
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE USUARIO u SET ULTIMO_ACCESO = v.FECHA " +
+                   "FROM UNNEST(CAST(:ids AS INTEGER[]), CAST(:fechas AS TIMESTAMP[])) AS v(ID_USUARIO, FECHA) " +
+                   "WHERE u.ID_USUARIO = v.ID_USUARIO AND (u.ULTIMO_ACCESO IS NULL OR u.ULTIMO_ACCESO < v.FECHA)",
+           nativeQuery = true)
+    int actualizarUltimosAccesos(@Param("ids") Integer[] ids, @Param("fechas") LocalDateTime[] fechas);
+
+    /**
+     * Obtiene la versión de tokens vigente de un usuario.
+     * @param id El ID del usuario
+     * @return Optional con la versión si el usuario existe
+     */
+    @Query("SELECT u.tokenVersion FROM Usuario u WHERE u.id = :id")
+    Optional<Integer> findTokenVersionById(@Param("id") Integer id);
+
+    /**
+     * Lista compacta de usuarios con tokens revocados (versión mayor que cero).
+     * @return Pares (id de usuario, versión de tokens)
+     */
+    @Query("SELECT u.id AS idUsuario, u.tokenVersion AS tokenVersion FROM Usuario u WHERE u.tokenVersion > 0")
+    List<TokenVersionView> findTokenVersionesRevocadas();
+
+    /**
+     * Usuarios borrados, registrados por el trigger de eliminación de USUARIO (V21).
+     * Su fila ya no existe, así que no aparecen en {@link #findTokenVersionesRevocadas()}.
+     * @return IDs de los usuarios eliminados
+     */
+    @Query(value = "SELECT ID_USUARIO FROM USUARIO_ELIMINADO", nativeQuery = true)
+    List<Integer> findIdsUsuariosEliminados();
+
+    /**
+     * Proyección mínima para la lista de revocación de tokens.
+     */
+    interface TokenVersionView {
+        Integer getIdUsuario();
+
+        Integer getTokenVersion();
+    }
 }
@@ -0,0 +1,20 @@
+package com.alma.alma_backend.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Resumen de las marcas FECHA_ULTIMA_MODIFICACION de las filas de un listado, con el que se
+ * construye el validador ETag sin cargar las entidades.
+ */
+public interface VersionDatos {
+
+    Long getTotal();
+
+    LocalDateTime getUltimaModificacion();
+
+    /**
+     * Suma de las marcas en segundos (como texto, sin pérdida de precisión). Cambia con cualquier
+     * modificación, también cuando una transacción que empezó antes confirma una marca anterior al máximo.
+     */
+    String getHuella();
+}
@@ -2,6 +2,7 @@ package com.alma.alma_backend.repository;
 
 import com.alma.alma_backend.entity.Video;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,4 +12,9 @@ public interface VideoRepository extends JpaRepository<Video, Integer> {
     List<Video> findByActivoTrue();
     List<Video> findByFaseDueloRecomendadaIdAndActivoTrue(Integer faseDueloId);
     List<Video> findByCategoriaAndActivoTrue(String categoria);
+
+    @Query(value = "SELECT COUNT(*) AS total, MAX(FECHA_ULTIMA_MODIFICACION) AS \"ultimaModificacion\", " +
+                   "CAST(SUM(EXTRACT(EPOCH FROM FECHA_ULTIMA_MODIFICACION)) AS TEXT) AS huella " +
+                   "FROM VIDEO", nativeQuery = true)
+    VersionDatos obtenerVersion();
 }
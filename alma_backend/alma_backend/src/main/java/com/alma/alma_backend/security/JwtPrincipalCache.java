@@ -0,0 +1,131 @@
+package com.alma.alma_backend.security;
+
+import io.jsonwebtoken.Claims;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caché acotada de principales autenticados mediante JWT.
+ * Evita recargar el usuario desde la base de datos en cada petición: la clave es
+ * el subject del token junto con su fecha de emisión, de modo que un token ya
+ * verificado se resuelve sin consultas adicionales hasta que caduca la entrada.
+ */
+@Component
+public class JwtPrincipalCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtPrincipalCache.class);
+
+    private final Map<String, Entrada> entradas = new ConcurrentHashMap<>();
+
+    @Value("${jwt.principal-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${jwt.principal-cache.ttl-ms:300000}") // Por defecto 5 minutos
+    private long ttlMs;
+
+    @Value("${jwt.principal-cache.max-entries:10000}")
+    private int maxEntries;
+
+    /**
+     * Devuelve el principal cacheado para los claims ya verificados, o null si no hay entrada vigente.
+     */
+    public UserDetails get(Claims claims) {
+        if (!enabled) {
+            return null;
+        }
+        String clave = buildKey(claims);
+        if (clave == null) {
+            return null;
+        }
+
+        Entrada entrada = entradas.get(clave);
+        if (entrada == null) {
+            return null;
+        }
+        if (entrada.expiraEn() <= System.currentTimeMillis()) {
+            entradas.remove(clave, entrada);
+            return null;
+        }
+        return entrada.userDetails();
+    }
+
+    /**
+     * Almacena el principal asociado a los claims. La entrada nunca sobrevive a la expiración del token.
+     */
+    public void put(Claims claims, UserDetails userDetails) {
+        if (!enabled) {
+            return;
+        }
+        String clave = buildKey(claims);
+        if (clave == null) {
+            return;
+        }
+
+        long expiraEn = System.currentTimeMillis() + ttlMs;
+        Date expiracionToken = claims.getExpiration();
+        if (expiracionToken != null) {
+            expiraEn = Math.min(expiraEn, expiracionToken.getTime());
+        }
+
+        if (entradas.size() >= maxEntries) {
+            evict();
+        }
+        entradas.put(clave, new Entrada(normalize(userDetails.getUsername()), userDetails, expiraEn));
+    }
+
+    /**
+     * Elimina todas las entradas del usuario indicado (actualización, cambio de contraseña o baja).
+     */
+    public void invalidate(String email) {
+        if (email == null) {
+            return;
+        }
+        String normalizado = normalize(email);
+        entradas.values().removeIf(entrada -> entrada.username().equals(normalizado));
+        logger.debug("Principal JWT invalidado en caché para: {}", normalizado);
+    }
+
+    /**
+     * Vacía la caché por completo.
+     */
+    public void clear() {
+        entradas.clear();
+    }
+
+    /**
+     * Libera espacio eliminando primero las entradas caducadas y, si no basta,
+     * entradas arbitrarias hasta quedar por debajo del límite.
+     */
+    private void evict() {
+        long ahora = System.currentTimeMillis();
+        entradas.values().removeIf(entrada -> entrada.expiraEn() <= ahora);
+
+        Iterator<String> it = entradas.keySet().iterator();
+        while (entradas.size() >= maxEntries && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    private String buildKey(Claims claims) {
+        if (claims == null || claims.getSubject() == null || claims.getIssuedAt() == null) {
+            return null;
+        }
+        return normalize(claims.getSubject()) + ":" + claims.getIssuedAt().getTime();
+    }
+
+    private String normalize(String email) {
+        return email.toLowerCase().trim();
+    }
+
+    private record Entrada(String username, UserDetails userDetails, long expiraEn) {
+    }
+}
@@ -2,6 +2,7 @@ package com.alma.alma_backend.security;
 
 import com.alma.alma_backend.logging.AuditLogService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -10,6 +11,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.MediaType;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -31,6 +33,8 @@ import java.util.Map;
 /**
  * Filtro que intercepta las peticiones HTTP para validar tokens JWT.
  * Se ejecuta una vez por petición y establece el contexto de seguridad si el token es válido.
+ * Con {@code jwt.claims-only.enabled=true} la autenticación se construye directamente desde
+ * los claims firmados (roles, usuario y organización) sin consultar la base de datos.
  */
 @Component
 public class JwtRequestFilter extends OncePerRequestFilter {
@@ -42,12 +46,20 @@ public class JwtRequestFilter extends OncePerRequestFilter {
     private final UserDetailsService userDetailsService;
     private final JwtUtil jwtUtil;
     private final AuditLogService auditLogService;
+    private final JwtPrincipalCache principalCache;
+    private final JwtTokenVersionRegistry tokenVersionRegistry;
+
+    @Value("${jwt.claims-only.enabled:false}")
+    private boolean claimsOnlyEnabled;
 
     @Autowired
-    public JwtRequestFilter(UserDetailsService userDetailsService, JwtUtil jwtUtil, AuditLogService auditLogService) {
+    public JwtRequestFilter(UserDetailsService userDetailsService, JwtUtil jwtUtil, AuditLogService auditLogService,
+                            JwtPrincipalCache principalCache, JwtTokenVersionRegistry tokenVersionRegistry) {
         this.userDetailsService = userDetailsService;
         this.jwtUtil = jwtUtil;
         this.auditLogService = auditLogService;
+        this.principalCache = principalCache;
+        this.tokenVersionRegistry = tokenVersionRegistry;
     }
 
     @Override
@@ -59,45 +71,65 @@ public class JwtRequestFilter extends OncePerRequestFilter {
             // Extraer el token JWT del header Authorization
             String jwt = extractJwtFromRequest(request);
 
-            // Si hay un token y es estructuralmente válido
-            if (StringUtils.hasText(jwt) && jwtUtil.validateTokenStructure(jwt)) {
+            // Parsear y verificar la firma una única vez; null si el token no es válido
+            Claims claims = StringUtils.hasText(jwt) ? jwtUtil.parseClaims(jwt) : null;
+
+            if (claims != null) {
 
                 // Extraer el username del token
-                String username = jwtUtil.extractUsername(jwt);
+                String username = claims.getSubject();
 
                 // Si hay un username y no hay autenticación previa en el contexto
                 if (StringUtils.hasText(username) && SecurityContextHolder.getContext().getAuthentication() == null) {
 
                     try {
-                        // Cargar los detalles del usuario desde la base de datos
-                        UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-
-                        // Validar el token contra los detalles del usuario
-                        if (jwtUtil.validateToken(jwt, userDetails)) {
-
-                            // Crear el token de autenticación de Spring Security
-                            UsernamePasswordAuthenticationToken authenticationToken =
-                                new UsernamePasswordAuthenticationToken(
-                                    userDetails,
-                                    null,
-                                    userDetails.getAuthorities()
-                                );
-
-                            // Establecer detalles adicionales de la petición
-                            authenticationToken.setDetails(
-                                new WebAuthenticationDetailsSource().buildDetails(request)
-                            );
+                        UserDetails userDetails = null;
+
+                        // Modo "claims-only": el principal se construye desde el token firmado
+                        if (claimsOnlyEnabled && jwtUtil.hasStatelessClaims(claims)) {
+                            Integer idUsuario = claims.get(JwtUtil.CLAIM_USER_ID, Integer.class);
+                            Integer version = claims.get(JwtUtil.CLAIM_TOKEN_VERSION, Integer.class);
+                            if (tokenVersionRegistry.isRevoked(idUsuario, version)) {
+                                auditLogService.logSecurityWarn("Token JWT revocado para el usuario: {}", username);
+                                writeUnauthorizedResponse(request, response, "Invalid or expired token");
+                                return;
+                            }
+                            userDetails = JwtUserPrincipal.fromClaims(claims);
+                        } else {
+                            // Reutilizar el principal cacheado o cargarlo desde la base de datos
+                            userDetails = principalCache.get(claims);
+                        }
 
-                            // Establecer la autenticación en el contexto de seguridad
-                            SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+                        if (userDetails == null) {
+                            userDetails = this.userDetailsService.loadUserByUsername(username);
 
-                            logger.debug("Usuario '{}' autenticado exitosamente mediante JWT", username);
-                        } else {
-                            auditLogService.logSecurityWarn("Token JWT inválido para el usuario: {}", username);
-                            writeUnauthorizedResponse(request, response, "Invalid or expired token");
-                            return;
+                            // Validar los claims contra los detalles del usuario
+                            if (!jwtUtil.validateToken(claims, userDetails)) {
+                                auditLogService.logSecurityWarn("Token JWT inválido para el usuario: {}", username);
+                                writeUnauthorizedResponse(request, response, "Invalid or expired token");
+                                return;
+                            }
+                            principalCache.put(claims, userDetails);
                         }
 
+                        // Crear el token de autenticación de Spring Security
+                        UsernamePasswordAuthenticationToken authenticationToken =
+                            new UsernamePasswordAuthenticationToken(
+                                userDetails,
+                                null,
+                                userDetails.getAuthorities()
+                            );
+
+                        // Establecer detalles adicionales de la petición
+                        authenticationToken.setDetails(
+                            new WebAuthenticationDetailsSource().buildDetails(request)
+                        );
+
+                        // Establecer la autenticación en el contexto de seguridad
+                        SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+
+                        logger.debug("Usuario '{}' autenticado exitosamente mediante JWT", username);
+
                     } catch (UsernameNotFoundException e) {
                         auditLogService.logSecurityWarn("Usuario no encontrado para token JWT: {}", username);
                         writeUnauthorizedResponse(request, response, "Invalid or expired token");
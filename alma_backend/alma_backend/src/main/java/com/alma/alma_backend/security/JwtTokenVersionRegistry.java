@@ -0,0 +1,100 @@
+package com.alma.alma_backend.security;
+
+import com.alma.alma_backend.repository.UsuarioRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lista de revocación compacta para el modo de autenticación "claims-only".
+ * Mantiene en memoria la versión de tokens de los usuarios que alguna vez fueron revocados
+ * (TOKEN_VERSION &gt; 0). Un token cuya versión sea inferior a la registrada se rechaza.
+ * Los usuarios eliminados se leen de USUARIO_ELIMINADO, porque su fila ya no existe, y se
+ * rechazan todos sus tokens.
+ * La lista se recarga periódicamente para propagar revocaciones hechas desde otros nodos.
+ */
+@Component
+public class JwtTokenVersionRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtTokenVersionRegistry.class);
+
+    // Ningún token puede tener una versión igual o superior: se rechazan todos
+    private static final int VERSION_ELIMINADO = Integer.MAX_VALUE;
+
+    private final UsuarioRepository usuarioRepository;
+    private final Map<Integer, Integer> versiones = new ConcurrentHashMap<>();
+
+    @Value("${jwt.claims-only.enabled:false}")
+    private boolean claimsOnlyEnabled;
+
+    public JwtTokenVersionRegistry(UsuarioRepository usuarioRepository) {
+        this.usuarioRepository = usuarioRepository;
+    }
+
+    /**
+     * Indica si un token con la versión dada ha sido revocado para el usuario.
+     */
+    public boolean isRevoked(Integer idUsuario, Integer versionToken) {
+        if (idUsuario == null) {
+            return true;
+        }
+        int actual = versiones.getOrDefault(idUsuario, 0);
+        int version = versionToken != null ? versionToken : 0;
+        return version < actual;
+    }
+
+    /**
+     * Revoca todos los tokens emitidos hasta ahora para el usuario.
+     */
+    public void revocar(Integer idUsuario) {
+        if (idUsuario == null) {
+            return;
+        }
+        usuarioRepository.incrementarTokenVersion(idUsuario);
+        usuarioRepository.findTokenVersionById(idUsuario)
+                .ifPresent(version -> versiones.merge(idUsuario, version, Math::max));
+        logger.info("Tokens JWT revocados para el usuario ID: {}", idUsuario);
+    }
+
+    /**
+     * Rechaza cualquier token del usuario, que acaba de ser eliminado en este nodo.
+     * Los demás nodos lo ven en su siguiente recarga.
+     */
+    public void revocarEliminado(Integer idUsuario) {
+        if (idUsuario != null) {
+            versiones.put(idUsuario, VERSION_ELIMINADO);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void cargarInicial() {
+        if (claimsOnlyEnabled) {
+            refrescar();
+        }
+    }
+
+    /**
+     * Recarga la lista desde la base de datos. Las versiones solo crecen, por lo que se conserva el máximo.
+     */
+    @Scheduled(fixedDelayString = "${jwt.claims-only.revocation-refresh-ms:30000}")
+    public void refrescar() {
+        if (!claimsOnlyEnabled) {
+            return;
+        }
+        try {
+            usuarioRepository.findTokenVersionesRevocadas().forEach(v ->
+                    versiones.merge(v.getIdUsuario(), v.getTokenVersion(), Math::max));
+            usuarioRepository.findIdsUsuariosEliminados().forEach(this::revocarEliminado);
+            logger.debug("Lista de revocación JWT recargada: {} usuarios", versiones.size());
+        } catch (Exception e) {
+            logger.error("Error al recargar la lista de revocación JWT", e);
+        }
+    }
+}
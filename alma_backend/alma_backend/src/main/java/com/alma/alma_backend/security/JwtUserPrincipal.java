@@ -0,0 +1,59 @@
+package com.alma.alma_backend.security;
+
+import io.jsonwebtoken.Claims;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.util.StringUtils;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Principal construido directamente a partir de los claims firmados del token JWT.
+ * Se usa en el modo de autenticación "claims-only", donde no se consulta la base de datos.
+ * Además del email y los roles, expone el ID del usuario y de su organización.
+ */
+public class JwtUserPrincipal extends User {
+
+    private final Integer idUsuario;
+    private final Integer idOrganizacion;
+
+    public JwtUserPrincipal(String username, Collection<? extends GrantedAuthority> authorities,
+                            Integer idUsuario, Integer idOrganizacion) {
+        // No se conoce ni se necesita el hash de la contraseña: el token ya ha sido verificado
+        super(username, "", authorities);
+        this.idUsuario = idUsuario;
+        this.idOrganizacion = idOrganizacion;
+    }
+
+    /**
+     * Construye el principal a partir de claims ya verificados.
+     */
+    public static JwtUserPrincipal fromClaims(Claims claims) {
+        String roles = claims.get(JwtUtil.CLAIM_ROLES, String.class);
+        List<SimpleGrantedAuthority> authorities = !StringUtils.hasText(roles)
+                ? List.of()
+                : Arrays.stream(roles.split(","))
+                        .map(String::trim)
+                        .filter(StringUtils::hasText)
+                        .map(SimpleGrantedAuthority::new)
+                        .toList();
+
+        return new JwtUserPrincipal(
+                claims.getSubject(),
+                authorities,
+                claims.get(JwtUtil.CLAIM_USER_ID, Integer.class),
+                claims.get(JwtUtil.CLAIM_ORGANIZATION_ID, Integer.class)
+        );
+    }
+
+    public Integer getIdUsuario() {
+        return idUsuario;
+    }
+
+    public Integer getIdOrganizacion() {
+        return idOrganizacion;
+    }
+}
@@ -1,5 +1,6 @@
 package com.alma.alma_backend.security;
 
+import com.alma.alma_backend.entity.Usuario;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
@@ -29,6 +30,11 @@ public class JwtUtil {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtUtil.class);
 
+    public static final String CLAIM_ROLES = "roles";
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ORGANIZATION_ID = "org";
+    public static final String CLAIM_TOKEN_VERSION = "ver";
+
     @Value("${jwt.secret.key}")
     private String secretKeyString;
 
@@ -78,7 +84,7 @@ public class JwtUtil {
      * Extrae los roles del token.
      */
     public String extractRoles(String token) {
-        return extractClaim(token, claims -> claims.get("roles", String.class));
+        return extractClaim(token, claims -> claims.get(CLAIM_ROLES, String.class));
     }
 
     /**
@@ -101,6 +107,23 @@ public class JwtUtil {
                 .getPayload();
     }
 
+    /**
+     * Parsea y verifica la firma del token una sola vez.
+     * Devuelve null si el token es inválido, en lugar de lanzar una excepción.
+     */
+    public Claims parseClaims(String token) {
+        if (token == null || token.trim().isEmpty()) {
+            return null;
+        }
+
+        try {
+            return extractAllClaims(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            logger.debug("Token inválido: {}", e.getMessage());
+            return null;
+        }
+    }
+
     /**
      * Verifica si el token ha expirado.
      */
@@ -116,15 +139,40 @@ public class JwtUtil {
      * Genera un nuevo token JWT para el usuario.
      */
     public String generateToken(UserDetails userDetails) {
+        return createToken(buildRoleClaims(userDetails), userDetails.getUsername());
+    }
+
+    /**
+     * Genera un nuevo token JWT que incluye además el ID del usuario, el de su organización
+     * y la versión de tokens vigente, suficientes para autenticar en modo "claims-only".
+     */
+    public String generateToken(UserDetails userDetails, Usuario usuario) {
+        Map<String, Object> claims = buildRoleClaims(userDetails);
+        claims.put(CLAIM_USER_ID, usuario.getId());
+        if (usuario.getOrganizacion() != null) {
+            claims.put(CLAIM_ORGANIZATION_ID, usuario.getOrganizacion().getId());
+        }
+        claims.put(CLAIM_TOKEN_VERSION, usuario.getTokenVersion() != null ? usuario.getTokenVersion() : 0);
+
+        return createToken(claims, userDetails.getUsername());
+    }
+
+    /**
+     * Indica si los claims contienen la información necesaria para autenticar sin consultar la base de datos.
+     */
+    public boolean hasStatelessClaims(Claims claims) {
+        return claims.get(CLAIM_USER_ID) != null && claims.get(CLAIM_ROLES) != null;
+    }
+
+    private Map<String, Object> buildRoleClaims(UserDetails userDetails) {
         Map<String, Object> claims = new HashMap<>();
 
         // Añadimos los roles del usuario como una claim en el token
         String roles = userDetails.getAuthorities().stream()
                 .map(GrantedAuthority::getAuthority)
                 .collect(Collectors.joining(","));
-        claims.put("roles", roles);
-
-        return createToken(claims, userDetails.getUsername());
+        claims.put(CLAIM_ROLES, roles);
+        return claims;
     }
 
     /**
@@ -191,6 +239,29 @@ public class JwtUtil {
         return false;
     }
 
+    /**
+     * Valida unos claims ya verificados contra los detalles del usuario,
+     * sin volver a parsear ni verificar la firma del token.
+     */
+    public Boolean validateToken(Claims claims, UserDetails userDetails) {
+        if (claims == null || claims.getSubject() == null) {
+            return false;
+        }
+
+        if (!claims.getSubject().equals(userDetails.getUsername())) {
+            logger.warn("El username del token no coincide con el usuario autenticado");
+            return false;
+        }
+
+        Date expiration = claims.getExpiration();
+        if (expiration != null && expiration.before(new Date())) {
+            logger.warn("Token expirado para el usuario: {}", claims.getSubject());
+            return false;
+        }
+
+        return true;
+    }
+
     /**
      * Valida el token sin necesidad de UserDetails.
      * Útil para validaciones preliminares.
@@ -61,6 +61,14 @@ public class UserDetailsServiceImpl implements UserDetailsService {
                     );
                 });
 
+        return toUserDetails(usuario);
+    }
+
+    /**
+     * Construye los UserDetails de un usuario ya cargado, sin volver a consultar la base de datos.
+     * Lo usa también el inicio de sesión, que obtiene el usuario una sola vez.
+     */
+    public static UserDetails toUserDetails(Usuario usuario) {
         // Verificar que el usuario tenga un tipo asignado
         if (usuario.getTipoUsuario() == null) {
             logger.error("Usuario {} no tiene tipo de usuario asignado", usuario.getEmail());
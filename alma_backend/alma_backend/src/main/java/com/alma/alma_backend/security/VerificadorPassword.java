@@ -0,0 +1,115 @@
+package com.alma.alma_backend.security;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Verifica contraseñas BCrypt en un pool acotado al número de núcleos.
+ * Un pico de inicios de sesión consume como máximo esos hilos de CPU; el resto espera en una
+ * cola limitada y, si está llena o la espera se agota, la petición se rechaza con 503.
+ * <p>
+ * {@link #verificar} devuelve un {@link CompletableFuture}: el hilo de la petición no espera al
+ * hash, que con el endpoint de login asíncrono se libera en cuanto encola el cálculo. Con la cola
+ * llena se rechaza al momento; si el resultado no llega en {@code auth.hash.espera-ms} (cola +
+ * cálculo), el futuro falla con 503.
+ */
+@Component
+public class VerificadorPassword {
+
+    private static final Logger logger = LoggerFactory.getLogger(VerificadorPassword.class);
+
+    private final PasswordEncoder passwordEncoder;
+
+    // Hash de referencia para igualar el tiempo de respuesta cuando el email no existe
+    private String hashFicticio;
+
+    private ThreadPoolExecutor executor;
+
+    @Value("${auth.hash.hilos:0}") // 0 = número de núcleos disponibles
+    private int hilos;
+
+    @Value("${auth.hash.cola:64}")
+    private int cola;
+
+    @Value("${auth.hash.espera-ms:5000}")
+    private long esperaMs;
+
+    public VerificadorPassword(PasswordEncoder passwordEncoder) {
+        this.passwordEncoder = passwordEncoder;
+    }
+
+    @PostConstruct
+    void init() {
+        int tamanio = hilos > 0 ? hilos : Runtime.getRuntime().availableProcessors();
+        AtomicInteger contador = new AtomicInteger();
+        executor = new ThreadPoolExecutor(tamanio, tamanio, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(cola), r -> {
+                    Thread hilo = new Thread(r, "auth-hash-" + contador.incrementAndGet());
+                    hilo.setDaemon(true);
+                    return hilo;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        hashFicticio = passwordEncoder.encode("verificador-password");
+        logger.info("Pool de verificación de contraseñas iniciado con {} hilos y cola de {}", tamanio, cola);
+    }
+
+    @PreDestroy
+    void cerrar() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Comprueba la contraseña contra el hash almacenado. Con {@code hashAlmacenado} nulo (usuario
+     * inexistente) se verifica contra un hash ficticio y el resultado es siempre false.
+     * El futuro se completa en un hilo del pool; si la espera se agota falla con un 503.
+     *
+     * @throws ResponseStatusException 503 si la cola está llena
+     */
+    public CompletableFuture<Boolean> verificar(String password, String hashAlmacenado) {
+        String hash = hashAlmacenado != null ? hashAlmacenado : hashFicticio;
+        CompletableFuture<Boolean> resultado = new CompletableFuture<>();
+        Future<?> tarea;
+        try {
+            tarea = executor.submit(() -> {
+                try {
+                    resultado.complete(passwordEncoder.matches(password, hash) && hashAlmacenado != null);
+                } catch (RuntimeException e) {
+                    resultado.completeExceptionally(new IllegalStateException("Error verificando la contraseña", e));
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            logger.warn("Cola de verificación de contraseñas llena ({} pendientes)", executor.getQueue().size());
+            throw saturado(e);
+        }
+
+        return resultado.orTimeout(esperaMs, TimeUnit.MILLISECONDS).exceptionally(error -> {
+            if (error instanceof TimeoutException) {
+                tarea.cancel(true);
+                logger.warn("Tiempo de espera agotado verificando contraseña");
+                throw saturado(error);
+            }
+            throw error instanceof CompletionException completion ? completion : new CompletionException(error);
+        });
+    }
+
+    private ResponseStatusException saturado(Throwable causa) {
+        return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                "Demasiados inicios de sesión simultáneos, inténtalo de nuevo en unos segundos", causa);
+    }
+}
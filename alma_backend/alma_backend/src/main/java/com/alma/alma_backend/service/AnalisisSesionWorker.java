@@ -0,0 +1,177 @@
+package com.alma.alma_backend.service;
+
+import com.alma.alma_backend.dto.EstadoColaAnalisisDTO;
+import com.alma.alma_backend.entity.EstadoTrabajoAnalisis;
+import com.alma.alma_backend.entity.TrabajoAnalisisSesion;
+import com.alma.alma_backend.repository.TrabajoAnalisisSesionRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Workers que consumen la cola de análisis de sesiones de IA.
+ * Cada worker reclama un lote de trabajos, analiza las conversaciones fuera de cualquier transacción
+ * y guarda temas y alertas. Varios nodos pueden ejecutar workers a la vez sobre la misma tabla.
+ */
+@Component
+public class AnalisisSesionWorker {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalisisSesionWorker.class);
+
+    private final ColaAnalisisSesionService colaService;
+    private final TrabajoAnalisisSesionRepository trabajoRepository;
+    private final IAClientService iaClientService;
+
+    private final AtomicLong procesados = new AtomicLong();
+    private final AtomicLong errores = new AtomicLong();
+    private final AtomicLong nanosProcesamiento = new AtomicLong();
+    private volatile long inicioNanos;
+
+    private ScheduledExecutorService workers;
+
+    @Value("${ia.analisis.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ia.analisis.workers:2}")
+    private int numeroWorkers;
+
+    @Value("${ia.analisis.lote:10}")
+    private int lote;
+
+    // Espera de un worker cuando no encuentra trabajos
+    @Value("${ia.analisis.espera-ms:2000}")
+    private long esperaMs;
+
+    @Value("${ia.analisis.bloqueo-max-segundos:600}")
+    private long bloqueoMaxSegundos;
+
+    public AnalisisSesionWorker(ColaAnalisisSesionService colaService,
+                                TrabajoAnalisisSesionRepository trabajoRepository,
+                                IAClientService iaClientService) {
+        this.colaService = colaService;
+        this.trabajoRepository = trabajoRepository;
+        this.iaClientService = iaClientService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        if (!enabled || numeroWorkers <= 0) {
+            logger.info("Workers de análisis de sesiones desactivados en este nodo");
+            return;
+        }
+        AtomicInteger contador = new AtomicInteger();
+        workers = Executors.newScheduledThreadPool(numeroWorkers, r -> {
+            Thread hilo = new Thread(r, "analisis-sesion-" + contador.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        inicioNanos = System.nanoTime();
+        for (int i = 0; i < numeroWorkers; i++) {
+            workers.scheduleWithFixedDelay(this::ejecutarCiclo, 0, esperaMs, TimeUnit.MILLISECONDS);
+        }
+        logger.info("Iniciados {} workers de análisis de sesiones (lote: {})", numeroWorkers, lote);
+    }
+
+    @PreDestroy
+    public void detener() {
+        if (workers == null) {
+            return;
+        }
+        workers.shutdown();
+        try {
+            // Los trabajos que no terminen volverán a la cola al superar el tiempo máximo
+            workers.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Procesa lotes mientras haya trabajos disponibles; al vaciarse la cola el worker espera hasta el siguiente ciclo.
+     */
+    private void ejecutarCiclo() {
+        try {
+            List<TrabajoAnalisisSesion> trabajos;
+            do {
+                trabajos = colaService.reclamar(lote);
+                trabajos.forEach(this::procesar);
+            } while (trabajos.size() == lote && !workers.isShutdown());
+        } catch (Exception e) {
+            logger.error("Error reclamando trabajos de análisis de sesiones", e);
+        }
+    }
+
+    private void procesar(TrabajoAnalisisSesion trabajo) {
+        long inicio = System.nanoTime();
+        try {
+            List<MensajeContextoIA> conversacion = colaService.obtenerConversacion(trabajo.getIdSesion());
+            List<String> temas = iaClientService.extraerTemas(conversacion);
+            List<String> alertas = iaClientService.detectarAlertas(conversacion);
+            if (!colaService.completar(trabajo, temas, alertas)) {
+                logger.warn("Descartado el análisis de la sesión ID: {}: el trabajo ID: {} (intento {}) ya no pertenece a este worker",
+                        trabajo.getIdSesion(), trabajo.getId(), trabajo.getIntentos());
+                return;
+            }
+            procesados.incrementAndGet();
+            logger.debug("Sesión ID: {} analizada: {} temas, {} alertas", trabajo.getIdSesion(), temas.size(), alertas.size());
+        } catch (Exception e) {
+            errores.incrementAndGet();
+            logger.warn("Error analizando la sesión ID: {} (intento {}): {}",
+                    trabajo.getIdSesion(), trabajo.getIntentos(), e.getMessage());
+            try {
+                if (!colaService.registrarFallo(trabajo, e.toString())) {
+                    logger.debug("Fallo del trabajo ID: {} no registrado: la reclamación ya no es de este worker", trabajo.getId());
+                }
+            } catch (Exception ex) {
+                logger.error("No se pudo registrar el fallo del trabajo ID: {}", trabajo.getId(), ex);
+            }
+        } finally {
+            nanosProcesamiento.addAndGet(System.nanoTime() - inicio);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${ia.analisis.liberacion-ms:60000}")
+    public void liberarBloqueados() {
+        if (!enabled) {
+            return;
+        }
+        int liberados = colaService.liberarBloqueados(bloqueoMaxSegundos);
+        if (liberados > 0) {
+            logger.warn("Liberados {} trabajos de análisis que superaron {} s en proceso (los que agotaron los intentos quedan como fallidos)",
+                    liberados, bloqueoMaxSegundos);
+        }
+    }
+
+    public EstadoColaAnalisisDTO obtenerEstado() {
+        EstadoColaAnalisisDTO estado = new EstadoColaAnalisisDTO();
+        estado.setPendientes(trabajoRepository.countByEstado(EstadoTrabajoAnalisis.PENDIENTE));
+        estado.setEnProceso(trabajoRepository.countByEstado(EstadoTrabajoAnalisis.EN_PROCESO));
+        estado.setFallidos(trabajoRepository.countByEstado(EstadoTrabajoAnalisis.FALLIDO));
+        Double retraso = trabajoRepository.findRetrasoSegundos();
+        estado.setRetrasoSegundos(retraso != null ? retraso : 0);
+
+        long completados = procesados.get();
+        long totales = completados + errores.get();
+        estado.setWorkers(workers != null ? numeroWorkers : 0);
+        estado.setProcesados(completados);
+        estado.setErrores(errores.get());
+        if (workers != null) {
+            double minutos = (System.nanoTime() - inicioNanos) / 60_000_000_000.0;
+            estado.setProcesadosPorMinuto(minutos > 0 ? completados / minutos : 0);
+        }
+        estado.setMediaProcesamientoMs(totales == 0 ? 0 : nanosProcesamiento.get() / 1_000_000.0 / totales);
+        return estado;
+    }
+}
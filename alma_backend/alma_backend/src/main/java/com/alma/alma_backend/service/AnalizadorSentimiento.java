@@ -0,0 +1,363 @@
+package com.alma.alma_backend.service;
+
+import com.alma.alma_backend.entity.SentimientoDetectado;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Analizador de sentimiento basado en léxico para mensajes en español.
+ *
+ * <p>Las entradas del léxico (palabras, raíces y expresiones de varias palabras) se compilan en un
+ * autómata Aho-Corasick sobre el texto normalizado: sin tildes, en minúsculas y con cualquier
+ * separador reducido a un espacio. El mensaje se recorre una sola vez carácter a carácter, sin crear
+ * cadenas intermedias, y cada coincidencia actualiza la puntuación teniendo en cuenta los negadores,
+ * los intensificadores y las conjunciones de contraste que la preceden.</p>
+ */
+@Component
+public class AnalizadorSentimiento {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalizadorSentimiento.class);
+
+    private static final byte POLARIDAD = 0;
+    private static final byte INTENSIFICADOR = 1;
+    private static final byte NEGADOR = 2;
+    private static final byte CONTRASTE = 3;
+    // Polaridad de riesgo (ideación suicida, autolesión): se acumula aparte y ni la negación, ni el
+    // contraste, ni las palabras positivas la compensan. "No quiero hacerme daño" o "quiero morir, pero
+    // hoy estoy bien" siguen mencionando el riesgo y el mensaje sale siempre muy negativo
+    private static final byte RIESGO = 4;
+
+    // Alfabeto del autómata: a-z, ñ y el separador
+    private static final int SIMBOLO_ENYE = 26;
+    private static final int SEPARADOR = 27;
+    private static final int ALFABETO = 28;
+    private static final int NINGUNO = -1;
+
+    // Palabras tras un negador o intensificador a las que sigue afectando
+    private static final int VENTANA_NEGACION = 3;
+    private static final int VENTANA_INTENSIFICADOR = 2;
+    // Una polaridad negada se invierte atenuada: "no estoy bien" es negativo, pero menos que "estoy mal"
+    private static final double FACTOR_NEGACION = -0.8;
+
+    private static final double UMBRAL = 1.0;
+    private static final double UMBRAL_FUERTE = 3.0;
+
+    private final int[] transiciones;
+    private final int[] salida;
+    private final int[] enlaceSalida;
+
+    private final byte[] tipoEntrada;
+    private final double[] valorEntrada;
+    private final int[] palabrasEntrada;
+
+    public AnalizadorSentimiento(@Value("${ia.sentimiento.lexico:sentimiento/lexico-es.txt}") String rutaLexico) {
+        List<String> patrones = new ArrayList<>();
+        List<Byte> tipos = new ArrayList<>();
+        List<Double> valores = new ArrayList<>();
+        cargarLexico(rutaLexico, patrones, tipos, valores);
+
+        tipoEntrada = new byte[patrones.size()];
+        valorEntrada = new double[patrones.size()];
+        palabrasEntrada = new int[patrones.size()];
+        for (int i = 0; i < patrones.size(); i++) {
+            tipoEntrada[i] = tipos.get(i);
+            valorEntrada[i] = valores.get(i);
+            palabrasEntrada[i] = contarPalabras(patrones.get(i));
+        }
+
+        // Trie con todas las entradas
+        List<int[]> hijos = new ArrayList<>();
+        List<Integer> salidas = new ArrayList<>();
+        hijos.add(nuevoNodo());
+        salidas.add(NINGUNO);
+        for (int i = 0; i < patrones.size(); i++) {
+            String patron = patrones.get(i);
+            int nodo = 0;
+            for (int j = 0; j < patron.length(); j++) {
+                int simbolo = simbolo(patron.charAt(j));
+                if (hijos.get(nodo)[simbolo] == NINGUNO) {
+                    hijos.get(nodo)[simbolo] = hijos.size();
+                    hijos.add(nuevoNodo());
+                    salidas.add(NINGUNO);
+                }
+                nodo = hijos.get(nodo)[simbolo];
+            }
+            if (salidas.get(nodo) != NINGUNO) {
+                logger.warn("Entrada duplicada en el léxico de sentimiento: '{}'", patron.trim());
+            }
+            salidas.set(nodo, i);
+        }
+
+        // Enlaces de fallo por anchura y tabla de transiciones completa (autómata determinista)
+        int nodos = hijos.size();
+        transiciones = new int[nodos * ALFABETO];
+        salida = new int[nodos];
+        enlaceSalida = new int[nodos];
+        int[] fallo = new int[nodos];
+        for (int n = 0; n < nodos; n++) {
+            salida[n] = salidas.get(n);
+        }
+        Arrays.fill(enlaceSalida, NINGUNO);
+
+        ArrayDeque<Integer> cola = new ArrayDeque<>();
+        for (int s = 0; s < ALFABETO; s++) {
+            int hijo = hijos.get(0)[s];
+            if (hijo == NINGUNO) {
+                transiciones[s] = 0;
+            } else {
+                transiciones[s] = hijo;
+                cola.add(hijo);
+            }
+        }
+        while (!cola.isEmpty()) {
+            int nodo = cola.poll();
+            for (int s = 0; s < ALFABETO; s++) {
+                int hijo = hijos.get(nodo)[s];
+                if (hijo == NINGUNO) {
+                    transiciones[nodo * ALFABETO + s] = transiciones[fallo[nodo] * ALFABETO + s];
+                } else {
+                    transiciones[nodo * ALFABETO + s] = hijo;
+                    fallo[hijo] = transiciones[fallo[nodo] * ALFABETO + s];
+                    enlaceSalida[hijo] = salida[fallo[hijo]] != NINGUNO ? fallo[hijo] : enlaceSalida[fallo[hijo]];
+                    cola.add(hijo);
+                }
+            }
+        }
+
+        logger.info("Léxico de sentimiento cargado: {} entradas, {} estados", patrones.size(), nodos);
+    }
+
+    /**
+     * Clasifica el sentimiento de un mensaje.
+     */
+    public SentimientoDetectado analizar(CharSequence texto) {
+        double puntuacion = puntuar(texto);
+        if (puntuacion >= UMBRAL_FUERTE) {
+            return SentimientoDetectado.MUY_POSITIVO;
+        } else if (puntuacion >= UMBRAL) {
+            return SentimientoDetectado.POSITIVO;
+        } else if (puntuacion <= -UMBRAL_FUERTE) {
+            return SentimientoDetectado.MUY_NEGATIVO;
+        } else if (puntuacion <= -UMBRAL) {
+            return SentimientoDetectado.NEGATIVO;
+        }
+        return SentimientoDetectado.NEUTRO;
+    }
+
+    /**
+     * Puntuación numérica del mensaje: positiva para sentimiento positivo y negativa para el negativo.
+     * Si el mensaje contiene una expresión de riesgo, la puntuación es como mucho -{@value #UMBRAL_FUERTE}.
+     */
+    public double puntuar(CharSequence texto) {
+        if (texto == null) {
+            return 0;
+        }
+
+        double total = 0;
+        // Las expresiones de riesgo no se mezclan con total: el contraste lo escala y lo positivo lo compensa
+        double riesgo = 0;
+        boolean hayRiesgo = false;
+        int estado = transiciones[SEPARADOR]; // El texto empieza en límite de palabra
+        int palabra = 0;
+        boolean enSeparador = true;
+
+        int negacionDesde = NINGUNO;
+        int negacionHasta = NINGUNO;
+        double intensidad = 1;
+        int intensidadDesde = NINGUNO;
+        int intensidadHasta = NINGUNO;
+        // Última polaridad aplicada, por si una expresión más larga que la contiene la sustituye
+        int ultimaPolaridadDesde = NINGUNO;
+        double ultimaContribucion = 0;
+        boolean ultimaEsRiesgo = false;
+
+        int longitud = texto.length();
+        for (int i = 0; i <= longitud; i++) {
+            char c = i < longitud ? texto.charAt(i) : ' ';
+            int simbolo = simbolo(c);
+            if (simbolo == SEPARADOR) {
+                if (enSeparador) {
+                    // Separadores consecutivos cuentan como uno solo
+                    if (finDeClausula(c)) {
+                        negacionHasta = NINGUNO;
+                        intensidadHasta = NINGUNO;
+                    }
+                    continue;
+                }
+                enSeparador = true;
+            } else if (enSeparador) {
+                enSeparador = false;
+                palabra++;
+            }
+            estado = transiciones[estado * ALFABETO + simbolo];
+
+            // Solo la coincidencia más larga que termina aquí; las más cortas son sufijos suyos
+            int entrada = salida[estado] != NINGUNO ? salida[estado]
+                    : enlaceSalida[estado] != NINGUNO ? salida[enlaceSalida[estado]] : NINGUNO;
+            if (entrada != NINGUNO) {
+                int desde = palabra - palabrasEntrada[entrada] + 1;
+                switch (tipoEntrada[entrada]) {
+                    case NEGADOR -> {
+                        negacionDesde = desde;
+                        negacionHasta = palabra + VENTANA_NEGACION;
+                    }
+                    case INTENSIFICADOR -> {
+                        intensidad = valorEntrada[entrada];
+                        intensidadDesde = desde;
+                        intensidadHasta = palabra + VENTANA_INTENSIFICADOR;
+                    }
+                    case CONTRASTE -> {
+                        total *= valorEntrada[entrada];
+                        negacionHasta = NINGUNO;
+                        intensidadHasta = NINGUNO;
+                        ultimaPolaridadDesde = NINGUNO;
+                    }
+                    default -> {
+                        double contribucion = valorEntrada[entrada];
+                        if (desde > intensidadDesde && desde <= intensidadHasta) {
+                            contribucion *= intensidad;
+                            intensidadHasta = NINGUNO;
+                        }
+                        // Las expresiones que contienen su propio negador ("no puedo más") no se invierten
+                        if (tipoEntrada[entrada] != RIESGO && desde > negacionDesde && desde <= negacionHasta) {
+                            contribucion *= FACTOR_NEGACION;
+                        }
+                        if (ultimaPolaridadDesde != NINGUNO && desde <= ultimaPolaridadDesde) {
+                            if (ultimaEsRiesgo) {
+                                riesgo -= ultimaContribucion;
+                            } else {
+                                total -= ultimaContribucion;
+                            }
+                        }
+                        ultimaEsRiesgo = tipoEntrada[entrada] == RIESGO;
+                        if (ultimaEsRiesgo) {
+                            riesgo += contribucion;
+                            hayRiesgo = true;
+                        } else {
+                            total += contribucion;
+                        }
+                        ultimaPolaridadDesde = desde;
+                        ultimaContribucion = contribucion;
+                    }
+                }
+            }
+
+            if (finDeClausula(c)) {
+                negacionHasta = NINGUNO;
+                intensidadHasta = NINGUNO;
+            }
+        }
+        if (hayRiesgo) {
+            // Lo negativo del resto del mensaje suma; lo positivo no resta
+            return Math.min(riesgo + Math.min(total, 0), -UMBRAL_FUERTE);
+        }
+        return total;
+    }
+
+    private static boolean finDeClausula(char c) {
+        return c == '.' || c == ',' || c == ';' || c == ':' || c == '!' || c == '?' || c == '\n';
+    }
+
+    /**
+     * Normaliza un carácter al alfabeto del autómata: letras sin tilde, ñ o separador.
+     */
+    private static int simbolo(char c) {
+        if (c >= 'a' && c <= 'z') {
+            return c - 'a';
+        }
+        if (c >= 'A' && c <= 'Z') {
+            return c - 'A';
+        }
+        return switch (c) {
+            case 'á', 'à', 'ä', 'â', 'Á', 'À', 'Ä', 'Â' -> 0;
+            case 'é', 'è', 'ë', 'ê', 'É', 'È', 'Ë', 'Ê' -> 'e' - 'a';
+            case 'í', 'ì', 'ï', 'î', 'Í', 'Ì', 'Ï', 'Î' -> 'i' - 'a';
+            case 'ó', 'ò', 'ö', 'ô', 'Ó', 'Ò', 'Ö', 'Ô' -> 'o' - 'a';
+            case 'ú', 'ù', 'ü', 'û', 'Ú', 'Ù', 'Ü', 'Û' -> 'u' - 'a';
+            case 'ç', 'Ç' -> 'c' - 'a';
+            case 'ñ', 'Ñ' -> SIMBOLO_ENYE;
+            default -> SEPARADOR;
+        };
+    }
+
+    private static int[] nuevoNodo() {
+        int[] nodo = new int[ALFABETO];
+        Arrays.fill(nodo, NINGUNO);
+        return nodo;
+    }
+
+    private static int contarPalabras(String patron) {
+        int palabras = 0;
+        for (int i = 1; i < patron.length(); i++) {
+            if (patron.charAt(i) != ' ' && patron.charAt(i - 1) == ' ') {
+                palabras++;
+            }
+        }
+        return palabras;
+    }
+
+    /**
+     * Lee el léxico (TIPO|entrada|valor) y genera cada patrón delimitado por separadores:
+     * " palabra " para palabras completas y " raiz" para las entradas terminadas en '*'.
+     */
+    private static void cargarLexico(String ruta, List<String> patrones, List<Byte> tipos, List<Double> valores) {
+        try (BufferedReader lector = new BufferedReader(
+                new InputStreamReader(new ClassPathResource(ruta).getInputStream(), StandardCharsets.UTF_8))) {
+            String linea;
+            while ((linea = lector.readLine()) != null) {
+                linea = linea.trim();
+                if (linea.isEmpty() || linea.startsWith("#")) {
+                    continue;
+                }
+                String[] campos = linea.split("\\|");
+                if (campos.length != 3) {
+                    throw new IllegalStateException("Línea no válida en el léxico de sentimiento: " + linea);
+                }
+
+                String entrada = campos[1].trim();
+                boolean raiz = entrada.endsWith("*");
+                StringBuilder patron = new StringBuilder(" ");
+                boolean separador = true;
+                for (char c : (raiz ? entrada.substring(0, entrada.length() - 1) : entrada).toCharArray()) {
+                    int simbolo = simbolo(c);
+                    if (simbolo != SEPARADOR) {
+                        patron.append(simbolo == SIMBOLO_ENYE ? 'ñ' : (char) ('a' + simbolo));
+                        separador = false;
+                    } else if (!separador) {
+                        patron.append(' ');
+                        separador = true;
+                    }
+                }
+                if (!raiz && !separador) {
+                    patron.append(' ');
+                }
+
+                patrones.add(patron.toString());
+                tipos.add(switch (campos[0].trim()) {
+                    case "P" -> POLARIDAD;
+                    case "I" -> INTENSIFICADOR;
+                    case "N" -> NEGADOR;
+                    case "C" -> CONTRASTE;
+                    case "R" -> RIESGO;
+                    default -> throw new IllegalStateException("Tipo desconocido en el léxico de sentimiento: " + linea);
+                });
+                valores.add(Double.parseDouble(campos[2].trim()));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo leer el léxico de sentimiento: " + ruta, e);
+        }
+    }
+}
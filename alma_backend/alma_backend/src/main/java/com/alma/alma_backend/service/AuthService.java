@@ -7,6 +7,8 @@ import com.alma.alma_backend.dto.PacienteRegistroDTO;
 import com.alma.alma_backend.dto.ProfesionalRegistroDTO;
 import com.alma.alma_backend.entity.Usuario;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface AuthService {
 
     Usuario registrarOrganizacionYAdmin(OrganizacionRegistroDTO registroDTO);
@@ -15,6 +17,10 @@ public interface AuthService {
 
     Usuario registrarPaciente(PacienteRegistroDTO registroDTO, Integer organizacionId);
 
-    AuthenticationResponse authenticate(AuthenticationRequest authenticationRequest);
+    /**
+     * Autentica al usuario. La contraseña se verifica en el pool de {@code VerificadorPassword},
+     * así que el resultado llega de forma asíncrona.
+     */
+    CompletableFuture<AuthenticationResponse> authenticate(AuthenticationRequest authenticationRequest);
 
 }
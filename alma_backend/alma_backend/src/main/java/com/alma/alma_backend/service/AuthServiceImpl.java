@@ -9,18 +9,14 @@ import com.alma.alma_backend.entity.*;
 import com.alma.alma_backend.logging.AuditLogService;
 import com.alma.alma_backend.repository.*;
 import com.alma.alma_backend.security.JwtUtil;
+import com.alma.alma_backend.security.UserDetailsServiceImpl;
+import com.alma.alma_backend.security.VerificadorPassword;
 import com.alma.alma_backend.util.ValidationUtils;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.authentication.DisabledException;
-import org.springframework.security.authentication.LockedException;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -28,6 +24,7 @@ import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 @RequiredArgsConstructor
@@ -40,8 +37,8 @@ public class AuthServiceImpl implements AuthService {
     private final ProfesionalRepository profesionalRepository;
     private final PacienteRepository pacienteRepository;
     private final PasswordEncoder passwordEncoder;
-    private final AuthenticationManager authenticationManager;
-    private final UserDetailsService userDetailsService;
+    private final VerificadorPassword verificadorPassword;
+    private final RegistroUltimoAcceso registroUltimoAcceso;
     private final JwtUtil jwtUtil;
     private final AuditLogService auditLogService;
 
@@ -224,38 +221,34 @@ public class AuthServiceImpl implements AuthService {
         return usuarioGuardado;
     }
 
+    // Sin transacción: la conexión no queda retenida mientras se verifica el hash. El resto del
+    // inicio de sesión continúa en el hilo del pool que ha calculado el hash
     @Override
-    @Transactional
-    public AuthenticationResponse authenticate(AuthenticationRequest authenticationRequest) {
+    public CompletableFuture<AuthenticationResponse> authenticate(AuthenticationRequest authenticationRequest) {
         String normalizedEmail = authenticationRequest.getEmail().toLowerCase().trim();
-        try {
-            authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(normalizedEmail, authenticationRequest.getPassword())
-            );
-        } catch (BadCredentialsException ex) {
+
+        // Una única consulta del usuario; el hash se verifica también si no existe para no revelarlo por tiempos
+        Usuario usuario = usuarioRepository.findByEmail(normalizedEmail).orElse(null);
+        return verificadorPassword.verificar(authenticationRequest.getPassword(),
+                        usuario != null ? usuario.getPasswordHash() : null)
+                .thenApply(valida -> completarInicioSesion(usuario, normalizedEmail, valida));
+    }
+
+    private AuthenticationResponse completarInicioSesion(Usuario usuario, String normalizedEmail, boolean passwordValida) {
+        if (!passwordValida) {
             auditLogService.logSecurityWarn("Intento de inicio de sesión con credenciales inválidas para {}", normalizedEmail);
-            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Email o contraseña incorrectos", ex);
-        } catch (DisabledException ex) {
-            auditLogService.logSecurityWarn("Intento de inicio de sesión en cuenta deshabilitada: {}", normalizedEmail);
-            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "La cuenta está deshabilitada", ex);
-        } catch (LockedException ex) {
-            auditLogService.logSecurityWarn("Intento de inicio de sesión en cuenta bloqueada: {}", normalizedEmail);
-            throw new ResponseStatusException(HttpStatus.LOCKED, "La cuenta está bloqueada", ex);
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Email o contraseña incorrectos");
         }
 
-        Usuario usuario = usuarioRepository.findByEmail(normalizedEmail)
-            .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Usuario no encontrado"));
-
         if (!Boolean.TRUE.equals(usuario.getActivo())) {
-            auditLogService.logSecurityWarn("Usuario {} intentó iniciar sesión estando inactivo", normalizedEmail);
+            auditLogService.logSecurityWarn("Intento de inicio de sesión en cuenta deshabilitada: {}", normalizedEmail);
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "La cuenta está deshabilitada");
         }
 
-        usuario.setUltimoAcceso(LocalDateTime.now());
-        usuarioRepository.save(usuario);
+        registroUltimoAcceso.registrar(usuario.getId(), LocalDateTime.now());
 
-        UserDetails userDetails = userDetailsService.loadUserByUsername(normalizedEmail);
-        String jwt = jwtUtil.generateToken(userDetails);
+        UserDetails userDetails = UserDetailsServiceImpl.toUserDetails(usuario);
+        String jwt = jwtUtil.generateToken(userDetails, usuario);
 
         auditLogService.logAuthWarn("Usuario autenticado: {}", normalizedEmail);
 
@@ -0,0 +1,96 @@
+package com.alma.alma_backend.service;
+
+import com.alma.alma_backend.dto.RecursoDTO;
+import com.alma.alma_backend.dto.RespuestaJsonPreparada;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Foto inmutable del catálogo de recursos activos (podcasts, vídeos y música).
+ * <p>
+ * Se construye de una vez y se publica entera, así que las peticiones la leen sin bloqueos. Indexa por
+ * tipo, por categoría y por ambos la respuesta de cada vista, ya serializada y comprimida. Las
+ * combinaciones sin recursos comparten una única respuesta vacía.
+ */
+final class CatalogoRecursos {
+
+    private final String version;
+    private final List<RecursoDTO> recursos;
+    private final Map<ClaveVista, RespuestaJsonPreparada> vistas;
+    private final RespuestaJsonPreparada vistaVacia;
+
+    private CatalogoRecursos(String version, List<RecursoDTO> recursos,
+                             Map<ClaveVista, RespuestaJsonPreparada> vistas, RespuestaJsonPreparada vistaVacia) {
+        this.version = version;
+        this.recursos = recursos;
+        this.vistas = vistas;
+        this.vistaVacia = vistaVacia;
+    }
+
+    /**
+     * @param version validador de los datos de origen, para saber cuándo hay que reconstruir
+     * @param recursos recursos en el orden en que se devuelven
+     */
+    static CatalogoRecursos construir(String version, List<RecursoDTO> recursos, ObjectMapper objectMapper) {
+        Map<ClaveVista, List<RecursoDTO>> indice = new LinkedHashMap<>();
+        for (RecursoDTO recurso : recursos) {
+            String tipo = normalizarTipo(recurso.getTipoRecurso());
+            String categoria = recurso.getCategoria();
+            agregar(indice, new ClaveVista(null, null), recurso);
+            agregar(indice, new ClaveVista(tipo, null), recurso);
+            if (categoria != null) {
+                agregar(indice, new ClaveVista(null, categoria), recurso);
+                agregar(indice, new ClaveVista(tipo, categoria), recurso);
+            }
+        }
+
+        Map<ClaveVista, RespuestaJsonPreparada> vistas = new LinkedHashMap<>();
+        indice.forEach((clave, lista) -> vistas.put(clave, RespuestaJsonPreparada.de(objectMapper, lista)));
+        return new CatalogoRecursos(version, Collections.unmodifiableList(new ArrayList<>(recursos)),
+                Collections.unmodifiableMap(vistas), RespuestaJsonPreparada.de(objectMapper, List.of()));
+    }
+
+    String getVersion() {
+        return version;
+    }
+
+    List<RecursoDTO> getRecursos() {
+        return recursos;
+    }
+
+    RespuestaJsonPreparada vista(String tipo, String categoria) {
+        return vistas.getOrDefault(new ClaveVista(normalizarTipo(tipo), categoria), vistaVacia);
+    }
+
+    int getNumeroVistas() {
+        return vistas.size();
+    }
+
+    long getTamanoGzip() {
+        long total = 0;
+        for (RespuestaJsonPreparada vista : vistas.values()) {
+            total += vista.getTamanoGzip();
+        }
+        return total;
+    }
+
+    private static void agregar(Map<ClaveVista, List<RecursoDTO>> indice, ClaveVista clave, RecursoDTO recurso) {
+        indice.computeIfAbsent(clave, k -> new ArrayList<>()).add(recurso);
+    }
+
+    private static String normalizarTipo(String tipo) {
+        return tipo == null ? null : tipo.toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Filtro de una vista; {@code null} significa "sin filtrar" en ese campo.
+     */
+    private record ClaveVista(String tipo, String categoria) {
+    }
+}
@@ -0,0 +1,16 @@
+package com.alma.alma_backend.service;
+
+/**
+ * Evento de dominio del chat profesional-paciente que se difunde a los clientes suscritos a la sesión.
+ * Se publica dentro de la transacción y se entrega una vez confirmada.
+ *
+ * @param idSesionChat sesión a cuyos suscriptores va dirigido
+ * @param tipo         nombre del evento SSE
+ * @param datos        contenido serializado como JSON
+ */
+public record ChatEvento(Integer idSesionChat, String tipo, Object datos) {
+
+    public static final String MENSAJE = "mensaje";
+    public static final String LECTURA = "lectura";
+    public static final String CONECTADO = "conectado";
+}
@@ -0,0 +1,44 @@
+package com.alma.alma_backend.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tarea periódica que corrige las desviaciones de los contadores de mensajes no leídos
+ * (por ejemplo, lecturas concurrentes del mismo mensaje o cambios hechos fuera del backend).
+ */
+@Component
+public class ChatNoLeidosReconciliacionJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChatNoLeidosReconciliacionJob.class);
+
+    private final ChatService chatService;
+
+    @Value("${chat.no-leidos.reconciliacion.enabled:true}")
+    private boolean enabled;
+
+    public ChatNoLeidosReconciliacionJob(ChatService chatService) {
+        this.chatService = chatService;
+    }
+
+    @Scheduled(fixedDelayString = "${chat.no-leidos.reconciliacion-ms:3600000}",
+               initialDelayString = "${chat.no-leidos.reconciliacion-ms:3600000}")
+    public void reconciliar() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            int corregidos = chatService.reconciliarContadoresNoLeidos();
+            if (corregidos > 0) {
+                logger.warn("Reconciliación de no leídos: {} contadores corregidos", corregidos);
+            } else {
+                logger.debug("Reconciliación de no leídos: contadores correctos");
+            }
+        } catch (Exception e) {
+            logger.error("Error al reconciliar los contadores de mensajes no leídos", e);
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.alma.alma_backend.dto.ChatPacientesRequestDTO;
 import com.alma.alma_backend.dto.ChatPacientesResponseDTO;
 import com.alma.alma_backend.dto.MensajeChatPacientesRequestDTO;
 import com.alma.alma_backend.dto.MensajeChatPacientesResponseDTO;
+import com.alma.alma_backend.dto.PaginaCursorDTO;
 
 import java.util.List;
 
@@ -13,6 +14,16 @@ public interface ChatPacientesService {
 
     List<MensajeChatPacientesResponseDTO> findMensajesByChatId(Integer chatId);
 
+    PaginaCursorDTO<MensajeChatPacientesResponseDTO> findPaginaMensajes(Integer chatId, Integer antesDe,
+                                                                        Integer despuesDe, Integer limite);
+
     MensajeChatPacientesResponseDTO postMensaje(MensajeChatPacientesRequestDTO request);
 
+    /**
+     * Marca como leídos todos los mensajes recibidos en el chat por el paciente del usuario indicado.
+     * Lanza AccessDeniedException si ese paciente no participa en el chat.
+     * @return número de mensajes marcados
+     */
+    int marcarMensajesComoLeidos(Integer chatId, Integer idUsuario);
+
 }
@@ -4,6 +4,7 @@ import com.alma.alma_backend.dto.ChatPacientesRequestDTO;
 import com.alma.alma_backend.dto.ChatPacientesResponseDTO;
 import com.alma.alma_backend.dto.MensajeChatPacientesRequestDTO;
 import com.alma.alma_backend.dto.MensajeChatPacientesResponseDTO;
+import com.alma.alma_backend.dto.PaginaCursorDTO;
 import com.alma.alma_backend.entity.ChatPacientes;
 import com.alma.alma_backend.entity.MensajeChatPacientes;
 import com.alma.alma_backend.entity.Paciente;
@@ -11,9 +12,14 @@ import com.alma.alma_backend.exceptions.ResourceNotFoundException;
 import com.alma.alma_backend.repository.ChatPacientesRepository;
 import com.alma.alma_backend.repository.MensajeChatPacientesRepository;
 import com.alma.alma_backend.repository.PacienteRepository;
+import com.alma.alma_backend.util.PaginacionCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -52,6 +58,28 @@ public class ChatPacientesServiceImpl implements ChatPacientesService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public PaginaCursorDTO<MensajeChatPacientesResponseDTO> findPaginaMensajes(Integer chatId, Integer antesDe,
+                                                                               Integer despuesDe, Integer limite) {
+        PaginacionCursor.validarCursores(antesDe, despuesDe);
+        int tamanio = PaginacionCursor.normalizarLimite(limite);
+        Limit limiteConsulta = PaginacionCursor.limiteConsulta(tamanio);
+
+        List<MensajeChatPacientes> filas;
+        if (despuesDe != null) {
+            MensajeChatPacientes cursor = findCursor(chatId, despuesDe);
+            filas = mensajeChatPacientesRepository.findPosteriores(chatId, cursor.getFechaEnvio(), cursor.getId(), limiteConsulta);
+        } else if (antesDe != null) {
+            MensajeChatPacientes cursor = findCursor(chatId, antesDe);
+            filas = mensajeChatPacientesRepository.findAnteriores(chatId, cursor.getFechaEnvio(), cursor.getId(), limiteConsulta);
+        } else {
+            filas = mensajeChatPacientesRepository.findUltimos(chatId, limiteConsulta);
+        }
+        return PaginacionCursor.construirPagina(filas, tamanio, despuesDe == null,
+                MensajeChatPacientes::getId, this::mapToMensajeChatPacientesResponseDTO);
+    }
+
     @Override
     public MensajeChatPacientesResponseDTO postMensaje(MensajeChatPacientesRequestDTO request) {
         ChatPacientes chat = chatPacientesRepository.findById(request.getChatPacientesId())
@@ -68,6 +96,23 @@ public class ChatPacientesServiceImpl implements ChatPacientesService {
         return mapToMensajeChatPacientesResponseDTO(savedMensaje);
     }
 
+    @Override
+    @Transactional
+    public int marcarMensajesComoLeidos(Integer chatId, Integer idUsuario) {
+        if (!chatPacientesRepository.existsById(chatId)) {
+            throw new ResourceNotFoundException("Chat no encontrado");
+        }
+        Integer pacienteId = chatPacientesRepository.findPacienteParticipante(chatId, idUsuario)
+                .orElseThrow(() -> new AccessDeniedException("El paciente no participa en el chat"));
+        return mensajeChatPacientesRepository.marcarLeidosPorDestinatario(chatId, pacienteId, LocalDateTime.now());
+    }
+
+    private MensajeChatPacientes findCursor(Integer chatId, Integer mensajeId) {
+        return mensajeChatPacientesRepository.findById(mensajeId)
+                .filter(mensaje -> mensaje.getChatPacientes().getId().equals(chatId))
+                .orElseThrow(() -> new ResourceNotFoundException("Mensaje no encontrado en el chat"));
+    }
+
     private ChatPacientesResponseDTO mapToChatPacientesResponseDTO(ChatPacientes chat) {
         ChatPacientesResponseDTO dto = new ChatPacientesResponseDTO();
         dto.setId(chat.getId());
@@ -0,0 +1,21 @@
+package com.alma.alma_backend.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Canal de entrega en tiempo real del chat profesional-paciente mediante Server-Sent Events.
+ * El broker es local al proceso: cada nodo entrega los eventos a los clientes conectados a él.
+ */
+public interface ChatPushService {
+
+    /**
+     * Registra una conexión SSE del usuario para la sesión de chat.
+     * El primer evento enviado contiene los mensajes que el usuario tiene pendientes de leer.
+     */
+    SseEmitter suscribir(Integer idSesionChat, Integer idUsuario, long mensajesNoLeidos);
+
+    /**
+     * Número de conexiones abiertas en este nodo.
+     */
+    int contarSuscripciones();
+}
@@ -0,0 +1,239 @@
+package com.alma.alma_backend.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Cada conexión tiene su propia cola de eventos, que un pool acotado de hilos vacía de una en una:
+ * los eventos de una conexión llegan en orden y un cliente lento solo retrasa los suyos. Si acumula
+ * demasiados pendientes o un envío tarda más de lo permitido, la conexión se descarta y el cliente,
+ * al reconectarse, recibe de nuevo su número de mensajes no leídos.
+ */
+@Service
+public class ChatPushServiceImpl implements ChatPushService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChatPushServiceImpl.class);
+
+    private final Map<Integer, Set<Suscripcion>> suscripciones = new ConcurrentHashMap<>();
+    private final AtomicInteger totalSuscripciones = new AtomicInteger();
+
+    // Cada tarea vacía la cola de una conexión y hay como mucho una programada por conexión,
+    // así que la cola del pool no crece más que el número de suscripciones
+    private ThreadPoolExecutor envios;
+
+    @Value("${chat.push.timeout-ms:1800000}") // Por defecto 30 minutos; el cliente se reconecta al expirar
+    private long timeoutMs;
+
+    @Value("${chat.push.hilos:4}")
+    private int hilos;
+
+    @Value("${chat.push.pendientes-max:100}")
+    private int pendientesMax;
+
+    @Value("${chat.push.envio-max-ms:10000}")
+    private long envioMaxMs;
+
+    @PostConstruct
+    void init() {
+        AtomicInteger contador = new AtomicInteger();
+        envios = new ThreadPoolExecutor(hilos, hilos, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), r -> {
+            Thread hilo = new Thread(r, "chat-push-" + contador.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        });
+    }
+
+    @Override
+    public SseEmitter suscribir(Integer idSesionChat, Integer idUsuario, long mensajesNoLeidos) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Suscripcion suscripcion = new Suscripcion(idSesionChat, idUsuario, emitter);
+
+        suscripciones.compute(idSesionChat, (id, destinatarios) -> {
+            Set<Suscripcion> actuales = destinatarios != null ? destinatarios : new CopyOnWriteArraySet<>();
+            actuales.add(suscripcion);
+            return actuales;
+        });
+        totalSuscripciones.incrementAndGet();
+
+        Runnable eliminar = () -> eliminar(suscripcion);
+        emitter.onCompletion(eliminar);
+        emitter.onTimeout(eliminar);
+        emitter.onError(error -> eliminar.run());
+
+        logger.debug("Usuario ID: {} suscrito a eventos de la sesión de chat ID: {}", idUsuario, idSesionChat);
+        encolar(suscripcion, SseEmitter.event().name(ChatEvento.CONECTADO).data(mensajesNoLeidos));
+        return emitter;
+    }
+
+    @Override
+    public int contarSuscripciones() {
+        return totalSuscripciones.get();
+    }
+
+    /**
+     * Difunde el evento a los suscriptores de la sesión una vez confirmada la transacción que lo generó,
+     * de forma que el cliente nunca reciba datos que aún no son visibles en la base de datos.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChatEvento(ChatEvento evento) {
+        Set<Suscripcion> destinatarios = suscripciones.get(evento.idSesionChat());
+        if (destinatarios == null || destinatarios.isEmpty()) {
+            return;
+        }
+        destinatarios.forEach(suscripcion ->
+                encolar(suscripcion, SseEmitter.event().name(evento.tipo()).data(evento.datos())));
+    }
+
+    /**
+     * Envía un comentario SSE periódico para mantener abiertas las conexiones a través de
+     * proxies y detectar los clientes desconectados. Aprovecha la pasada para descartar las
+     * conexiones con un envío bloqueado más tiempo del permitido.
+     */
+    @Scheduled(fixedDelayString = "${chat.push.heartbeat-ms:25000}")
+    public void heartbeat() {
+        if (suscripciones.isEmpty()) {
+            return;
+        }
+        long ahora = System.nanoTime();
+        suscripciones.values().forEach(destinatarios -> destinatarios.forEach(suscripcion -> {
+            long inicio = suscripcion.inicioEnvio;
+            if (inicio != 0 && ahora - inicio > TimeUnit.MILLISECONDS.toNanos(envioMaxMs)) {
+                cerrarLenta(suscripcion, "envío bloqueado más de " + envioMaxMs + " ms");
+            } else {
+                encolar(suscripcion, SseEmitter.event().comment("ping"));
+            }
+        }));
+    }
+
+    @PreDestroy
+    public void cerrar() {
+        envios.shutdownNow();
+        suscripciones.values().forEach(destinatarios ->
+                destinatarios.forEach(suscripcion -> suscripcion.emitter.complete()));
+        suscripciones.clear();
+    }
+
+    private void encolar(Suscripcion suscripcion, SseEmitter.SseEventBuilder evento) {
+        if (suscripcion.cerrada.get()) {
+            return;
+        }
+        if (suscripcion.numeroPendientes.incrementAndGet() > pendientesMax) {
+            suscripcion.numeroPendientes.decrementAndGet();
+            cerrarLenta(suscripcion, pendientesMax + " eventos pendientes");
+            return;
+        }
+        suscripcion.pendientes.add(evento);
+        programar(suscripcion);
+    }
+
+    private void programar(Suscripcion suscripcion) {
+        if (!suscripcion.programada.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            envios.execute(() -> vaciar(suscripcion));
+        } catch (RejectedExecutionException e) {
+            // Solo ocurre durante el apagado, cuando ya se están cerrando todas las conexiones
+            suscripcion.programada.set(false);
+        }
+    }
+
+    private void vaciar(Suscripcion suscripcion) {
+        try {
+            SseEmitter.SseEventBuilder evento;
+            while (!suscripcion.cerrada.get() && (evento = suscripcion.pendientes.poll()) != null) {
+                suscripcion.numeroPendientes.decrementAndGet();
+                suscripcion.inicioEnvio = System.nanoTime();
+                try {
+                    suscripcion.emitter.send(evento);
+                } catch (IOException | IllegalStateException e) {
+                    logger.debug("Conexión SSE cerrada para el usuario ID: {} en la sesión ID: {}",
+                            suscripcion.idUsuario, suscripcion.idSesionChat);
+                    suscripcion.cerrada.set(true);
+                } finally {
+                    suscripcion.inicioEnvio = 0;
+                }
+            }
+            if (suscripcion.cerrada.get()) {
+                suscripcion.pendientes.clear();
+                // Solo este hilo escribe en el emitter, así que cerrarlo aquí no compite con un envío
+                if (suscripcion.finalizada.compareAndSet(false, true)) {
+                    eliminar(suscripcion);
+                    suscripcion.emitter.completeWithError(new IOException("Conexión SSE cerrada"));
+                }
+            }
+        } finally {
+            suscripcion.programada.set(false);
+            // Un evento encolado o un cierre pedido justo antes de liberar la marca no habrían
+            // programado otra pasada
+            if (!suscripcion.pendientes.isEmpty()
+                    || suscripcion.cerrada.get() && !suscripcion.finalizada.get()) {
+                programar(suscripcion);
+            }
+        }
+    }
+
+    /**
+     * Deja de aceptar eventos para la conexión. El hilo que la esté vaciando la cierra al terminar
+     * el envío en curso, cuya duración máxima la fija el tiempo de escritura del contenedor.
+     */
+    private void cerrarLenta(Suscripcion suscripcion, String motivo) {
+        if (!suscripcion.cerrada.compareAndSet(false, true)) {
+            return;
+        }
+        logger.warn("Descartada la conexión SSE del usuario ID: {} en la sesión ID: {}: {}",
+                suscripcion.idUsuario, suscripcion.idSesionChat, motivo);
+        eliminar(suscripcion);
+        programar(suscripcion);
+    }
+
+    private void eliminar(Suscripcion suscripcion) {
+        // compute garantiza que no se descarta el conjunto mientras otro hilo añade una suscripción
+        suscripciones.computeIfPresent(suscripcion.idSesionChat, (id, destinatarios) -> {
+            if (destinatarios.remove(suscripcion)) {
+                totalSuscripciones.decrementAndGet();
+            }
+            return destinatarios.isEmpty() ? null : destinatarios;
+        });
+    }
+
+    private static final class Suscripcion {
+        private final Integer idSesionChat;
+        private final Integer idUsuario;
+        private final SseEmitter emitter;
+        private final Queue<SseEmitter.SseEventBuilder> pendientes = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger numeroPendientes = new AtomicInteger();
+        private final AtomicBoolean programada = new AtomicBoolean();
+        private final AtomicBoolean cerrada = new AtomicBoolean();
+        private final AtomicBoolean finalizada = new AtomicBoolean();
+        // System.nanoTime() al empezar el envío en curso; 0 si no hay ninguno
+        private volatile long inicioEnvio;
+
+        private Suscripcion(Integer idSesionChat, Integer idUsuario, SseEmitter emitter) {
+            this.idSesionChat = idSesionChat;
+            this.idUsuario = idUsuario;
+            this.emitter = emitter;
+        }
+    }
+}
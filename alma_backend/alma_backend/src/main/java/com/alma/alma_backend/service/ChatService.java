@@ -1,11 +1,16 @@
 package com.alma.alma_backend.service;
 
 import com.alma.alma_backend.dto.MensajeChatRequestDTO;
+import com.alma.alma_backend.dto.MensajeChatResponseDTO;
+import com.alma.alma_backend.dto.PaginaCursorDTO;
 import com.alma.alma_backend.dto.SesionChatRequestDTO;
 import com.alma.alma_backend.entity.MensajeChat;
 import com.alma.alma_backend.entity.SesionChat;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 public interface ChatService {
 
@@ -25,11 +30,47 @@ public interface ChatService {
 
     MensajeChat enviarMensaje(MensajeChatRequestDTO request, Integer idRemitente);
 
-    List<MensajeChat> obtenerMensajesPorSesion(Integer idSesionChat);
+    /**
+     * Entrega el historial completo de la sesión, en orden cronológico, mensaje a mensaje
+     * y sin cargarlo entero en memoria.
+     */
+    void recorrerMensajesPorSesion(Integer idSesionChat, Consumer<? super MensajeChatResponseDTO> destino);
+
+    /**
+     * Devuelve una página del historial de la sesión por cursor.
+     * Sin cursores se devuelven los mensajes más recientes.
+     */
+    PaginaCursorDTO<MensajeChatResponseDTO> obtenerPaginaMensajes(Integer idSesionChat, Integer antesDe,
+                                                                  Integer despuesDe, Integer limite);
 
     MensajeChat marcarMensajeComoLeido(Integer idMensaje);
 
-    void marcarMensajesComoLeidos(Integer idSesionChat, Integer idUsuario);
+    /**
+     * Marca como leídos todos los mensajes recibidos por el usuario en la sesión.
+     * @return número de mensajes marcados
+     */
+    int marcarMensajesComoLeidos(Integer idSesionChat, Integer idUsuario);
+
+    /**
+     * Devuelve los mensajes pendientes de leer por el destinatario indicado.
+     * Si no se indica destinatario se devuelve el total pendiente de la sesión.
+     */
+    Long contarMensajesNoLeidos(Integer idSesionChat, Integer idDestinatario);
+
+    /**
+     * Devuelve los contadores de no leídos de varias sesiones con una sola consulta.
+     * Todas las sesiones solicitadas aparecen en el mapa, con 0 si no tienen pendientes.
+     */
+    Map<Integer, Long> contarMensajesNoLeidos(Collection<Integer> idsSesionChat, Integer idDestinatario);
+
+    /**
+     * Indica si el usuario es el paciente o el profesional de la sesión de chat.
+     */
+    boolean esParticipante(Integer idSesionChat, Integer idUsuario);
 
-    Long contarMensajesNoLeidos(Integer idSesionChat);
-}
\ No newline at end of file
+    /**
+     * Recalcula los contadores de no leídos a partir de los mensajes almacenados.
+     * @return número de contadores corregidos
+     */
+    int reconciliarContadoresNoLeidos();
+}
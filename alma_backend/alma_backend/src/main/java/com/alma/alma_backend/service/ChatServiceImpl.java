@@ -1,6 +1,9 @@
 package com.alma.alma_backend.service;
 
+import com.alma.alma_backend.dto.LecturaChatEventoDTO;
 import com.alma.alma_backend.dto.MensajeChatRequestDTO;
+import com.alma.alma_backend.dto.MensajeChatResponseDTO;
+import com.alma.alma_backend.dto.PaginaCursorDTO;
 import com.alma.alma_backend.dto.SesionChatRequestDTO;
 import com.alma.alma_backend.entity.EstadoSesionChat;
 import com.alma.alma_backend.entity.MensajeChat;
@@ -10,14 +13,24 @@ import com.alma.alma_backend.entity.SesionChat;
 import com.alma.alma_backend.entity.Usuario;
 import com.alma.alma_backend.exception.ChatValidationException;
 import com.alma.alma_backend.exceptions.ResourceNotFoundException;
+import com.alma.alma_backend.mapper.ChatMapper;
 import com.alma.alma_backend.repository.*;
+import com.alma.alma_backend.util.PaginacionCursor;
+import jakarta.persistence.EntityManager;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class ChatServiceImpl implements ChatService {
@@ -37,9 +50,18 @@ public class ChatServiceImpl implements ChatService {
     @Autowired
     private UsuarioRepository usuarioRepository;
 
+    @Autowired
+    private ContadorNoLeidosChatRepository contadorNoLeidosChatRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Autowired
     private AsignacionProfesionalPacienteService asignacionProfesionalPacienteService;
 
+    @Autowired
+    private EntityManager entityManager;
+
     @Override
     @Transactional
     public SesionChat iniciarSesionChat(SesionChatRequestDTO request) {
@@ -162,16 +184,59 @@ public class ChatServiceImpl implements ChatService {
 
         MensajeChat mensajeGuardado = mensajeChatRepository.save(mensaje);
 
+        // El mensaje queda pendiente para el otro participante de la sesión
+        Integer idDestinatario = remitenteEsPaciente
+                ? profesionalSesion.getUsuario().getId()
+                : pacienteSesion.getUsuario().getId();
+        contadorNoLeidosChatRepository.incrementar(sesion.getId(), idDestinatario);
+
         // Actualizar última actividad de la sesión
         sesion.setUltimaActividad(LocalDateTime.now());
         sesionChatRepository.save(sesion);
 
+        eventPublisher.publishEvent(new ChatEvento(sesion.getId(), ChatEvento.MENSAJE, ChatMapper.toResponse(mensajeGuardado)));
+
         return mensajeGuardado;
     }
 
     @Override
-    public List<MensajeChat> obtenerMensajesPorSesion(Integer idSesionChat) {
-        return mensajeChatRepository.findBySesionChat_IdOrderByFechaEnvioAsc(idSesionChat);
+    @Transactional(readOnly = true)
+    public void recorrerMensajesPorSesion(Integer idSesionChat, Consumer<? super MensajeChatResponseDTO> destino) {
+        try (Stream<MensajeChat> mensajes = mensajeChatRepository.streamBySesion(idSesionChat)) {
+            mensajes.forEach(mensaje -> {
+                destino.accept(ChatMapper.toResponse(mensaje));
+                // Con open-in-view el contexto de persistencia dura toda la petición: sin liberar
+                // cada mensaje ya escrito, crecería con el historial
+                entityManager.detach(mensaje);
+            });
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PaginaCursorDTO<MensajeChatResponseDTO> obtenerPaginaMensajes(Integer idSesionChat, Integer antesDe,
+                                                                         Integer despuesDe, Integer limite) {
+        PaginacionCursor.validarCursores(antesDe, despuesDe);
+        int tamanio = PaginacionCursor.normalizarLimite(limite);
+        Limit limiteConsulta = PaginacionCursor.limiteConsulta(tamanio);
+
+        List<MensajeChat> filas;
+        if (despuesDe != null) {
+            MensajeChat cursor = obtenerCursor(idSesionChat, despuesDe);
+            filas = mensajeChatRepository.findPosteriores(idSesionChat, cursor.getFechaEnvio(), cursor.getId(), limiteConsulta);
+        } else if (antesDe != null) {
+            MensajeChat cursor = obtenerCursor(idSesionChat, antesDe);
+            filas = mensajeChatRepository.findAnteriores(idSesionChat, cursor.getFechaEnvio(), cursor.getId(), limiteConsulta);
+        } else {
+            filas = mensajeChatRepository.findUltimos(idSesionChat, limiteConsulta);
+        }
+        return PaginacionCursor.construirPagina(filas, tamanio, despuesDe == null, MensajeChat::getId, ChatMapper::toResponse);
+    }
+
+    private MensajeChat obtenerCursor(Integer idSesionChat, Integer idMensaje) {
+        return mensajeChatRepository.findById(idMensaje)
+                .filter(mensaje -> mensaje.getSesionChat().getId().equals(idSesionChat))
+                .orElseThrow(() -> new ResourceNotFoundException("Mensaje no encontrado en la sesión con id: " + idMensaje));
     }
 
     @Override
@@ -179,27 +244,67 @@ public class ChatServiceImpl implements ChatService {
     public MensajeChat marcarMensajeComoLeido(Integer idMensaje) {
         MensajeChat mensaje = mensajeChatRepository.findById(idMensaje)
                 .orElseThrow(() -> new ResourceNotFoundException("Mensaje no encontrado con id: " + idMensaje));
+        Integer idSesionChat = mensaje.getSesionChat().getId();
+        Integer idRemitente = mensaje.getRemitente().getId();
+
+        // La actualización condicional garantiza que solo una lectura concurrente descuente el contador
+        if (mensajeChatRepository.marcarLeidoSiPendiente(idMensaje, LocalDateTime.now()) > 0) {
+            contadorNoLeidosChatRepository.descontarMensajeDe(idSesionChat, idRemitente);
+            eventPublisher.publishEvent(new ChatEvento(idSesionChat, ChatEvento.LECTURA,
+                    new LecturaChatEventoDTO(idSesionChat, null, idMensaje, 1)));
+        }
 
-        mensaje.setLeido(true);
-        mensaje.setFechaLectura(LocalDateTime.now());
-
-        return mensajeChatRepository.save(mensaje);
+        return mensajeChatRepository.findById(idMensaje)
+                .orElseThrow(() -> new ResourceNotFoundException("Mensaje no encontrado con id: " + idMensaje));
     }
 
     @Override
     @Transactional
-    public void marcarMensajesComoLeidos(Integer idSesionChat, Integer idUsuario) {
-        List<MensajeChat> mensajesNoLeidos = mensajeChatRepository.findMensajesNoLeidosPorDestinatario(idSesionChat, idUsuario);
+    public int marcarMensajesComoLeidos(Integer idSesionChat, Integer idUsuario) {
+        int marcados = mensajeChatRepository.marcarLeidosPorDestinatario(idSesionChat, idUsuario, LocalDateTime.now());
+
+        // Se descuentan solo los mensajes marcados aquí para no perder los que lleguen mientras tanto
+        if (marcados > 0) {
+            contadorNoLeidosChatRepository.descontar(idSesionChat, idUsuario, marcados);
+            eventPublisher.publishEvent(new ChatEvento(idSesionChat, ChatEvento.LECTURA,
+                    new LecturaChatEventoDTO(idSesionChat, idUsuario, null, marcados)));
+        }
+        return marcados;
+    }
+
+    @Override
+    public Long contarMensajesNoLeidos(Integer idSesionChat, Integer idDestinatario) {
+        if (idDestinatario == null) {
+            return contadorNoLeidosChatRepository.sumNoLeidosBySesion(idSesionChat);
+        }
+        return contadorNoLeidosChatRepository.findNoLeidos(idSesionChat, idDestinatario)
+                .map(Integer::longValue)
+                .orElse(0L);
+    }
 
-        for (MensajeChat mensaje : mensajesNoLeidos) {
-            mensaje.setLeido(true);
-            mensaje.setFechaLectura(LocalDateTime.now());
-            mensajeChatRepository.save(mensaje);
+    @Override
+    public Map<Integer, Long> contarMensajesNoLeidos(Collection<Integer> idsSesionChat, Integer idDestinatario) {
+        Map<Integer, Long> conteos = new HashMap<>();
+        if (idsSesionChat == null || idsSesionChat.isEmpty()) {
+            return conteos;
         }
+        idsSesionChat.forEach(id -> conteos.put(id, 0L));
+        List<ContadorNoLeidosChatRepository.NoLeidosPorSesionView> contadores = idDestinatario == null
+                ? contadorNoLeidosChatRepository.sumNoLeidosBySesiones(idsSesionChat)
+                : contadorNoLeidosChatRepository.findNoLeidosBySesiones(idsSesionChat, idDestinatario);
+        contadores.forEach(conteo -> conteos.put(conteo.getIdSesionChat(), conteo.getNoLeidos()));
+        return conteos;
     }
 
     @Override
-    public Long contarMensajesNoLeidos(Integer idSesionChat) {
-        return mensajeChatRepository.countMensajesNoLeidos(idSesionChat);
+    public boolean esParticipante(Integer idSesionChat, Integer idUsuario) {
+        return idUsuario != null && sesionChatRepository.existsParticipante(idSesionChat, idUsuario);
+    }
+
+    @Override
+    @Transactional
+    public int reconciliarContadoresNoLeidos() {
+        Integer corregidos = contadorNoLeidosChatRepository.reconciliar();
+        return corregidos != null ? corregidos : 0;
     }
-}
\ No newline at end of file
+}
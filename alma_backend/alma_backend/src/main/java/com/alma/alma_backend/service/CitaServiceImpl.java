@@ -5,6 +5,7 @@ import com.alma.alma_backend.dto.CitaRequestDTO;
 import com.alma.alma_backend.dto.CitaResponseDTO;
 import com.alma.alma_backend.entity.*;
 import com.alma.alma_backend.exceptions.ResourceNotFoundException;
+import com.alma.alma_backend.mapper.CitaMapper;
 import com.alma.alma_backend.repository.CitaRepository;
 import com.alma.alma_backend.repository.PacienteRepository;
 import com.alma.alma_backend.repository.ProfesionalRepository;
@@ -52,44 +53,44 @@ public class CitaServiceImpl implements CitaService {
         cita.setMotivo(request.getMotivo());
 
         Cita citaGuardada = citaRepository.save(cita);
-        return convertirADTO(citaGuardada);
+        return CitaMapper.toResponse(citaGuardada);
     }
 
     @Override
     public CitaResponseDTO obtenerCitaPorId(Integer id) {
         Cita cita = citaRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Cita no encontrada con id: " + id));
-        return convertirADTO(cita);
+        return CitaMapper.toResponse(cita);
     }
 
     @Override
     public List<CitaResponseDTO> obtenerCitasPorPaciente(Integer idPaciente) {
         List<Cita> citas = citaRepository.findByPaciente_IdOrderByFechaHoraAsc(idPaciente);
-        return citas.stream().map(this::convertirADTO).collect(Collectors.toList());
+        return citas.stream().map(CitaMapper::toResponse).collect(Collectors.toList());
     }
 
     @Override
     public List<CitaResponseDTO> obtenerCitasPorProfesional(Integer idProfesional) {
         List<Cita> citas = citaRepository.findByProfesional_IdOrderByFechaHoraAsc(idProfesional);
-        return citas.stream().map(this::convertirADTO).collect(Collectors.toList());
+        return citas.stream().map(CitaMapper::toResponse).collect(Collectors.toList());
     }
 
     @Override
     public List<CitaResponseDTO> obtenerCitasProximasPorPaciente(Integer idPaciente) {
         List<Cita> citas = citaRepository.findCitasProximasPaciente(idPaciente, LocalDateTime.now());
-        return citas.stream().map(this::convertirADTO).collect(Collectors.toList());
+        return citas.stream().map(CitaMapper::toResponse).collect(Collectors.toList());
     }
 
     @Override
     public List<CitaResponseDTO> obtenerCitasProximasPorProfesional(Integer idProfesional) {
         List<Cita> citas = citaRepository.findCitasProximasProfesional(idProfesional, LocalDateTime.now());
-        return citas.stream().map(this::convertirADTO).collect(Collectors.toList());
+        return citas.stream().map(CitaMapper::toResponse).collect(Collectors.toList());
     }
 
     @Override
     public List<CitaResponseDTO> obtenerCitasPorEstado(EstadoCita estado) {
         List<Cita> citas = citaRepository.findByEstadoOrderByFechaHoraAsc(estado);
-        return citas.stream().map(this::convertirADTO).collect(Collectors.toList());
+        return citas.stream().map(CitaMapper::toResponse).collect(Collectors.toList());
     }
 
     @Override
@@ -105,7 +106,7 @@ public class CitaServiceImpl implements CitaService {
         }
 
         Cita citaActualizada = citaRepository.save(cita);
-        return convertirADTO(citaActualizada);
+        return CitaMapper.toResponse(citaActualizada);
     }
 
     @Override
@@ -131,7 +132,7 @@ public class CitaServiceImpl implements CitaService {
         }
 
         Cita citaActualizada = citaRepository.save(cita);
-        return convertirADTO(citaActualizada);
+        return CitaMapper.toResponse(citaActualizada);
     }
 
     @Override
@@ -152,24 +153,4 @@ public class CitaServiceImpl implements CitaService {
         }
         citaRepository.deleteById(id);
     }
-
-    private CitaResponseDTO convertirADTO(Cita cita) {
-        CitaResponseDTO dto = new CitaResponseDTO();
-        dto.setId(cita.getId());
-        dto.setIdPaciente(cita.getPaciente().getId());
-        dto.setNombrePaciente(cita.getPaciente().getUsuario().getNombre() + " " +
-                cita.getPaciente().getUsuario().getApellidos());
-        dto.setIdProfesional(cita.getProfesional().getId());
-        dto.setNombreProfesional(cita.getProfesional().getUsuario().getNombre() + " " +
-                cita.getProfesional().getUsuario().getApellidos());
-        dto.setFechaHora(cita.getFechaHora());
-        dto.setDuracionMinutos(cita.getDuracionMinutos());
-        dto.setTipoCita(cita.getTipoCita());
-        dto.setEstado(cita.getEstado());
-        dto.setMotivo(cita.getMotivo());
-        dto.setNotasSesion(cita.getNotasSesion());
-        dto.setFechaCreacion(cita.getFechaCreacion());
-
-        return dto;
-    }
-}
\ No newline at end of file
+}
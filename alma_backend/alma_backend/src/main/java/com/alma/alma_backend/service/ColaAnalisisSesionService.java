@@ -0,0 +1,48 @@
+package com.alma.alma_backend.service;
+
+import com.alma.alma_backend.entity.TrabajoAnalisisSesion;
+
+import java.util.List;
+
+/**
+ * Cola persistente de análisis de sesiones de IA finalizadas.
+ * Cada operación es una transacción corta; el análisis se hace fuera de ellas.
+ */
+public interface ColaAnalisisSesionService {
+
+    /**
+     * Encola el análisis de la sesión. Participa en la transacción del llamante, de modo que el
+     * trabajo solo existe si la finalización de la sesión se confirma.
+     */
+    void encolar(Integer idSesion);
+
+    /**
+     * Reclama hasta {@code lote} trabajos disponibles y los marca como en proceso.
+     */
+    List<TrabajoAnalisisSesion> reclamar(int lote);
+
+    /**
+     * Conversación completa de la sesión, en orden cronológico.
+     */
+    List<MensajeContextoIA> obtenerConversacion(Integer idSesion);
+
+    /**
+     * Guarda los temas y alertas en la sesión y marca el trabajo como completado.
+     * @return false, sin modificar nada, si el trabajo ya no pertenece a esta reclamación
+     * (se liberó por tiempo y lo ha reclamado otro worker o ha terminado)
+     */
+    boolean completar(TrabajoAnalisisSesion trabajo, List<String> temas, List<String> alertas);
+
+    /**
+     * Registra el error del trabajo: se reintentará más tarde o quedará como fallido.
+     * @return false si el trabajo ya no pertenece a esta reclamación
+     */
+    boolean registrarFallo(TrabajoAnalisisSesion trabajo, String error);
+
+    /**
+     * Devuelve a la cola los trabajos en proceso que superan el tiempo máximo, o los marca como
+     * fallidos si ya agotaron los intentos.
+     * @return número de trabajos liberados
+     */
+    int liberarBloqueados(long segundos);
+}
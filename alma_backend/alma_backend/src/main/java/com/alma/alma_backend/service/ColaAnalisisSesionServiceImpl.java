@@ -0,0 +1,95 @@
+package com.alma.alma_backend.service;
+
+import com.alma.alma_backend.entity.SesionInteraccion;
+import com.alma.alma_backend.entity.TrabajoAnalisisSesion;
+import com.alma.alma_backend.exceptions.ResourceNotFoundException;
+import com.alma.alma_backend.repository.MensajeIARepository;
+import com.alma.alma_backend.repository.SesionInteraccionRepository;
+import com.alma.alma_backend.repository.TrabajoAnalisisSesionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+public class ColaAnalisisSesionServiceImpl implements ColaAnalisisSesionService {
+
+    // Longitud máxima del error guardado en el trabajo
+    private static final int MAX_ERROR = 2000;
+
+    private final TrabajoAnalisisSesionRepository trabajoRepository;
+    private final SesionInteraccionRepository sesionRepository;
+    private final MensajeIARepository mensajeRepository;
+
+    @Value("${ia.analisis.max-intentos:3}")
+    private int maxIntentos;
+
+    @Value("${ia.analisis.espera-reintento-segundos:30}")
+    private int esperaReintentoSegundos;
+
+    public ColaAnalisisSesionServiceImpl(TrabajoAnalisisSesionRepository trabajoRepository,
+                                         SesionInteraccionRepository sesionRepository,
+                                         MensajeIARepository mensajeRepository) {
+        this.trabajoRepository = trabajoRepository;
+        this.sesionRepository = sesionRepository;
+        this.mensajeRepository = mensajeRepository;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void encolar(Integer idSesion) {
+        trabajoRepository.encolar(idSesion);
+    }
+
+    @Override
+    @Transactional
+    public List<TrabajoAnalisisSesion> reclamar(int lote) {
+        List<Integer> ids = trabajoRepository.bloquearDisponibles(lote);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        trabajoRepository.marcarEnProceso(ids);
+        return trabajoRepository.findAllById(ids);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<MensajeContextoIA> obtenerConversacion(Integer idSesion) {
+        return mensajeRepository.findBySesionIdOrderByTimestampMensajeAsc(idSesion).stream()
+                .map(mensaje -> new MensajeContextoIA(mensaje.getRol(), mensaje.getMensaje()))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional
+    public boolean completar(TrabajoAnalisisSesion trabajo, List<String> temas, List<String> alertas) {
+        // Primero el trabajo: la actualización bloquea su fila, y si la reclamación se ha perdido
+        // la sesión no se toca
+        if (trabajoRepository.marcarCompletado(trabajo.getId(), trabajo.getIntentos()) == 0) {
+            return false;
+        }
+        SesionInteraccion sesion = sesionRepository.findById(trabajo.getIdSesion())
+                .orElseThrow(() -> new ResourceNotFoundException("Sesión no encontrada con id: " + trabajo.getIdSesion()));
+        sesion.setTemasConversados(new ArrayList<>(temas));
+        sesion.setAlertasGeneradas(new ArrayList<>(alertas));
+        return true;
+    }
+
+    @Override
+    @Transactional
+    public boolean registrarFallo(TrabajoAnalisisSesion trabajo, String error) {
+        String mensaje = error != null && error.length() > MAX_ERROR ? error.substring(0, MAX_ERROR) : error;
+        return trabajoRepository.registrarFallo(trabajo.getId(), trabajo.getIntentos(), mensaje,
+                maxIntentos, esperaReintentoSegundos) > 0;
+    }
+
+    @Override
+    @Transactional
+    public int liberarBloqueados(long segundos) {
+        return trabajoRepository.liberarBloqueados(segundos, maxIntentos);
+    }
+}
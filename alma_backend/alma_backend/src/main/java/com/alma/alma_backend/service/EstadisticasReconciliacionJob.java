@@ -0,0 +1,44 @@
+package com.alma.alma_backend.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tarea periódica que recalcula por completo las estadísticas de organizaciones y profesionales
+ * y corrige las filas que se hayan desviado de USUARIO y ASIGNACION_PROFESIONAL_PACIENTE
+ * (por ejemplo, cambios hechos con los triggers deshabilitados o restauraciones parciales).
+ */
+@Component
+public class EstadisticasReconciliacionJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(EstadisticasReconciliacionJob.class);
+
+    private final OrganizacionService organizacionService;
+
+    @Value("${estadisticas.reconciliacion.enabled:true}")
+    private boolean enabled;
+
+    public EstadisticasReconciliacionJob(OrganizacionService organizacionService) {
+        this.organizacionService = organizacionService;
+    }
+
+    @Scheduled(cron = "${estadisticas.reconciliacion-cron:0 30 4 * * *}")
+    public void reconciliar() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            int corregidas = organizacionService.reconciliarEstadisticas();
+            if (corregidas > 0) {
+                logger.warn("Reconciliación de estadísticas: {} filas corregidas", corregidas);
+            } else {
+                logger.debug("Reconciliación de estadísticas: contadores correctos");
+            }
+        } catch (Exception e) {
+            logger.error("Error al reconciliar las estadísticas de organizaciones y profesionales", e);
+        }
+    }
+}
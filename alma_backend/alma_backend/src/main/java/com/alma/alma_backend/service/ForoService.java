@@ -3,6 +3,8 @@ package com.alma.alma_backend.service;
 import com.alma.alma_backend.dto.ForoDTO;
 import com.alma.alma_backend.dto.MensajeForoRequestDTO;
 import com.alma.alma_backend.dto.MensajeForoResponseDTO;
+import com.alma.alma_backend.dto.PaginaCursorDTO;
+import com.alma.alma_backend.repository.VersionDatos;
 import org.springframework.security.core.Authentication;
 
 import java.util.List;
@@ -11,8 +13,16 @@ public interface ForoService {
 
     List<ForoDTO> findAllForos();
 
+    /**
+     * Validadores del listado de foros; incluye las fases porque el DTO lleva su nombre.
+     */
+    List<VersionDatos> versionForos();
+
     List<MensajeForoResponseDTO> findMensajesByForoId(Integer foroId);
 
+    PaginaCursorDTO<MensajeForoResponseDTO> findPaginaMensajes(Integer foroId, Integer antesDe,
+                                                               Integer despuesDe, Integer limite);
+
     MensajeForoResponseDTO postMensaje(MensajeForoRequestDTO mensajeForoRequestDTO, Authentication authentication);
 
 }
@@ -3,16 +3,22 @@ package com.alma.alma_backend.service;
 import com.alma.alma_backend.dto.ForoDTO;
 import com.alma.alma_backend.dto.MensajeForoRequestDTO;
 import com.alma.alma_backend.dto.MensajeForoResponseDTO;
+import com.alma.alma_backend.dto.PaginaCursorDTO;
 import com.alma.alma_backend.entity.Foro;
 import com.alma.alma_backend.entity.MensajeForo;
 import com.alma.alma_backend.entity.Usuario;
 import com.alma.alma_backend.exceptions.ResourceNotFoundException;
+import com.alma.alma_backend.repository.FaseDueloRepository;
 import com.alma.alma_backend.repository.ForoRepository;
 import com.alma.alma_backend.repository.MensajeForoRepository;
 import com.alma.alma_backend.repository.UsuarioRepository;
+import com.alma.alma_backend.repository.VersionDatos;
+import com.alma.alma_backend.util.PaginacionCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -26,6 +32,9 @@ public class ForoServiceImpl implements ForoService {
     @Autowired
     private MensajeForoRepository mensajeForoRepository;
 
+    @Autowired
+    private FaseDueloRepository faseDueloRepository;
+
     @Autowired
     private UsuarioRepository usuarioRepository; // Mantenido por si es útil para otros métodos
 
@@ -39,6 +48,12 @@ public class ForoServiceImpl implements ForoService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<VersionDatos> versionForos() {
+        return List.of(foroRepository.obtenerVersion(), faseDueloRepository.obtenerVersion());
+    }
+
     @Override
     public List<MensajeForoResponseDTO> findMensajesByForoId(Integer foroId) {
         return mensajeForoRepository.findByForoIdOrderByFechaPublicacionAsc(foroId).stream()
@@ -46,6 +61,28 @@ public class ForoServiceImpl implements ForoService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public PaginaCursorDTO<MensajeForoResponseDTO> findPaginaMensajes(Integer foroId, Integer antesDe,
+                                                                      Integer despuesDe, Integer limite) {
+        PaginacionCursor.validarCursores(antesDe, despuesDe);
+        int tamanio = PaginacionCursor.normalizarLimite(limite);
+        Limit limiteConsulta = PaginacionCursor.limiteConsulta(tamanio);
+
+        List<MensajeForo> filas;
+        if (despuesDe != null) {
+            MensajeForo cursor = findCursor(foroId, despuesDe);
+            filas = mensajeForoRepository.findPosteriores(foroId, cursor.getFechaPublicacion(), cursor.getId(), limiteConsulta);
+        } else if (antesDe != null) {
+            MensajeForo cursor = findCursor(foroId, antesDe);
+            filas = mensajeForoRepository.findAnteriores(foroId, cursor.getFechaPublicacion(), cursor.getId(), limiteConsulta);
+        } else {
+            filas = mensajeForoRepository.findUltimos(foroId, limiteConsulta);
+        }
+        return PaginacionCursor.construirPagina(filas, tamanio, despuesDe == null,
+                MensajeForo::getId, this::mapToMensajeForoResponseDTO);
+    }
+
     @Override
     public MensajeForoResponseDTO postMensaje(MensajeForoRequestDTO request, Authentication authentication) {
         Foro foro = foroRepository.findById(request.getForoId())
@@ -65,6 +102,12 @@ public class ForoServiceImpl implements ForoService {
         return mapToMensajeForoResponseDTO(savedMensaje);
     }
 
+    private MensajeForo findCursor(Integer foroId, Integer mensajeId) {
+        return mensajeForoRepository.findById(mensajeId)
+                .filter(mensaje -> mensaje.getForo().getId().equals(foroId))
+                .orElseThrow(() -> new ResourceNotFoundException("Mensaje no encontrado en el foro"));
+    }
+
     private ForoDTO mapToForoDTO(Foro foro) {
         ForoDTO dto = new ForoDTO();
         dto.setId(foro.getId());
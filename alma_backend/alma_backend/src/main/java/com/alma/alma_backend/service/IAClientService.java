@@ -0,0 +1,37 @@
+package com.alma.alma_backend.service;
+
+import com.alma.alma_backend.entity.SentimientoDetectado;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Cliente del modelo de lenguaje usado por el chatbot.
+ * Las implementaciones se invocan fuera de cualquier transacción y pueden bloquear
+ * durante toda la inferencia.
+ */
+public interface IAClientService {
+
+    /**
+     * Genera la respuesta del asistente para la conversación indicada, cuyo último elemento
+     * es el mensaje del usuario. Cada fragmento se entrega a {@code alFragmento} en cuanto
+     * el modelo lo produce.
+     * @return la respuesta completa
+     */
+    String generarRespuesta(List<MensajeContextoIA> contexto, Consumer<String> alFragmento);
+
+    /**
+     * Clasifica el sentimiento de un mensaje del usuario.
+     */
+    SentimientoDetectado analizarSentimiento(String mensaje);
+
+    /**
+     * Extrae los temas principales de una conversación finalizada.
+     */
+    List<String> extraerTemas(List<MensajeContextoIA> conversacion);
+
+    /**
+     * Detecta en la conversación situaciones que el profesional debe revisar.
+     */
+    List<String> detectarAlertas(List<MensajeContextoIA> conversacion);
+}
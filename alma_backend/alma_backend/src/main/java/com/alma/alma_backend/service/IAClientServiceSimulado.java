@@ -0,0 +1,124 @@
+package com.alma.alma_backend.service;
+
+import com.alma.alma_backend.entity.RolMensajeIA;
+import com.alma.alma_backend.entity.SentimientoDetectado;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Modelo local simulado: responde con un texto fijo troceado por palabras.
+ * Se usa mientras no haya un proveedor de IA configurado y en pruebas.
+ */
+@Service
+@ConditionalOnProperty(name = "ia.cliente", havingValue = "simulado", matchIfMissing = true)
+public class IAClientServiceSimulado implements IAClientService {
+
+    private static final String RESPUESTA =
+            "Gracias por compartir eso conmigo. Entiendo que estás pasando por un momento difícil. " +
+            "¿Podrías contarme más sobre cómo te has sentido últimamente?";
+
+    // Temas reconocidos y palabras (sin tildes) que los identifican
+    private static final Map<String, List<String>> TEMAS = Map.of(
+            "Duelo y pérdida", List.of("duelo", "perdida", "fallec", "murio", "echo de menos", "funeral"),
+            "Familia", List.of("familia", "madre", "padre", "hijo", "hija", "herman", "pareja"),
+            "Trabajo", List.of("trabajo", "jefe", "empleo", "oficina"),
+            "Sueño y descanso", List.of("dormir", "duermo", "insomnio", "pesadilla", "cansad"),
+            "Ansiedad", List.of("ansiedad", "nervios", "panico", "angustia", "agobi"),
+            "Soledad", List.of("soledad", "me siento solo", "me siento sola", "aislad"),
+            "Salud", List.of("salud", "medico", "hospital", "enfermedad", "medicacion"));
+
+    // Puntuación a partir de la cual un mensaje se considera de riesgo o negativo
+    private static final double UMBRAL_RIESGO = -5;
+    private static final double UMBRAL_NEGATIVO = -1;
+    private static final int MENSAJES_NEGATIVOS_ALERTA = 3;
+
+    private final AnalizadorSentimiento analizadorSentimiento;
+
+    // Pausa entre fragmentos para reproducir la latencia de un modelo real
+    @Value("${ia.simulado.retardo-fragmento-ms:0}")
+    private long retardoFragmentoMs;
+
+    public IAClientServiceSimulado(AnalizadorSentimiento analizadorSentimiento) {
+        this.analizadorSentimiento = analizadorSentimiento;
+    }
+
+    @Override
+    public String generarRespuesta(List<MensajeContextoIA> contexto, Consumer<String> alFragmento) {
+        int inicio = 0;
+        while (inicio < RESPUESTA.length()) {
+            int espacio = RESPUESTA.indexOf(' ', inicio);
+            int fin = espacio < 0 ? RESPUESTA.length() : espacio + 1;
+            esperar();
+            alFragmento.accept(RESPUESTA.substring(inicio, fin));
+            inicio = fin;
+        }
+        return RESPUESTA;
+    }
+
+    @Override
+    public SentimientoDetectado analizarSentimiento(String mensaje) {
+        return analizadorSentimiento.analizar(mensaje);
+    }
+
+    @Override
+    public List<String> extraerTemas(List<MensajeContextoIA> conversacion) {
+        String texto = Normalizer.normalize(textoUsuario(conversacion).toLowerCase(), Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "");
+        return TEMAS.entrySet().stream()
+                .filter(tema -> tema.getValue().stream().anyMatch(texto::contains))
+                .map(Map.Entry::getKey)
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<String> detectarAlertas(List<MensajeContextoIA> conversacion) {
+        List<String> alertas = new ArrayList<>();
+        int negativos = 0;
+        boolean riesgo = false;
+        for (MensajeContextoIA mensaje : conversacion) {
+            if (mensaje.rol() != RolMensajeIA.USUARIO) {
+                continue;
+            }
+            double puntuacion = analizadorSentimiento.puntuar(mensaje.mensaje());
+            riesgo |= puntuacion <= UMBRAL_RIESGO;
+            if (puntuacion <= UMBRAL_NEGATIVO) {
+                negativos++;
+            }
+        }
+        if (riesgo) {
+            alertas.add("Posible riesgo de autolesión: revisar la conversación");
+        }
+        if (negativos >= MENSAJES_NEGATIVOS_ALERTA) {
+            alertas.add("Malestar emocional persistente (" + negativos + " mensajes negativos)");
+        }
+        return alertas;
+    }
+
+    private String textoUsuario(List<MensajeContextoIA> conversacion) {
+        return conversacion.stream()
+                .filter(mensaje -> mensaje.rol() == RolMensajeIA.USUARIO)
+                .map(MensajeContextoIA::mensaje)
+                .collect(Collectors.joining(" "));
+    }
+
+    private void esperar() {
+        if (retardoFragmentoMs <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(retardoFragmentoMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Generación de respuesta interrumpida", e);
+        }
+    }
+}
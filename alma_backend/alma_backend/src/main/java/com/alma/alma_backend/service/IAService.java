@@ -1,8 +1,10 @@
 package com.alma.alma_backend.service;
 
 import com.alma.alma_backend.dto.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public interface IAService {
 
@@ -12,9 +14,16 @@ public interface IAService {
     SesionInteraccionResponseDTO iniciarSesion(IniciarSesionIARequestDTO request);
 
     /**
-     * Envía un mensaje a la IA y obtiene la respuesta
+     * Envía un mensaje a la IA y obtiene la respuesta.
+     * La inferencia se ejecuta en el pool de IA; el futuro se completa al guardar la respuesta.
      */
-    MensajeIAResponseDTO enviarMensaje(EnviarMensajeIARequestDTO request);
+    CompletableFuture<MensajeIAResponseDTO> enviarMensaje(EnviarMensajeIARequestDTO request);
+
+    /**
+     * Envía un mensaje a la IA y transmite la respuesta por SSE: eventos "fragmento" con el texto
+     * generado, y "completado" con el mensaje guardado o "error" con el motivo.
+     */
+    SseEmitter enviarMensajeStreaming(EnviarMensajeIARequestDTO request);
 
     /**
      * Finaliza una sesión de conversación con la IA
@@ -36,6 +45,13 @@ public interface IAService {
      */
     List<MensajeIAResponseDTO> obtenerMensajesPorSesion(Integer idSesion);
 
+    /**
+     * Obtiene una página de los mensajes de una sesión por cursor.
+     * Sin cursores se devuelven los mensajes más recientes.
+     */
+    PaginaCursorDTO<MensajeIAResponseDTO> obtenerPaginaMensajes(Integer idSesion, Integer antesDe,
+                                                                Integer despuesDe, Integer limite);
+
     /**
      * Obtiene las sesiones con alertas generadas para un profesional
      */
@@ -1,5 +1,6 @@
 package com.alma.alma_backend.service;
 
+import com.alma.alma_backend.config.IALimitesProperties;
 import com.alma.alma_backend.dto.*;
 import com.alma.alma_backend.entity.*;
 import com.alma.alma_backend.exceptions.ResourceNotFoundException;
@@ -7,18 +8,50 @@ import com.alma.alma_backend.repository.MensajeIARepository;
 import com.alma.alma_backend.repository.PacienteRepository;
 import com.alma.alma_backend.repository.ProfesionalRepository;
 import com.alma.alma_backend.repository.SesionInteraccionRepository;
+import com.alma.alma_backend.util.PaginacionCursor;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
 public class IAServiceImpl implements IAService {
 
+    private static final Logger logger = LoggerFactory.getLogger(IAServiceImpl.class);
+
+    // Eventos SSE de enviarMensajeStreaming
+    private static final String EVENTO_FRAGMENTO = "fragmento";
+    private static final String EVENTO_COMPLETADO = "completado";
+    private static final String EVENTO_ERROR = "error";
+
+    // Cada turno guarda el mensaje del usuario y la respuesta del asistente
+    private static final int MENSAJES_POR_TURNO = 2;
+
     @Autowired
     private SesionInteraccionRepository sesionRepository;
 
@@ -31,9 +64,41 @@ public class IAServiceImpl implements IAService {
     @Autowired
     private ProfesionalRepository profesionalRepository;
 
-    // TODO: Inyectar cliente de API de IA (OpenAI, Anthropic, etc.) cuando se configure
-    // @Autowired
-    // private IAClientService iaClientService;
+    @Autowired
+    private IAClientService iaClientService;
+
+    @Autowired
+    private ColaAnalisisSesionService colaAnalisisSesionService;
+
+    @Autowired
+    @Qualifier("iaInferenciaExecutor")
+    private Executor inferenciaExecutor;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaccion;
+
+    // Mensajes previos que se envían al modelo como contexto
+    @Value("${ia.contexto.max-mensajes:20}")
+    private int maxMensajesContexto;
+
+    @Value("${ia.streaming.timeout-ms:120000}")
+    private long streamingTimeoutMs;
+
+    @Autowired
+    private IALimitesProperties limitesProperties;
+
+    // Límites por tipo en forma de arrays paralelos para reservarMensajes
+    private String[] tiposConLimite;
+    private Integer[] limitesPorTipo;
+
+    @PostConstruct
+    void init() {
+        transaccion = new TransactionTemplate(transactionManager);
+        tiposConLimite = limitesProperties.getMensajes().keySet().stream().map(Enum::name).toArray(String[]::new);
+        limitesPorTipo = limitesProperties.getMensajes().values().toArray(new Integer[0]);
+    }
 
     @Override
     @Transactional
@@ -58,21 +123,72 @@ public class IAServiceImpl implements IAService {
     }
 
     @Override
-    @Transactional
-    public MensajeIAResponseDTO enviarMensaje(EnviarMensajeIARequestDTO request) {
-        SesionInteraccion sesion = sesionRepository.findById(request.getIdSesion())
-                .orElseThrow(() -> new ResourceNotFoundException("Sesión no encontrada con id: " + request.getIdSesion()));
+    public CompletableFuture<MensajeIAResponseDTO> enviarMensaje(EnviarMensajeIARequestDTO request) {
+        return programar(() -> procesarMensaje(request, fragmento -> { }));
+    }
 
-        // Validar que la sesión esté activa
-        if (sesion.getEstado() != EstadoSesion.ACTIVA) {
-            throw new IllegalStateException("La sesión no está activa");
+    @Override
+    public SseEmitter enviarMensajeStreaming(EnviarMensajeIARequestDTO request) {
+        SseEmitter emitter = new SseEmitter(streamingTimeoutMs);
+        AtomicBoolean conectado = new AtomicBoolean(true);
+        emitter.onCompletion(() -> conectado.set(false));
+        emitter.onTimeout(() -> conectado.set(false));
+        emitter.onError(error -> conectado.set(false));
+
+        programar(() -> procesarMensaje(request,
+                fragmento -> enviarEvento(emitter, conectado, EVENTO_FRAGMENTO, fragmento)))
+                .whenComplete((mensaje, error) -> {
+                    if (error == null) {
+                        enviarEvento(emitter, conectado, EVENTO_COMPLETADO, mensaje);
+                    } else {
+                        enviarEvento(emitter, conectado, EVENTO_ERROR, Map.of("message", describirError(error)));
+                    }
+                    emitter.complete();
+                });
+        return emitter;
+    }
+
+    /**
+     * Procesa un mensaje en tres pasos para no retener una conexión durante la inferencia:
+     * el mensaje del usuario se confirma antes de llamar al modelo y la respuesta se guarda
+     * en una segunda transacción cuando el modelo termina. Si la respuesta no llega a
+     * guardarse, por un fallo del modelo o de la segunda transacción, se libera el mensaje
+     * reservado para el asistente.
+     */
+    private MensajeIAResponseDTO procesarMensaje(EnviarMensajeIARequestDTO request, Consumer<String> alFragmento) {
+        List<MensajeContextoIA> contexto = transaccion.execute(estado -> registrarMensajeUsuario(request));
+
+        boolean respuestaGuardada = false;
+        try {
+            String respuestaIA = iaClientService.generarRespuesta(contexto, alFragmento);
+            SentimientoDetectado sentimiento = iaClientService.analizarSentimiento(request.getMensaje());
+            MensajeIAResponseDTO respuesta = transaccion.execute(
+                    estado -> registrarRespuesta(request.getIdSesion(), respuestaIA, sentimiento));
+            respuestaGuardada = true;
+            return respuesta;
+        } finally {
+            if (!respuestaGuardada) {
+                liberarMensajeReservado(request.getIdSesion());
+            }
         }
+    }
+
+    // Un fallo aquí no debe ocultar el error original, que es el que recibe el cliente
+    private void liberarMensajeReservado(Integer idSesion) {
+        try {
+            transaccion.executeWithoutResult(estado -> sesionRepository.liberarMensajes(idSesion, 1));
+        } catch (RuntimeException e) {
+            logger.error("No se pudo liberar el mensaje reservado de la sesión ID: {}", idSesion, e);
+        }
+    }
 
-        // Validar límite de mensajes por sesión (opcional)
-        Long contadorMensajes = mensajeRepository.countBySesionId(request.getIdSesion());
-        if (contadorMensajes >= 100) {
-            throw new IllegalStateException("Se ha alcanzado el límite de 100 mensajes por sesión");
+    private List<MensajeContextoIA> registrarMensajeUsuario(EnviarMensajeIARequestDTO request) {
+        // Reserva atómica de los mensajes del turno; sustituye al COUNT previo y al contador leído y reescrito
+        if (sesionRepository.reservarMensajes(request.getIdSesion(), MENSAJES_POR_TURNO,
+                tiposConLimite, limitesPorTipo, limitesProperties.getMensajesPorDefecto()) == 0) {
+            throw motivoRechazo(request.getIdSesion());
         }
+        SesionInteraccion sesion = sesionRepository.getReferenceById(request.getIdSesion());
 
         // Guardar mensaje del usuario
         MensajeIA mensajeUsuario = new MensajeIA();
@@ -81,27 +197,62 @@ public class IAServiceImpl implements IAService {
         mensajeUsuario.setMensaje(request.getMensaje());
         mensajeRepository.save(mensajeUsuario);
 
-        // TODO: Llamar a la API de IA para obtener respuesta
-        // String respuestaIA = iaClientService.obtenerRespuesta(request.getMensaje(), obtenerContextoSesion(sesion));
-        // SentimientoDetectado sentimiento = iaClientService.analizarSentimiento(request.getMensaje());
+        List<MensajeIA> recientes = new ArrayList<>(
+                mensajeRepository.findUltimos(sesion.getId(), Limit.of(maxMensajesContexto)));
+        Collections.reverse(recientes);
+        return recientes.stream()
+                .map(mensaje -> new MensajeContextoIA(mensaje.getRol(), mensaje.getMensaje()))
+                .collect(Collectors.toList());
+    }
 
-        // TEMPORAL: Respuesta simulada hasta que se configure la API de IA
-        String respuestaIA = generarRespuestaSimulada(request.getMensaje());
-        SentimientoDetectado sentimiento = analizarSentimientoBasico(request.getMensaje());
+    private RuntimeException motivoRechazo(Integer idSesion) {
+        SesionInteraccion sesion = sesionRepository.findById(idSesion)
+                .orElseThrow(() -> new ResourceNotFoundException("Sesión no encontrada con id: " + idSesion));
+        if (sesion.getEstado() != EstadoSesion.ACTIVA) {
+            return new IllegalStateException("La sesión no está activa");
+        }
+        return new IllegalStateException("Se ha alcanzado el límite de "
+                + limitesProperties.limiteMensajes(sesion.getTipoSesion()) + " mensajes por sesión");
+    }
 
-        // Guardar respuesta del asistente
+    private MensajeIAResponseDTO registrarRespuesta(Integer idSesion, String respuestaIA, SentimientoDetectado sentimiento) {
         MensajeIA mensajeAsistente = new MensajeIA();
-        mensajeAsistente.setSesion(sesion);
+        mensajeAsistente.setSesion(sesionRepository.getReferenceById(idSesion));
         mensajeAsistente.setRol(RolMensajeIA.ASISTENTE);
         mensajeAsistente.setMensaje(respuestaIA);
         mensajeAsistente.setSentimientoDetectado(sentimiento);
-        MensajeIA mensajeGuardado = mensajeRepository.save(mensajeAsistente);
+        return convertirMensajeADTO(mensajeRepository.save(mensajeAsistente));
+    }
 
-        // Actualizar contador de mensajes en la sesión
-        sesion.setNumeroMensajes(sesion.getNumeroMensajes() + 2); // Usuario + Asistente
-        sesionRepository.save(sesion);
+    private <T> CompletableFuture<T> programar(Supplier<T> tarea) {
+        try {
+            return CompletableFuture.supplyAsync(tarea, inferenciaExecutor);
+        } catch (RejectedExecutionException e) {
+            logger.warn("Cola de inferencia llena, mensaje rechazado");
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "El asistente está saturado, inténtalo de nuevo en unos segundos", e);
+        }
+    }
 
-        return convertirMensajeADTO(mensajeGuardado);
+    // Si el cliente se desconecta la generación continúa y la respuesta queda guardada en el historial
+    private void enviarEvento(SseEmitter emitter, AtomicBoolean conectado, String tipo, Object datos) {
+        if (!conectado.get()) {
+            return;
+        }
+        try {
+            emitter.send(SseEmitter.event().name(tipo).data(datos));
+        } catch (IOException | IllegalStateException e) {
+            conectado.set(false);
+        }
+    }
+
+    private String describirError(Throwable error) {
+        Throwable causa = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (causa instanceof ResourceNotFoundException || causa instanceof IllegalStateException) {
+            return causa.getMessage();
+        }
+        logger.error("Error generando la respuesta del asistente", causa);
+        return "No se pudo generar la respuesta del asistente";
     }
 
     @Override
@@ -135,13 +286,10 @@ public class IAServiceImpl implements IAService {
             sesion.setNotasProfesional(request.getNotasProfesional());
         }
 
-        // TODO: Analizar conversación completa con IA para extraer temas y alertas
-        // List<String> temas = iaClientService.extraerTemas(obtenerMensajesSesion(sesion.getId()));
-        // List<String> alertas = iaClientService.detectarAlertas(obtenerMensajesSesion(sesion.getId()));
-        // sesion.setTemasConversados(temas);
-        // sesion.setAlertasGeneradas(alertas);
-
         SesionInteraccion sesionGuardada = sesionRepository.save(sesion);
+
+        // Temas y alertas se extraen en segundo plano (AnalisisSesionWorker)
+        colaAnalisisSesionService.encolar(sesionGuardada.getId());
         return convertirSesionADTO(sesionGuardada);
     }
 
@@ -164,6 +312,34 @@ public class IAServiceImpl implements IAService {
         return mensajes.stream().map(this::convertirMensajeADTO).collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public PaginaCursorDTO<MensajeIAResponseDTO> obtenerPaginaMensajes(Integer idSesion, Integer antesDe,
+                                                                       Integer despuesDe, Integer limite) {
+        PaginacionCursor.validarCursores(antesDe, despuesDe);
+        int tamanio = PaginacionCursor.normalizarLimite(limite);
+        Limit limiteConsulta = PaginacionCursor.limiteConsulta(tamanio);
+
+        List<MensajeIA> filas;
+        if (despuesDe != null) {
+            MensajeIA cursor = obtenerCursor(idSesion, despuesDe);
+            filas = mensajeRepository.findPosteriores(idSesion, cursor.getTimestampMensaje(), cursor.getId(), limiteConsulta);
+        } else if (antesDe != null) {
+            MensajeIA cursor = obtenerCursor(idSesion, antesDe);
+            filas = mensajeRepository.findAnteriores(idSesion, cursor.getTimestampMensaje(), cursor.getId(), limiteConsulta);
+        } else {
+            filas = mensajeRepository.findUltimos(idSesion, limiteConsulta);
+        }
+        return PaginacionCursor.construirPagina(filas, tamanio, despuesDe == null,
+                MensajeIA::getId, this::convertirMensajeADTO);
+    }
+
+    private MensajeIA obtenerCursor(Integer idSesion, Integer idMensaje) {
+        return mensajeRepository.findById(idMensaje)
+                .filter(mensaje -> mensaje.getSesion().getId().equals(idSesion))
+                .orElseThrow(() -> new ResourceNotFoundException("Mensaje no encontrado en la sesión con id: " + idMensaje));
+    }
+
     @Override
     public List<SesionInteraccionResponseDTO> obtenerSesionesConAlertasPorProfesional(Integer idProfesional) {
         List<SesionInteraccion> sesiones = sesionRepository.findSesionesConAlertasPorProfesional(idProfesional);
@@ -231,29 +407,4 @@ public class IAServiceImpl implements IAService {
         dto.setSentimientoDetectado(mensaje.getSentimientoDetectado());
         return dto;
     }
-
-    // TEMPORAL: Métodos simulados hasta configurar API de IA real
-
-    private String generarRespuestaSimulada(String mensajeUsuario) {
-        // Respuesta temporal simulada
-        return "Gracias por compartir eso conmigo. Entiendo que estás pasando por un momento difícil. " +
-               "¿Podrías contarme más sobre cómo te has sentido últimamente?";
-    }
-
-    private SentimientoDetectado analizarSentimientoBasico(String mensaje) {
-        String mensajeLower = mensaje.toLowerCase();
-
-        // Análisis básico temporal
-        if (mensajeLower.contains("feliz") || mensajeLower.contains("bien") || mensajeLower.contains("mejor")) {
-            return SentimientoDetectado.POSITIVO;
-        } else if (mensajeLower.contains("triste") || mensajeLower.contains("mal") ||
-                   mensajeLower.contains("dolor") || mensajeLower.contains("sufr")) {
-            return SentimientoDetectado.NEGATIVO;
-        } else if (mensajeLower.contains("muy mal") || mensajeLower.contains("horrible") ||
-                   mensajeLower.contains("terrible")) {
-            return SentimientoDetectado.MUY_NEGATIVO;
-        }
-
-        return SentimientoDetectado.NEUTRO;
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,24 @@
+package com.alma.alma_backend.service;
+
+import com.alma.alma_backend.dto.ResultadoImportacionDTO;
+
+import java.io.InputStream;
+
+/**
+ * Alta masiva de pacientes y profesionales de una organización a partir de un fichero CSV.
+ * Cada fila se valida y se inserta de forma independiente; el resultado detalla el estado de cada una.
+ */
+public interface ImportacionUsuariosService {
+
+    /**
+     * Importa pacientes. Columnas: dni, nombre, email (obligatorias), apellidos, telefono,
+     * tarjetaSanitaria, fechaNacimiento (yyyy-MM-dd o dd/MM/yyyy) y genero.
+     */
+    ResultadoImportacionDTO importarPacientes(InputStream csv, Integer organizacionId);
+
+    /**
+     * Importa profesionales. Columnas: dni, nombre, email, numeroColegiado (obligatorias),
+     * apellidos, telefono, especialidad y centroSalud.
+     */
+    ResultadoImportacionDTO importarProfesionales(InputStream csv, Integer organizacionId);
+}
@@ -0,0 +1,484 @@
+package com.alma.alma_backend.service;
+
+import com.alma.alma_backend.dto.FilaImportacionDTO;
+import com.alma.alma_backend.dto.ResultadoImportacionDTO;
+import com.alma.alma_backend.entity.*;
+import com.alma.alma_backend.repository.OrganizacionRepository;
+import com.alma.alma_backend.repository.PacienteRepository;
+import com.alma.alma_backend.repository.ProfesionalRepository;
+import com.alma.alma_backend.repository.UsuarioRepository;
+import com.alma.alma_backend.util.LectorCsv;
+import com.alma.alma_backend.util.ValidationUtils;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Importa el CSV por bloques sin cargarlo entero en memoria. Para cada bloque:
+ * valida las filas, busca duplicados con una única consulta, calcula los hashes BCrypt de las
+ * contraseñas temporales en paralelo y guarda usuarios y perfiles en una transacción corta
+ * que Hibernate envía en lotes JDBC (ver secuencias agrupadas, V19).
+ */
+@Service
+public class ImportacionUsuariosServiceImpl implements ImportacionUsuariosService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportacionUsuariosServiceImpl.class);
+
+    private static final DateTimeFormatter FORMATO_FECHA_ES = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private final UsuarioRepository usuarioRepository;
+    private final PacienteRepository pacienteRepository;
+    private final ProfesionalRepository profesionalRepository;
+    private final OrganizacionRepository organizacionRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transaccion;
+
+    private ThreadPoolExecutor hashExecutor;
+    private Semaphore importacionesEnCurso;
+
+    @Value("${importacion.bloque:500}")
+    private int tamanioBloque;
+
+    @Value("${importacion.max-filas:10000}")
+    private int maxFilas;
+
+    @Value("${importacion.hash.hilos:0}") // 0 = número de núcleos disponibles
+    private int hilosHash;
+
+    @Value("${importacion.simultaneas:2}")
+    private int simultaneas;
+
+    public ImportacionUsuariosServiceImpl(UsuarioRepository usuarioRepository,
+                                          PacienteRepository pacienteRepository,
+                                          ProfesionalRepository profesionalRepository,
+                                          OrganizacionRepository organizacionRepository,
+                                          PasswordEncoder passwordEncoder,
+                                          EntityManager entityManager,
+                                          PlatformTransactionManager transactionManager) {
+        this.usuarioRepository = usuarioRepository;
+        this.pacienteRepository = pacienteRepository;
+        this.profesionalRepository = profesionalRepository;
+        this.organizacionRepository = organizacionRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.entityManager = entityManager;
+        this.transaccion = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    void init() {
+        int tamanio = hilosHash > 0 ? hilosHash : Runtime.getRuntime().availableProcessors();
+        AtomicInteger contador = new AtomicInteger();
+        // Cola sin límite: como mucho hay 'simultaneas' bloques encolados a la vez
+        hashExecutor = new ThreadPoolExecutor(tamanio, tamanio, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), r -> {
+                    Thread hilo = new Thread(r, "importacion-hash-" + contador.incrementAndGet());
+                    hilo.setDaemon(true);
+                    return hilo;
+                });
+        importacionesEnCurso = new Semaphore(Math.max(1, simultaneas));
+        logger.info("Importación masiva con bloques de {} filas y {} hilos de hash", tamanioBloque, tamanio);
+    }
+
+    @PreDestroy
+    void cerrar() {
+        hashExecutor.shutdownNow();
+    }
+
+    @Override
+    public ResultadoImportacionDTO importarPacientes(InputStream csv, Integer organizacionId) {
+        return importar(csv, organizacionId, TipoUsuario.PACIENTE);
+    }
+
+    @Override
+    public ResultadoImportacionDTO importarProfesionales(InputStream csv, Integer organizacionId) {
+        return importar(csv, organizacionId, TipoUsuario.PROFESIONAL);
+    }
+
+    private ResultadoImportacionDTO importar(InputStream csv, Integer organizacionId, TipoUsuario tipo) {
+        if (!importacionesEnCurso.tryAcquire()) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Hay demasiadas importaciones en curso, inténtalo de nuevo en unos minutos");
+        }
+        try {
+            if (!organizacionRepository.existsById(organizacionId)) {
+                throw new IllegalStateException("Organización no encontrada.");
+            }
+            long inicio = System.currentTimeMillis();
+            ResultadoImportacionDTO resultado = leerYProcesar(csv, organizacionId, tipo);
+            resultado.setDuracionMs(System.currentTimeMillis() - inicio);
+            logger.info("Importación de {} en la organización {}: {} filas, {} creadas, {} rechazadas en {} ms",
+                    tipo, organizacionId, resultado.getTotal(), resultado.getCreados(),
+                    resultado.getRechazados(), resultado.getDuracionMs());
+            return resultado;
+        } catch (IOException e) {
+            throw new IllegalStateException("No se pudo leer el fichero CSV.", e);
+        } finally {
+            importacionesEnCurso.release();
+        }
+    }
+
+    private ResultadoImportacionDTO leerYProcesar(InputStream csv, Integer organizacionId, TipoUsuario tipo) throws IOException {
+        ResultadoImportacionDTO resultado = new ResultadoImportacionDTO();
+        try (LectorCsv lector = new LectorCsv(new InputStreamReader(csv, StandardCharsets.UTF_8))) {
+            String[] cabecera = lector.siguiente();
+            if (cabecera == null) {
+                throw new IllegalStateException("El fichero CSV está vacío.");
+            }
+            Columnas columnas = new Columnas(cabecera, tipo);
+
+            Vistos vistos = new Vistos();
+            List<FilaImportacion> bloque = new ArrayList<>(tamanioBloque);
+            String[] registro;
+            while ((registro = lector.siguiente()) != null) {
+                FilaImportacion fila = columnas.leer(lector.getRegistros(), registro);
+                if (resultado.getTotal() + bloque.size() >= maxFilas) {
+                    fila.error = "Se ha superado el máximo de " + maxFilas + " filas por importación.";
+                }
+                bloque.add(fila);
+                if (bloque.size() == tamanioBloque) {
+                    procesarBloque(bloque, organizacionId, tipo, vistos, resultado);
+                    bloque.clear();
+                }
+            }
+            if (!bloque.isEmpty()) {
+                procesarBloque(bloque, organizacionId, tipo, vistos, resultado);
+            }
+        }
+        return resultado;
+    }
+
+    private void procesarBloque(List<FilaImportacion> bloque, Integer organizacionId, TipoUsuario tipo,
+                                Vistos vistos, ResultadoImportacionDTO resultado) {
+        for (FilaImportacion fila : bloque) {
+            if (fila.error == null) {
+                fila.error = validar(fila, tipo, vistos);
+            }
+        }
+        marcarExistentes(bloque, tipo);
+
+        List<FilaImportacion> validas = bloque.stream().filter(f -> f.error == null).toList();
+        if (!validas.isEmpty()) {
+            calcularHashes(validas);
+            guardar(validas, organizacionId, tipo);
+        }
+
+        for (FilaImportacion fila : bloque) {
+            boolean creado = fila.error == null;
+            resultado.getFilas().add(new FilaImportacionDTO(fila.numero, fila.dni, fila.email, creado,
+                    fila.idUsuario, fila.error));
+            if (creado) {
+                resultado.setCreados(resultado.getCreados() + 1);
+            } else {
+                resultado.setRechazados(resultado.getRechazados() + 1);
+            }
+        }
+        resultado.setTotal(resultado.getTotal() + bloque.size());
+    }
+
+    /**
+     * Mismas reglas que el alta individual en AuthServiceImpl, más longitudes de columna
+     * (una fila demasiado larga haría fallar el bloque entero) y duplicados dentro del fichero.
+     */
+    private String validar(FilaImportacion fila, TipoUsuario tipo, Vistos vistos) {
+        if (!ValidationUtils.isValidDNIorNIE(fila.dni)) {
+            return "El DNI no es válido.";
+        }
+        if (!ValidationUtils.isValidEmail(fila.email) || fila.email.length() > 100) {
+            return "El email no es válido.";
+        }
+        if (fila.nombre == null || fila.nombre.length() > 50) {
+            return "El nombre es obligatorio y no puede superar 50 caracteres.";
+        }
+        if (excede(fila.apellidos, 100) || excede(fila.telefono, 20)) {
+            return "Los apellidos o el teléfono superan la longitud máxima.";
+        }
+        if (tipo == TipoUsuario.PROFESIONAL) {
+            if (!ValidationUtils.isValidNumeroColegiado(fila.numeroColegiado) || fila.numeroColegiado.length() > 20) {
+                return "El número de colegiado no es válido.";
+            }
+            if (excede(fila.especialidad, 100) || excede(fila.centroSalud, 255)) {
+                return "La especialidad o el centro de salud superan la longitud máxima.";
+            }
+        } else {
+            if (excede(fila.tarjetaSanitaria, 30)) {
+                return "La tarjeta sanitaria supera la longitud máxima.";
+            }
+            if (fila.errorFormato != null) {
+                return fila.errorFormato;
+            }
+        }
+        if (!vistos.dnis.add(fila.dni)) {
+            return "El DNI está repetido en el fichero.";
+        }
+        if (!vistos.emails.add(fila.email)) {
+            return "El email está repetido en el fichero.";
+        }
+        if (tipo == TipoUsuario.PROFESIONAL && !vistos.colegiados.add(fila.numeroColegiado)) {
+            return "El número de colegiado está repetido en el fichero.";
+        }
+        return null;
+    }
+
+    private void marcarExistentes(List<FilaImportacion> bloque, TipoUsuario tipo) {
+        Set<String> dnis = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        Set<String> colegiados = new HashSet<>();
+        for (FilaImportacion fila : bloque) {
+            if (fila.error == null) {
+                dnis.add(fila.dni);
+                emails.add(fila.email);
+                if (tipo == TipoUsuario.PROFESIONAL) {
+                    colegiados.add(fila.numeroColegiado);
+                }
+            }
+        }
+        if (dnis.isEmpty()) {
+            return;
+        }
+
+        Set<String> dnisExistentes = new HashSet<>();
+        Set<String> emailsExistentes = new HashSet<>();
+        for (Object[] existente : usuarioRepository.findDniYEmailExistentes(dnis, emails)) {
+            dnisExistentes.add((String) existente[0]);
+            emailsExistentes.add((String) existente[1]);
+        }
+        Set<String> colegiadosExistentes = colegiados.isEmpty()
+                ? Set.of()
+                : new HashSet<>(profesionalRepository.findNumerosColegiadoExistentes(colegiados));
+
+        for (FilaImportacion fila : bloque) {
+            if (fila.error != null) {
+                continue;
+            }
+            if (dnisExistentes.contains(fila.dni)) {
+                fila.error = "El DNI ya está registrado.";
+            } else if (emailsExistentes.contains(fila.email)) {
+                fila.error = "El email ya está en uso.";
+            } else if (colegiadosExistentes.contains(fila.numeroColegiado)) {
+                fila.error = "El número de colegiado ya está registrado.";
+            }
+        }
+    }
+
+    private void calcularHashes(List<FilaImportacion> filas) {
+        List<Callable<String>> tareas = new ArrayList<>(filas.size());
+        for (int i = 0; i < filas.size(); i++) {
+            tareas.add(() -> passwordEncoder.encode(UUID.randomUUID().toString().substring(0, 8)));
+        }
+        try {
+            List<Future<String>> hashes = hashExecutor.invokeAll(tareas);
+            for (int i = 0; i < filas.size(); i++) {
+                filas.get(i).passwordHash = hashes.get(i).get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Importación interrumpida.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Error generando las contraseñas temporales.", e.getCause());
+        }
+    }
+
+    private void guardar(List<FilaImportacion> filas, Integer organizacionId, TipoUsuario tipo) {
+        try {
+            transaccion.executeWithoutResult(status -> {
+                Organizacion organizacion = organizacionRepository.getReferenceById(organizacionId);
+                LocalDateTime ahora = LocalDateTime.now();
+
+                List<Usuario> usuarios = new ArrayList<>(filas.size());
+                for (FilaImportacion fila : filas) {
+                    usuarios.add(crearUsuario(fila, organizacion, tipo, ahora));
+                }
+                usuarioRepository.saveAll(usuarios);
+
+                if (tipo == TipoUsuario.PROFESIONAL) {
+                    List<Profesional> profesionales = new ArrayList<>(filas.size());
+                    for (int i = 0; i < filas.size(); i++) {
+                        profesionales.add(crearProfesional(filas.get(i), usuarios.get(i)));
+                    }
+                    profesionalRepository.saveAll(profesionales);
+                } else {
+                    List<Paciente> pacientes = new ArrayList<>(filas.size());
+                    for (int i = 0; i < filas.size(); i++) {
+                        pacientes.add(crearPaciente(filas.get(i), usuarios.get(i)));
+                    }
+                    pacienteRepository.saveAll(pacientes);
+                }
+
+                // Los INSERT salen aquí en lotes; se vacía el contexto para que, con open-in-view,
+                // no se acumulen miles de entidades gestionadas a lo largo de la petición
+                entityManager.flush();
+                entityManager.clear();
+
+                for (int i = 0; i < filas.size(); i++) {
+                    filas.get(i).idUsuario = usuarios.get(i).getId();
+                }
+            });
+        } catch (RuntimeException e) {
+            // Normalmente un alta simultánea del mismo DNI o email por otra vía
+            logger.warn("No se pudo guardar un bloque de {} filas de la importación: {}", filas.size(), e.getMessage());
+            for (FilaImportacion fila : filas) {
+                fila.idUsuario = null;
+                fila.error = "No se pudo guardar el bloque por un conflicto con otro registro; vuelve a importar esta fila.";
+            }
+        }
+    }
+
+    private Usuario crearUsuario(FilaImportacion fila, Organizacion organizacion, TipoUsuario tipo, LocalDateTime ahora) {
+        Usuario usuario = new Usuario();
+        usuario.setDni(fila.dni);
+        usuario.setNombre(fila.nombre);
+        usuario.setApellidos(fila.apellidos);
+        usuario.setEmail(fila.email);
+        usuario.setTelefono(fila.telefono);
+        usuario.setTipoUsuario(tipo);
+        usuario.setOrganizacion(organizacion);
+        usuario.setPasswordTemporal(true);
+        usuario.setActivo(true);
+        usuario.setFechaRegistro(ahora);
+        usuario.setPasswordHash(fila.passwordHash);
+        return usuario;
+    }
+
+    private Profesional crearProfesional(FilaImportacion fila, Usuario usuario) {
+        Profesional profesional = new Profesional();
+        profesional.setUsuario(usuario);
+        profesional.setNumeroColegiado(fila.numeroColegiado);
+        profesional.setEspecialidad(fila.especialidad);
+        profesional.setCentroSalud(fila.centroSalud);
+        return profesional;
+    }
+
+    private Paciente crearPaciente(FilaImportacion fila, Usuario usuario) {
+        Paciente paciente = new Paciente();
+        paciente.setUsuario(usuario);
+        paciente.setTarjetaSanitaria(fila.tarjetaSanitaria);
+        paciente.setFechaNacimiento(fila.fechaNacimiento);
+        paciente.setGenero(fila.genero);
+        return paciente;
+    }
+
+    private static boolean excede(String valor, int longitud) {
+        return valor != null && valor.length() > longitud;
+    }
+
+    /**
+     * Posición de cada columna según la cabecera. Los nombres se comparan sin mayúsculas,
+     * tildes, espacios ni guiones bajos ("Fecha nacimiento" equivale a "fechaNacimiento").
+     */
+    private static final class Columnas {
+        private final Map<String, Integer> indices = new HashMap<>();
+
+        Columnas(String[] cabecera, TipoUsuario tipo) {
+            for (int i = 0; i < cabecera.length; i++) {
+                indices.putIfAbsent(normalizar(cabecera[i]), i);
+            }
+            List<String> obligatorias = new ArrayList<>(List.of("dni", "nombre", "email"));
+            if (tipo == TipoUsuario.PROFESIONAL) {
+                obligatorias.add("numerocolegiado");
+            }
+            List<String> ausentes = obligatorias.stream().filter(c -> !indices.containsKey(c)).toList();
+            if (!ausentes.isEmpty()) {
+                throw new IllegalStateException("Faltan columnas obligatorias en la cabecera: " + ausentes);
+            }
+        }
+
+        FilaImportacion leer(int numero, String[] registro) {
+            FilaImportacion fila = new FilaImportacion();
+            fila.numero = numero;
+            fila.dni = valor(registro, "dni");
+            fila.nombre = valor(registro, "nombre");
+            fila.apellidos = valor(registro, "apellidos");
+            fila.email = valor(registro, "email");
+            fila.telefono = valor(registro, "telefono");
+            fila.numeroColegiado = valor(registro, "numerocolegiado");
+            fila.especialidad = valor(registro, "especialidad");
+            fila.centroSalud = valor(registro, "centrosalud");
+            fila.tarjetaSanitaria = valor(registro, "tarjetasanitaria");
+
+            String fecha = valor(registro, "fechanacimiento");
+            if (fecha != null) {
+                try {
+                    fila.fechaNacimiento = fecha.contains("/")
+                            ? LocalDate.parse(fecha, FORMATO_FECHA_ES)
+                            : LocalDate.parse(fecha);
+                } catch (DateTimeParseException e) {
+                    fila.errorFormato = "La fecha de nacimiento no es válida.";
+                }
+            }
+            String genero = valor(registro, "genero");
+            if (genero != null) {
+                try {
+                    fila.genero = Genero.valueOf(genero.toUpperCase(Locale.ROOT).replace(' ', '_'));
+                } catch (IllegalArgumentException e) {
+                    fila.errorFormato = "El género no es válido.";
+                }
+            }
+            return fila;
+        }
+
+        private String valor(String[] registro, String columna) {
+            Integer indice = indices.get(columna);
+            if (indice == null || indice >= registro.length) {
+                return null;
+            }
+            String valor = registro[indice].trim();
+            return valor.isEmpty() ? null : valor;
+        }
+
+        private static String normalizar(String nombre) {
+            String sinTildes = Normalizer.normalize(nombre.trim(), Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+            return sinTildes.replace(" ", "").replace("_", "").toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private static final class FilaImportacion {
+        int numero;
+        String dni;
+        String nombre;
+        String apellidos;
+        String email;
+        String telefono;
+        String numeroColegiado;
+        String especialidad;
+        String centroSalud;
+        String tarjetaSanitaria;
+        LocalDate fechaNacimiento;
+        Genero genero;
+        String errorFormato;
+        String error;
+        String passwordHash;
+        Integer idUsuario;
+    }
+
+    /**
+     * Valores ya aceptados en esta importación, para detectar duplicados dentro del propio fichero.
+     */
+    private static final class Vistos {
+        final Set<String> dnis = new HashSet<>();
+        final Set<String> emails = new HashSet<>();
+        final Set<String> colegiados = new HashSet<>();
+    }
+}
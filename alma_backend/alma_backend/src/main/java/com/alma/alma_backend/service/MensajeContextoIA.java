@@ -0,0 +1,10 @@
+package com.alma.alma_backend.service;
+
+import com.alma.alma_backend.entity.RolMensajeIA;
+
+/**
+ * Mensaje de la conversación que se envía al modelo como contexto.
+ * Se copia desde la entidad para que la inferencia no dependa de la sesión de Hibernate.
+ */
+public record MensajeContextoIA(RolMensajeIA rol, String mensaje) {
+}
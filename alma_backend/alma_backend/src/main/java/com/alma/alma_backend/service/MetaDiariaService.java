@@ -5,6 +5,7 @@ import com.alma.alma_backend.dto.EstadisticasMetasDTO;
 import com.alma.alma_backend.dto.MetaDiariaRequestDTO;
 import com.alma.alma_backend.entity.EstadoMeta;
 import com.alma.alma_backend.entity.MetaDiaria;
+import com.alma.alma_backend.repository.VersionDatos;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -26,6 +27,11 @@ public interface MetaDiariaService {
      */
     List<MetaDiaria> obtenerMetasPorPaciente(Integer idPaciente);
 
+    /**
+     * Obtiene los validadores de las metas de un paciente sin cargarlas
+     */
+    VersionDatos versionMetasPorPaciente(Integer idPaciente);
+
     /**
      * Obtiene las metas de hoy para un paciente
      */
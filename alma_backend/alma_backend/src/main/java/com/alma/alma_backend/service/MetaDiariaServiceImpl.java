@@ -9,6 +9,7 @@ import com.alma.alma_backend.entity.Paciente;
 import com.alma.alma_backend.exceptions.ResourceNotFoundException;
 import com.alma.alma_backend.repository.MetaDiariaRepository;
 import com.alma.alma_backend.repository.PacienteRepository;
+import com.alma.alma_backend.repository.VersionDatos;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -67,6 +68,12 @@ public class MetaDiariaServiceImpl implements MetaDiariaService {
         return metaRepository.findByPacienteIdOrderByFechaAsignadaDesc(idPaciente);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public VersionDatos versionMetasPorPaciente(Integer idPaciente) {
+        return metaRepository.obtenerVersionPorPaciente(idPaciente);
+    }
+
     @Override
     public List<MetaDiaria> obtenerMetasHoyPorPaciente(Integer idPaciente) {
         return metaRepository.findMetasHoyPorPaciente(idPaciente);
@@ -3,12 +3,14 @@ package com.alma.alma_backend.service;
 import com.alma.alma_backend.dto.CambioEstadoOrganizacionDTO;
 import com.alma.alma_backend.dto.OrganizacionEstadisticasDTO;
 import com.alma.alma_backend.dto.OrganizacionRequestDTO;
+import com.alma.alma_backend.dto.OrganizacionResponseDTO;
 import com.alma.alma_backend.entity.EstadoOrganizacion;
 import com.alma.alma_backend.entity.Organizacion;
 import com.alma.alma_backend.entity.Usuario;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface OrganizacionService {
 
@@ -46,6 +48,14 @@ public interface OrganizacionService {
      */
     List<OrganizacionEstadisticasDTO> obtenerEstadisticasOrganizacionesActivas();
 
+    /**
+     * Recalcula las estadísticas materializadas de organizaciones y profesionales
+     * a partir de los usuarios y asignaciones almacenados.
+     *
+     * @return Número de filas de estadísticas corregidas
+     */
+    int reconciliarEstadisticas();
+
     // =====================================================
     // MÉTODOS DE GESTIÓN DE ESTADO (FASE 1)
     // =====================================================
@@ -107,4 +117,12 @@ public interface OrganizacionService {
      * @return Lista de organizaciones con ese estado
      */
     List<Organizacion> findByEstado(EstadoOrganizacion estado);
+
+    /**
+     * Entrega las organizaciones ya convertidas a DTO, de una en una y sin cargarlas todas en memoria.
+     *
+     * @param estado Estado a filtrar, o null para todas
+     * @param destino Recibe cada organización en orden de ID
+     */
+    void recorrerOrganizaciones(EstadoOrganizacion estado, Consumer<? super OrganizacionResponseDTO> destino);
 }
@@ -3,12 +3,14 @@ package com.alma.alma_backend.service;
 import com.alma.alma_backend.dto.CambioEstadoOrganizacionDTO;
 import com.alma.alma_backend.dto.OrganizacionEstadisticasDTO;
 import com.alma.alma_backend.dto.OrganizacionRequestDTO;
+import com.alma.alma_backend.dto.OrganizacionResponseDTO;
 import com.alma.alma_backend.mapper.OrganizacionMapper;
 import com.alma.alma_backend.entity.EstadoOrganizacion;
 import com.alma.alma_backend.entity.Organizacion;
 import com.alma.alma_backend.entity.TipoAccionAuditoria;
 import com.alma.alma_backend.entity.Usuario;
 import com.alma.alma_backend.repository.OrganizacionRepository;
+import jakarta.persistence.EntityManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -18,6 +20,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class OrganizacionServiceImpl extends BaseService<Organizacion, Integer> implements OrganizacionService {
@@ -28,11 +32,15 @@ public class OrganizacionServiceImpl extends BaseService<Organizacion, Integer>
 
     private final AuditoriaAdminService auditoriaAdminService;
 
+    private final EntityManager entityManager;
+
     public OrganizacionServiceImpl(OrganizacionRepository organizacionRepository,
-                                   AuditoriaAdminService auditoriaAdminService) {
+                                   AuditoriaAdminService auditoriaAdminService,
+                                   EntityManager entityManager) {
         super(organizacionRepository);
         this.organizacionRepository = organizacionRepository;
         this.auditoriaAdminService = auditoriaAdminService;
+        this.entityManager = entityManager;
     }
 
     @Override
@@ -116,6 +124,13 @@ public class OrganizacionServiceImpl extends BaseService<Organizacion, Integer>
         }
     }
 
+    @Override
+    @Transactional
+    public int reconciliarEstadisticas() {
+        Integer corregidas = organizacionRepository.reconciliarEstadisticas();
+        return corregidas != null ? corregidas : 0;
+    }
+
     // =====================================================
     // MÉTODOS DE GESTIÓN DE ESTADO (FASE 1)
     // =====================================================
@@ -220,6 +235,19 @@ public class OrganizacionServiceImpl extends BaseService<Organizacion, Integer>
         return organizacionRepository.findByEstado(estado);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public void recorrerOrganizaciones(EstadoOrganizacion estado, Consumer<? super OrganizacionResponseDTO> destino) {
+        try (Stream<Organizacion> organizaciones = estado == null
+                ? organizacionRepository.streamAll()
+                : organizacionRepository.streamByEstado(estado)) {
+            organizaciones.forEach(organizacion -> {
+                destino.accept(OrganizacionMapper.toResponse(organizacion));
+                entityManager.detach(organizacion);
+            });
+        }
+    }
+
     /**
      * Método privado para determinar el tipo de acción según el nuevo estado.
      */
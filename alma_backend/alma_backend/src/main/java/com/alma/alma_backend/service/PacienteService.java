@@ -3,6 +3,7 @@ package com.alma.alma_backend.service;
 import com.alma.alma_backend.dto.PacienteDetalleDTO;
 import com.alma.alma_backend.dto.PacienteUpdateRequestDTO;
 import com.alma.alma_backend.entity.Paciente;
+import com.alma.alma_backend.repository.VersionDatos;
 
 import java.util.List;
 import java.util.Optional;
@@ -37,6 +38,8 @@ public interface PacienteService {
 
     List<PacienteDetalleDTO> findPacientesByProfesional(Integer idProfesional, boolean soloActivos);
 
+    VersionDatos versionPacientesByUsuarioProfesional(Integer idUsuarioProfesional, boolean soloActivos);
+
     List<PacienteDetalleDTO> findSinAsignarByOrganizacion(Integer idOrganizacion);
 
     List<PacienteDetalleDTO> searchByNombreAndOrganizacion(String searchTerm, Integer idOrganizacion);
@@ -3,6 +3,7 @@ package com.alma.alma_backend.service;
 import com.alma.alma_backend.dto.PacienteDetalleDTO;
 import com.alma.alma_backend.dto.PacienteUpdateRequestDTO;
 import com.alma.alma_backend.entity.Paciente;
+import com.alma.alma_backend.repository.VersionDatos;
 import com.alma.alma_backend.exceptions.ResourceNotFoundException;
 import com.alma.alma_backend.repository.PacienteRepository;
 import com.alma.alma_backend.mapper.PacienteMapper;
@@ -88,6 +89,12 @@ public class PacienteServiceImpl extends BaseService<Paciente, Integer> implemen
         return pacienteRepository.findPacientesByProfesional(idProfesional, soloActivos);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public VersionDatos versionPacientesByUsuarioProfesional(Integer idUsuarioProfesional, boolean soloActivos) {
+        return pacienteRepository.obtenerVersionPacientesPorProfesional(idUsuarioProfesional, soloActivos);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<PacienteDetalleDTO> findSinAsignarByOrganizacion(Integer idOrganizacion) {
@@ -3,6 +3,7 @@ package com.alma.alma_backend.service;
 import com.alma.alma_backend.dto.ProgresoDueloRequestDTO;
 import com.alma.alma_backend.entity.FaseDuelo;
 import com.alma.alma_backend.entity.ProgresoDuelo;
+import com.alma.alma_backend.repository.VersionDatos;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -24,4 +25,6 @@ public interface ProgresoDueloService {
     void eliminarProgreso(Integer id);
 
     List<FaseDuelo> obtenerTodasLasFases();
+
+    VersionDatos versionFases();
 }
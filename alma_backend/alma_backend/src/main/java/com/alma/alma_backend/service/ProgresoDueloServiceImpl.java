@@ -9,6 +9,7 @@ import com.alma.alma_backend.repository.FaseDueloRepository;
 import com.alma.alma_backend.repository.PacienteRepository;
 import com.alma.alma_backend.repository.ProfesionalRepository;
 import com.alma.alma_backend.repository.ProgresoDueloRepository;
+import com.alma.alma_backend.repository.VersionDatos;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -103,4 +104,10 @@ public class ProgresoDueloServiceImpl implements ProgresoDueloService {
     public List<FaseDuelo> obtenerTodasLasFases() {
         return faseDueloRepository.findAllByOrderByOrdenFaseAsc();
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public VersionDatos versionFases() {
+        return faseDueloRepository.obtenerVersion();
+    }
 }
@@ -1,17 +1,41 @@
 package com.alma.alma_backend.service;
 
 import com.alma.alma_backend.dto.RecursoDTO;
+import com.alma.alma_backend.dto.RespuestaJsonPreparada;
 import com.alma.alma_backend.dto.UsoRecursoRequestDTO;
 import com.alma.alma_backend.dto.UsoRecursoResponseDTO;
+import com.alma.alma_backend.repository.VersionDatos;
 
 import java.util.List;
 
 public interface RecursoService {
 
+    /**
+     * Recursos activos del catálogo en memoria. La lista y sus elementos se comparten entre
+     * peticiones: no deben modificarse.
+     */
     List<RecursoDTO> findAllRecursos();
 
     List<RecursoDTO> findRecursosRecomendados(Integer pacienteId);
 
+    /**
+     * Respuesta ya serializada del catálogo, filtrada por tipo (PODCAST, VIDEO, MUSICA) y/o categoría;
+     * {@code null} en un filtro significa no filtrar por él.
+     */
+    RespuestaJsonPreparada obtenerVistaCatalogo(String tipo, String categoria);
+
+    RespuestaJsonPreparada obtenerVistaRecomendados(Integer pacienteId);
+
+    /**
+     * Validadores de las tablas del catálogo (podcasts, vídeos y música).
+     */
+    List<VersionDatos> versionRecursos();
+
+    /**
+     * Reconstruye el catálogo en memoria si las tablas han cambiado desde la última construcción.
+     */
+    void refrescarCatalogo();
+
     UsoRecursoResponseDTO registrarUso(UsoRecursoRequestDTO usoRecursoRequestDTO);
 
 }
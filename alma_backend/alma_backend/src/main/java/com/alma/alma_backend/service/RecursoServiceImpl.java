@@ -1,21 +1,43 @@
 package com.alma.alma_backend.service;
 
 import com.alma.alma_backend.dto.RecursoDTO;
+import com.alma.alma_backend.dto.RespuestaJsonPreparada;
 import com.alma.alma_backend.dto.UsoRecursoRequestDTO;
 import com.alma.alma_backend.dto.UsoRecursoResponseDTO;
 import com.alma.alma_backend.entity.*;
 import com.alma.alma_backend.exceptions.ResourceNotFoundException;
 import com.alma.alma_backend.repository.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+/**
+ * El catálogo de recursos cambia muy de tarde en tarde y se consulta constantemente, así que se sirve
+ * desde una foto en memoria ({@link CatalogoRecursos}) con las respuestas ya serializadas. La foto se
+ * crea en la primera consulta y una tarea periódica la reconstruye cuando cambian las tablas, lo que
+ * detecta con la consulta de validadores de {@link #versionRecursos()}.
+ * <p>
+ * Versión y recursos se leen en una sola transacción de solo lectura REPEATABLE READ: en PostgreSQL
+ * todas sus consultas ven la misma foto de la base de datos, así que la versión describe exactamente los
+ * datos que etiqueta. Con READ COMMITTED cada consulta tendría su propia foto.
+ */
 @Service
 public class RecursoServiceImpl implements RecursoService {
 
+    private static final Logger logger = LoggerFactory.getLogger(RecursoServiceImpl.class);
+
     @Autowired
     private PodcastRepository podcastRepository;
 
@@ -31,13 +53,27 @@ public class RecursoServiceImpl implements RecursoService {
     @Autowired
     private PacienteRepository pacienteRepository;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate lecturaCatalogo;
+
+    private final Object bloqueoCatalogo = new Object();
+    private volatile CatalogoRecursos catalogo;
+
+    @PostConstruct
+    void init() {
+        lecturaCatalogo = new TransactionTemplate(transactionManager);
+        lecturaCatalogo.setReadOnly(true);
+        lecturaCatalogo.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
     @Override
     public List<RecursoDTO> findAllRecursos() {
-        Stream<RecursoDTO> podcasts = podcastRepository.findByActivoTrue().stream().map(this::mapToRecursoDTO);
-        Stream<RecursoDTO> videos = videoRepository.findByActivoTrue().stream().map(this::mapToRecursoDTO);
-        Stream<RecursoDTO> musicas = musicaRepository.findByActivoTrue().stream().map(this::mapToRecursoDTO);
-
-        return Stream.concat(podcasts, Stream.concat(videos, musicas)).collect(Collectors.toList());
+        return catalogo().getRecursos();
     }
 
     @Override
@@ -46,6 +82,86 @@ public class RecursoServiceImpl implements RecursoService {
         return findAllRecursos();
     }
 
+    @Override
+    public RespuestaJsonPreparada obtenerVistaCatalogo(String tipo, String categoria) {
+        return catalogo().vista(tipo, categoria);
+    }
+
+    @Override
+    public RespuestaJsonPreparada obtenerVistaRecomendados(Integer pacienteId) {
+        // Misma recomendación simplificada que findRecursosRecomendados
+        return catalogo().vista(null, null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<VersionDatos> versionRecursos() {
+        return List.of(podcastRepository.obtenerVersion(), videoRepository.obtenerVersion(),
+                musicaRepository.obtenerVersion());
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${recursos.catalogo.comprobacion-ms:60000}",
+               initialDelayString = "${recursos.catalogo.comprobacion-ms:60000}")
+    public void refrescarCatalogo() {
+        CatalogoRecursos actual = catalogo;
+        if (actual == null) {
+            // Nadie lo ha pedido todavía; se construirá en la primera consulta
+            return;
+        }
+        try {
+            if (!actual.getVersion().equals(lecturaCatalogo.execute(estado -> calcularVersionCatalogo()))) {
+                synchronized (bloqueoCatalogo) {
+                    catalogo = construirCatalogo();
+                }
+            }
+        } catch (Exception e) {
+            logger.error("Error al refrescar el catálogo de recursos; se sigue sirviendo la versión anterior", e);
+        }
+    }
+
+    private CatalogoRecursos catalogo() {
+        CatalogoRecursos actual = catalogo;
+        if (actual == null) {
+            synchronized (bloqueoCatalogo) {
+                actual = catalogo;
+                if (actual == null) {
+                    actual = construirCatalogo();
+                    catalogo = actual;
+                }
+            }
+        }
+        return actual;
+    }
+
+    /**
+     * Versión y recursos salen de la misma foto de la base de datos; la serialización se hace después,
+     * ya fuera de la transacción.
+     */
+    private CatalogoRecursos construirCatalogo() {
+        FotoCatalogo foto = lecturaCatalogo.execute(estado -> {
+            String version = calcularVersionCatalogo();
+            Stream<RecursoDTO> podcasts = podcastRepository.findByActivoTrue().stream().map(this::mapToRecursoDTO);
+            Stream<RecursoDTO> videos = videoRepository.findByActivoTrue().stream().map(this::mapToRecursoDTO);
+            Stream<RecursoDTO> musicas = musicaRepository.findByActivoTrue().stream().map(this::mapToRecursoDTO);
+            return new FotoCatalogo(version,
+                    Stream.concat(podcasts, Stream.concat(videos, musicas)).collect(Collectors.toList()));
+        });
+        List<RecursoDTO> recursos = foto.recursos();
+
+        CatalogoRecursos nuevo = CatalogoRecursos.construir(foto.version(), recursos, objectMapper);
+        logger.info("Catálogo de recursos construido: {} recursos, {} vistas, {} bytes comprimidos",
+                recursos.size(), nuevo.getNumeroVistas(), nuevo.getTamanoGzip());
+        return nuevo;
+    }
+
+    // Llamada interna: se ejecuta en la transacción de lecturaCatalogo, no en la de versionRecursos()
+    private String calcularVersionCatalogo() {
+        return versionRecursos().stream()
+                .map(v -> v.getTotal() + ":" + v.getUltimaModificacion() + ":" + v.getHuella())
+                .collect(Collectors.joining("|"));
+    }
+
     @Override
     public UsoRecursoResponseDTO registrarUso(UsoRecursoRequestDTO request) {
         Paciente paciente = pacienteRepository.findById(request.getPacienteId())
@@ -98,6 +214,9 @@ public class RecursoServiceImpl implements RecursoService {
         return dto;
     }
 
+    private record FotoCatalogo(String version, List<RecursoDTO> recursos) {
+    }
+
     private UsoRecursoResponseDTO mapToUsoRecursoResponseDTO(UsoRecurso uso) {
         UsoRecursoResponseDTO dto = new UsoRecursoResponseDTO();
         dto.setId(uso.getId());
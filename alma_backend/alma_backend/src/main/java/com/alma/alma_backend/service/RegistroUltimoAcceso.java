@@ -0,0 +1,76 @@
+package com.alma.alma_backend.service;
+
+import com.alma.alma_backend.repository.UsuarioRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Escritura diferida del último acceso de los usuarios.
+ * Los inicios de sesión solo anotan la fecha en memoria; los accesos repetidos de un mismo
+ * usuario se fusionan y se vuelcan periódicamente en un único UPDATE.
+ */
+@Component
+public class RegistroUltimoAcceso {
+
+    private static final Logger logger = LoggerFactory.getLogger(RegistroUltimoAcceso.class);
+
+    private final Map<Integer, LocalDateTime> pendientes = new ConcurrentHashMap<>();
+
+    private final UsuarioRepository usuarioRepository;
+
+    public RegistroUltimoAcceso(UsuarioRepository usuarioRepository) {
+        this.usuarioRepository = usuarioRepository;
+    }
+
+    public void registrar(Integer idUsuario, LocalDateTime fecha) {
+        pendientes.merge(idUsuario, fecha, (anterior, nueva) -> nueva.isAfter(anterior) ? nueva : anterior);
+    }
+
+    /**
+     * Vuelca los accesos pendientes. Si la escritura falla se devuelven al mapa para el siguiente intento.
+     * @return número de usuarios actualizados
+     */
+    @Scheduled(fixedDelayString = "${usuario.ultimo-acceso.volcado-ms:30000}")
+    public synchronized int volcar() {
+        if (pendientes.isEmpty()) {
+            return 0;
+        }
+
+        List<Integer> ids = new ArrayList<>(pendientes.size());
+        List<LocalDateTime> fechas = new ArrayList<>(pendientes.size());
+        for (Integer idUsuario : pendientes.keySet()) {
+            LocalDateTime fecha = pendientes.remove(idUsuario);
+            if (fecha != null) {
+                ids.add(idUsuario);
+                fechas.add(fecha);
+            }
+        }
+
+        try {
+            int actualizados = usuarioRepository.actualizarUltimosAccesos(
+                    ids.toArray(new Integer[0]), fechas.toArray(new LocalDateTime[0]));
+            logger.debug("Volcados {} últimos accesos de usuario", actualizados);
+            return actualizados;
+        } catch (RuntimeException e) {
+            for (int i = 0; i < ids.size(); i++) {
+                registrar(ids.get(i), fechas.get(i));
+            }
+            logger.warn("No se pudieron volcar {} últimos accesos, se reintentará: {}", ids.size(), e.getMessage());
+            return 0;
+        }
+    }
+
+    @PreDestroy
+    public void cerrar() {
+        volcar();
+    }
+}
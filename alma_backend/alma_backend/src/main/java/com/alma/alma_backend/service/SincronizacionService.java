@@ -0,0 +1,21 @@
+package com.alma.alma_backend.service;
+
+import com.alma.alma_backend.dto.SincronizacionDTO;
+
+import java.time.LocalDateTime;
+
+public interface SincronizacionService {
+
+    /**
+     * Devuelve las citas, metas, sesiones de chat y mensajes del usuario modificados después de
+     * {@code desde}, junto con las eliminaciones. Sin marca de agua (o con una demasiado antigua)
+     * se devuelve el conjunto completo.
+     */
+    SincronizacionDTO sincronizar(Integer idUsuario, LocalDateTime desde);
+
+    /**
+     * Elimina los registros de eliminación que superan el periodo de retención.
+     * @return número de registros purgados
+     */
+    int purgarEliminaciones();
+}
@@ -0,0 +1,138 @@
+package com.alma.alma_backend.service;
+
+import com.alma.alma_backend.dto.EliminacionDTO;
+import com.alma.alma_backend.dto.SincronizacionDTO;
+import com.alma.alma_backend.entity.Paciente;
+import com.alma.alma_backend.entity.Profesional;
+import com.alma.alma_backend.entity.RegistroEliminacion;
+import com.alma.alma_backend.entity.SesionChat;
+import com.alma.alma_backend.mapper.ChatMapper;
+import com.alma.alma_backend.mapper.CitaMapper;
+import com.alma.alma_backend.mapper.MetaDiariaMapper;
+import com.alma.alma_backend.repository.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+@Service
+public class SincronizacionServiceImpl implements SincronizacionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SincronizacionServiceImpl.class);
+
+    // Marca de agua usada cuando el cliente no tiene datos locales
+    private static final LocalDateTime ORIGEN = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final PacienteRepository pacienteRepository;
+    private final ProfesionalRepository profesionalRepository;
+    private final CitaRepository citaRepository;
+    private final MetaDiariaRepository metaDiariaRepository;
+    private final SesionChatRepository sesionChatRepository;
+    private final MensajeChatRepository mensajeChatRepository;
+    private final RegistroEliminacionRepository registroEliminacionRepository;
+    private final ChatService chatService;
+
+    // Las marcas de modificación se toman al inicio de cada transacción: el margen cubre las
+    // transacciones que confirman después de calcular la marca de agua
+    @Value("${sync.margen-segundos:60}")
+    private long margenSegundos;
+
+    @Value("${sync.retencion-eliminaciones-dias:90}")
+    private long retencionDias;
+
+    public SincronizacionServiceImpl(PacienteRepository pacienteRepository,
+                                     ProfesionalRepository profesionalRepository,
+                                     CitaRepository citaRepository,
+                                     MetaDiariaRepository metaDiariaRepository,
+                                     SesionChatRepository sesionChatRepository,
+                                     MensajeChatRepository mensajeChatRepository,
+                                     RegistroEliminacionRepository registroEliminacionRepository,
+                                     ChatService chatService) {
+        this.pacienteRepository = pacienteRepository;
+        this.profesionalRepository = profesionalRepository;
+        this.citaRepository = citaRepository;
+        this.metaDiariaRepository = metaDiariaRepository;
+        this.sesionChatRepository = sesionChatRepository;
+        this.mensajeChatRepository = mensajeChatRepository;
+        this.registroEliminacionRepository = registroEliminacionRepository;
+        this.chatService = chatService;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public SincronizacionDTO sincronizar(Integer idUsuario, LocalDateTime desde) {
+        LocalDateTime ahora = registroEliminacionRepository.obtenerFechaServidor();
+
+        // Si la marca es anterior a la retención de eliminaciones, el delta podría omitir borrados
+        boolean completa = desde == null || desde.isBefore(ahora.minusDays(retencionDias));
+        LocalDateTime limite = completa ? ORIGEN : desde;
+
+        SincronizacionDTO resultado = new SincronizacionDTO();
+        resultado.setMarcaAgua(ahora.minusSeconds(margenSegundos));
+        resultado.setResincronizacionCompleta(completa);
+
+        Optional<Integer> idPaciente = pacienteRepository.findByUsuario_Id(idUsuario).map(Paciente::getId);
+        Optional<Integer> idProfesional = idPaciente.isPresent()
+                ? Optional.empty()
+                : profesionalRepository.findByUsuario_Id(idUsuario).map(Profesional::getId);
+
+        if (idPaciente.isPresent()) {
+            resultado.setCitas(citaRepository.findModificadasPorPaciente(idPaciente.get(), limite).stream()
+                    .map(CitaMapper::toResponse)
+                    .collect(Collectors.toList()));
+            resultado.setMetas(metaDiariaRepository.findModificadasPorPaciente(idPaciente.get(), limite).stream()
+                    .map(MetaDiariaMapper::toResponse)
+                    .collect(Collectors.toList()));
+        } else if (idProfesional.isPresent()) {
+            resultado.setCitas(citaRepository.findModificadasPorProfesional(idProfesional.get(), limite).stream()
+                    .map(CitaMapper::toResponse)
+                    .collect(Collectors.toList()));
+        }
+
+        List<SesionChat> sesiones = sesionChatRepository.findModificadasPorUsuario(idUsuario, limite);
+        Map<Integer, Long> noLeidos = chatService.contarMensajesNoLeidos(
+                sesiones.stream().map(SesionChat::getId).collect(Collectors.toList()), idUsuario);
+        resultado.setSesionesChat(sesiones.stream()
+                .map(sesion -> ChatMapper.toResponse(sesion, noLeidos.getOrDefault(sesion.getId(), 0L)))
+                .collect(Collectors.toList()));
+        resultado.setMensajesChat(mensajeChatRepository.findModificadosPorUsuario(idUsuario, limite).stream()
+                .map(ChatMapper::toResponse)
+                .collect(Collectors.toList()));
+
+        if (!completa) {
+            List<RegistroEliminacion> eliminaciones = idPaciente.isPresent()
+                    ? registroEliminacionRepository.findByIdPacienteAndFechaEliminacionAfterOrderByFechaEliminacionAsc(idPaciente.get(), desde)
+                    : idProfesional.map(id -> registroEliminacionRepository
+                            .findByIdProfesionalAndFechaEliminacionAfterOrderByFechaEliminacionAsc(id, desde))
+                            .orElse(List.of());
+            resultado.setEliminados(eliminaciones.stream()
+                    .map(r -> new EliminacionDTO(r.getTipoEntidad(), r.getIdEntidad(), r.getFechaEliminacion()))
+                    .collect(Collectors.toList()));
+        }
+
+        logger.debug("Sincronización del usuario ID: {} desde {}: {} citas, {} metas, {} sesiones, {} mensajes, {} eliminados",
+                idUsuario, completa ? "el inicio" : desde, resultado.getCitas().size(), resultado.getMetas().size(),
+                resultado.getSesionesChat().size(), resultado.getMensajesChat().size(), resultado.getEliminados().size());
+        return resultado;
+    }
+
+    @Override
+    @Transactional
+    @Scheduled(cron = "${sync.purga-eliminaciones-cron:0 30 3 * * *}")
+    public int purgarEliminaciones() {
+        LocalDateTime limite = registroEliminacionRepository.obtenerFechaServidor().minusDays(retencionDias);
+        int purgados = registroEliminacionRepository.deleteAnteriores(limite);
+        if (purgados > 0) {
+            logger.info("Purgados {} registros de eliminación anteriores a {}", purgados, limite);
+        }
+        return purgados;
+    }
+}
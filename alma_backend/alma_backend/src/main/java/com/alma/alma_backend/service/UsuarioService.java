@@ -1,11 +1,13 @@
 package com.alma.alma_backend.service;
 
+import com.alma.alma_backend.dto.UsuarioResponseDTO;
 import com.alma.alma_backend.dto.UsuarioUpdateRequestDTO;
 import com.alma.alma_backend.entity.TipoUsuario;
 import com.alma.alma_backend.entity.Usuario;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Interfaz para la lógica de negocio relacionada con los Usuarios.
@@ -32,7 +34,21 @@ public interface UsuarioService {
      */
     List<Usuario> findByOrganizacionId(Integer organizacionId);
 
+    /**
+     * Entrega los usuarios de una organización ya convertidos a DTO, de uno en uno y sin
+     * cargarlos todos en memoria.
+     * @param organizacionId El ID de la organización
+     * @param destino Recibe cada usuario en orden de ID
+     */
+    void recorrerPorOrganizacionId(Integer organizacionId, Consumer<? super UsuarioResponseDTO> destino);
+
     void deleteById(Integer id);
 
     Usuario updateUser(Integer id, UsuarioUpdateRequestDTO usuarioDetails);
+
+    /**
+     * Revoca todos los tokens JWT emitidos hasta ahora para el usuario.
+     * @param id El ID del usuario
+     */
+    void revocarTokens(Integer id);
 }
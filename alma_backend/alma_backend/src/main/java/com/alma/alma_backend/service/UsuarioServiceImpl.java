@@ -1,15 +1,23 @@
 package com.alma.alma_backend.service;
 
+import com.alma.alma_backend.dto.UsuarioResponseDTO;
 import com.alma.alma_backend.dto.UsuarioUpdateRequestDTO;
 import com.alma.alma_backend.mapper.UsuarioMapper;
 import com.alma.alma_backend.entity.TipoUsuario;
 import com.alma.alma_backend.entity.Usuario;
 import com.alma.alma_backend.exceptions.ResourceNotFoundException;
 import com.alma.alma_backend.repository.UsuarioRepository;
+import com.alma.alma_backend.security.JwtPrincipalCache;
+import com.alma.alma_backend.security.JwtTokenVersionRegistry;
+import jakarta.persistence.EntityManager;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Implementación de la lógica de negocio para los Usuarios.
@@ -18,15 +26,25 @@ import java.util.Optional;
 public class UsuarioServiceImpl extends BaseService<Usuario, Integer> implements UsuarioService {
 
     private final UsuarioRepository usuarioRepository;
+    private final JwtPrincipalCache principalCache;
+    private final JwtTokenVersionRegistry tokenVersionRegistry;
+    private final EntityManager entityManager;
 
-    public UsuarioServiceImpl(UsuarioRepository usuarioRepository) {
+    public UsuarioServiceImpl(UsuarioRepository usuarioRepository, JwtPrincipalCache principalCache,
+                              JwtTokenVersionRegistry tokenVersionRegistry, EntityManager entityManager) {
         super(usuarioRepository);
         this.usuarioRepository = usuarioRepository;
+        this.principalCache = principalCache;
+        this.tokenVersionRegistry = tokenVersionRegistry;
+        this.entityManager = entityManager;
     }
 
     @Override
     public Usuario save(Usuario usuario) {
-        return super.save(usuario);
+        // Cambios de contraseña, estado o rol deben reflejarse en la próxima petición autenticada
+        Usuario guardado = super.save(usuario);
+        principalCache.invalidate(guardado.getEmail());
+        return guardado;
     }
 
     @Override
@@ -55,6 +73,18 @@ public class UsuarioServiceImpl extends BaseService<Usuario, Integer> implements
         return usuarioRepository.findByOrganizacion_Id(organizacionId);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public void recorrerPorOrganizacionId(Integer organizacionId, Consumer<? super UsuarioResponseDTO> destino) {
+        try (Stream<Usuario> usuarios = usuarioRepository.streamByOrganizacionId(organizacionId)) {
+            usuarios.forEach(usuario -> {
+                destino.accept(UsuarioMapper.toResponse(usuario));
+                // Se libera del contexto de persistencia (que con open-in-view vive toda la petición)
+                entityManager.detach(usuario);
+            });
+        }
+    }
+
     @Override
     public List<Usuario> findByTipoUsuario(TipoUsuario tipoUsuario) {
         return usuarioRepository.findByTipoUsuario(tipoUsuario);
@@ -62,7 +92,12 @@ public class UsuarioServiceImpl extends BaseService<Usuario, Integer> implements
 
     @Override
     public void deleteById(Integer id) {
+        usuarioRepository.findById(id).ifPresent(usuario -> {
+            tokenVersionRegistry.revocar(id);
+            principalCache.invalidate(usuario.getEmail());
+        });
         super.deleteById(id);
+        tokenVersionRegistry.revocarEliminado(id);
     }
 
     @Override
@@ -70,8 +105,24 @@ public class UsuarioServiceImpl extends BaseService<Usuario, Integer> implements
         Usuario usuario = usuarioRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Usuario no encontrado con id: " + id));
 
+        String emailAnterior = usuario.getEmail();
+        boolean estabaActivo = Boolean.TRUE.equals(usuario.getActivo());
         UsuarioMapper.updateEntity(usuario, usuarioDetails);
 
-        return usuarioRepository.save(usuario);
+        Usuario actualizado = usuarioRepository.save(usuario);
+        boolean desactivado = estabaActivo && !Boolean.TRUE.equals(actualizado.getActivo());
+        if (desactivado || !Objects.equals(emailAnterior, actualizado.getEmail())) {
+            // Los tokens ya emitidos llevan el estado y el email anteriores en sus claims
+            tokenVersionRegistry.revocar(id);
+        }
+        principalCache.invalidate(emailAnterior);
+        principalCache.invalidate(actualizado.getEmail());
+        return actualizado;
+    }
+
+    @Override
+    public void revocarTokens(Integer id) {
+        tokenVersionRegistry.revocar(id);
+        usuarioRepository.findById(id).ifPresent(usuario -> principalCache.invalidate(usuario.getEmail()));
     }
 }
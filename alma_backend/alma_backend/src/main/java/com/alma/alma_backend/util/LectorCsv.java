@@ -0,0 +1,131 @@
+package com.alma.alma_backend.util;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lector de CSV en streaming (RFC 4180): campos entre comillas, comillas dobladas y saltos
+ * de línea dentro de un campo. El separador (coma o punto y coma, habitual en hojas de
+ * cálculo en español) se detecta a partir de la cabecera y se ignora el BOM inicial.
+ */
+public final class LectorCsv implements Closeable {
+
+    // Caracteres de la cabecera examinados para detectar el separador
+    private static final int MUESTRA_SEPARADOR = 8192;
+
+    private final BufferedReader reader;
+    private final char separador;
+    private final StringBuilder campo = new StringBuilder();
+    private int registros;
+
+    public LectorCsv(Reader origen) throws IOException {
+        this.reader = origen instanceof BufferedReader br ? br : new BufferedReader(origen);
+        saltarBom();
+        this.separador = detectarSeparador();
+    }
+
+    /**
+     * Devuelve el siguiente registro o null al final del fichero. Las líneas vacías se omiten.
+     */
+    public String[] siguiente() throws IOException {
+        List<String> campos = new ArrayList<>();
+        campo.setLength(0);
+        boolean entreComillas = false;
+        boolean hayContenido = false;
+
+        int c;
+        while ((c = reader.read()) != -1) {
+            char ch = (char) c;
+            if (entreComillas) {
+                if (ch == '"') {
+                    reader.mark(1);
+                    if (reader.read() == '"') {
+                        campo.append('"');
+                    } else {
+                        reader.reset();
+                        entreComillas = false;
+                    }
+                } else {
+                    campo.append(ch);
+                }
+                continue;
+            }
+
+            if (ch == '"') {
+                entreComillas = true;
+                hayContenido = true;
+            } else if (ch == separador) {
+                campos.add(campo.toString());
+                campo.setLength(0);
+                hayContenido = true;
+            } else if (ch == '\r' || ch == '\n') {
+                if (ch == '\r') {
+                    reader.mark(1);
+                    if (reader.read() != '\n') {
+                        reader.reset();
+                    }
+                }
+                if (hayContenido || campo.length() > 0) {
+                    break;
+                }
+            } else {
+                campo.append(ch);
+                hayContenido = true;
+            }
+        }
+
+        if (!hayContenido && campo.length() == 0) {
+            return null;
+        }
+        campos.add(campo.toString());
+        registros++;
+        return campos.toArray(new String[0]);
+    }
+
+    /**
+     * Número de registros leídos hasta ahora, cabecera incluida.
+     */
+    public int getRegistros() {
+        return registros;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void saltarBom() throws IOException {
+        reader.mark(1);
+        if (reader.read() != '\uFEFF') {
+            reader.reset();
+        }
+    }
+
+    /**
+     * Cuenta comas y puntos y coma en el principio de la cabecera. La muestra está acotada al límite
+     * de {@code mark}, de modo que una cabecera más larga no invalida el {@code reset}; unos miles de
+     * caracteres bastan para decidir el separador.
+     */
+    private char detectarSeparador() throws IOException {
+        reader.mark(MUESTRA_SEPARADOR);
+        int comas = 0;
+        int puntosYComa = 0;
+        for (int i = 0; i < MUESTRA_SEPARADOR; i++) {
+            int c = reader.read();
+            if (c == -1 || c == '\r' || c == '\n') {
+                break;
+            }
+            if (c == ',') {
+                comas++;
+            } else if (c == ';') {
+                puntosYComa++;
+            }
+        }
+        reader.reset();
+        return puntosYComa > comas ? ';' : ',';
+    }
+}
@@ -0,0 +1,70 @@
+package com.alma.alma_backend.util;
+
+import com.alma.alma_backend.dto.PaginaCursorDTO;
+import org.springframework.data.domain.Limit;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Utilidades para la paginación por cursor de los historiales de mensajes.
+ * Las consultas piden un elemento más del límite para saber si quedan más sin contar la tabla.
+ */
+public final class PaginacionCursor {
+
+    public static final int LIMITE_POR_DEFECTO = 50;
+    public static final int LIMITE_MAXIMO = 200;
+
+    private PaginacionCursor() {
+    }
+
+    /**
+     * Acota el tamaño de página solicitado al rango permitido.
+     */
+    public static int normalizarLimite(Integer limite) {
+        if (limite == null || limite <= 0) {
+            return LIMITE_POR_DEFECTO;
+        }
+        return Math.min(limite, LIMITE_MAXIMO);
+    }
+
+    /**
+     * Límite a pasar al repositorio: un elemento extra para calcular "hayMas".
+     */
+    public static Limit limiteConsulta(int limite) {
+        return Limit.of(limite + 1);
+    }
+
+    /**
+     * Comprueba que no se piden a la vez mensajes anteriores y posteriores.
+     */
+    public static void validarCursores(Integer antesDe, Integer despuesDe) {
+        if (antesDe != null && despuesDe != null) {
+            throw new IllegalStateException("Solo puede indicarse uno de los cursores 'antesDe' o 'despuesDe'");
+        }
+    }
+
+    /**
+     * Construye la página a partir de las filas obtenidas con {@link #limiteConsulta(int)}.
+     * @param descendente true si las filas vienen del más reciente al más antiguo
+     */
+    public static <E, D> PaginaCursorDTO<D> construirPagina(List<E> filas, int limite, boolean descendente,
+                                                             Function<E, Integer> id, Function<E, D> mapper) {
+        boolean hayMas = filas.size() > limite;
+        List<E> pagina = new ArrayList<>(hayMas ? filas.subList(0, limite) : filas);
+        if (descendente) {
+            Collections.reverse(pagina);
+        }
+
+        List<D> elementos = new ArrayList<>(pagina.size());
+        for (E fila : pagina) {
+            elementos.add(mapper.apply(fila));
+        }
+
+        Integer cursorAnterior = pagina.isEmpty() ? null : id.apply(pagina.get(0));
+        Integer cursorSiguiente = pagina.isEmpty() ? null : id.apply(pagina.get(pagina.size() - 1));
+        return new PaginaCursorDTO<>(elementos, cursorAnterior, cursorSiguiente, hayMas);
+    }
+}
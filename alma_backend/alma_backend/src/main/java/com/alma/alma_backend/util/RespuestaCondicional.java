@@ -0,0 +1,67 @@
+package com.alma.alma_backend.util;
+
+import com.alma.alma_backend.repository.VersionDatos;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Peticiones GET condicionales (If-None-Match) para listados cuyo validador se obtiene con una
+ * consulta de agregados sobre FECHA_ULTIMA_MODIFICACION ({@link VersionDatos}).
+ * <p>
+ * Solo se envía ETag. Un Last-Modified tendría que salir del máximo de las marcas, que no cambia al
+ * borrar una fila (o incluso baja), así que un cliente que solo mande If-Modified-Since recibiría 304 y
+ * seguiría mostrando el elemento borrado.
+ * <p>
+ * El ETag es débil porque el cuerpo va envuelto en {@code ApiResponse}, cuya marca de tiempo cambia en
+ * cada respuesta: lo que identifica es el contenido del listado, no los bytes. Si el cliente ya lo
+ * tiene se responde 304 sin ejecutar el proveedor del cuerpo, así que no se cargan ni serializan
+ * entidades. Las respuestas se marcan {@code no-cache, private} para que la app revalide siempre.
+ */
+public final class RespuestaCondicional {
+
+    private RespuestaCondicional() {
+    }
+
+    public static <T> ResponseEntity<T> responder(WebRequest webRequest, String recurso, VersionDatos version,
+                                                  Supplier<T> cuerpo) {
+        return responder(webRequest, recurso, List.of(version), cuerpo);
+    }
+
+    /**
+     * @param recurso distingue listados con los mismos datos de origen (p. ej. la ruta y sus filtros)
+     * @param versiones validadores de cada tabla de la que salen datos del listado
+     * @param cuerpo construye la respuesta; solo se invoca si el cliente no tiene la versión actual
+     */
+    public static <T> ResponseEntity<T> responder(WebRequest webRequest, String recurso, List<VersionDatos> versiones,
+                                                  Supplier<T> cuerpo) {
+        String etag = calcularEtag(recurso, versiones);
+        CacheControl cacheControl = CacheControl.noCache().cachePrivate();
+
+        boolean noModificado = webRequest.checkNotModified(etag);
+        ResponseEntity.BodyBuilder respuesta = ResponseEntity.status(noModificado ? HttpStatus.NOT_MODIFIED : HttpStatus.OK)
+                .eTag(etag)
+                .cacheControl(cacheControl);
+        return noModificado ? respuesta.build() : respuesta.body(cuerpo.get());
+    }
+
+    /**
+     * El total y la huella cubren lo que el máximo no ve: filas borradas y modificaciones confirmadas
+     * con una marca anterior a la más reciente.
+     */
+    static String calcularEtag(String recurso, List<VersionDatos> versiones) {
+        StringBuilder clave = new StringBuilder(recurso);
+        for (VersionDatos version : versiones) {
+            clave.append('|').append(version.getTotal())
+                    .append(':').append(version.getUltimaModificacion())
+                    .append(':').append(version.getHuella());
+        }
+        return "W/\"" + DigestUtils.md5DigestAsHex(clave.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+}
@@ -1,43 +1,43 @@
 package com.alma.alma_backend.util;
 
-import java.util.regex.Pattern;
-
 /**
  * Utilidades para validación de documentos españoles (DNI, NIE, CIF).
  * Implementa los algoritmos oficiales de validación con dígito de control.
+ *
+ * Los validadores recorren la cadena carácter a carácter, sin expresiones regulares,
+ * subcadenas ni conversiones a mayúsculas, de modo que no reservan memoria y pueden
+ * ejecutarse sobre millones de identificadores (importaciones masivas, procesos por lotes).
+ * Aceptan exactamente las mismas entradas que las versiones basadas en regex a las que
+ * sustituyen, incluidas las letras que {@link String#toUpperCase()} convierte a ASCII.
  */
 public class ValidationUtils {
 
-    // Patrones regex
-    private static final Pattern DNI_PATTERN = Pattern.compile("^[0-9]{8}[A-Z]$");
-    private static final Pattern NIE_PATTERN = Pattern.compile("^[XYZ][0-9]{7}[A-Z]$");
-    private static final Pattern CIF_PATTERN = Pattern.compile("^[ABCDEFGHJNPQRSUVW][0-9]{7}[0-9A-J]$");
-
     // Tabla de letras para validación de DNI (módulo 23)
     private static final String DNI_LETTERS = "TRWAGMYFPDXBNJZSQVHLCKE";
 
     // Tabla de letras para validación de CIF
     private static final String CIF_LETTERS = "JABCDEFGHI";
 
+    // Dominios de correo públicos o gratuitos más comunes
+    private static final String[] DOMINIOS_PUBLICOS = {
+        "gmail.com", "hotmail.com", "outlook.com", "yahoo.com",
+        "live.com", "icloud.com", "protonmail.com", "mail.com",
+        "gmx.com", "aol.com", "yandex.com", "zoho.com",
+        "tutanota.com", "temp-mail.org", "guerrillamail.com",
+        "10minutemail.com", "mailinator.com"
+    };
+
     /**
      * Valida un DNI español usando el algoritmo módulo 23.
      * @param dni DNI en formato 12345678A
      * @return true si el DNI es válido, false en caso contrario
      */
     public static boolean isValidDNI(String dni) {
-        if (dni == null || !DNI_PATTERN.matcher(dni.toUpperCase()).matches()) {
-            return false;
-        }
-
-        try {
-            int numeros = Integer.parseInt(dni.substring(0, 8));
-            char letra = dni.toUpperCase().charAt(8);
-            char letraEsperada = DNI_LETTERS.charAt(numeros % 23);
-
-            return letra == letraEsperada;
-        } catch (NumberFormatException e) {
+        if (dni == null || dni.length() != 9) {
             return false;
         }
+        int numeros = leerDigitos(dni, 0, 8);
+        return numeros >= 0 && mayusculaAscii(dni.charAt(8)) == DNI_LETTERS.charAt(numeros % 23);
     }
 
     /**
@@ -46,29 +46,22 @@ public class ValidationUtils {
      * @return true si el NIE es válido, false en caso contrario
      */
     public static boolean isValidNIE(String nie) {
-        if (nie == null || !NIE_PATTERN.matcher(nie.toUpperCase()).matches()) {
+        if (nie == null || nie.length() != 9) {
             return false;
         }
-
-        try {
-            nie = nie.toUpperCase();
-            // Reemplazar X, Y, Z por 0, 1, 2 respectivamente
-            char primeraLetra = nie.charAt(0);
-            String nieNumerico = switch (primeraLetra) {
-                case 'X' -> "0" + nie.substring(1, 8);
-                case 'Y' -> "1" + nie.substring(1, 8);
-                case 'Z' -> "2" + nie.substring(1, 8);
-                default -> nie.substring(1, 8);
-            };
-
-            int numeros = Integer.parseInt(nieNumerico);
-            char letra = nie.charAt(8);
-            char letraEsperada = DNI_LETTERS.charAt(numeros % 23);
-
-            return letra == letraEsperada;
-        } catch (NumberFormatException e) {
+        // X, Y, Z equivalen a 0, 1, 2 como primer dígito
+        int prefijo = switch (mayusculaAscii(nie.charAt(0))) {
+            case 'X' -> 0;
+            case 'Y' -> 1;
+            case 'Z' -> 2;
+            default -> -1;
+        };
+        int digitos = leerDigitos(nie, 1, 8);
+        if (prefijo < 0 || digitos < 0) {
             return false;
         }
+        int numeros = prefijo * 10_000_000 + digitos;
+        return mayusculaAscii(nie.charAt(8)) == DNI_LETTERS.charAt(numeros % 23);
     }
 
     /**
@@ -89,49 +82,45 @@ public class ValidationUtils {
      * @return true si el CIF es válido, false en caso contrario
      */
     public static boolean isValidCIF(String cif) {
-        if (cif == null || !CIF_PATTERN.matcher(cif.toUpperCase()).matches()) {
+        if (cif == null || cif.length() != 9) {
+            return false;
+        }
+        char tipoOrganizacion = mayusculaAscii(cif.charAt(0));
+        if ("ABCDEFGHJNPQRSUVW".indexOf(tipoOrganizacion) < 0 || leerDigitos(cif, 1, 8) < 0) {
             return false;
         }
 
-        try {
-            cif = cif.toUpperCase();
-            char tipoOrganizacion = cif.charAt(0);
-            String digitosCentrales = cif.substring(1, 8);
-            char digitoControl = cif.charAt(8);
-
-            // Calcular suma de dígitos en posiciones pares
-            int sumaPares = 0;
-            for (int i = 1; i < 7; i += 2) {
-                sumaPares += Character.getNumericValue(digitosCentrales.charAt(i));
-            }
-
-            // Calcular suma de dígitos en posiciones impares (multiplicados por 2)
-            int sumaImpares = 0;
-            for (int i = 0; i < 7; i += 2) {
-                int digito = Character.getNumericValue(digitosCentrales.charAt(i));
+        // Posiciones pares de los dígitos centrales (2ª, 4ª, 6ª) se suman tal cual;
+        // las impares (1ª, 3ª, 5ª, 7ª) se multiplican por 2 y se suman sus cifras
+        int sumaTotal = 0;
+        for (int i = 0; i < 7; i++) {
+            int digito = cif.charAt(1 + i) - '0';
+            if (i % 2 == 0) {
                 int multiplicado = digito * 2;
-                sumaImpares += (multiplicado / 10) + (multiplicado % 10);
-            }
-
-            int sumaTotal = sumaPares + sumaImpares;
-            int unidad = sumaTotal % 10;
-            int digitoControlCalculado = (unidad == 0) ? 0 : (10 - unidad);
-
-            // Dependiendo del tipo de organización, el dígito de control puede ser número o letra
-            if ("NPQRSW".indexOf(tipoOrganizacion) >= 0) {
-                // Solo se permiten letras
-                return digitoControl == CIF_LETTERS.charAt(digitoControlCalculado);
-            } else if ("ABEH".indexOf(tipoOrganizacion) >= 0) {
-                // Solo se permiten números
-                return Character.getNumericValue(digitoControl) == digitoControlCalculado;
+                sumaTotal += (multiplicado / 10) + (multiplicado % 10);
             } else {
-                // Se permiten ambos (número o letra)
-                return Character.getNumericValue(digitoControl) == digitoControlCalculado
-                    || digitoControl == CIF_LETTERS.charAt(digitoControlCalculado);
+                sumaTotal += digito;
             }
-        } catch (Exception e) {
+        }
+        int unidad = sumaTotal % 10;
+        int digitoControlCalculado = (unidad == 0) ? 0 : (10 - unidad);
+
+        char digitoControl = mayusculaAscii(cif.charAt(8));
+        boolean esNumero = digitoControl >= '0' && digitoControl <= '9';
+        boolean esLetra = digitoControl >= 'A' && digitoControl <= 'J';
+        if (!esNumero && !esLetra) {
             return false;
         }
+        boolean coincideNumero = esNumero && digitoControl - '0' == digitoControlCalculado;
+        boolean coincideLetra = esLetra && digitoControl == CIF_LETTERS.charAt(digitoControlCalculado);
+
+        // Dependiendo del tipo de organización, el dígito de control puede ser número o letra
+        if ("NPQRSW".indexOf(tipoOrganizacion) >= 0) {
+            return coincideLetra;
+        } else if ("ABEH".indexOf(tipoOrganizacion) >= 0) {
+            return coincideNumero;
+        }
+        return coincideNumero || coincideLetra;
     }
 
     /**
@@ -146,11 +135,19 @@ public class ValidationUtils {
             return false;
         }
 
-        // Eliminar espacios y guiones
-        String tarjetaLimpia = tarjetaSanitaria.replaceAll("[\\s-]", "");
-
-        // Formato general: entre 10 y 20 caracteres alfanuméricos
-        return tarjetaLimpia.matches("^[A-Z0-9]{10,20}$");
+        // Se ignoran espacios y guiones; entre 10 y 20 caracteres alfanuméricos en mayúsculas
+        int longitud = 0;
+        for (int i = 0; i < tarjetaSanitaria.length(); i++) {
+            char c = tarjetaSanitaria.charAt(i);
+            if (esEspacio(c) || c == '-') {
+                continue;
+            }
+            if (!esMayusculaODigito(c)) {
+                return false;
+            }
+            longitud++;
+        }
+        return longitud >= 10 && longitud <= 20;
     }
 
     /**
@@ -166,9 +163,19 @@ public class ValidationUtils {
         }
 
         // Formato general: entre 4 y 20 caracteres alfanuméricos
-        // Puede incluir barras y guiones
-        String numeroLimpio = numeroColegiado.replaceAll("[\\s/-]", "");
-        return numeroLimpio.matches("^[A-Z0-9]{4,20}$");
+        // Puede incluir barras y guiones, que no cuentan
+        int longitud = 0;
+        for (int i = 0; i < numeroColegiado.length(); i++) {
+            char c = numeroColegiado.charAt(i);
+            if (esEspacio(c) || c == '/' || c == '-') {
+                continue;
+            }
+            if (!esMayusculaODigito(c)) {
+                return false;
+            }
+            longitud++;
+        }
+        return longitud >= 4 && longitud <= 20;
     }
 
     /**
@@ -183,11 +190,22 @@ public class ValidationUtils {
             return false;
         }
 
-        // Eliminar espacios
-        String codigoLimpio = codigoRegcess.replaceAll("\\s", "").toUpperCase();
-
-        // Formato general: alfanumérico, entre 8 y 50 caracteres, puede incluir guiones
-        return codigoLimpio.matches("^[A-Z0-9-]{8,50}$");
+        // Se ignoran espacios y no se distingue entre mayúsculas y minúsculas.
+        // Algunos caracteres se expanden al pasar a mayúsculas (ß -> SS, ligaduras ﬀ/ﬁ/ﬂ...)
+        // y cuentan con la longitud resultante
+        int longitud = 0;
+        for (int i = 0; i < codigoRegcess.length(); i++) {
+            char c = codigoRegcess.charAt(i);
+            if (esEspacio(c)) {
+                continue;
+            }
+            int caracteres = longitudMayusculaAscii(c);
+            if (caracteres < 0) {
+                return false;
+            }
+            longitud += caracteres;
+        }
+        return longitud >= 8 && longitud <= 50;
     }
 
     /**
@@ -201,8 +219,34 @@ public class ValidationUtils {
             return false;
         }
 
-        String emailRegex = "^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$";
-        return email.matches(emailRegex);
+        // Parte local: [A-Za-z0-9+_.-]+ hasta la arroba
+        int arroba = 0;
+        while (arroba < email.length() && esCaracterLocalEmail(email.charAt(arroba))) {
+            arroba++;
+        }
+        if (arroba == 0 || arroba == email.length() || email.charAt(arroba) != '@') {
+            return false;
+        }
+
+        // Dominio: [A-Za-z0-9.-]+ seguido de un punto y al menos dos letras finales
+        int ultimoPunto = -1;
+        for (int i = arroba + 1; i < email.length(); i++) {
+            char c = email.charAt(i);
+            if (c == '.') {
+                ultimoPunto = i;
+            } else if (!esLetraAscii(c) && !esDigito(c) && c != '-') {
+                return false;
+            }
+        }
+        if (ultimoPunto <= arroba + 1 || email.length() - ultimoPunto - 1 < 2) {
+            return false;
+        }
+        for (int i = ultimoPunto + 1; i < email.length(); i++) {
+            if (!esLetraAscii(email.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -216,14 +260,45 @@ public class ValidationUtils {
             return false;
         }
 
-        // Eliminar espacios, guiones y paréntesis
-        String telefonoLimpio = telefono.replaceAll("[\\s()-]", "");
-
+        // Se ignoran espacios, guiones y paréntesis.
         // Formato español: 9 dígitos, comenzando por 6, 7, 8 o 9
-        // También acepta formato internacional: +34 seguido de 9 dígitos
-        return telefonoLimpio.matches("^[6789][0-9]{8}$")
-            || telefonoLimpio.matches("^\\+34[6789][0-9]{8}$")
-            || telefonoLimpio.matches("^0034[6789][0-9]{8}$");
+        // También acepta formato internacional: +34 o 0034 seguido de 9 dígitos
+        int longitud = 0;
+        for (int i = 0; i < telefono.length(); i++) {
+            if (!esSeparadorTelefono(telefono.charAt(i))) {
+                longitud++;
+            }
+        }
+        String prefijo = switch (longitud) {
+            case 9 -> "";
+            case 12 -> "+34";
+            case 13 -> "0034";
+            default -> null;
+        };
+        if (prefijo == null) {
+            return false;
+        }
+
+        int posicion = 0;
+        for (int i = 0; i < telefono.length(); i++) {
+            char c = telefono.charAt(i);
+            if (esSeparadorTelefono(c)) {
+                continue;
+            }
+            boolean valido;
+            if (posicion < prefijo.length()) {
+                valido = c == prefijo.charAt(posicion);
+            } else if (posicion == prefijo.length()) {
+                valido = c >= '6' && c <= '9';
+            } else {
+                valido = esDigito(c);
+            }
+            if (!valido) {
+                return false;
+            }
+            posicion++;
+        }
+        return true;
     }
 
     /**
@@ -266,35 +341,36 @@ public class ValidationUtils {
             return false;
         }
 
-        // Eliminar espacios y barras
-        String nassLimpio = nass.replaceAll("[\\s/]", "");
-
-        // Debe tener exactamente 12 dígitos
-        if (!nassLimpio.matches("^\\d{12}$")) {
-            return false;
-        }
-
-        try {
-            // Extraer componentes
-            int codigoProvincia = Integer.parseInt(nassLimpio.substring(0, 2));
-            String numeroBase = nassLimpio.substring(2, 10);
-            int digitosControl = Integer.parseInt(nassLimpio.substring(10, 12));
-
-            // Validar código de provincia (01-52, más 66 para extranjeros)
-            if ((codigoProvincia < 1 || codigoProvincia > 52) && codigoProvincia != 66) {
+        // Se ignoran espacios y barras; deben quedar exactamente 12 dígitos
+        long numero = 0;
+        int digitos = 0;
+        for (int i = 0; i < nass.length(); i++) {
+            char c = nass.charAt(i);
+            if (esEspacio(c) || c == '/') {
+                continue;
+            }
+            if (!esDigito(c) || ++digitos > 12) {
                 return false;
             }
+            numero = numero * 10 + (c - '0');
+        }
+        if (digitos != 12) {
+            return false;
+        }
 
-            // Calcular dígitos de control según algoritmo oficial
-            // (PP + NNNNNNNN) % 97 = DD
-            long numeroCompleto = Long.parseLong(codigoProvincia + numeroBase);
-            int controlCalculado = (int) (numeroCompleto % 97);
+        // Componentes: provincia (2 dígitos), número (8) y control (2)
+        int digitosControl = (int) (numero % 100);
+        long numeroCompleto = numero / 100;
+        int codigoProvincia = (int) (numeroCompleto / 100_000_000L);
 
-            // Verificar que coincidan
-            return controlCalculado == digitosControl;
-        } catch (NumberFormatException e) {
+        // Validar código de provincia (01-52, más 66 para extranjeros)
+        if ((codigoProvincia < 1 || codigoProvincia > 52) && codigoProvincia != 66) {
             return false;
         }
+
+        // Calcular dígitos de control según algoritmo oficial
+        // (PP + NNNNNNNN) % 97 = DD
+        return numeroCompleto % 97 == digitosControl;
     }
 
     /**
@@ -309,25 +385,96 @@ public class ValidationUtils {
             return false;
         }
 
-        // Lista de dominios públicos/gratuitos más comunes
-        String[] dominiosPublicos = {
-            "gmail.com", "hotmail.com", "outlook.com", "yahoo.com",
-            "live.com", "icloud.com", "protonmail.com", "mail.com",
-            "gmx.com", "aol.com", "yandex.com", "zoho.com",
-            "tutanota.com", "temp-mail.org", "guerrillamail.com",
-            "10minutemail.com", "mailinator.com"
-        };
-
-        // Extraer dominio del email
-        String dominio = email.substring(email.indexOf("@") + 1).toLowerCase();
-
-        // Verificar que NO esté en la lista de dominios públicos
-        for (String dominioPublico : dominiosPublicos) {
-            if (dominio.equals(dominioPublico)) {
+        // isValidEmail garantiza un dominio ASCII, así que basta comparar sin distinguir mayúsculas
+        int inicioDominio = email.indexOf('@') + 1;
+        int longitudDominio = email.length() - inicioDominio;
+        for (String dominioPublico : DOMINIOS_PUBLICOS) {
+            if (longitudDominio == dominioPublico.length()
+                    && email.regionMatches(true, inicioDominio, dominioPublico, 0, longitudDominio)) {
                 return false;
             }
         }
 
         return true;
     }
-}
\ No newline at end of file
+
+    // =====================================================
+    // AUXILIARES A NIVEL DE CARÁCTER
+    // =====================================================
+
+    /**
+     * Lee los dígitos ASCII de [desde, hasta) como entero, o -1 si alguno no lo es.
+     */
+    private static int leerDigitos(String texto, int desde, int hasta) {
+        int valor = 0;
+        for (int i = desde; i < hasta; i++) {
+            char c = texto.charAt(i);
+            if (!esDigito(c)) {
+                return -1;
+            }
+            valor = valor * 10 + (c - '0');
+        }
+        return valor;
+    }
+
+    /**
+     * Mayúscula de un carácter tal como la produce {@link String#toUpperCase()} cuando el
+     * resultado es un único carácter ASCII: a-z, más 'ı' (U+0131) -> I y 'ſ' (U+017F) -> S.
+     * El resto de caracteres se devuelven sin cambios.
+     */
+    private static char mayusculaAscii(char c) {
+        if (c >= 'a' && c <= 'z') {
+            return (char) (c - ('a' - 'A'));
+        }
+        if (c == '\u0131') {
+            return 'I';
+        }
+        if (c == '\u017F') {
+            return 'S';
+        }
+        return c;
+    }
+
+    /**
+     * Número de caracteres de [A-Z0-9-] que produce {@link String#toUpperCase()} para el
+     * carácter dado, o -1 si produce cualquier otro. Incluye las expansiones ß -> SS y las
+     * ligaduras latinas U+FB00..U+FB06.
+     */
+    private static int longitudMayusculaAscii(char c) {
+        if (esMayusculaODigito(mayusculaAscii(c)) || c == '-') {
+            return 1;
+        }
+        return switch (c) {
+            case '\u00DF', '\uFB00', '\uFB01', '\uFB02', '\uFB05', '\uFB06' -> 2;
+            case '\uFB03', '\uFB04' -> 3;
+            default -> -1;
+        };
+    }
+
+    /**
+     * Caracteres de la clase {@code \s} de las expresiones regulares de Java.
+     */
+    private static boolean esEspacio(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    private static boolean esSeparadorTelefono(char c) {
+        return esEspacio(c) || c == '(' || c == ')' || c == '-';
+    }
+
+    private static boolean esDigito(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean esLetraAscii(char c) {
+        return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z');
+    }
+
+    private static boolean esMayusculaODigito(char c) {
+        return (c >= 'A' && c <= 'Z') || esDigito(c);
+    }
+
+    private static boolean esCaracterLocalEmail(char c) {
+        return esLetraAscii(c) || esDigito(c) || c == '+' || c == '_' || c == '.' || c == '-';
+    }
+}
@@ -0,0 +1,95 @@
+package com.alma.alma_backend.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RespuestaJsonPreparadaTest {
+
+    private static final ObjectMapper MAPPER = JsonMapper.builder().findAndAddModules().build();
+
+    @ParameterizedTest(name = "[{index}] \"{0}\" -> {1}")
+    @CsvSource(delimiter = '|', value = {
+            "gzip                 | true",
+            "GZIP                 | true",
+            "deflate, gzip, br    | true",
+            "gzip;q=0.5           | true",
+            "gzip;q=0             | false",
+            "gzip ; Q = 0.000     | false",
+            "gzip;q=0.001         | true",
+            "*                    | true",
+            "*;q=0                | false",
+            "deflate, br          | false",
+            "gzip;q=0, *          | false",
+            "*;q=0, gzip          | true",
+            "*, gzip;q=0          | false",
+            "identity;q=0, *      | true",
+            "xgzip, gzipx         | false"
+    })
+    void interpretaAcceptEncoding(String cabecera, boolean esperado) {
+        assertThat(RespuestaJsonPreparada.aceptaGzip(cabecera)).isEqualTo(esperado);
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    void sinCabeceraNoComprime(String cabecera) {
+        assertThat(RespuestaJsonPreparada.aceptaGzip(cabecera)).isFalse();
+    }
+
+    @Test
+    void enviaGzipSoloSiSeAceptaYSiempreConVary() throws IOException {
+        RespuestaJsonPreparada preparada = RespuestaJsonPreparada.de(MAPPER, List.of("a", "b"));
+
+        MockHttpServletRequest conGzip = new MockHttpServletRequest("GET", "/api/recursos");
+        conGzip.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        ResponseEntity<byte[]> comprimida = responder(preparada, conGzip);
+        ResponseEntity<byte[]> plana = responder(preparada, new MockHttpServletRequest("GET", "/api/recursos"));
+
+        assertThat(comprimida.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(plana.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)).isFalse();
+        assertThat(comprimida.getHeaders().getVary()).containsExactly(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(plana.getHeaders().getVary()).containsExactly(HttpHeaders.ACCEPT_ENCODING);
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(comprimida.getBody()))) {
+            assertThat(gzip.readAllBytes()).isEqualTo(plana.getBody());
+        }
+    }
+
+    @Test
+    void conElMismoEtagRespondeNoModificado() {
+        RespuestaJsonPreparada preparada = RespuestaJsonPreparada.de(MAPPER, List.of("a"));
+        MockHttpServletRequest revalidacion = new MockHttpServletRequest("GET", "/api/recursos");
+        revalidacion.addHeader(HttpHeaders.IF_NONE_MATCH, preparada.getEtag());
+
+        ResponseEntity<byte[]> respuesta = responder(preparada, revalidacion);
+
+        assertThat(respuesta.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(respuesta.getBody()).isNull();
+    }
+
+    @Test
+    void elEtagSoloDependeDeLosDatos() {
+        assertThat(RespuestaJsonPreparada.de(MAPPER, List.of("a")).getEtag())
+                .isEqualTo(RespuestaJsonPreparada.de(MAPPER, List.of("a")).getEtag())
+                .isNotEqualTo(RespuestaJsonPreparada.de(MAPPER, List.of("b")).getEtag());
+    }
+
+    private static ResponseEntity<byte[]> responder(RespuestaJsonPreparada preparada, MockHttpServletRequest peticion) {
+        return preparada.responder(new ServletWebRequest(peticion, new MockHttpServletResponse()));
+    }
+}
@@ -0,0 +1,114 @@
+package com.alma.alma_backend.logging;
+
+import com.alma.alma_backend.config.IAConfig;
+import com.alma.alma_backend.repository.ContadorNoLeidosChatRepository;
+import com.alma.alma_backend.service.ChatServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Presupuesto de sentencias medido con {@link SqlRequestStats#measure(java.util.function.Supplier)}.
+ * Sin base de datos, cada consulta de los repositorios simulados pasa por {@link SqlCountingInspector}
+ * como lo haría la sentencia que Hibernate prepara para ella.
+ */
+class SqlRequestStatsTest {
+
+    private static final String SQL_NO_LEIDOS_SESIONES =
+            "select c.id_sesion_chat, sum(c.no_leidos) from contador_no_leidos_chat c where c.id_sesion_chat in (?) group by c.id_sesion_chat";
+    private static final String SQL_NO_LEIDOS_SESION =
+            "select c.no_leidos from contador_no_leidos_chat c where c.id_sesion_chat=? and c.id_usuario=?";
+
+    private final SqlCountingInspector inspector = new SqlCountingInspector();
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 50})
+    void losNoLeidosDeUnListadoSeCuentanConUnaSolaConsulta(int sesiones) {
+        ChatServiceImpl chatService = new ChatServiceImpl();
+        ReflectionTestUtils.setField(chatService, "contadorNoLeidosChatRepository", contadores());
+        List<Integer> ids = IntStream.rangeClosed(1, sesiones).boxed().toList();
+
+        SqlRequestStats.Measured<Map<Integer, Long>> medido =
+                SqlRequestStats.measure(() -> chatService.contarMensajesNoLeidos(ids, 3));
+
+        assertThat(medido.result()).hasSize(sesiones).containsEntry(1, 2L);
+        assertThat(medido.stats().getStatements()).isEqualTo(1);
+        assertThat(medido.stats().getMaxRepetitions()).isEqualTo(1);
+    }
+
+    @Test
+    void cuentaLasSentenciasDeLasTareasDelPoolDeInferencia() {
+        ThreadPoolExecutor inferencia = new IAConfig().iaInferenciaExecutor(2, 4);
+        try {
+            SqlRequestStats stats = SqlRequestStats.measure(() -> {
+                inspector.inspect("select 1");
+                CompletableFuture.runAsync(() -> inspector.inspect("select 2"), inferencia).join();
+            });
+
+            assertThat(stats.getStatements()).isEqualTo(2);
+        } finally {
+            inferencia.shutdownNow();
+        }
+    }
+
+    @Test
+    void fueraDeUnaMedicionLasTareasDelPoolNoRegistranNada() {
+        ThreadPoolExecutor inferencia = new IAConfig().iaInferenciaExecutor(1, 4);
+        try {
+            CompletableFuture.runAsync(() -> {
+                inspector.inspect("select 1");
+                assertThat(SqlRequestStats.current()).isNull();
+            }, inferencia).join();
+        } finally {
+            inferencia.shutdownNow();
+        }
+    }
+
+    /**
+     * Ambas variantes registran su sentencia, de modo que volver a consultar sesión a sesión se
+     * notaría como tantas sentencias (y repeticiones) como sesiones.
+     */
+    private ContadorNoLeidosChatRepository contadores() {
+        ContadorNoLeidosChatRepository repository = mock(ContadorNoLeidosChatRepository.class);
+        when(repository.findNoLeidosBySesiones(anyCollection(), any())).thenAnswer(invocacion -> {
+            inspector.inspect(SQL_NO_LEIDOS_SESIONES);
+            Collection<Integer> ids = invocacion.getArgument(0);
+            return ids.stream().map(id -> noLeidos(id, 2L)).toList();
+        });
+        when(repository.findNoLeidos(anyInt(), any())).thenAnswer(invocacion -> {
+            inspector.inspect(SQL_NO_LEIDOS_SESION);
+            return Optional.of(2);
+        });
+        return repository;
+    }
+
+    private static ContadorNoLeidosChatRepository.NoLeidosPorSesionView noLeidos(Integer idSesionChat, Long noLeidos) {
+        return new ContadorNoLeidosChatRepository.NoLeidosPorSesionView() {
+            @Override
+            public Integer getIdSesionChat() {
+                return idSesionChat;
+            }
+
+            @Override
+            public Long getNoLeidos() {
+                return noLeidos;
+            }
+        };
+    }
+}
@@ -0,0 +1,66 @@
+package com.alma.alma_backend.security;
+
+import com.alma.alma_backend.repository.UsuarioRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Recarga de la lista de revocación tal como la ve un nodo que no ha hecho la revocación.
+ */
+class JwtTokenVersionRegistryTest {
+
+    private final UsuarioRepository usuarioRepository = mock(UsuarioRepository.class);
+    private JwtTokenVersionRegistry registry;
+
+    @BeforeEach
+    void preparar() {
+        registry = new JwtTokenVersionRegistry(usuarioRepository);
+        ReflectionTestUtils.setField(registry, "claimsOnlyEnabled", true);
+    }
+
+    @Test
+    void rechazaTodosLosTokensDeUnUsuarioEliminadoEnOtroNodo() {
+        when(usuarioRepository.findTokenVersionesRevocadas()).thenReturn(List.of());
+        when(usuarioRepository.findIdsUsuariosEliminados()).thenReturn(List.of(42));
+
+        assertThat(registry.isRevoked(42, 5)).isFalse();
+        registry.refrescar();
+
+        assertThat(registry.isRevoked(42, 0)).isTrue();
+        assertThat(registry.isRevoked(42, 5)).isTrue();
+        assertThat(registry.isRevoked(43, 0)).isFalse();
+    }
+
+    @Test
+    void unaVersionRevocadaPosteriorNoRehabilitaAlUsuarioEliminado() {
+        when(usuarioRepository.findTokenVersionesRevocadas()).thenReturn(List.of(version(42, 3)));
+        when(usuarioRepository.findIdsUsuariosEliminados()).thenReturn(List.of(42));
+
+        registry.refrescar();
+        registry.refrescar();
+
+        assertThat(registry.isRevoked(42, 3)).isTrue();
+        assertThat(registry.isRevoked(7, 0)).isFalse();
+    }
+
+    private static UsuarioRepository.TokenVersionView version(Integer idUsuario, Integer tokenVersion) {
+        return new UsuarioRepository.TokenVersionView() {
+            @Override
+            public Integer getIdUsuario() {
+                return idUsuario;
+            }
+
+            @Override
+            public Integer getTokenVersion() {
+                return tokenVersion;
+            }
+        };
+    }
+}
@@ -0,0 +1,93 @@
+package com.alma.alma_backend.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Un hilo de cálculo y una cola de uno; el hash "lento" no termina hasta que el test lo libera.
+ */
+class VerificadorPasswordTest {
+
+    private static final String HASH = "hash-almacenado";
+
+    private final CountDownLatch liberarHash = new CountDownLatch(1);
+    private VerificadorPassword verificador;
+
+    @BeforeEach
+    void preparar() {
+        PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+        when(passwordEncoder.encode(anyString())).thenReturn("hash-ficticio");
+        when(passwordEncoder.matches(any(), any())).thenAnswer(invocacion -> {
+            if ("lento".contentEquals((CharSequence) invocacion.getArgument(0))) {
+                liberarHash.await(10, TimeUnit.SECONDS);
+            }
+            return true;
+        });
+
+        verificador = new VerificadorPassword(passwordEncoder);
+        ReflectionTestUtils.setField(verificador, "hilos", 1);
+        ReflectionTestUtils.setField(verificador, "cola", 1);
+        ReflectionTestUtils.setField(verificador, "esperaMs", 2000L);
+        verificador.init();
+    }
+
+    @AfterEach
+    void cerrar() {
+        liberarHash.countDown();
+        verificador.cerrar();
+    }
+
+    @Test
+    void noBloqueaAlLlamanteMientrasSeCalculaElHash() {
+        CompletableFuture<Boolean> resultado = verificador.verificar("lento", HASH);
+
+        assertThat(resultado).isNotDone();
+        liberarHash.countDown();
+        assertThat(resultado.join()).isTrue();
+    }
+
+    @Test
+    void sinUsuarioElResultadoEsSiempreFalso() {
+        assertThat(verificador.verificar("clave", null).join()).isFalse();
+    }
+
+    @Test
+    void conLaColaLlenaRechazaAlMomentoCon503() {
+        verificador.verificar("lento", HASH);
+        verificador.verificar("lento", HASH);
+
+        assertThatThrownBy(() -> verificador.verificar("clave", HASH))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+    }
+
+    @Test
+    void siLaEsperaSeAgotaElFuturoFallaCon503() {
+        ReflectionTestUtils.setField(verificador, "esperaMs", 50L);
+
+        CompletableFuture<Boolean> resultado = verificador.verificar("lento", HASH);
+
+        assertThatThrownBy(resultado::join)
+                .isInstanceOf(CompletionException.class)
+                .cause()
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+    }
+}
@@ -0,0 +1,119 @@
+package com.alma.alma_backend.service;
+
+import com.alma.alma_backend.entity.SentimientoDetectado;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Control de regresiones del analizador con el léxico de producción: tasa de acierto sobre el corpus
+ * etiquetado y tratamiento de la negación.
+ */
+class AnalizadorSentimientoTest {
+
+    private static final String CORPUS = "sentimiento/corpus-etiquetado.txt";
+    private static final double ACIERTO_MINIMO = 0.85;
+    private static final Set<SentimientoDetectado> NEGATIVOS =
+            EnumSet.of(SentimientoDetectado.NEGATIVO, SentimientoDetectado.MUY_NEGATIVO);
+
+    private static AnalizadorSentimiento analizador;
+
+    @BeforeAll
+    static void cargarLexico() {
+        analizador = new AnalizadorSentimiento("sentimiento/lexico-es.txt");
+    }
+
+    @Test
+    void aciertaAlMenosElMinimoDelCorpus() throws IOException {
+        List<String[]> corpus = leerCorpus();
+        List<String> fallos = new ArrayList<>();
+        for (String[] entrada : corpus) {
+            SentimientoDetectado esperado = SentimientoDetectado.valueOf(entrada[0]);
+            SentimientoDetectado obtenido = analizador.analizar(entrada[1]);
+            if (obtenido != esperado) {
+                fallos.add(esperado + " -> " + obtenido + ": " + entrada[1]);
+            }
+        }
+
+        double acierto = 1 - (double) fallos.size() / corpus.size();
+        assertThat(corpus).hasSize(100);
+        assertThat(acierto)
+                .as("Tasa de acierto sobre el corpus; fallos:%n%s", String.join("\n", fallos))
+                .isGreaterThanOrEqualTo(ACIERTO_MINIMO);
+    }
+
+    @Test
+    void losMensajesMuyNegativosDelCorpusNuncaSalenDeLosNegativos() throws IOException {
+        for (String[] entrada : leerCorpus()) {
+            if (SentimientoDetectado.valueOf(entrada[0]) == SentimientoDetectado.MUY_NEGATIVO) {
+                assertThat(analizador.analizar(entrada[1])).as(entrada[1]).isIn(NEGATIVOS);
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "No quiero hacerme daño",
+            "No quiero hacerme daño, pero a veces lo pienso.",
+            "Nunca pensaría en el suicidio.",
+            "No tengo ganas de morir, solo estoy cansada.",
+            "No quiero desaparecer."
+    })
+    void laNegacionNoConvierteElRiesgoEnPositivo(String mensaje) {
+        assertThat(analizador.analizar(mensaje)).as(mensaje).isEqualTo(SentimientoDetectado.MUY_NEGATIVO);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "Quiero morir, pero hoy estoy muy bien y feliz",
+            "He pensado en el suicidio pero estoy mejor, gracias",
+            "Tengo ganas de morir, sin embargo me siento tranquila",
+            "A veces quiero hacerme daño. Hoy estoy feliz, contenta, tranquila y muy agradecida, gracias",
+            "Quiero desaparecer pero estoy bien, estoy genial, estoy feliz"
+    })
+    void niElContrasteNiLasPalabrasPositivasCompensanElRiesgo(String mensaje) {
+        assertThat(analizador.puntuar(mensaje)).as(mensaje).isLessThanOrEqualTo(-3.0);
+        assertThat(analizador.analizar(mensaje)).as(mensaje).isEqualTo(SentimientoDetectado.MUY_NEGATIVO);
+    }
+
+    @Test
+    void elContrasteSigueAtenuandoLoAnteriorSinRiesgo() {
+        assertThat(analizador.analizar("Estoy triste, pero hoy estoy muy bien y feliz")).isNotIn(NEGATIVOS);
+    }
+
+    @Test
+    void laNegacionSigueInvirtiendoLaPolaridadCorriente() {
+        assertThat(analizador.analizar("No estoy bien.")).isIn(NEGATIVOS);
+        assertThat(analizador.puntuar("No estoy triste.")).isPositive();
+    }
+
+    private static List<String[]> leerCorpus() throws IOException {
+        InputStream entrada = AnalizadorSentimientoTest.class.getClassLoader().getResourceAsStream(CORPUS);
+        assertThat(entrada).as("Corpus " + CORPUS).isNotNull();
+        List<String[]> corpus = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8))) {
+            String linea;
+            while ((linea = reader.readLine()) != null) {
+                if (linea.isBlank() || linea.startsWith("#")) {
+                    continue;
+                }
+                int separador = linea.indexOf('|');
+                corpus.add(new String[]{linea.substring(0, separador), linea.substring(separador + 1)});
+            }
+        }
+        return corpus;
+    }
+}
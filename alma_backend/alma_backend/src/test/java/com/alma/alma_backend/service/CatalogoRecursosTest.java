@@ -0,0 +1,96 @@
+package com.alma.alma_backend.service;
+
+import com.alma.alma_backend.dto.RecursoDTO;
+import com.alma.alma_backend.dto.RespuestaJsonPreparada;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogoRecursosTest {
+
+    private static final ObjectMapper MAPPER = JsonMapper.builder().findAndAddModules().build();
+
+    private final CatalogoRecursos catalogo = CatalogoRecursos.construir("v1", List.of(
+            recurso(1, "PODCAST", "Duelo"),
+            recurso(2, "VIDEO", "Duelo"),
+            recurso(3, "PODCAST", "Calma"),
+            recurso(4, "MUSICA", null)
+    ), MAPPER);
+
+    @Test
+    void sinFiltrosDevuelveTodoEnOrden() throws IOException {
+        assertThat(ids(catalogo.vista(null, null))).containsExactly(1, 2, 3, 4);
+        assertThat(catalogo.getRecursos()).extracting(RecursoDTO::getId).containsExactly(1, 2, 3, 4);
+    }
+
+    @Test
+    void indexaPorTipo() throws IOException {
+        assertThat(ids(catalogo.vista("PODCAST", null))).containsExactly(1, 3);
+        assertThat(ids(catalogo.vista("MUSICA", null))).containsExactly(4);
+    }
+
+    @Test
+    void indexaPorCategoria() throws IOException {
+        assertThat(ids(catalogo.vista(null, "Duelo"))).containsExactly(1, 2);
+        assertThat(ids(catalogo.vista(null, "Calma"))).containsExactly(3);
+    }
+
+    @Test
+    void indexaPorTipoYCategoria() throws IOException {
+        assertThat(ids(catalogo.vista("PODCAST", "Duelo"))).containsExactly(1);
+        assertThat(ids(catalogo.vista("VIDEO", "Duelo"))).containsExactly(2);
+    }
+
+    @Test
+    void elTipoNoDistingueMayusculasPeroLaCategoriaSi() throws IOException {
+        assertThat(catalogo.vista("podcast", null)).isSameAs(catalogo.vista("PODCAST", null));
+        assertThat(catalogo.vista("Video", "Duelo")).isSameAs(catalogo.vista("VIDEO", "Duelo"));
+        assertThat(ids(catalogo.vista(null, "duelo"))).isEmpty();
+    }
+
+    @Test
+    void lasCombinacionesSinRecursosCompartenLaVistaVacia() throws IOException {
+        RespuestaJsonPreparada vacia = catalogo.vista("VIDEO", "Calma");
+
+        assertThat(ids(vacia)).isEmpty();
+        assertThat(catalogo.vista("AUDIOLIBRO", null)).isSameAs(vacia);
+        assertThat(catalogo.vista(null, "Inexistente")).isSameAs(vacia);
+        assertThat(catalogo.vista("MUSICA", "Duelo")).isSameAs(vacia);
+    }
+
+    @Test
+    void soloGuardaLasVistasConRecursos() {
+        // Todo, 3 tipos, 2 categorías y 3 combinaciones de tipo y categoría
+        assertThat(catalogo.getNumeroVistas()).isEqualTo(9);
+        assertThat(catalogo.getVersion()).isEqualTo("v1");
+    }
+
+    private static List<Integer> ids(RespuestaJsonPreparada vista) throws IOException {
+        byte[] cuerpo = vista.responder(new ServletWebRequest(
+                new MockHttpServletRequest("GET", "/api/recursos"), new MockHttpServletResponse())).getBody();
+        List<Integer> ids = new ArrayList<>();
+        for (JsonNode recurso : MAPPER.readTree(cuerpo).get("data")) {
+            ids.add(recurso.get("id").asInt());
+        }
+        return ids;
+    }
+
+    private static RecursoDTO recurso(int id, String tipo, String categoria) {
+        RecursoDTO dto = new RecursoDTO();
+        dto.setId(id);
+        dto.setTitulo("Recurso " + id);
+        dto.setTipoRecurso(tipo);
+        dto.setCategoria(categoria);
+        return dto;
+    }
+}
@@ -0,0 +1,232 @@
+package com.alma.alma_backend.service;
+
+import com.alma.alma_backend.config.IALimitesProperties;
+import com.alma.alma_backend.dto.EnviarMensajeIARequestDTO;
+import com.alma.alma_backend.entity.MensajeIA;
+import com.alma.alma_backend.entity.RolMensajeIA;
+import com.alma.alma_backend.entity.SentimientoDetectado;
+import com.alma.alma_backend.entity.SesionInteraccion;
+import com.alma.alma_backend.repository.MensajeIARepository;
+import com.alma.alma_backend.repository.SesionInteraccionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Muchos mensajes simultáneos sobre la misma sesión. Lo que se comprueba es el protocolo de reserva y
+ * liberación de {@link IAServiceImpl}: ningún intento de reservar supera el límite y, al terminar, el
+ * contador coincide exactamente con los mensajes guardados, también cuando fallan la inferencia o el
+ * guardado de la respuesta.
+ * <p>
+ * El proyecto no tiene base de datos de pruebas, así que el contador de la sesión se simula con un
+ * compare-and-set. Es equivalente a las sentencias de {@link SesionInteraccionRepository} porque cada
+ * una es un único UPDATE de una fila con la condición en el WHERE: en PostgreSQL los UPDATE concurrentes
+ * de la misma fila se serializan con su bloqueo y, en READ COMMITTED, el que esperaba vuelve a evaluar
+ * el WHERE sobre la versión ya confirmada antes de escribir. Comprobar y sumar es atómico, igual que el
+ * compare-and-set, que además devuelve 0 o 1 como el recuento de filas. Para que la equivalencia no se
+ * rompa en silencio, {@link #lasSentenciasSimuladasSonLasDelRepositorio()} fija el texto exacto de ambas
+ * sentencias: si cambian, hay que revisar también la simulación.
+ */
+class IAServiceImplConcurrenciaTest {
+
+    private static final int ID_SESION = 7;
+    private static final int LIMITE = 20;
+    private static final int PETICIONES = 64;
+
+    private final AtomicInteger numeroMensajes = new AtomicInteger();
+    private final AtomicInteger maximoObservado = new AtomicInteger();
+    private final AtomicInteger llamadasModelo = new AtomicInteger();
+    private final AtomicInteger guardadosAsistente = new AtomicInteger();
+    private final ConcurrentLinkedQueue<MensajeIA> guardados = new ConcurrentLinkedQueue<>();
+
+    private ExecutorService inferencia;
+    private IAServiceImpl servicio;
+
+    @BeforeEach
+    void preparar() {
+        inferencia = Executors.newFixedThreadPool(8);
+
+        SesionInteraccion sesion = new SesionInteraccion();
+        sesion.setId(ID_SESION);
+
+        SesionInteraccionRepository sesionRepository = mock(SesionInteraccionRepository.class);
+        when(sesionRepository.reservarMensajes(eq(ID_SESION), anyInt(), any(), any(), anyInt()))
+                .thenAnswer(invocacion -> reservar(invocacion.getArgument(1), invocacion.getArgument(2),
+                        invocacion.getArgument(3), invocacion.getArgument(4)));
+        when(sesionRepository.liberarMensajes(eq(ID_SESION), anyInt()))
+                .thenAnswer(invocacion -> liberar(invocacion.getArgument(1)));
+        when(sesionRepository.getReferenceById(ID_SESION)).thenReturn(sesion);
+        when(sesionRepository.findById(ID_SESION)).thenReturn(Optional.of(sesion));
+
+        MensajeIARepository mensajeRepository = mock(MensajeIARepository.class);
+        when(mensajeRepository.save(any(MensajeIA.class))).thenAnswer(invocacion -> guardar(invocacion.getArgument(0)));
+        when(mensajeRepository.findUltimos(eq(ID_SESION), any())).thenReturn(List.of());
+
+        // Falla una de cada cinco inferencias
+        IAClientService iaClientService = mock(IAClientService.class);
+        when(iaClientService.generarRespuesta(any(), any())).thenAnswer(invocacion -> {
+            if (llamadasModelo.incrementAndGet() % 5 == 0) {
+                throw new IllegalStateException("Modelo no disponible");
+            }
+            return "respuesta";
+        });
+        when(iaClientService.analizarSentimiento(any())).thenReturn(SentimientoDetectado.NEUTRO);
+
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocacion -> new SimpleTransactionStatus());
+
+        IALimitesProperties limites = new IALimitesProperties();
+        limites.setMensajesPorDefecto(LIMITE);
+
+        servicio = new IAServiceImpl();
+        ReflectionTestUtils.setField(servicio, "sesionRepository", sesionRepository);
+        ReflectionTestUtils.setField(servicio, "mensajeRepository", mensajeRepository);
+        ReflectionTestUtils.setField(servicio, "iaClientService", iaClientService);
+        ReflectionTestUtils.setField(servicio, "inferenciaExecutor", inferencia);
+        ReflectionTestUtils.setField(servicio, "transactionManager", transactionManager);
+        ReflectionTestUtils.setField(servicio, "limitesProperties", limites);
+        ReflectionTestUtils.setField(servicio, "maxMensajesContexto", 20);
+        servicio.init();
+    }
+
+    @AfterEach
+    void cerrar() throws InterruptedException {
+        inferencia.shutdownNow();
+        inferencia.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @RepeatedTest(5)
+    void elContadorNuncaSuperaElLimiteYCoincideConLosMensajesGuardados() throws Exception {
+        CountDownLatch salida = new CountDownLatch(1);
+        ExecutorService clientes = Executors.newFixedThreadPool(16);
+        List<CompletableFuture<CompletableFuture<?>>> envios = new ArrayList<>();
+        for (int i = 0; i < PETICIONES; i++) {
+            EnviarMensajeIARequestDTO request = new EnviarMensajeIARequestDTO();
+            request.setIdSesion(ID_SESION);
+            request.setMensaje("mensaje " + i);
+            envios.add(CompletableFuture.supplyAsync(() -> {
+                esperar(salida);
+                return servicio.enviarMensaje(request);
+            }, clientes));
+        }
+        salida.countDown();
+
+        int completados = 0;
+        int rechazados = 0;
+        int fallidos = 0;
+        for (CompletableFuture<CompletableFuture<?>> envio : envios) {
+            try {
+                envio.get(10, TimeUnit.SECONDS).join();
+                completados++;
+            } catch (CompletionException e) {
+                if (e.getCause().getMessage().startsWith("Se ha alcanzado el límite")) {
+                    rechazados++;
+                } else {
+                    fallidos++;
+                }
+            }
+        }
+        clientes.shutdown();
+
+        long usuario = guardados.stream().filter(m -> m.getRol() == RolMensajeIA.USUARIO).count();
+        long asistente = guardados.stream().filter(m -> m.getRol() == RolMensajeIA.ASISTENTE).count();
+
+        assertThat(completados + rechazados + fallidos).isEqualTo(PETICIONES);
+        assertThat(maximoObservado.get()).isLessThanOrEqualTo(LIMITE);
+        assertThat(asistente).isEqualTo(completados);
+        assertThat(usuario).isEqualTo(completados + fallidos);
+        // Las reservas de los turnos fallidos se han devuelto: solo cuentan los mensajes que existen
+        assertThat(numeroMensajes.get()).isEqualTo(usuario + asistente);
+        assertThat(fallidos).isPositive();
+        assertThat(rechazados).isPositive();
+    }
+
+    @Test
+    void lasSentenciasSimuladasSonLasDelRepositorio() throws NoSuchMethodException {
+        Query reserva = SesionInteraccionRepository.class.getMethod("reservarMensajes",
+                Integer.class, int.class, String[].class, Integer[].class, int.class).getAnnotation(Query.class);
+        Query liberacion = SesionInteraccionRepository.class.getMethod("liberarMensajes", Integer.class, int.class)
+                .getAnnotation(Query.class);
+
+        assertThat(reserva.nativeQuery()).isTrue();
+        assertThat(reserva.value()).isEqualTo(
+                "UPDATE SESION_INTERACCION SET NUMERO_MENSAJES = NUMERO_MENSAJES + :cantidad "
+                        + "WHERE ID_SESION = :idSesion AND ESTADO = 'ACTIVA' "
+                        + "AND NUMERO_MENSAJES + :cantidad <= COALESCE("
+                        + "(SELECT l.LIMITE FROM UNNEST(CAST(:tipos AS VARCHAR[]), CAST(:limites AS INTEGER[])) AS l(TIPO, LIMITE) "
+                        + "WHERE l.TIPO = TIPO_SESION), :limitePorDefecto)");
+        assertThat(liberacion.value()).isEqualTo(
+                "UPDATE SesionInteraccion s SET s.numeroMensajes = s.numeroMensajes - :cantidad "
+                        + "WHERE s.id = :idSesion AND s.numeroMensajes >= :cantidad");
+    }
+
+    // NUMERO_MENSAJES + :cantidad <= COALESCE(límite del tipo de la sesión, :limitePorDefecto)
+    private int reservar(int cantidad, String[] tipos, Integer[] limites, int limitePorDefecto) {
+        // La sesión simulada no tiene tipo con límite propio, así que aplica el límite por defecto
+        assertThat(tipos).hasSameSizeAs(limites);
+        while (true) {
+            int actual = numeroMensajes.get();
+            if (actual + cantidad > limitePorDefecto) {
+                return 0;
+            }
+            if (numeroMensajes.compareAndSet(actual, actual + cantidad)) {
+                maximoObservado.accumulateAndGet(actual + cantidad, Math::max);
+                return 1;
+            }
+        }
+    }
+
+    // numeroMensajes - :cantidad, solo si numeroMensajes >= :cantidad
+    private int liberar(int cantidad) {
+        while (true) {
+            int actual = numeroMensajes.get();
+            if (actual < cantidad) {
+                return 0;
+            }
+            if (numeroMensajes.compareAndSet(actual, actual - cantidad)) {
+                return 1;
+            }
+        }
+    }
+
+    // Falla uno de cada cuatro guardados de la respuesta, después de que el modelo haya contestado
+    private MensajeIA guardar(MensajeIA mensaje) {
+        if (mensaje.getRol() == RolMensajeIA.ASISTENTE && guardadosAsistente.incrementAndGet() % 4 == 0) {
+            throw new IllegalStateException("Error guardando la respuesta");
+        }
+        guardados.add(mensaje);
+        return mensaje;
+    }
+
+    private static void esperar(CountDownLatch salida) {
+        try {
+            salida.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
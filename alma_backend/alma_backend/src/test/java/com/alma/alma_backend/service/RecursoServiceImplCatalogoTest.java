@@ -0,0 +1,124 @@
+package com.alma.alma_backend.service;
+
+import com.alma.alma_backend.entity.Podcast;
+import com.alma.alma_backend.repository.MusicaRepository;
+import com.alma.alma_backend.repository.PodcastRepository;
+import com.alma.alma_backend.repository.VersionDatos;
+import com.alma.alma_backend.repository.VideoRepository;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Refresco periódico de la foto del catálogo con repositorios simulados; la versión de los podcasts
+ * hace de tabla que cambia.
+ */
+class RecursoServiceImplCatalogoTest {
+
+    private static final LocalDateTime MAXIMA = LocalDateTime.of(2026, 3, 1, 10, 0);
+
+    private final PodcastRepository podcastRepository = mock(PodcastRepository.class);
+    private final VideoRepository videoRepository = mock(VideoRepository.class);
+    private final MusicaRepository musicaRepository = mock(MusicaRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final RecursoServiceImpl recursoService = new RecursoServiceImpl();
+
+    @BeforeEach
+    void preparar() {
+        when(transactionManager.getTransaction(any())).thenAnswer(invocacion -> new SimpleTransactionStatus());
+        when(podcastRepository.obtenerVersion()).thenReturn(version(1, "10"));
+        when(videoRepository.obtenerVersion()).thenReturn(version(0, "0"));
+        when(musicaRepository.obtenerVersion()).thenReturn(version(0, "0"));
+        when(podcastRepository.findByActivoTrue()).thenReturn(List.of(podcast(1)));
+        when(videoRepository.findByActivoTrue()).thenReturn(List.of());
+        when(musicaRepository.findByActivoTrue()).thenReturn(List.of());
+
+        ReflectionTestUtils.setField(recursoService, "podcastRepository", podcastRepository);
+        ReflectionTestUtils.setField(recursoService, "videoRepository", videoRepository);
+        ReflectionTestUtils.setField(recursoService, "musicaRepository", musicaRepository);
+        ReflectionTestUtils.setField(recursoService, "objectMapper", JsonMapper.builder().findAndAddModules().build());
+        ReflectionTestUtils.setField(recursoService, "transactionManager", transactionManager);
+        recursoService.init();
+    }
+
+    @Test
+    void sinCambiosEnLasTablasNoReconstruye() {
+        assertThat(recursoService.findAllRecursos()).hasSize(1);
+
+        recursoService.refrescarCatalogo();
+
+        verify(podcastRepository, times(1)).findByActivoTrue();
+    }
+
+    @Test
+    void unCambioEnUnaTablaReconstruyeLaFoto() {
+        assertThat(recursoService.findAllRecursos()).hasSize(1);
+        when(podcastRepository.obtenerVersion()).thenReturn(version(2, "30"));
+        when(podcastRepository.findByActivoTrue()).thenReturn(List.of(podcast(1), podcast(2)));
+
+        recursoService.refrescarCatalogo();
+
+        verify(podcastRepository, times(2)).findByActivoTrue();
+        assertThat(recursoService.findAllRecursos()).hasSize(2);
+        assertThat(recursoService.obtenerVistaCatalogo("podcast", null).getEtag())
+                .isEqualTo(recursoService.obtenerVistaCatalogo(null, null).getEtag());
+    }
+
+    @Test
+    void versionYRecursosSeLeenEnUnaSolaTransaccionDeLectura() {
+        recursoService.findAllRecursos();
+
+        verify(transactionManager, times(1)).getTransaction(argThat(definicion -> definicion.isReadOnly()
+                && definicion.getIsolationLevel() == TransactionDefinition.ISOLATION_REPEATABLE_READ));
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @Test
+    void antesDeLaPrimeraConsultaNoHaceNada() {
+        recursoService.refrescarCatalogo();
+
+        verify(podcastRepository, times(0)).obtenerVersion();
+    }
+
+    private static Podcast podcast(int id) {
+        Podcast podcast = new Podcast();
+        podcast.setId(id);
+        podcast.setTitulo("Podcast " + id);
+        podcast.setCategoria("Duelo");
+        return podcast;
+    }
+
+    private static VersionDatos version(long total, String huella) {
+        return new VersionDatos() {
+            @Override
+            public Long getTotal() {
+                return total;
+            }
+
+            @Override
+            public LocalDateTime getUltimaModificacion() {
+                return MAXIMA;
+            }
+
+            @Override
+            public String getHuella() {
+                return huella;
+            }
+        };
+    }
+}
@@ -0,0 +1,87 @@
+package com.alma.alma_backend.util;
+
+import com.alma.alma_backend.repository.VersionDatos;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RespuestaCondicionalTest {
+
+    private static final LocalDateTime MAXIMA = LocalDateTime.of(2026, 3, 1, 10, 0);
+
+    private final AtomicInteger cuerposConstruidos = new AtomicInteger();
+
+    @Test
+    void conElMismoEtagRespondeNoModificadoSinConstruirElCuerpo() {
+        String etag = pedir(new MockHttpServletRequest("GET", "/api/foros"), version(3, "900"))
+                .getHeaders().getETag();
+
+        MockHttpServletRequest revalidacion = new MockHttpServletRequest("GET", "/api/foros");
+        revalidacion.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        ResponseEntity<String> respuesta = pedir(revalidacion, version(3, "900"));
+
+        assertThat(respuesta.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(cuerposConstruidos).hasValue(1);
+    }
+
+    @Test
+    void borrarUnaFilaSinCambiarElMaximoInvalidaElEtag() {
+        String etag = pedir(new MockHttpServletRequest("GET", "/api/foros"), version(3, "900"))
+                .getHeaders().getETag();
+
+        MockHttpServletRequest revalidacion = new MockHttpServletRequest("GET", "/api/foros");
+        revalidacion.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        ResponseEntity<String> respuesta = pedir(revalidacion, version(2, "600"));
+
+        assertThat(respuesta.getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void noEnviaLastModifiedNiAtiendeIfModifiedSince() {
+        MockHttpServletRequest peticion = new MockHttpServletRequest("GET", "/api/foros");
+        peticion.addHeader(HttpHeaders.IF_MODIFIED_SINCE, "Sun, 01 Mar 2026 12:00:00 GMT");
+
+        // Tras borrar una fila el máximo no ha cambiado; con Last-Modified esto sería un 304
+        ResponseEntity<String> respuesta = pedir(peticion, version(2, "600"));
+
+        assertThat(respuesta.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(respuesta.getHeaders().getLastModified()).isEqualTo(-1);
+        assertThat(respuesta.getBody()).isEqualTo("listado");
+    }
+
+    private ResponseEntity<String> pedir(MockHttpServletRequest peticion, VersionDatos version) {
+        ServletWebRequest webRequest = new ServletWebRequest(peticion, new MockHttpServletResponse());
+        return RespuestaCondicional.responder(webRequest, "foros", version, () -> {
+            cuerposConstruidos.incrementAndGet();
+            return "listado";
+        });
+    }
+
+    private static VersionDatos version(long total, String huella) {
+        return new VersionDatos() {
+            @Override
+            public Long getTotal() {
+                return total;
+            }
+
+            @Override
+            public LocalDateTime getUltimaModificacion() {
+                return MAXIMA;
+            }
+
+            @Override
+            public String getHuella() {
+                return huella;
+            }
+        };
+    }
+}
@@ -0,0 +1,195 @@
+package com.alma.alma_backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Comprueba que los validadores de {@link ValidationUtils} aceptan exactamente las mismas entradas que
+ * la implementación anterior con expresiones regulares ({@link ValidacionRegexReferencia}).
+ * <p>
+ * Se recorren todos los caracteres sueltos, todas las cadenas de dos y tres caracteres sobre un alfabeto
+ * de casos límite (dígitos y letras de cada formato, separadores, espacios Unicode y caracteres cuya
+ * conversión a mayúsculas cambia la longitud o da una letra ASCII) y, con semilla fija, variaciones de
+ * documentos válidos de cada tipo. Cada entrada pasa por todos los validadores.
+ */
+class ValidationUtilsEquivalenciaTest {
+
+    private static final String ALFABETO_BORDES = "0159AEJTXZajxz@.-+_/() \t\n"
+            + "\u00A0\u2003\u3000\u0131\u017F\u00DF\uFB00\u01C5\u0130\u212A\u0663\uFF10\u00F1\u00E9";
+
+    private static final List<String> ORGANIZACIONES = List.of("Hospital Norte", "clinica-sur", "a.b", "");
+
+    private static final List<Validador> VALIDADORES = List.of(
+            new Validador("DNI", ValidacionRegexReferencia::isValidDNI, ValidationUtils::isValidDNI),
+            new Validador("NIE", ValidacionRegexReferencia::isValidNIE, ValidationUtils::isValidNIE),
+            new Validador("DNI/NIE", ValidacionRegexReferencia::isValidDNIorNIE, ValidationUtils::isValidDNIorNIE),
+            new Validador("CIF", ValidacionRegexReferencia::isValidCIF, ValidationUtils::isValidCIF),
+            new Validador("tarjeta sanitaria", ValidacionRegexReferencia::isValidTarjetaSanitaria,
+                    ValidationUtils::isValidTarjetaSanitaria),
+            new Validador("colegiado", ValidacionRegexReferencia::isValidNumeroColegiado,
+                    ValidationUtils::isValidNumeroColegiado),
+            new Validador("REGCESS", ValidacionRegexReferencia::isValidCodigoREGCESS, ValidationUtils::isValidCodigoREGCESS),
+            new Validador("email", ValidacionRegexReferencia::isValidEmail, ValidationUtils::isValidEmail),
+            new Validador("teléfono", ValidacionRegexReferencia::isValidTelefono, ValidationUtils::isValidTelefono),
+            new Validador("NSS", ValidacionRegexReferencia::isValidNumeroSeguridadSocial,
+                    ValidationUtils::isValidNumeroSeguridadSocial),
+            new Validador("email corporativo", ValidacionRegexReferencia::isValidEmailCorporativo,
+                    ValidationUtils::isValidEmailCorporativo)
+    );
+
+    @Test
+    void coincidenConNulo() {
+        comprobar(null);
+    }
+
+    @Test
+    void coincidenEnTodosLosCaracteresSueltos() {
+        for (int c = Character.MIN_VALUE; c <= Character.MAX_VALUE; c++) {
+            comprobar(String.valueOf((char) c));
+        }
+    }
+
+    @Test
+    void coincidenEnLasCadenasCortasDelAlfabetoDeBordes() {
+        int n = ALFABETO_BORDES.length();
+        char[] dos = new char[2];
+        char[] tres = new char[3];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                dos[0] = ALFABETO_BORDES.charAt(i);
+                dos[1] = ALFABETO_BORDES.charAt(j);
+                comprobar(new String(dos));
+                for (int k = 0; k < n; k++) {
+                    tres[0] = dos[0];
+                    tres[1] = dos[1];
+                    tres[2] = ALFABETO_BORDES.charAt(k);
+                    comprobar(new String(tres));
+                }
+            }
+        }
+    }
+
+    @Test
+    void coincidenEnVariacionesDeDocumentosValidos() {
+        Random random = new Random(20240611L);
+        int aceptadas = 0;
+        for (int i = 0; i < 200_000; i++) {
+            String entrada = mutar(random, documentoValido(random));
+            comprobar(entrada);
+            if (ValidationUtils.isValidDNIorNIE(entrada) || ValidationUtils.isValidCIF(entrada)
+                    || ValidationUtils.isValidNumeroSeguridadSocial(entrada) || ValidationUtils.isValidEmail(entrada)) {
+                aceptadas++;
+            }
+        }
+        // El corpus debe ejercitar también la rama de aceptación, no solo los rechazos
+        assertThat(aceptadas).isGreaterThan(10_000);
+    }
+
+    private static void comprobar(String entrada) {
+        for (Validador validador : VALIDADORES) {
+            boolean esperado = validador.referencia().test(entrada);
+            assertThat(validador.actual().test(entrada))
+                    .as("%s con %s", validador.nombre(), describir(entrada))
+                    .isEqualTo(esperado);
+        }
+        for (String organizacion : ORGANIZACIONES) {
+            assertThat(ValidationUtils.isEmailCorporativo(entrada, organizacion))
+                    .as("email de %s con %s", organizacion, describir(entrada))
+                    .isEqualTo(ValidacionRegexReferencia.isEmailCorporativo(entrada, organizacion));
+        }
+    }
+
+    private static String documentoValido(Random random) {
+        return switch (random.nextInt(9)) {
+            case 0 -> {
+                int numero = random.nextInt(100_000_000);
+                yield String.format("%08d", numero) + "TRWAGMYFPDXBNJZSQVHLCKE".charAt(numero % 23);
+            }
+            case 1 -> {
+                int prefijo = random.nextInt(3);
+                int numero = random.nextInt(10_000_000);
+                yield "XYZ".charAt(prefijo) + String.format("%07d", numero)
+                        + "TRWAGMYFPDXBNJZSQVHLCKE".charAt((prefijo * 10_000_000 + numero) % 23);
+            }
+            case 2 -> cifValido(random);
+            case 3 -> {
+                long base = (1 + random.nextInt(52)) * 100_000_000L + random.nextInt(100_000_000);
+                String nss = String.format("%010d%02d", base, base % 97);
+                yield random.nextBoolean() ? nss
+                        : nss.substring(0, 2) + "/" + nss.substring(2, 10) + "/" + nss.substring(10);
+            }
+            case 4 -> List.of("ana.garcia", "j.perez+alma", "dr_lopez", "maria-jose").get(random.nextInt(4)) + "@"
+                    + List.of("hospitalnorte.es", "gmail.com", "clinica-sur.com", "a.b.co").get(random.nextInt(4));
+            case 5 -> List.of("", "+34", "0034").get(random.nextInt(3)) + "6789".charAt(random.nextInt(4))
+                    + String.format("%08d", random.nextInt(100_000_000));
+            case 6 -> "28/" + random.nextInt(1_000_000);
+            case 7 -> "ES-" + String.format("%010d", random.nextLong(10_000_000_000L));
+            default -> "BBBB" + String.format("%012d", random.nextLong(1_000_000_000_000L));
+        };
+    }
+
+    private static String cifValido(Random random) {
+        String centrales = String.format("%07d", random.nextInt(10_000_000));
+        int suma = 0;
+        for (int i = 0; i < 7; i++) {
+            int digito = centrales.charAt(i) - '0';
+            suma += i % 2 == 0 ? digito * 2 / 10 + digito * 2 % 10 : digito;
+        }
+        int control = (10 - suma % 10) % 10;
+        char tipo = "ABCDEFGHJNPQRSUVW".charAt(random.nextInt(17));
+        return "" + tipo + centrales + (random.nextBoolean() ? "JABCDEFGHI".charAt(control) : (char) ('0' + control));
+    }
+
+    /**
+     * Sin cambios en una de cada cuatro entradas; en el resto, de una a tres sustituciones, inserciones,
+     * borrados o cambios de mayúsculas.
+     */
+    private static String mutar(Random random, String valor) {
+        StringBuilder entrada = new StringBuilder(valor);
+        int cambios = random.nextInt(4);
+        for (int i = 0; i < cambios; i++) {
+            int posicion = entrada.isEmpty() ? 0 : random.nextInt(entrada.length());
+            char nuevo = ALFABETO_BORDES.charAt(random.nextInt(ALFABETO_BORDES.length()));
+            switch (random.nextInt(4)) {
+                case 0 -> {
+                    if (!entrada.isEmpty()) {
+                        entrada.setCharAt(posicion, nuevo);
+                    }
+                }
+                case 1 -> entrada.insert(posicion, nuevo);
+                case 2 -> {
+                    if (!entrada.isEmpty()) {
+                        entrada.deleteCharAt(posicion);
+                    }
+                }
+                default -> {
+                    if (!entrada.isEmpty()) {
+                        char c = entrada.charAt(posicion);
+                        entrada.setCharAt(posicion,
+                                Character.isUpperCase(c) ? Character.toLowerCase(c) : Character.toUpperCase(c));
+                    }
+                }
+            }
+        }
+        return entrada.toString();
+    }
+
+    private static String describir(String entrada) {
+        if (entrada == null) {
+            return "null";
+        }
+        StringBuilder descripcion = new StringBuilder("\"");
+        for (char c : entrada.toCharArray()) {
+            descripcion.append(c >= 0x20 && c < 0x7F ? String.valueOf(c) : String.format("\\u%04X", (int) c));
+        }
+        return descripcion.append('"').toString();
+    }
+
+    private record Validador(String nombre, Predicate<String> referencia, Predicate<String> actual) {
+    }
+}
@@ -0,0 +1,132 @@
+package com.alma.alma_benchmarks;
+
+import com.alma.alma_backend.entity.SentimientoDetectado;
+import com.alma.alma_backend.service.AnalizadorSentimiento;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AnalizadorSentimiento sobre el corpus etiquetado de sentimiento/corpus-etiquetado.txt.
+ *
+ * <p>Antes de medir, el corpus se usa también como control de calidad: la preparación falla si la
+ * tasa de acierto baja de {@link #ACIERTO_MINIMO} o si algún mensaje etiquetado como muy negativo
+ * (donde están las frases de riesgo) no se clasifica como negativo. Así un cambio en el léxico o en
+ * la puntuación que empeore la clasificación no pasa desapercibido al comparar rendimiento.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class AnalizadorSentimientoBenchmark {
+
+    private static final String CORPUS = "sentimiento/corpus-etiquetado.txt";
+    private static final String LEXICO = "sentimiento/lexico-es.txt";
+    private static final double ACIERTO_MINIMO = 0.85;
+    // Número de mensajes del corpus; la preparación comprueba que coincide
+    private static final int MENSAJES_CORPUS = 100;
+
+    private AnalizadorSentimiento analizador;
+    private String[] mensajes;
+    private String mensajeLargo;
+
+    @Setup
+    public void preparar() throws IOException {
+        analizador = new AnalizadorSentimiento(LEXICO);
+
+        List<String> textos = new ArrayList<>();
+        List<SentimientoDetectado> etiquetas = new ArrayList<>();
+        leerCorpus(textos, etiquetas);
+        if (textos.size() != MENSAJES_CORPUS) {
+            throw new IllegalStateException("El corpus tiene " + textos.size() + " mensajes; se esperaban " + MENSAJES_CORPUS);
+        }
+        mensajes = textos.toArray(new String[0]);
+        comprobarCalidad(etiquetas);
+
+        // Un mensaje largo (unos 4 KB), como los desahogos que se analizan en los backfills de MENSAJE_IA
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; sb.length() < 4_096; i++) {
+            sb.append(mensajes[(i * 37) % mensajes.length]).append(' ');
+        }
+        mensajeLargo = sb.toString();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MENSAJES_CORPUS)
+    public void analizarCorpus(Blackhole bh) {
+        for (String mensaje : mensajes) {
+            bh.consume(analizador.analizar(mensaje));
+        }
+    }
+
+    @Benchmark
+    public SentimientoDetectado analizarMensajeLargo() {
+        return analizador.analizar(mensajeLargo);
+    }
+
+    private void comprobarCalidad(List<SentimientoDetectado> etiquetas) {
+        int aciertos = 0;
+        Map<SentimientoDetectado, Integer> fallosPorClase = new EnumMap<>(SentimientoDetectado.class);
+        for (int i = 0; i < mensajes.length; i++) {
+            SentimientoDetectado esperado = etiquetas.get(i);
+            SentimientoDetectado obtenido = analizador.analizar(mensajes[i]);
+            if (obtenido == esperado) {
+                aciertos++;
+                continue;
+            }
+            fallosPorClase.merge(esperado, 1, Integer::sum);
+            if (esperado == SentimientoDetectado.MUY_NEGATIVO
+                    && obtenido != SentimientoDetectado.NEGATIVO) {
+                throw new IllegalStateException("Mensaje muy negativo clasificado como " + obtenido + ": " + mensajes[i]);
+            }
+        }
+
+        double acierto = (double) aciertos / mensajes.length;
+        System.out.printf("Corpus de sentimiento: %d/%d aciertos (%.1f %%), fallos por clase: %s%n",
+                aciertos, mensajes.length, acierto * 100, fallosPorClase);
+        if (acierto < ACIERTO_MINIMO) {
+            throw new IllegalStateException(String.format(
+                    "Tasa de acierto %.2f por debajo del mínimo %.2f", acierto, ACIERTO_MINIMO));
+        }
+    }
+
+    private static void leerCorpus(List<String> textos, List<SentimientoDetectado> etiquetas) throws IOException {
+        InputStream entrada = AnalizadorSentimientoBenchmark.class.getClassLoader().getResourceAsStream(CORPUS);
+        if (entrada == null) {
+            throw new IllegalStateException("No se encuentra el corpus " + CORPUS);
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8))) {
+            String linea;
+            while ((linea = reader.readLine()) != null) {
+                if (linea.isBlank() || linea.startsWith("#")) {
+                    continue;
+                }
+                int separador = linea.indexOf('|');
+                etiquetas.add(SentimientoDetectado.valueOf(linea.substring(0, separador)));
+                textos.add(linea.substring(separador + 1));
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.alma.alma_benchmarks;
+
+import com.alma.alma_backend.config.JacksonConfig;
+import com.alma.alma_backend.controller.ApiResponseAdvice;
+import com.alma.alma_backend.controller.ChatController;
+import com.alma.alma_backend.controller.PacienteController;
+import com.alma.alma_backend.dto.ApiResponse;
+import com.alma.alma_backend.dto.MensajeChatResponseDTO;
+import com.alma.alma_backend.dto.PacienteResponseDTO;
+import com.alma.alma_backend.mapper.ChatMapper;
+import com.alma.alma_backend.mapper.PacienteMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Última etapa de una respuesta REST: ApiResponseAdvice envuelve el cuerpo en ApiResponse y
+ * Jackson lo serializa, con el ObjectMapper configurado como en la aplicación (JavaTimeModule,
+ * fechas ISO y Hibernate6Module). Se incluye la serialización sin envolver como referencia.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ApiResponseAdviceBenchmark {
+
+    private static final Class<MappingJackson2HttpMessageConverter> CONVERSOR = MappingJackson2HttpMessageConverter.class;
+
+    @Param({"20", "200"})
+    private int elementos;
+
+    private ApiResponseAdvice advice;
+    private ObjectMapper objectMapper;
+    private MethodParameter metodoPacientes;
+    private MethodParameter metodoMensajes;
+    private List<PacienteResponseDTO> pacientes;
+    private List<MensajeChatResponseDTO> mensajes;
+
+    @Setup
+    public void preparar() throws Exception {
+        advice = new ApiResponseAdvice();
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .modulesToInstall(new JacksonConfig().hibernate6Module())
+                .build();
+
+        metodoPacientes = new MethodParameter(
+                PacienteController.class.getMethod("getAllPacientes", Authentication.class), -1);
+        metodoMensajes = new MethodParameter(
+                ChatController.class.getMethod("obtenerMensajes", Integer.class), -1);
+        if (!advice.supports(metodoPacientes, CONVERSOR) || !advice.supports(metodoMensajes, CONVERSOR)) {
+            throw new IllegalStateException("ApiResponseAdvice no se aplica a los controladores de referencia");
+        }
+
+        pacientes = DatosBenchmark.pacientes(elementos).stream().map(PacienteMapper::toResponse).toList();
+        mensajes = DatosBenchmark.mensajes(DatosBenchmark.sesionChat(), elementos).stream()
+                .map(ChatMapper::toResponse).toList();
+
+        if (!(envolver(pacientes, metodoPacientes, "/api/pacientes") instanceof ApiResponse<?>)) {
+            throw new IllegalStateException("ApiResponseAdvice no ha envuelto la respuesta");
+        }
+    }
+
+    @Benchmark
+    public byte[] pacientesEnvueltos() throws Exception {
+        return objectMapper.writeValueAsBytes(envolver(pacientes, metodoPacientes, "/api/pacientes"));
+    }
+
+    @Benchmark
+    public byte[] pacientesSinEnvolver() throws Exception {
+        return objectMapper.writeValueAsBytes(pacientes);
+    }
+
+    @Benchmark
+    public byte[] mensajesEnvueltos() throws Exception {
+        return objectMapper.writeValueAsBytes(envolver(mensajes, metodoMensajes, "/api/chat/sesion/42/mensajes"));
+    }
+
+    @Benchmark
+    public byte[] mensajesSinEnvolver() throws Exception {
+        return objectMapper.writeValueAsBytes(mensajes);
+    }
+
+    private Object envolver(Object cuerpo, MethodParameter metodo, String ruta) {
+        // Petición y respuesta nuevas: el advice marca la petición para no envolver dos veces
+        MockHttpServletRequest peticion = new MockHttpServletRequest("GET", ruta);
+        ServletServerHttpResponse respuesta = new ServletServerHttpResponse(new MockHttpServletResponse());
+        if (!advice.supports(metodo, CONVERSOR)) {
+            return cuerpo;
+        }
+        return advice.beforeBodyWrite(cuerpo, metodo, MediaType.APPLICATION_JSON, CONVERSOR,
+                new ServletServerHttpRequest(peticion), respuesta);
+    }
+}
@@ -0,0 +1,96 @@
+package com.alma.alma_benchmarks;
+
+import com.alma.alma_backend.entity.TipoUsuario;
+import com.alma.alma_backend.logging.AuditLogService;
+import com.alma.alma_backend.mapper.PacienteMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AuditLogService.formatArgs, que TracingAspect ejecuta en cada llamada muestreada para describir
+ * los argumentos de controladores y servicios. El método es privado y se invoca mediante un
+ * MethodHandle, cuyo coste tras la compilación JIT es despreciable frente al del propio método.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class AuditLogServiceBenchmark {
+
+    private static final MethodHandle FORMAT_ARGS;
+
+    static {
+        try {
+            FORMAT_ARGS = MethodHandles.privateLookupIn(AuditLogService.class, MethodHandles.lookup())
+                    .findVirtual(AuditLogService.class, "formatArgs", MethodType.methodType(String.class, Object[].class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private AuditLogService auditLogService;
+    private Object[] argumentosControlador;
+    private Object[] argumentosServicio;
+    private Object[] argumentosResultado;
+
+    @Setup
+    public void preparar() {
+        auditLogService = new AuditLogService();
+        UsernamePasswordAuthenticationToken autenticacion = new UsernamePasswordAuthenticationToken(
+                "usuario15@psicologia-alameda.es", null, List.of(new SimpleGrantedAuthority("ROLE_PROFESIONAL")));
+
+        // getPacienteById(Integer, Authentication)
+        argumentosControlador = new Object[]{42, autenticacion};
+        // Servicio con DTO, enumerado, cadena, colección y mapa
+        argumentosServicio = new Object[]{
+            PacienteMapper.toResponse(DatosBenchmark.paciente(42, DatosBenchmark.organizacion())),
+            TipoUsuario.PACIENTE,
+            "B12345674",
+            DatosBenchmark.pacientes(20),
+            Map.of("pagina", 0, "tamano", 50),
+            null
+        };
+        // Valores de retorno habituales descritos por logExit
+        argumentosResultado = new Object[]{
+            ResponseEntity.ok(List.of(1, 2, 3)),
+            Optional.of(17),
+            new int[64]
+        };
+    }
+
+    @Benchmark
+    public String argumentosControlador() throws Throwable {
+        return (String) FORMAT_ARGS.invokeExact(auditLogService, argumentosControlador);
+    }
+
+    @Benchmark
+    public String argumentosServicio() throws Throwable {
+        return (String) FORMAT_ARGS.invokeExact(auditLogService, argumentosServicio);
+    }
+
+    @Benchmark
+    public String argumentosResultado() throws Throwable {
+        return (String) FORMAT_ARGS.invokeExact(auditLogService, argumentosResultado);
+    }
+}
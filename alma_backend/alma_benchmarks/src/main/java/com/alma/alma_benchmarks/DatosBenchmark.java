@@ -0,0 +1,159 @@
+package com.alma.alma_benchmarks;
+
+import com.alma.alma_backend.entity.AsignacionProfesionalPaciente;
+import com.alma.alma_backend.entity.EstadoSesionChat;
+import com.alma.alma_backend.entity.Genero;
+import com.alma.alma_backend.entity.MensajeChat;
+import com.alma.alma_backend.entity.Organizacion;
+import com.alma.alma_backend.entity.Paciente;
+import com.alma.alma_backend.entity.Profesional;
+import com.alma.alma_backend.entity.SesionChat;
+import com.alma.alma_backend.entity.TipoUsuario;
+import com.alma.alma_backend.entity.Usuario;
+import com.alma.alma_backend.security.JwtUtil;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Entidades de ejemplo para los benchmarks, construidas en memoria con valores deterministas
+ * y del tamaño habitual en producción (nombres, emails y mensajes de longitud realista).
+ */
+final class DatosBenchmark {
+
+    /** Clave HS512 (al menos 64 bytes); solo para benchmarks. */
+    static final String CLAVE_JWT = "clave-de-benchmark-hs512-solo-para-medir-no-usar-en-produccion-0123456789";
+
+    private static final LocalDateTime FECHA_BASE = LocalDateTime.of(2025, 3, 14, 10, 30);
+    private static final String[] NOMBRES = {"Lucía", "Javier", "María José", "Antonio", "Carmen", "Pablo"};
+    private static final String[] APELLIDOS = {"García López", "Martínez Ruiz", "Fernández de la Torre", "Sánchez Gil"};
+    private static final String[] MENSAJES = {
+        "Hola, ¿cómo ha ido la semana?",
+        "Un poco mejor, aunque el domingo fue duro porque era su cumpleaños.",
+        "Es normal que esas fechas remuevan todo. ¿Pudiste hacer el ejercicio de la carta?",
+        "Sí, la escribí el sábado por la noche. Me ayudó bastante, lloré pero luego dormí mejor.",
+        "Me alegra mucho leerlo. El jueves lo comentamos con calma en la cita."
+    };
+
+    private DatosBenchmark() {
+    }
+
+    /**
+     * JwtUtil configurado como lo haría Spring a partir de application.properties.
+     */
+    static JwtUtil jwtUtil() {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secretKeyString", CLAVE_JWT);
+        ReflectionTestUtils.setField(jwtUtil, "jwtExpirationMs", 36_000_000L);
+        ReflectionTestUtils.setField(jwtUtil, "jwtIssuer", "alma-backend");
+        jwtUtil.init();
+        return jwtUtil;
+    }
+
+    static Organizacion organizacion() {
+        Organizacion organizacion = new Organizacion();
+        organizacion.setId(7);
+        organizacion.setCif("B12345674");
+        organizacion.setNombreOficial("Centro de Psicología Alameda");
+        organizacion.setEmailCorporativo("contacto@psicologia-alameda.es");
+        return organizacion;
+    }
+
+    static Usuario usuario(int id, TipoUsuario tipo, Organizacion organizacion) {
+        Usuario usuario = new Usuario();
+        usuario.setId(id);
+        usuario.setDni(String.format("%08d", 10_000_000 + id) + "X");
+        usuario.setEmail("usuario" + id + "@psicologia-alameda.es");
+        usuario.setPasswordHash("$2a$12$abcdefghijklmnopqrstuuJ5k0zV6wC7XyR8dQ2pL4mN9oP1sT3uW");
+        usuario.setNombre(NOMBRES[id % NOMBRES.length]);
+        usuario.setApellidos(APELLIDOS[id % APELLIDOS.length]);
+        usuario.setTelefono("6" + String.format("%08d", id));
+        usuario.setTipoUsuario(tipo);
+        usuario.setOrganizacion(organizacion);
+        usuario.setActivo(true);
+        usuario.setFechaRegistro(FECHA_BASE.minusDays(id));
+        usuario.setUltimoAcceso(FECHA_BASE.plusHours(id));
+        usuario.setPasswordTemporal(false);
+        usuario.setTokenVersion(0);
+        return usuario;
+    }
+
+    static Paciente paciente(int id, Organizacion organizacion) {
+        Paciente paciente = new Paciente();
+        paciente.setId(id);
+        paciente.setUsuario(usuario(1_000 + id, TipoUsuario.PACIENTE, organizacion));
+        paciente.setTarjetaSanitaria("BBBB" + String.format("%012d", id));
+        paciente.setFechaNacimiento(LocalDate.of(1960 + id % 40, 1 + id % 12, 1 + id % 28));
+        paciente.setGenero(Genero.values()[id % Genero.values().length]);
+        return paciente;
+    }
+
+    static Profesional profesional(int id, Organizacion organizacion) {
+        Profesional profesional = new Profesional();
+        profesional.setId(id);
+        profesional.setUsuario(usuario(2_000 + id, TipoUsuario.PROFESIONAL, organizacion));
+        profesional.setNumeroColegiado("M-" + (28_000 + id));
+        profesional.setEspecialidad("Psicología clínica");
+        profesional.setCentroSalud("Centro de Psicología Alameda");
+        return profesional;
+    }
+
+    static List<Paciente> pacientes(int cantidad) {
+        Organizacion organizacion = organizacion();
+        List<Paciente> pacientes = new ArrayList<>(cantidad);
+        for (int i = 1; i <= cantidad; i++) {
+            pacientes.add(paciente(i, organizacion));
+        }
+        return pacientes;
+    }
+
+    static List<AsignacionProfesionalPaciente> asignaciones(int cantidad) {
+        Organizacion organizacion = organizacion();
+        Profesional profesional = profesional(1, organizacion);
+        List<AsignacionProfesionalPaciente> asignaciones = new ArrayList<>(cantidad);
+        for (int i = 1; i <= cantidad; i++) {
+            AsignacionProfesionalPaciente asignacion = new AsignacionProfesionalPaciente();
+            asignacion.setIdAsignacion(i);
+            asignacion.setProfesional(profesional);
+            asignacion.setPaciente(paciente(i, organizacion));
+            asignacion.setEsPrincipal(i % 3 == 0);
+            asignacion.setActivo(true);
+            asignacion.setFechaAsignacion(FECHA_BASE.minusDays(i));
+            asignaciones.add(asignacion);
+        }
+        return asignaciones;
+    }
+
+    static SesionChat sesionChat() {
+        Organizacion organizacion = organizacion();
+        SesionChat sesion = new SesionChat();
+        sesion.setId(42);
+        sesion.setPaciente(paciente(1, organizacion));
+        sesion.setProfesional(profesional(1, organizacion));
+        sesion.setFechaCreacion(FECHA_BASE.minusMonths(2));
+        sesion.setUltimaActividad(FECHA_BASE);
+        sesion.setEstado(EstadoSesionChat.ACTIVA);
+        return sesion;
+    }
+
+    static List<MensajeChat> mensajes(SesionChat sesion, int cantidad) {
+        Usuario paciente = sesion.getPaciente().getUsuario();
+        Usuario profesional = sesion.getProfesional().getUsuario();
+        List<MensajeChat> mensajes = new ArrayList<>(cantidad);
+        for (int i = 1; i <= cantidad; i++) {
+            MensajeChat mensaje = new MensajeChat();
+            mensaje.setId(i);
+            mensaje.setSesionChat(sesion);
+            mensaje.setRemitente(i % 2 == 0 ? paciente : profesional);
+            mensaje.setMensaje(MENSAJES[i % MENSAJES.length]);
+            mensaje.setFechaEnvio(FECHA_BASE.plusMinutes(i));
+            mensaje.setLeido(i < cantidad - 3);
+            mensaje.setFechaLectura(i < cantidad - 3 ? FECHA_BASE.plusMinutes(i + 5L) : null);
+            mensajes.add(mensaje);
+        }
+        return mensajes;
+    }
+}
@@ -0,0 +1,59 @@
+package com.alma.alma_benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Properties;
+
+/**
+ * Punto de entrada de benchmarks.jar. Acepta las mismas opciones que el runner de JMH, pero por
+ * defecto guarda los resultados en JSON en resultados/jmh-&lt;version del backend&gt;-&lt;fecha&gt;.json,
+ * de modo que las ejecuciones se puedan comparar entre sí (p. ej. con jmh.morethan.io) sin que una
+ * sobrescriba a otra. El directorio no se versiona; las cifras de referencia están en el README.
+ * Si se indica -rf o -rff se aplica el comportamiento normal de JMH.
+ */
+public final class EjecutarBenchmarks {
+
+    private static final String DIRECTORIO_RESULTADOS = "resultados";
+    private static final DateTimeFormatter FECHA_FICHERO = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private EjecutarBenchmarks() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cli = new CommandLineOptions(args);
+        if (cli.shouldHelp() || cli.shouldList() || cli.shouldListWithParams()
+                || cli.shouldListProfilers() || cli.shouldListResultFormats()) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+
+        ChainedOptionsBuilder opciones = new OptionsBuilder().parent(cli);
+        if (!cli.getResultFormat().hasValue() && !cli.getResult().hasValue()) {
+            Files.createDirectories(Path.of(DIRECTORIO_RESULTADOS));
+            opciones.resultFormat(ResultFormatType.JSON);
+            String fichero = "jmh-" + versionBackend() + "-" + LocalDateTime.now().format(FECHA_FICHERO) + ".json";
+            opciones.result(Path.of(DIRECTORIO_RESULTADOS, fichero).toString());
+        }
+        new Runner(opciones.build()).run();
+    }
+
+    private static String versionBackend() throws IOException {
+        Properties propiedades = new Properties();
+        try (InputStream entrada = EjecutarBenchmarks.class.getResourceAsStream("/benchmarks.properties")) {
+            if (entrada != null) {
+                propiedades.load(entrada);
+            }
+        }
+        return propiedades.getProperty("alma.backend.version", "desconocida");
+    }
+}
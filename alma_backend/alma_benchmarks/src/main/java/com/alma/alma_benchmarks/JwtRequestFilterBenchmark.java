@@ -0,0 +1,114 @@
+package com.alma.alma_benchmarks;
+
+import com.alma.alma_backend.entity.TipoUsuario;
+import com.alma.alma_backend.entity.Usuario;
+import com.alma.alma_backend.logging.AuditLogService;
+import com.alma.alma_backend.security.JwtPrincipalCache;
+import com.alma.alma_backend.security.JwtRequestFilter;
+import com.alma.alma_backend.security.JwtTokenVersionRegistry;
+import com.alma.alma_backend.security.JwtUtil;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtRequestFilter de extremo a extremo con una cadena simulada: extracción de la cabecera,
+ * verificación de la firma, resolución del principal y escritura del contexto de seguridad.
+ * Cada modo corresponde a una configuración real del filtro:
+ * <ul>
+ *   <li>{@code claims-only}: principal construido desde los claims ({@code jwt.claims-only.enabled=true}).</li>
+ *   <li>{@code cache}: principal servido por JwtPrincipalCache (configuración por defecto).</li>
+ *   <li>{@code sin-cache}: UserDetailsService en cada petición; aquí sin base de datos, así que
+ *       mide solo el trabajo del filtro y no la consulta.</li>
+ *   <li>{@code token-invalido}: firma incorrecta; la petición sigue sin autenticar y es la
+ *       autorización posterior la que responde 401.</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class JwtRequestFilterBenchmark {
+
+    private static final FilterChain CADENA_VACIA = (request, response) -> {
+    };
+
+    @Param({"claims-only", "cache", "sin-cache", "token-invalido"})
+    private String modo;
+
+    private JwtRequestFilter filtro;
+    private String cabeceraAuthorization;
+
+    @Setup
+    public void preparar() throws Exception {
+        JwtUtil jwtUtil = DatosBenchmark.jwtUtil();
+        Usuario usuario = DatosBenchmark.usuario(15, TipoUsuario.PROFESIONAL, DatosBenchmark.organizacion());
+        UserDetails userDetails = User.withUsername(usuario.getEmail())
+                .password(usuario.getPasswordHash())
+                .roles(usuario.getTipoUsuario().name())
+                .build();
+        UserDetailsService userDetailsService = username -> userDetails;
+
+        JwtPrincipalCache principalCache = new JwtPrincipalCache();
+        ReflectionTestUtils.setField(principalCache, "enabled", !"sin-cache".equals(modo));
+        ReflectionTestUtils.setField(principalCache, "ttlMs", 300_000L);
+        ReflectionTestUtils.setField(principalCache, "maxEntries", 10_000);
+
+        // La lista de revocación solo consulta el repositorio al refrescarse, que aquí no ocurre
+        JwtTokenVersionRegistry tokenVersionRegistry = new JwtTokenVersionRegistry(null);
+
+        filtro = new JwtRequestFilter(userDetailsService, jwtUtil, new AuditLogService(),
+                principalCache, tokenVersionRegistry);
+        ReflectionTestUtils.setField(filtro, "claimsOnlyEnabled", "claims-only".equals(modo));
+
+        String token = jwtUtil.generateToken(userDetails, usuario);
+        if ("token-invalido".equals(modo)) {
+            token = token.substring(0, token.lastIndexOf('.') + 1) + "firma-invalida";
+        }
+        cabeceraAuthorization = "Bearer " + token;
+
+        // Comprobar que cada modo termina como se espera antes de medir
+        MockHttpServletResponse respuesta = filtrar();
+        boolean autenticado = SecurityContextHolder.getContext().getAuthentication() != null;
+        SecurityContextHolder.clearContext();
+        if (autenticado == "token-invalido".equals(modo) || respuesta.getStatus() != 200) {
+            throw new IllegalStateException("El filtro no se comporta como se espera en el modo " + modo);
+        }
+    }
+
+    @Benchmark
+    public MockHttpServletResponse filtrarPeticion() throws Exception {
+        MockHttpServletResponse respuesta = filtrar();
+        // En la aplicación lo hace SecurityContextHolderFilter al terminar cada petición
+        SecurityContextHolder.clearContext();
+        return respuesta;
+    }
+
+    private MockHttpServletResponse filtrar() throws Exception {
+        MockHttpServletRequest peticion = new MockHttpServletRequest("GET", "/api/pacientes");
+        peticion.addHeader("Authorization", cabeceraAuthorization);
+        MockHttpServletResponse respuesta = new MockHttpServletResponse();
+        filtro.doFilter(peticion, respuesta, CADENA_VACIA);
+        return respuesta;
+    }
+}
@@ -0,0 +1,88 @@
+package com.alma.alma_benchmarks;
+
+import com.alma.alma_backend.entity.TipoUsuario;
+import com.alma.alma_backend.entity.Usuario;
+import com.alma.alma_backend.security.JwtUtil;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste de emitir y verificar tokens con JwtUtil: firma HS512, parseo de claims y las dos
+ * variantes de validateToken (la que vuelve a parsear el token y la que reutiliza los claims).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class JwtUtilBenchmark {
+
+    private JwtUtil jwtUtil;
+    private Usuario usuario;
+    private UserDetails userDetails;
+    private String token;
+    private String tokenManipulado;
+    private Claims claims;
+
+    @Setup
+    public void preparar() {
+        jwtUtil = DatosBenchmark.jwtUtil();
+        usuario = DatosBenchmark.usuario(15, TipoUsuario.PROFESIONAL, DatosBenchmark.organizacion());
+        userDetails = User.withUsername(usuario.getEmail())
+                .password(usuario.getPasswordHash())
+                .roles(usuario.getTipoUsuario().name())
+                .build();
+        token = jwtUtil.generateToken(userDetails, usuario);
+        claims = jwtUtil.parseClaims(token);
+
+        // Misma cabecera y payload con la firma alterada: obliga a calcular el HMAC y rechazarlo
+        // (un carácter central de la firma: el último solo lleva bits de relleno en base64url)
+        char[] caracteres = token.toCharArray();
+        int posicion = token.lastIndexOf('.') + 10;
+        caracteres[posicion] = caracteres[posicion] == 'A' ? 'B' : 'A';
+        tokenManipulado = new String(caracteres);
+
+        if (claims == null || jwtUtil.parseClaims(tokenManipulado) != null) {
+            throw new IllegalStateException("El token de benchmark no se verifica como se esperaba");
+        }
+    }
+
+    @Benchmark
+    public String generarToken() {
+        return jwtUtil.generateToken(userDetails, usuario);
+    }
+
+    @Benchmark
+    public Claims parsearClaims() {
+        return jwtUtil.parseClaims(token);
+    }
+
+    @Benchmark
+    public Claims parsearTokenManipulado() {
+        return jwtUtil.parseClaims(tokenManipulado);
+    }
+
+    @Benchmark
+    public Boolean validarToken() {
+        return jwtUtil.validateToken(token, userDetails);
+    }
+
+    @Benchmark
+    public Boolean validarClaims() {
+        return jwtUtil.validateToken(claims, userDetails);
+    }
+}
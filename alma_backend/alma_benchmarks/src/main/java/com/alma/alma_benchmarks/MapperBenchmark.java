@@ -0,0 +1,77 @@
+package com.alma.alma_benchmarks;
+
+import com.alma.alma_backend.dto.AsignacionResponseDTO;
+import com.alma.alma_backend.dto.MensajeChatResponseDTO;
+import com.alma.alma_backend.dto.PacienteResponseDTO;
+import com.alma.alma_backend.dto.SesionChatResponseDTO;
+import com.alma.alma_backend.entity.AsignacionProfesionalPaciente;
+import com.alma.alma_backend.entity.MensajeChat;
+import com.alma.alma_backend.entity.Paciente;
+import com.alma.alma_backend.entity.SesionChat;
+import com.alma.alma_backend.mapper.AsignacionMapper;
+import com.alma.alma_backend.mapper.ChatMapper;
+import com.alma.alma_backend.mapper.PacienteMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversión entidad -> DTO de los mappers estáticos sobre listas del tamaño de una respuesta
+ * típica (pacientes de una organización, asignaciones de un profesional, historial de chat).
+ * Las entidades están ya cargadas: se mide el mapeo, no la carga perezosa de Hibernate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class MapperBenchmark {
+
+    @Param({"20", "200"})
+    private int elementos;
+
+    private List<Paciente> pacientes;
+    private List<AsignacionProfesionalPaciente> asignaciones;
+    private SesionChat sesion;
+    private List<MensajeChat> mensajes;
+
+    @Setup
+    public void preparar() {
+        pacientes = DatosBenchmark.pacientes(elementos);
+        asignaciones = DatosBenchmark.asignaciones(elementos);
+        sesion = DatosBenchmark.sesionChat();
+        mensajes = DatosBenchmark.mensajes(sesion, elementos);
+    }
+
+    @Benchmark
+    public List<PacienteResponseDTO> pacientes() {
+        return pacientes.stream().map(PacienteMapper::toResponse).toList();
+    }
+
+    @Benchmark
+    public List<AsignacionResponseDTO> asignaciones() {
+        return asignaciones.stream().map(AsignacionMapper::toResponse).toList();
+    }
+
+    @Benchmark
+    public List<MensajeChatResponseDTO> mensajesChat() {
+        return mensajes.stream().map(ChatMapper::toResponse).toList();
+    }
+
+    @Benchmark
+    public SesionChatResponseDTO sesionChat() {
+        return ChatMapper.toResponse(sesion, 3L);
+    }
+}
@@ -0,0 +1,269 @@
+package com.alma.alma_benchmarks;
+
+import com.alma.alma_backend.util.ValidacionRegexReferencia;
+import com.alma.alma_backend.util.ValidationUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Compara los validadores de ValidationUtils con la implementación anterior basada en regex
+ * (ValidacionRegexReferencia) sobre el mismo corpus: mezcla de documentos válidos, letras de
+ * control erróneas, minúsculas, separadores y basura, como llega en una importación CSV.
+ * Ejecutar con -prof gc para ver la asignación por operación (gc.alloc.rate.norm).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ValidationUtilsBenchmark {
+
+    private static final int TAMANO_CORPUS = 1024;
+    private static final String LETRAS_DNI = "TRWAGMYFPDXBNJZSQVHLCKE";
+
+    private String[] documentos;
+    private String[] cifs;
+    private String[] segurosSociales;
+    private String[] emails;
+    private String[] colegiados;
+    private String[] codigosRegcess;
+
+    @Setup
+    public void preparar() {
+        Random random = new Random(20240611L);
+        documentos = new String[TAMANO_CORPUS];
+        cifs = new String[TAMANO_CORPUS];
+        segurosSociales = new String[TAMANO_CORPUS];
+        emails = new String[TAMANO_CORPUS];
+        colegiados = new String[TAMANO_CORPUS];
+        codigosRegcess = new String[TAMANO_CORPUS];
+
+        for (int i = 0; i < TAMANO_CORPUS; i++) {
+            documentos[i] = documento(random);
+            cifs[i] = cif(random);
+            segurosSociales[i] = seguroSocial(random);
+            emails[i] = email(random);
+            colegiados[i] = colegiado(random);
+            codigosRegcess[i] = codigoRegcess(random);
+        }
+
+        // Un benchmark que compara implementaciones que no hacen lo mismo no mide nada
+        comprobarEquivalencia("DNI/NIE", documentos, ValidacionRegexReferencia::isValidDNIorNIE, ValidationUtils::isValidDNIorNIE);
+        comprobarEquivalencia("CIF", cifs, ValidacionRegexReferencia::isValidCIF, ValidationUtils::isValidCIF);
+        comprobarEquivalencia("NSS", segurosSociales, ValidacionRegexReferencia::isValidNumeroSeguridadSocial, ValidationUtils::isValidNumeroSeguridadSocial);
+        comprobarEquivalencia("email", emails, ValidacionRegexReferencia::isValidEmail, ValidationUtils::isValidEmail);
+        comprobarEquivalencia("colegiado", colegiados, ValidacionRegexReferencia::isValidNumeroColegiado, ValidationUtils::isValidNumeroColegiado);
+        comprobarEquivalencia("REGCESS", codigosRegcess, ValidacionRegexReferencia::isValidCodigoREGCESS, ValidationUtils::isValidCodigoREGCESS);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TAMANO_CORPUS)
+    public void dniNieRegex(Blackhole bh) {
+        for (String valor : documentos) {
+            bh.consume(ValidacionRegexReferencia.isValidDNIorNIE(valor));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TAMANO_CORPUS)
+    public void dniNie(Blackhole bh) {
+        for (String valor : documentos) {
+            bh.consume(ValidationUtils.isValidDNIorNIE(valor));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TAMANO_CORPUS)
+    public void cifRegex(Blackhole bh) {
+        for (String valor : cifs) {
+            bh.consume(ValidacionRegexReferencia.isValidCIF(valor));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TAMANO_CORPUS)
+    public void cif(Blackhole bh) {
+        for (String valor : cifs) {
+            bh.consume(ValidationUtils.isValidCIF(valor));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TAMANO_CORPUS)
+    public void seguridadSocialRegex(Blackhole bh) {
+        for (String valor : segurosSociales) {
+            bh.consume(ValidacionRegexReferencia.isValidNumeroSeguridadSocial(valor));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TAMANO_CORPUS)
+    public void seguridadSocial(Blackhole bh) {
+        for (String valor : segurosSociales) {
+            bh.consume(ValidationUtils.isValidNumeroSeguridadSocial(valor));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TAMANO_CORPUS)
+    public void emailRegex(Blackhole bh) {
+        for (String valor : emails) {
+            bh.consume(ValidacionRegexReferencia.isValidEmail(valor));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TAMANO_CORPUS)
+    public void email(Blackhole bh) {
+        for (String valor : emails) {
+            bh.consume(ValidationUtils.isValidEmail(valor));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TAMANO_CORPUS)
+    public void colegiadoRegex(Blackhole bh) {
+        for (String valor : colegiados) {
+            bh.consume(ValidacionRegexReferencia.isValidNumeroColegiado(valor));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TAMANO_CORPUS)
+    public void colegiado(Blackhole bh) {
+        for (String valor : colegiados) {
+            bh.consume(ValidationUtils.isValidNumeroColegiado(valor));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TAMANO_CORPUS)
+    public void regcessRegex(Blackhole bh) {
+        for (String valor : codigosRegcess) {
+            bh.consume(ValidacionRegexReferencia.isValidCodigoREGCESS(valor));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TAMANO_CORPUS)
+    public void regcess(Blackhole bh) {
+        for (String valor : codigosRegcess) {
+            bh.consume(ValidationUtils.isValidCodigoREGCESS(valor));
+        }
+    }
+
+    private static void comprobarEquivalencia(String nombre, String[] corpus,
+                                              Predicate<String> referencia, Predicate<String> actual) {
+        for (String valor : corpus) {
+            if (referencia.test(valor) != actual.test(valor)) {
+                throw new IllegalStateException("Las implementaciones de " + nombre + " discrepan para: " + valor);
+            }
+        }
+    }
+
+    private static String documento(Random random) {
+        int numero = random.nextInt(100_000_000);
+        String digitos = String.format("%08d", numero);
+        char letra = LETRAS_DNI.charAt(numero % 23);
+        return switch (random.nextInt(6)) {
+            case 0 -> digitos + letra;
+            case 1 -> digitos + Character.toLowerCase(letra);
+            case 2 -> digitos + LETRAS_DNI.charAt((numero + 1) % 23);
+            case 3 -> {
+                int prefijo = random.nextInt(3);
+                String resto = digitos.substring(1);
+                int valor = prefijo * 10_000_000 + Integer.parseInt(resto);
+                yield "XYZ".charAt(prefijo) + resto + LETRAS_DNI.charAt(valor % 23);
+            }
+            case 4 -> digitos.substring(0, 7) + "-" + letra;
+            default -> basura(random, 9);
+        };
+    }
+
+    private static String cif(Random random) {
+        String tipos = "ABCDEFGHJNPQRSUVW";
+        String centrales = String.format("%07d", random.nextInt(10_000_000));
+        int suma = 0;
+        for (int i = 0; i < 7; i++) {
+            int digito = centrales.charAt(i) - '0';
+            if (i % 2 == 0) {
+                int doble = digito * 2;
+                suma += doble / 10 + doble % 10;
+            } else {
+                suma += digito;
+            }
+        }
+        int control = (10 - suma % 10) % 10;
+        char tipo = tipos.charAt(random.nextInt(tipos.length()));
+        return switch (random.nextInt(4)) {
+            case 0 -> "" + tipo + centrales + "JABCDEFGHI".charAt(control);
+            case 1 -> "" + tipo + centrales + control;
+            case 2 -> "" + Character.toLowerCase(tipo) + centrales + ((control + 3) % 10);
+            default -> basura(random, 9);
+        };
+    }
+
+    private static String seguroSocial(Random random) {
+        long base = random.nextInt(53) * 100_000_000L + random.nextInt(100_000_000);
+        String numero = String.format("%010d%02d", base, base % 97);
+        return switch (random.nextInt(4)) {
+            case 0 -> numero;
+            case 1 -> numero.substring(0, 2) + "/" + numero.substring(2, 10) + "/" + numero.substring(10);
+            case 2 -> numero.substring(0, 2) + " " + numero.substring(2, 10) + " " + numero.substring(10);
+            default -> numero.substring(0, 10) + String.format("%02d", (base + 1) % 97);
+        };
+    }
+
+    private static String email(Random random) {
+        String[] usuarios = {"ana.garcia", "j.perez+alma", "soporte", "dr_lopez", "maria-jose"};
+        String[] dominios = {"hospital.es", "clinica-norte.com", "gmail.com", "sescam.jccm.es", "centro"};
+        String usuario = usuarios[random.nextInt(usuarios.length)];
+        String dominio = dominios[random.nextInt(dominios.length)];
+        return switch (random.nextInt(4)) {
+            case 0, 1 -> usuario + "@" + dominio;
+            case 2 -> usuario + "@@" + dominio;
+            default -> basura(random, 20);
+        };
+    }
+
+    private static String colegiado(Random random) {
+        String numero = String.valueOf(random.nextInt(1_000_000_000));
+        return switch (random.nextInt(3)) {
+            case 0 -> numero;
+            case 1 -> "28/" + numero;
+            default -> basura(random, 12);
+        };
+    }
+
+    private static String codigoRegcess(Random random) {
+        return switch (random.nextInt(3)) {
+            case 0 -> "E" + String.format("%08d", random.nextInt(100_000_000));
+            case 1 -> "c-" + random.nextInt(1_000_000) + "-x";
+            default -> basura(random, 16);
+        };
+    }
+
+    private static String basura(Random random, int longitud) {
+        String alfabeto = "0123456789ABCXYZabcxyz .-/@";
+        StringBuilder sb = new StringBuilder(longitud);
+        for (int i = 0; i < longitud; i++) {
+            sb.append(alfabeto.charAt(random.nextInt(alfabeto.length())));
+        }
+        return sb.toString();
+    }
+}
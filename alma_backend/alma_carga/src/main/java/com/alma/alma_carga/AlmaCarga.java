@@ -0,0 +1,52 @@
+package com.alma.alma_carga;
+
+/**
+ * Punto de entrada de alma-carga.jar. El primer argumento elige la herramienta y el resto se
+ * pasa como opciones {@code --clave valor}:
+ * <ul>
+ *   <li>{@code generar}: llena una base de datos vacía con datos sintéticos mediante COPY ({@link GeneradorDatos}).</li>
+ *   <li>{@code driver}: lanza una mezcla ponderada de peticiones REST contra el backend ({@link DriverCarga}).</li>
+ *   <li>{@code persistencia}: compara estrategias de inserción y de marcado de leídos por JDBC ({@link PruebaPersistencia}).</li>
+ * </ul>
+ */
+public final class AlmaCarga {
+
+    private AlmaCarga() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            uso();
+            System.exit(1);
+        }
+        Argumentos argumentos = new Argumentos(args, 1);
+        switch (args[0]) {
+            case "generar" -> new GeneradorDatos(argumentos).ejecutar();
+            case "driver" -> new DriverCarga(argumentos).ejecutar();
+            case "persistencia" -> new PruebaPersistencia(argumentos).ejecutar();
+            default -> {
+                uso();
+                System.exit(1);
+            }
+        }
+    }
+
+    private static void uso() {
+        System.err.println("""
+                Uso: java -jar alma-carga.jar <generar|driver|persistencia> [--opcion valor ...]
+
+                Conexión (las tres herramientas): --jdbc-url, --jdbc-usuario, --jdbc-password
+                  (por defecto DB_URL, DB_USERNAME y DB_PASSWORD)
+
+                generar       --organizaciones 20 --pacientes 50000 --pacientes-por-profesional 25
+                              --mensajes-chat 5000000 --mensajes-ia 1000000 --citas-por-paciente 4
+                              --metas-por-paciente 10 --foros 12 --mensajes-foro 200000
+                              --semilla 42 --password-usuarios <clave> [--migrar ../../bd]
+                driver        --url-base http://localhost:8080 --hilos 32 --duracion 120
+                              --calentamiento 30 --usuarios-por-rol 100 --pausa-ms 0
+                              --password-usuarios <clave> [--mezcla fichero] --semilla 42
+                persistencia  --filas 100000 --lote 50 --sesiones 200 --no-leidos-por-sesion 100
+                              --repeticiones 5
+                """);
+    }
+}
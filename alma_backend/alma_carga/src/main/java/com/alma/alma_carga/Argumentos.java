@@ -0,0 +1,68 @@
+package com.alma.alma_carga;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Argumentos de línea de comandos en formato {@code --clave valor} (o {@code --clave} para opciones
+ * booleanas). Los valores de conexión pueden venir también de las variables de entorno del backend
+ * (DB_URL, DB_USERNAME, DB_PASSWORD), de modo que basta con reutilizar el mismo .env.
+ */
+final class Argumentos {
+
+    private final Map<String, String> valores = new HashMap<>();
+
+    Argumentos(String[] args, int desde) {
+        for (int i = desde; i < args.length; i++) {
+            String arg = args[i];
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Argumento no reconocido: " + arg);
+            }
+            String clave = arg.substring(2);
+            if (i + 1 < args.length && !args[i + 1].startsWith("--")) {
+                valores.put(clave, args[++i]);
+            } else {
+                valores.put(clave, "true");
+            }
+        }
+    }
+
+    String texto(String clave, String porDefecto) {
+        return valores.getOrDefault(clave, porDefecto);
+    }
+
+    String texto(String clave, String variableEntorno, String porDefecto) {
+        String valor = valores.get(clave);
+        if (valor != null) {
+            return valor;
+        }
+        String entorno = System.getenv(variableEntorno);
+        return entorno != null && !entorno.isBlank() ? entorno : porDefecto;
+    }
+
+    int entero(String clave, int porDefecto) {
+        String valor = valores.get(clave);
+        return valor != null ? Integer.parseInt(valor.replace("_", "")) : porDefecto;
+    }
+
+    long largo(String clave, long porDefecto) {
+        String valor = valores.get(clave);
+        return valor != null ? Long.parseLong(valor.replace("_", "")) : porDefecto;
+    }
+
+    boolean opcion(String clave) {
+        return Boolean.parseBoolean(valores.getOrDefault(clave, "false"));
+    }
+
+    String jdbcUrl() {
+        return texto("jdbc-url", "DB_URL", "jdbc:postgresql://localhost:5432/alma_carga");
+    }
+
+    String jdbcUsuario() {
+        return texto("jdbc-usuario", "DB_USERNAME", "postgres");
+    }
+
+    String jdbcPassword() {
+        return texto("jdbc-password", "DB_PASSWORD", "");
+    }
+}
@@ -0,0 +1,506 @@
+package com.alma.alma_carga;
+
+import com.alma.alma_backend.logging.LatencyHistogram;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Driver de carga en bucle cerrado contra el backend en marcha. Cada hilo elige una operación de
+ * la mezcla según su peso, toma un usuario del rol correspondiente (muestreados de la base de datos
+ * y autenticados al empezar), envía la petición y registra su latencia en el histograma del
+ * endpoint. Tras el calentamiento se mide durante el tiempo indicado y se informa, por endpoint,
+ * de peticiones, errores, throughput y percentiles; el informe se guarda también en JSON en
+ * resultados/carga-&lt;fecha&gt;.json.
+ */
+final class DriverCarga {
+
+    private static final String MEZCLA_POR_DEFECTO = "carga/mezcla-por-defecto.txt";
+    private static final String DIRECTORIO_RESULTADOS = "resultados";
+    private static final Pattern VARIABLE = Pattern.compile("\\{(\\w+)}");
+    private static final DateTimeFormatter FECHA_FICHERO = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+    private static final String[] ETIQUETAS_PERCENTIL = {"p50", "p90", "p99", "p99_9"};
+    private static final String[] TEXTOS_CHAT = new String[64];
+
+    static {
+        SplittableRandom aleatorio = new SplittableRandom(7);
+        JsonStringEncoder codificador = JsonStringEncoder.getInstance();
+        for (int i = 0; i < TEXTOS_CHAT.length; i++) {
+            TEXTOS_CHAT[i] = new String(codificador.quoteAsString(TextosSinteticos.mensajeChat(aleatorio)));
+        }
+    }
+
+    private enum Rol { PACIENTE, PROFESIONAL, ADMIN_ORGANIZACION }
+
+    private record Operacion(String nombre, int peso, Rol rol, String metodo, String ruta, String cuerpo) {
+    }
+
+    private record UsuarioCarga(String email, Map<String, String> variables, String token) {
+    }
+
+    /** Contadores de un endpoint; el histograma y los contadores admiten escrituras concurrentes. */
+    private static final class Resultado {
+        final LatencyHistogram latencias = new LatencyHistogram();
+        final LongAdder peticiones = new LongAdder();
+        final LongAdder errores = new LongAdder();
+        final LongAdder omitidas = new LongAdder();
+        final Map<String, LongAdder> codigos = new ConcurrentHashMap<>();
+
+        void registrar(long micros, String codigo, boolean error) {
+            latencias.record(micros);
+            peticiones.increment();
+            if (error) {
+                errores.increment();
+            }
+            codigos.computeIfAbsent(codigo, c -> new LongAdder()).increment();
+        }
+    }
+
+    private final Argumentos argumentos;
+    private final String urlBase;
+    private final int hilos;
+    private final int duracionSegundos;
+    private final int calentamientoSegundos;
+    private final int usuariosPorRol;
+    private final long pausaMs;
+    private final long semilla;
+    private final String passwordUsuarios;
+    private final Duration timeout;
+    private final HttpClient cliente;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private List<Operacion> operaciones;
+    private int[] pesoAcumulado;
+    private final Map<Rol, List<UsuarioCarga>> usuarios = new EnumMap<>(Rol.class);
+    private List<String> foros = List.of();
+
+    DriverCarga(Argumentos argumentos) {
+        this.argumentos = argumentos;
+        this.urlBase = argumentos.texto("url-base", "http://localhost:8080").replaceAll("/+$", "");
+        this.hilos = argumentos.entero("hilos", 32);
+        this.duracionSegundos = argumentos.entero("duracion", 120);
+        this.calentamientoSegundos = argumentos.entero("calentamiento", 30);
+        this.usuariosPorRol = argumentos.entero("usuarios-por-rol", 100);
+        this.pausaMs = argumentos.largo("pausa-ms", 0);
+        this.semilla = argumentos.largo("semilla", 42L);
+        this.passwordUsuarios = argumentos.texto("password-usuarios", "CargaAlma2025!");
+        this.timeout = Duration.ofSeconds(argumentos.entero("timeout", 30));
+        this.cliente = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    void ejecutar() throws Exception {
+        cargarMezcla();
+        muestrearUsuarios();
+        ExecutorService ejecutor = Executors.newFixedThreadPool(hilos);
+        try {
+            autenticar(ejecutor);
+            descartarOperacionesSinUsuarios();
+
+            Map<Operacion, Resultado> resultados = new LinkedHashMap<>();
+            operaciones.forEach(operacion -> resultados.put(operacion, new Resultado()));
+            Resultado total = new Resultado();
+
+            long inicio = System.nanoTime();
+            long inicioMedicion = inicio + calentamientoSegundos * 1_000_000_000L;
+            long fin = inicioMedicion + duracionSegundos * 1_000_000_000L;
+            System.out.printf("Calentamiento de %d s y medición de %d s con %d hilos contra %s%n",
+                    calentamientoSegundos, duracionSegundos, hilos, urlBase);
+
+            List<Future<?>> trabajadores = new ArrayList<>();
+            for (int h = 0; h < hilos; h++) {
+                SplittableRandom aleatorio = new SplittableRandom(semilla + h);
+                trabajadores.add(ejecutor.submit(() -> trabajar(aleatorio, resultados, total, inicioMedicion, fin)));
+            }
+            for (Future<?> trabajador : trabajadores) {
+                trabajador.get();
+            }
+
+            informar(resultados, total);
+        } finally {
+            ejecutor.shutdownNow();
+        }
+    }
+
+    private void trabajar(SplittableRandom aleatorio, Map<Operacion, Resultado> resultados, Resultado total,
+                          long inicioMedicion, long fin) {
+        while (System.nanoTime() < fin) {
+            Operacion operacion = elegirOperacion(aleatorio);
+            List<UsuarioCarga> candidatos = usuarios.get(operacion.rol());
+            UsuarioCarga usuario = candidatos.get(aleatorio.nextInt(candidatos.size()));
+            Resultado resultado = resultados.get(operacion);
+
+            String ruta = sustituir(operacion.ruta(), usuario, aleatorio);
+            String cuerpo = operacion.cuerpo() == null ? null : sustituir(operacion.cuerpo(), usuario, aleatorio);
+            if (ruta == null || (operacion.cuerpo() != null && cuerpo == null)) {
+                if (System.nanoTime() >= inicioMedicion) {
+                    resultado.omitidas.increment();
+                }
+                continue;
+            }
+
+            HttpRequest.Builder peticion = HttpRequest.newBuilder(URI.create(urlBase + ruta))
+                    .timeout(timeout)
+                    .header("Authorization", "Bearer " + usuario.token());
+            if (cuerpo != null) {
+                peticion.header("Content-Type", "application/json")
+                        .method(operacion.metodo(), HttpRequest.BodyPublishers.ofString(cuerpo));
+            } else {
+                peticion.method(operacion.metodo(), HttpRequest.BodyPublishers.noBody());
+            }
+
+            long envio = System.nanoTime();
+            String codigo;
+            boolean error;
+            try {
+                HttpResponse<Void> respuesta = cliente.send(peticion.build(), HttpResponse.BodyHandlers.discarding());
+                codigo = Integer.toString(respuesta.statusCode());
+                error = respuesta.statusCode() >= 400;
+            } catch (IOException e) {
+                codigo = e.getClass().getSimpleName();
+                error = true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            // Las peticiones lanzadas durante el calentamiento no cuentan
+            if (envio >= inicioMedicion) {
+                long micros = (System.nanoTime() - envio) / 1_000;
+                resultado.registrar(micros, codigo, error);
+                total.registrar(micros, codigo, error);
+            }
+
+            if (pausaMs > 0) {
+                try {
+                    Thread.sleep(pausaMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private Operacion elegirOperacion(SplittableRandom aleatorio) {
+        int valor = aleatorio.nextInt(pesoAcumulado[pesoAcumulado.length - 1]);
+        int posicion = Arrays.binarySearch(pesoAcumulado, valor + 1);
+        return operaciones.get(posicion >= 0 ? posicion : -posicion - 1);
+    }
+
+    /** Sustituye las variables de la plantilla; devuelve null si el usuario no tiene alguna. */
+    private String sustituir(String plantilla, UsuarioCarga usuario, SplittableRandom aleatorio) {
+        Matcher matcher = VARIABLE.matcher(plantilla);
+        StringBuilder sb = new StringBuilder(plantilla.length() + 32);
+        while (matcher.find()) {
+            String nombre = matcher.group(1);
+            String valor = switch (nombre) {
+                case "idForo" -> foros.isEmpty() ? null : foros.get(aleatorio.nextInt(foros.size()));
+                case "hace24h" -> LocalDateTime.now().minusHours(24).truncatedTo(ChronoUnit.SECONDS).toString();
+                case "texto" -> TEXTOS_CHAT[aleatorio.nextInt(TEXTOS_CHAT.length)];
+                default -> usuario.variables().get(nombre);
+            };
+            if (valor == null) {
+                return null;
+            }
+            matcher.appendReplacement(sb, Matcher.quoteReplacement(valor));
+        }
+        matcher.appendTail(sb);
+        return sb.toString();
+    }
+
+    // --- Preparación ---
+
+    private void cargarMezcla() throws IOException {
+        String fichero = argumentos.texto("mezcla", null);
+        List<String> lineas;
+        if (fichero != null) {
+            lineas = Files.readAllLines(Path.of(fichero), StandardCharsets.UTF_8);
+        } else {
+            InputStream entrada = DriverCarga.class.getClassLoader().getResourceAsStream(MEZCLA_POR_DEFECTO);
+            if (entrada == null) {
+                throw new IllegalStateException("No se encuentra la mezcla " + MEZCLA_POR_DEFECTO);
+            }
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8))) {
+                lineas = reader.lines().toList();
+            }
+        }
+
+        operaciones = new ArrayList<>();
+        for (String linea : lineas) {
+            if (linea.isBlank() || linea.startsWith("#")) {
+                continue;
+            }
+            String[] partes = linea.split("\\|", 5);
+            if (partes.length < 4) {
+                throw new IllegalArgumentException("Línea de mezcla no válida: " + linea);
+            }
+            int peso = Integer.parseInt(partes[0].trim());
+            if (peso <= 0) {
+                continue;
+            }
+            String cuerpo = partes.length == 5 && !partes[4].isBlank() ? partes[4].trim() : null;
+            String metodo = partes[2].trim();
+            String ruta = partes[3].trim();
+            operaciones.add(new Operacion(metodo + " " + ruta, peso, Rol.valueOf(partes[1].trim()), metodo, ruta, cuerpo));
+        }
+        recalcularPesos();
+    }
+
+    private void recalcularPesos() {
+        if (operaciones.isEmpty()) {
+            throw new IllegalStateException("La mezcla no tiene operaciones ejecutables");
+        }
+        pesoAcumulado = new int[operaciones.size()];
+        int acumulado = 0;
+        for (int i = 0; i < operaciones.size(); i++) {
+            acumulado += operaciones.get(i).peso();
+            pesoAcumulado[i] = acumulado;
+        }
+    }
+
+    /**
+     * Muestra determinista (por semilla) de usuarios activos de cada rol, con los identificadores
+     * que necesitan las rutas de la mezcla.
+     */
+    private void muestrearUsuarios() throws SQLException {
+        try (Connection conexion = DriverManager.getConnection(
+                argumentos.jdbcUrl(), argumentos.jdbcUsuario(), argumentos.jdbcPassword())) {
+            usuarios.put(Rol.PACIENTE, muestrear(conexion, """
+                    SELECT u.EMAIL, u.ID_USUARIO AS "idUsuario", u.ID_ORGANIZACION AS "idOrganizacion",
+                           p.ID_PACIENTE AS "idPaciente",
+                           (SELECT MIN(sc.ID_SESION_CHAT) FROM SESION_CHAT sc WHERE sc.ID_PACIENTE = p.ID_PACIENTE) AS "idSesionChat",
+                           (SELECT MAX(si.ID_SESION) FROM SESION_INTERACCION si WHERE si.ID_PACIENTE = p.ID_PACIENTE) AS "idSesionIA"
+                    FROM PACIENTE p
+                    JOIN USUARIO u ON u.ID_USUARIO = p.ID_USUARIO
+                    WHERE u.ACTIVO
+                    ORDER BY md5(p.ID_PACIENTE || ':' || ?)
+                    LIMIT ?
+                    """));
+            usuarios.put(Rol.PROFESIONAL, muestrear(conexion, """
+                    SELECT u.EMAIL, u.ID_USUARIO AS "idUsuario", u.ID_ORGANIZACION AS "idOrganizacion",
+                           pr.ID_PROFESIONAL AS "idProfesional",
+                           (SELECT MIN(sc.ID_SESION_CHAT) FROM SESION_CHAT sc WHERE sc.ID_PROFESIONAL = pr.ID_PROFESIONAL) AS "idSesionChat"
+                    FROM PROFESIONAL pr
+                    JOIN USUARIO u ON u.ID_USUARIO = pr.ID_USUARIO
+                    WHERE u.ACTIVO
+                    ORDER BY md5(pr.ID_PROFESIONAL || ':' || ?)
+                    LIMIT ?
+                    """));
+            usuarios.put(Rol.ADMIN_ORGANIZACION, muestrear(conexion, """
+                    SELECT u.EMAIL, u.ID_USUARIO AS "idUsuario", a.ID_ORGANIZACION AS "idOrganizacion"
+                    FROM ADMIN_ORGANIZACION a
+                    JOIN USUARIO u ON u.ID_USUARIO = a.ID_USUARIO
+                    WHERE u.ACTIVO
+                    ORDER BY md5(a.ID_ADMIN || ':' || ?)
+                    LIMIT ?
+                    """));
+
+            List<String> idsForo = new ArrayList<>();
+            try (PreparedStatement ps = conexion.prepareStatement("SELECT ID_FORO FROM FORO WHERE ACTIVO ORDER BY ID_FORO");
+                 ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    idsForo.add(rs.getString(1));
+                }
+            }
+            foros = idsForo;
+        }
+        usuarios.forEach((rol, lista) -> System.out.printf("Usuarios de muestra %-20s %d%n", rol, lista.size()));
+    }
+
+    private List<UsuarioCarga> muestrear(Connection conexion, String consulta) throws SQLException {
+        List<UsuarioCarga> muestra = new ArrayList<>();
+        try (PreparedStatement ps = conexion.prepareStatement(consulta)) {
+            ps.setString(1, Long.toString(semilla));
+            ps.setInt(2, usuariosPorRol);
+            try (ResultSet rs = ps.executeQuery()) {
+                int columnas = rs.getMetaData().getColumnCount();
+                while (rs.next()) {
+                    Map<String, String> variables = new HashMap<>();
+                    for (int c = 2; c <= columnas; c++) {
+                        String valor = rs.getString(c);
+                        if (valor != null) {
+                            variables.put(rs.getMetaData().getColumnLabel(c), valor);
+                        }
+                    }
+                    muestra.add(new UsuarioCarga(rs.getString(1), variables, null));
+                }
+            }
+        }
+        return muestra;
+    }
+
+    /** Inicia sesión con todos los usuarios de la muestra en paralelo; se descartan los que fallen. */
+    private void autenticar(ExecutorService ejecutor) throws Exception {
+        long inicio = System.nanoTime();
+        for (Map.Entry<Rol, List<UsuarioCarga>> entrada : usuarios.entrySet()) {
+            List<Future<UsuarioCarga>> sesiones = new ArrayList<>();
+            for (UsuarioCarga usuario : entrada.getValue()) {
+                sesiones.add(ejecutor.submit(() -> iniciarSesion(usuario)));
+            }
+            List<UsuarioCarga> autenticados = new ArrayList<>();
+            for (Future<UsuarioCarga> sesion : sesiones) {
+                UsuarioCarga usuario = sesion.get();
+                if (usuario != null) {
+                    autenticados.add(usuario);
+                }
+            }
+            entrada.setValue(Collections.unmodifiableList(autenticados));
+        }
+        System.out.printf("Autenticación de la muestra en %.1f s%n", (System.nanoTime() - inicio) / 1e9);
+    }
+
+    private UsuarioCarga iniciarSesion(UsuarioCarga usuario) throws InterruptedException {
+        String cuerpo = objectMapper.createObjectNode()
+                .put("email", usuario.email())
+                .put("password", passwordUsuarios)
+                .toString();
+        HttpRequest peticion = HttpRequest.newBuilder(URI.create(urlBase + "/api/auth/login"))
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(cuerpo))
+                .build();
+        try {
+            HttpResponse<String> respuesta = cliente.send(peticion, HttpResponse.BodyHandlers.ofString());
+            if (respuesta.statusCode() != 200) {
+                System.err.printf("Login fallido para %s: HTTP %d%n", usuario.email(), respuesta.statusCode());
+                return null;
+            }
+            JsonNode raiz = objectMapper.readTree(respuesta.body());
+            JsonNode token = raiz.has("data") ? raiz.path("data").path("access_token") : raiz.path("access_token");
+            if (!token.isTextual()) {
+                System.err.printf("Login sin token para %s%n", usuario.email());
+                return null;
+            }
+            return new UsuarioCarga(usuario.email(), usuario.variables(), token.asText());
+        } catch (IOException e) {
+            System.err.printf("Login fallido para %s: %s%n", usuario.email(), e.getMessage());
+            return null;
+        }
+    }
+
+    private void descartarOperacionesSinUsuarios() {
+        List<Operacion> ejecutables = new ArrayList<>();
+        for (Operacion operacion : operaciones) {
+            if (usuarios.getOrDefault(operacion.rol(), List.of()).isEmpty()) {
+                System.err.printf("Sin usuarios %s autenticados: se descarta %s%n", operacion.rol(), operacion.nombre());
+            } else {
+                ejecutables.add(operacion);
+            }
+        }
+        operaciones = ejecutables;
+        recalcularPesos();
+    }
+
+    // --- Informe ---
+
+    private void informar(Map<Operacion, Resultado> resultados, Resultado total) throws IOException {
+        System.out.println();
+        System.out.printf("%-70s %10s %8s %9s %9s %9s %9s %9s%n",
+                "Endpoint", "Peticiones", "Errores", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms");
+        List<Map<String, Object>> endpoints = new ArrayList<>();
+        for (Map.Entry<Operacion, Resultado> entrada : resultados.entrySet()) {
+            Operacion operacion = entrada.getKey();
+            Map<String, Object> fila = resumir(operacion.nombre(), entrada.getValue());
+            fila.put("rol", operacion.rol().name());
+            fila.put("peso", operacion.peso());
+            endpoints.add(fila);
+        }
+        Map<String, Object> resumenTotal = resumir("TOTAL", total);
+
+        Map<String, Object> parametros = new LinkedHashMap<>();
+        parametros.put("urlBase", urlBase);
+        parametros.put("hilos", hilos);
+        parametros.put("duracionSegundos", duracionSegundos);
+        parametros.put("calentamientoSegundos", calentamientoSegundos);
+        parametros.put("usuariosPorRol", usuariosPorRol);
+        parametros.put("pausaMs", pausaMs);
+        parametros.put("semilla", semilla);
+        Map<String, Object> usuariosAutenticados = new LinkedHashMap<>();
+        usuarios.forEach((rol, lista) -> usuariosAutenticados.put(rol.name(), lista.size()));
+        parametros.put("usuariosAutenticados", usuariosAutenticados);
+
+        Map<String, Object> informe = new LinkedHashMap<>();
+        informe.put("fecha", LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS).toString());
+        informe.put("parametros", parametros);
+        informe.put("total", resumenTotal);
+        informe.put("endpoints", endpoints);
+
+        Files.createDirectories(Path.of(DIRECTORIO_RESULTADOS));
+        Path salida = Path.of(DIRECTORIO_RESULTADOS, "carga-" + LocalDateTime.now().format(FECHA_FICHERO) + ".json");
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(salida.toFile(), informe);
+        System.out.println();
+        System.out.println("Resultados guardados en " + salida);
+    }
+
+    private Map<String, Object> resumir(String nombre, Resultado resultado) {
+        long peticiones = resultado.peticiones.sum();
+        long errores = resultado.errores.sum();
+        double rps = peticiones / (double) duracionSegundos;
+
+        Map<String, Object> fila = new LinkedHashMap<>();
+        fila.put("endpoint", nombre);
+        fila.put("peticiones", peticiones);
+        fila.put("errores", errores);
+        fila.put("omitidas", resultado.omitidas.sum());
+        fila.put("peticionesPorSegundo", Math.round(rps * 10) / 10.0);
+        Map<String, Object> latencias = new LinkedHashMap<>();
+        double[] milisegundos = new double[PERCENTILES.length];
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            milisegundos[i] = resultado.latencias.percentile(PERCENTILES[i]) / 1000.0;
+            latencias.put(ETIQUETAS_PERCENTIL[i], milisegundos[i]);
+        }
+        fila.put("latenciaMs", latencias);
+        Map<String, Long> codigos = new TreeMap<>();
+        resultado.codigos.forEach((codigo, contador) -> codigos.put(codigo, contador.sum()));
+        fila.put("codigos", codigos);
+
+        System.out.printf("%-70s %,10d %,8d %9.1f %9.2f %9.2f %9.2f %9.2f%n", abreviar(nombre),
+                peticiones, errores, rps, milisegundos[0], milisegundos[1], milisegundos[2], milisegundos[3]);
+        return fila;
+    }
+
+    private static String abreviar(String texto) {
+        return texto.length() <= 70 ? texto : texto.substring(0, 67) + "...";
+    }
+}
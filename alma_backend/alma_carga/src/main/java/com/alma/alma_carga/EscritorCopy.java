@@ -0,0 +1,126 @@
+package com.alma.alma_carga;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Escritura de filas con COPY ... FROM STDIN en formato de texto de PostgreSQL.
+ * Las filas se acumulan en un búfer y se envían en bloques de {@value #TAMANO_BLOQUE} bytes, sin
+ * materializar la tabla completa en memoria. Uso: {@code campo(...)} por columna, {@code fin()} por fila
+ * y {@code cerrar()} al terminar, que devuelve el número de filas cargadas.
+ */
+final class EscritorCopy implements AutoCloseable {
+
+    private static final int TAMANO_BLOQUE = 1 << 16;
+
+    private final CopyIn copyIn;
+    private final StringBuilder fila = new StringBuilder(256);
+    private final StringBuilder bloque = new StringBuilder(TAMANO_BLOQUE + 1024);
+    private boolean primerCampo = true;
+    private long filas;
+    private boolean cerrado;
+
+    EscritorCopy(Connection conexion, String tabla, String columnas) throws SQLException {
+        this.copyIn = conexion.unwrap(PGConnection.class).getCopyAPI()
+                .copyIn("COPY " + tabla + " (" + columnas + ") FROM STDIN");
+    }
+
+    EscritorCopy campo(long valor) {
+        separador();
+        fila.append(valor);
+        return this;
+    }
+
+    EscritorCopy campo(boolean valor) {
+        separador();
+        fila.append(valor ? 't' : 'f');
+        return this;
+    }
+
+    EscritorCopy campo(LocalDateTime valor) {
+        return valor == null ? nulo() : texto(valor.toString().replace('T', ' '));
+    }
+
+    EscritorCopy campo(LocalDate valor) {
+        return valor == null ? nulo() : texto(valor.toString());
+    }
+
+    EscritorCopy campo(String valor) {
+        if (valor == null) {
+            return nulo();
+        }
+        separador();
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            switch (c) {
+                case '\\' -> fila.append("\\\\");
+                case '\t' -> fila.append("\\t");
+                case '\n' -> fila.append("\\n");
+                case '\r' -> fila.append("\\r");
+                default -> fila.append(c);
+            }
+        }
+        return this;
+    }
+
+    EscritorCopy nulo() {
+        separador();
+        fila.append("\\N");
+        return this;
+    }
+
+    void fin() throws SQLException {
+        bloque.append(fila).append('\n');
+        fila.setLength(0);
+        primerCampo = true;
+        filas++;
+        if (bloque.length() >= TAMANO_BLOQUE) {
+            enviar();
+        }
+    }
+
+    long cerrar() throws SQLException {
+        if (!cerrado) {
+            enviar();
+            copyIn.endCopy();
+            cerrado = true;
+        }
+        return filas;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (!cerrado && copyIn.isActive()) {
+            // Solo se llega aquí si la carga falló a medias: se descarta lo enviado
+            copyIn.cancelCopy();
+        }
+    }
+
+    private EscritorCopy texto(String valor) {
+        separador();
+        fila.append(valor);
+        return this;
+    }
+
+    private void separador() {
+        if (!primerCampo) {
+            fila.append('\t');
+        }
+        primerCampo = false;
+    }
+
+    private void enviar() throws SQLException {
+        if (bloque.length() == 0) {
+            return;
+        }
+        byte[] bytes = bloque.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        bloque.setLength(0);
+    }
+}
@@ -0,0 +1,780 @@
+package com.alma.alma_carga;
+
+import com.alma.alma_backend.entity.SentimientoDetectado;
+import com.alma.alma_backend.service.AnalizadorSentimiento;
+import com.alma.alma_backend.util.ValidationUtils;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Llena una base de datos vacía con datos sintéticos a la escala indicada: organizaciones,
+ * usuarios de los tres roles, asignaciones, citas, chat profesional-paciente, sesiones y mensajes
+ * del asistente IA, metas diarias y foros.
+ *
+ * <p>Las filas se generan en streaming y se cargan con COPY, sin pasar por el backend. Las claves
+ * se asignan de forma explícita desde 1 y al terminar se colocan las secuencias agrupadas (V19)
+ * por encima del máximo, de modo que la aplicación puede seguir insertando con normalidad.</p>
+ *
+ * <p>Toda la carga va en una única transacción con los triggers de usuario desactivados en las
+ * tablas afectadas: las validaciones de los triggers ya las cumplen los datos por construcción y
+ * los contadores que mantienen (no leídos del chat, estadísticas de organización y profesional)
+ * se recalculan después con las funciones de reconciliación de V12 y V18. Si algo falla, el
+ * rollback deja la base como estaba, con los triggers activos.</p>
+ *
+ * <p>La misma semilla produce siempre la misma estructura de datos; las fechas se calculan
+ * respecto al momento de la ejecución para que "hoy" y "próximas" tengan contenido.</p>
+ */
+final class GeneradorDatos {
+
+    /** Tablas cargadas y su clave primaria; la secuencia de cada una es SEQ_&lt;TABLA&gt; (V19). */
+    private static final String[][] TABLAS = {
+        {"ORGANIZACION", "ID_ORGANIZACION"},
+        {"USUARIO", "ID_USUARIO"},
+        {"ADMIN_ORGANIZACION", "ID_ADMIN"},
+        {"PROFESIONAL", "ID_PROFESIONAL"},
+        {"PACIENTE", "ID_PACIENTE"},
+        {"ASIGNACION_PROFESIONAL_PACIENTE", "ID_ASIGNACION"},
+        {"CITA", "ID_CITA"},
+        {"SESION_CHAT", "ID_SESION_CHAT"},
+        {"MENSAJE_CHAT", "ID_MENSAJE"},
+        {"SESION_INTERACCION", "ID_SESION"},
+        {"MENSAJE_IA", "ID_MENSAJE_IA"},
+        {"META_DIARIA", "ID_META"},
+        {"FORO", "ID_FORO"},
+        {"MENSAJE_FORO", "ID_MENSAJE_FORO"}
+    };
+
+    private static final Pattern MIGRACION = Pattern.compile("V(\\d+)__.*\\.sql");
+    private static final String DOMINIO = "alma-carga.es";
+    private static final String LETRAS_DNI = "TRWAGMYFPDXBNJZSQVHLCKE";
+    private static final int PROVINCIA = 28;
+    // Mensajes medios por sesión del asistente; el máximo es ia.limites.mensajes-por-defecto
+    private static final int MENSAJES_MEDIOS_SESION_IA = 20;
+    private static final int MAXIMO_MENSAJES_SESION_IA = 100;
+    private static final double PROPORCION_SEGUNDA_ASIGNACION = 0.10;
+    private static final int HORA_APERTURA = 9;
+    private static final int HORA_CIERRE = 19;
+
+    private final Argumentos argumentos;
+    private final int organizaciones;
+    private final int pacientes;
+    private final int pacientesPorProfesional;
+    private final long mensajesChat;
+    private final long mensajesIa;
+    private final int citasPorPaciente;
+    private final int metasPorPaciente;
+    private final int foros;
+    private final long mensajesForo;
+    private final long semilla;
+    private final String passwordUsuarios;
+
+    private final LocalDateTime ahora = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+    private final long ahoraSegundos = ahora.toEpochSecond(ZoneOffset.UTC);
+
+    // Estructura generada. Los arrays por organización, profesional y paciente se indexan por su id
+    // (la posición 0 no se usa); los de sesiones de chat e IA, por id de sesión.
+    private int[] primerProfesional;
+    private int[] profesionalesOrganizacion;
+    private int[] primerPaciente;
+    private int[] pacientesOrganizacion;
+    private int[] usuarioAdmin;
+    private int[] usuarioProfesional;
+    private int[] usuarioPaciente;
+    private int[] organizacionProfesional;
+    private int[] profesionalPrincipal;
+    private int[] profesionalSecundario;
+    private long[] fechaAsignacion;
+    private int sesionesChat;
+    private int[] pacienteSesionChat;
+    private int[] profesionalSesionChat;
+    private long[] inicioSesionChat;
+    private long[] finSesionChat;
+    private int[] mensajesSesionChat;
+    private int sesionesIa;
+    private int[] pacienteSesionIa;
+    private long[] inicioSesionIa;
+    private int[] mensajesSesionIa;
+    private List<Integer> fasesDuelo;
+    private List<Integer> forosExistentes;
+
+    GeneradorDatos(Argumentos argumentos) {
+        this.argumentos = argumentos;
+        this.organizaciones = argumentos.entero("organizaciones", 20);
+        this.pacientes = argumentos.entero("pacientes", 50_000);
+        this.pacientesPorProfesional = argumentos.entero("pacientes-por-profesional", 25);
+        this.mensajesChat = argumentos.largo("mensajes-chat", 5_000_000L);
+        this.mensajesIa = argumentos.largo("mensajes-ia", 1_000_000L);
+        this.citasPorPaciente = argumentos.entero("citas-por-paciente", 4);
+        this.metasPorPaciente = argumentos.entero("metas-por-paciente", 10);
+        this.foros = argumentos.entero("foros", 12);
+        this.mensajesForo = argumentos.largo("mensajes-foro", 200_000L);
+        this.semilla = argumentos.largo("semilla", 42L);
+        this.passwordUsuarios = argumentos.texto("password-usuarios", "CargaAlma2025!");
+        if (organizaciones < 1 || pacientes < organizaciones || pacientesPorProfesional < 1) {
+            throw new IllegalArgumentException("Se necesita al menos una organización y un paciente por organización");
+        }
+    }
+
+    void ejecutar() throws SQLException, IOException {
+        long inicio = System.nanoTime();
+        try (Connection conexion = DriverManager.getConnection(
+                argumentos.jdbcUrl(), argumentos.jdbcUsuario(), argumentos.jdbcPassword())) {
+            String migraciones = argumentos.texto("migrar", null);
+            if (migraciones != null) {
+                aplicarMigraciones(conexion, Path.of(migraciones));
+            }
+            comprobarBaseVacia(conexion);
+            fasesDuelo = leerIds(conexion, "SELECT ID_FASE FROM FASE_DUELO ORDER BY ORDEN_FASE");
+            forosExistentes = leerIds(conexion, "SELECT ID_FORO FROM FORO ORDER BY ID_FORO");
+
+            conexion.setAutoCommit(false);
+            try {
+                for (String[] tabla : TABLAS) {
+                    sql(conexion, "ALTER TABLE " + tabla[0] + " DISABLE TRIGGER USER");
+                }
+                cargarOrganizacionesYUsuarios(conexion);
+                cargarAsignaciones(conexion);
+                cargarCitas(conexion);
+                cargarChat(conexion);
+                cargarAsistenteIa(conexion);
+                cargarMetas(conexion);
+                cargarForos(conexion);
+                for (String[] tabla : TABLAS) {
+                    sql(conexion, "ALTER TABLE " + tabla[0] + " ENABLE TRIGGER USER");
+                }
+                ajustarSecuencias(conexion);
+                reconciliar(conexion);
+                conexion.commit();
+            } catch (SQLException | RuntimeException e) {
+                conexion.rollback();
+                throw e;
+            }
+
+            conexion.setAutoCommit(true);
+            long inicioAnalyze = System.nanoTime();
+            sql(conexion, "ANALYZE");
+            System.out.printf("ANALYZE en %.1f s%n", segundosDesde(inicioAnalyze));
+        }
+        System.out.printf("Carga completada en %.1f s (semilla %d, contraseña de todos los usuarios: %s)%n",
+                segundosDesde(inicio), semilla, passwordUsuarios);
+    }
+
+    // --- Organizaciones, usuarios y perfiles ---
+
+    private void cargarOrganizacionesYUsuarios(Connection conexion) throws SQLException {
+        repartirPacientes();
+        int totalProfesionales = primerProfesional[organizaciones] + profesionalesOrganizacion[organizaciones] - 1;
+        usuarioAdmin = new int[organizaciones + 1];
+        usuarioProfesional = new int[totalProfesionales + 1];
+        organizacionProfesional = new int[totalProfesionales + 1];
+        usuarioPaciente = new int[pacientes + 1];
+
+        copiar(conexion, "ORGANIZACION",
+                "ID_ORGANIZACION, CIF, NUMERO_SEGURIDAD_SOCIAL, NOMBRE_OFICIAL, DIRECCION, CODIGO_REGCESS, "
+                        + "EMAIL_CORPORATIVO, TELEFONO_CONTACTO, ESTADO_VERIFICACION, FECHA_REGISTRO",
+                escritor -> {
+                    SplittableRandom aleatorio = aleatorio("ORGANIZACION");
+                    for (int o = 1; o <= organizaciones; o++) {
+                        escritor.campo(o).campo(cif(o)).campo(numeroSeguridadSocial(o))
+                                .campo(nombreOrganizacion(o))
+                                .campo("Calle " + TextosSinteticos.elegir(TextosSinteticos.APELLIDOS, aleatorio) + " " + (1 + aleatorio.nextInt(200)))
+                                .campo(String.format("REGCESS-%02d-%06d", PROVINCIA, o))
+                                .campo("contacto@centro" + o + "." + DOMINIO)
+                                .campo(String.format("91%07d", o))
+                                .campo("VERIFICADA")
+                                .campo(haceDias(aleatorio, 900, 1200));
+                        escritor.fin();
+                    }
+                });
+
+        // Un único hash para todos: BCrypt(12) tarda ~250 ms y la carga tendría que esperar horas
+        String hash = new BCryptPasswordEncoder(12).encode(passwordUsuarios);
+        copiar(conexion, "USUARIO",
+                "ID_USUARIO, DNI, EMAIL, PASSWORD_HASH, NOMBRE, APELLIDOS, TELEFONO, TIPO_USUARIO, "
+                        + "ID_ORGANIZACION, ACTIVO, PASSWORD_TEMPORAL, FECHA_REGISTRO",
+                escritor -> {
+                    SplittableRandom aleatorio = aleatorio("USUARIO");
+                    int idUsuario = 0;
+                    for (int o = 1; o <= organizaciones; o++) {
+                        usuarioAdmin[o] = ++idUsuario;
+                        usuario(escritor, aleatorio, idUsuario, "admin@centro" + o, "ADMIN_ORGANIZACION", o, hash);
+                        for (int p = primerProfesional[o]; p < primerProfesional[o] + profesionalesOrganizacion[o]; p++) {
+                            usuarioProfesional[p] = ++idUsuario;
+                            organizacionProfesional[p] = o;
+                            usuario(escritor, aleatorio, idUsuario, "profesional" + p + "@centro" + o, "PROFESIONAL", o, hash);
+                        }
+                        for (int q = primerPaciente[o]; q < primerPaciente[o] + pacientesOrganizacion[o]; q++) {
+                            usuarioPaciente[q] = ++idUsuario;
+                            usuario(escritor, aleatorio, idUsuario, "paciente" + q + "@centro" + o, "PACIENTE", o, hash);
+                        }
+                    }
+                });
+
+        copiar(conexion, "ADMIN_ORGANIZACION", "ID_ADMIN, ID_USUARIO, ID_ORGANIZACION", escritor -> {
+            for (int o = 1; o <= organizaciones; o++) {
+                escritor.campo(o).campo(usuarioAdmin[o]).campo(o);
+                escritor.fin();
+            }
+        });
+
+        copiar(conexion, "PROFESIONAL", "ID_PROFESIONAL, ID_USUARIO, NUMERO_COLEGIADO, ESPECIALIDAD, CENTRO_SALUD",
+                escritor -> {
+                    SplittableRandom aleatorio = aleatorio("PROFESIONAL");
+                    for (int p = 1; p < usuarioProfesional.length; p++) {
+                        escritor.campo(p).campo(usuarioProfesional[p])
+                                .campo(String.format("%02d-%08d", PROVINCIA, p))
+                                .campo(TextosSinteticos.elegir(TextosSinteticos.ESPECIALIDADES, aleatorio))
+                                .campo(nombreOrganizacion(organizacionProfesional[p]));
+                        escritor.fin();
+                    }
+                });
+
+        copiar(conexion, "PACIENTE", "ID_PACIENTE, ID_USUARIO, TARJETA_SANITARIA, FECHA_NACIMIENTO, GENERO",
+                escritor -> {
+                    SplittableRandom aleatorio = aleatorio("PACIENTE");
+                    LocalDate nacimientoMinimo = LocalDate.of(1940, 1, 1);
+                    for (int q = 1; q <= pacientes; q++) {
+                        escritor.campo(q).campo(usuarioPaciente[q])
+                                .campo(String.format("CARG%012d", q))
+                                .campo(nacimientoMinimo.plusDays(aleatorio.nextInt(65 * 365)))
+                                .campo(TextosSinteticos.elegir(TextosSinteticos.GENEROS, aleatorio));
+                        escritor.fin();
+                    }
+                });
+    }
+
+    /**
+     * Reparte los pacientes entre organizaciones con tamaños desiguales (entre 0,5 y 2 veces la
+     * media) y calcula cuántos profesionales necesita cada una.
+     */
+    private void repartirPacientes() {
+        SplittableRandom aleatorio = aleatorio("REPARTO");
+        double[] pesos = new double[organizaciones + 1];
+        double suma = 0;
+        for (int o = 1; o <= organizaciones; o++) {
+            pesos[o] = 0.5 + aleatorio.nextDouble() * 1.5;
+            suma += pesos[o];
+        }
+
+        pacientesOrganizacion = new int[organizaciones + 1];
+        int asignados = 0;
+        for (int o = 1; o <= organizaciones; o++) {
+            pacientesOrganizacion[o] = Math.max(1, (int) ((pacientes - organizaciones) * pesos[o] / suma) + 1);
+            asignados += pacientesOrganizacion[o];
+        }
+        pacientesOrganizacion[1] += pacientes - asignados;
+
+        primerPaciente = new int[organizaciones + 1];
+        primerProfesional = new int[organizaciones + 1];
+        profesionalesOrganizacion = new int[organizaciones + 1];
+        int siguientePaciente = 1;
+        int siguienteProfesional = 1;
+        for (int o = 1; o <= organizaciones; o++) {
+            primerPaciente[o] = siguientePaciente;
+            primerProfesional[o] = siguienteProfesional;
+            profesionalesOrganizacion[o] = (pacientesOrganizacion[o] + pacientesPorProfesional - 1) / pacientesPorProfesional;
+            siguientePaciente += pacientesOrganizacion[o];
+            siguienteProfesional += profesionalesOrganizacion[o];
+        }
+    }
+
+    private void usuario(EscritorCopy escritor, SplittableRandom aleatorio, int id, String email,
+                         String tipo, int organizacion, String hash) throws SQLException {
+        escritor.campo(id).campo(dni(id)).campo(email + "." + DOMINIO).campo(hash)
+                .campo(TextosSinteticos.elegir(TextosSinteticos.NOMBRES, aleatorio))
+                .campo(TextosSinteticos.elegir(TextosSinteticos.APELLIDOS, aleatorio) + " "
+                        + TextosSinteticos.elegir(TextosSinteticos.APELLIDOS, aleatorio))
+                .campo(String.format("6%08d", id % 100_000_000))
+                .campo(tipo).campo(organizacion).campo(true).campo(false)
+                .campo(haceDias(aleatorio, 30, 800));
+        escritor.fin();
+    }
+
+    // --- Asignaciones y citas ---
+
+    private void cargarAsignaciones(Connection conexion) throws SQLException {
+        profesionalPrincipal = new int[pacientes + 1];
+        profesionalSecundario = new int[pacientes + 1];
+        fechaAsignacion = new long[pacientes + 1];
+
+        copiar(conexion, "ASIGNACION_PROFESIONAL_PACIENTE",
+                "ID_ASIGNACION, ID_PROFESIONAL, ID_PACIENTE, activo, es_principal, FECHA_ASIGNACION",
+                escritor -> {
+                    SplittableRandom aleatorio = aleatorio("ASIGNACION");
+                    int id = 0;
+                    for (int o = 1; o <= organizaciones; o++) {
+                        int profesionales = profesionalesOrganizacion[o];
+                        for (int k = 0; k < pacientesOrganizacion[o]; k++) {
+                            int q = primerPaciente[o] + k;
+                            // Reparto circular: ningún profesional supera pacientes-por-profesional
+                            profesionalPrincipal[q] = primerProfesional[o] + k % profesionales;
+                            fechaAsignacion[q] = ahoraSegundos - (30 + aleatorio.nextInt(700)) * 86_400L;
+                            escritor.campo(++id).campo(profesionalPrincipal[q]).campo(q).campo(true).campo(true)
+                                    .campo(fecha(fechaAsignacion[q]));
+                            escritor.fin();
+
+                            if (profesionales > 1 && aleatorio.nextDouble() < PROPORCION_SEGUNDA_ASIGNACION) {
+                                profesionalSecundario[q] = primerProfesional[o] + (k + 1) % profesionales;
+                                escritor.campo(++id).campo(profesionalSecundario[q]).campo(q).campo(true).campo(false)
+                                        .campo(fecha(fechaAsignacion[q] + 86_400L));
+                                escritor.fin();
+                            }
+                        }
+                    }
+                });
+    }
+
+    /**
+     * Citas en horario de consulta (lunes a viernes, de 9 a 19) sin solapes por profesional: cada
+     * profesional tiene un cursor hacia el pasado para las completadas y otro hacia el futuro
+     * para la próxima cita programada de cada paciente.
+     */
+    private void cargarCitas(Connection conexion) throws SQLException {
+        if (citasPorPaciente < 1) {
+            return;
+        }
+        LocalDateTime[] cursorPasado = new LocalDateTime[usuarioProfesional.length];
+        LocalDateTime[] cursorFuturo = new LocalDateTime[usuarioProfesional.length];
+        LocalDateTime primeraFutura = ahora.toLocalDate().plusDays(1).atTime(HORA_APERTURA, 0);
+        LocalDateTime ultimaPasada = ahora.toLocalDate().minusDays(1).atTime(HORA_CIERRE - 1, 0);
+
+        copiar(conexion, "CITA",
+                "ID_CITA, ID_PACIENTE, ID_PROFESIONAL, FECHA_HORA, DURACION_MINUTOS, TIPO_CITA, ESTADO, "
+                        + "MOTIVO, NOTAS_SESION, FECHA_CREACION",
+                escritor -> {
+                    SplittableRandom aleatorio = aleatorio("CITA");
+                    int id = 0;
+                    for (int q = 1; q <= pacientes; q++) {
+                        int p = profesionalPrincipal[q];
+                        for (int c = 1; c < citasPorPaciente; c++) {
+                            LocalDateTime hueco = huecoLibre(cursorPasado[p] == null ? ultimaPasada : cursorPasado[p].minusHours(1), false);
+                            cursorPasado[p] = hueco;
+                            escritor.campo(++id).campo(q).campo(p).campo(hueco).campo(60)
+                                    .campo(c == citasPorPaciente - 1 ? "CONSULTA" : "SEGUIMIENTO").campo("COMPLETADA")
+                                    .campo(TextosSinteticos.elegir(TextosSinteticos.MOTIVOS_CITA, aleatorio))
+                                    .campo("Sesión realizada según lo previsto")
+                                    .campo(hueco.minusDays(7));
+                            escritor.fin();
+                        }
+                        LocalDateTime hueco = huecoLibre(cursorFuturo[p] == null ? primeraFutura : cursorFuturo[p].plusHours(1), true);
+                        cursorFuturo[p] = hueco;
+                        escritor.campo(++id).campo(q).campo(p).campo(hueco).campo(60).campo("SEGUIMIENTO")
+                                .campo("PROGRAMADA")
+                                .campo(TextosSinteticos.elegir(TextosSinteticos.MOTIVOS_CITA, aleatorio))
+                                .nulo()
+                                .campo(ahora.minusDays(aleatorio.nextInt(1, 14)));
+                        escritor.fin();
+                    }
+                });
+    }
+
+    private static LocalDateTime huecoLibre(LocalDateTime candidato, boolean haciaDelante) {
+        LocalDateTime hueco = candidato;
+        while (hueco.getDayOfWeek() == DayOfWeek.SATURDAY || hueco.getDayOfWeek() == DayOfWeek.SUNDAY
+                || hueco.getHour() < HORA_APERTURA || hueco.getHour() >= HORA_CIERRE) {
+            if (haciaDelante) {
+                hueco = hueco.getHour() >= HORA_CIERRE || esFinDeSemana(hueco)
+                        ? hueco.toLocalDate().plusDays(1).atTime(HORA_APERTURA, 0)
+                        : hueco.toLocalDate().atTime(HORA_APERTURA, 0);
+            } else {
+                hueco = hueco.getHour() < HORA_APERTURA || esFinDeSemana(hueco)
+                        ? hueco.toLocalDate().minusDays(1).atTime(HORA_CIERRE - 1, 0)
+                        : hueco.toLocalDate().atTime(HORA_CIERRE - 1, 0);
+            }
+        }
+        return hueco;
+    }
+
+    private static boolean esFinDeSemana(LocalDateTime fecha) {
+        return fecha.getDayOfWeek() == DayOfWeek.SATURDAY || fecha.getDayOfWeek() == DayOfWeek.SUNDAY;
+    }
+
+    // --- Chat profesional-paciente ---
+
+    /**
+     * Una sesión de chat por asignación activa. El número de mensajes de cada sesión sigue una
+     * distribución exponencial (muchas conversaciones cortas y unas pocas muy largas, que son las
+     * que tensionan la paginación), y los últimos mensajes de cada sesión quedan sin leer.
+     */
+    private void cargarChat(Connection conexion) throws SQLException {
+        int totalSesiones = pacientes;
+        for (int q = 1; q <= pacientes; q++) {
+            if (profesionalSecundario[q] != 0) {
+                totalSesiones++;
+            }
+        }
+        pacienteSesionChat = new int[totalSesiones + 1];
+        profesionalSesionChat = new int[totalSesiones + 1];
+        inicioSesionChat = new long[totalSesiones + 1];
+        finSesionChat = new long[totalSesiones + 1];
+        mensajesSesionChat = new int[totalSesiones + 1];
+
+        SplittableRandom aleatorio = aleatorio("SESION_CHAT");
+        double mediaMensajes = (double) mensajesChat / totalSesiones;
+        for (int q = 1; q <= pacientes; q++) {
+            nuevaSesionChat(aleatorio, q, profesionalPrincipal[q], mediaMensajes);
+            if (profesionalSecundario[q] != 0) {
+                nuevaSesionChat(aleatorio, q, profesionalSecundario[q], mediaMensajes);
+            }
+        }
+
+        copiar(conexion, "SESION_CHAT", "ID_SESION_CHAT, ID_PACIENTE, ID_PROFESIONAL, FECHA_CREACION, ULTIMA_ACTIVIDAD, ESTADO",
+                escritor -> {
+                    for (int s = 1; s <= sesionesChat; s++) {
+                        escritor.campo(s).campo(pacienteSesionChat[s]).campo(profesionalSesionChat[s])
+                                .campo(fecha(inicioSesionChat[s]))
+                                .campo(fecha(mensajesSesionChat[s] > 0 ? finSesionChat[s] : inicioSesionChat[s]))
+                                .campo("ACTIVA");
+                        escritor.fin();
+                    }
+                });
+
+        copiar(conexion, "MENSAJE_CHAT", "ID_MENSAJE, ID_SESION_CHAT, ID_REMITENTE, MENSAJE, FECHA_ENVIO, LEIDO, FECHA_LECTURA",
+                escritor -> {
+                    SplittableRandom aleatorioMensajes = aleatorio("MENSAJE_CHAT");
+                    long id = 0;
+                    for (int s = 1; s <= sesionesChat; s++) {
+                        int n = mensajesSesionChat[s];
+                        int sinLeer = Math.min(n, aleatorioMensajes.nextInt(4));
+                        int remitentePaciente = usuarioPaciente[pacienteSesionChat[s]];
+                        int remitenteProfesional = usuarioProfesional[profesionalSesionChat[s]];
+                        long intervalo = Math.max(1, (finSesionChat[s] - inicioSesionChat[s]) / Math.max(1, n));
+                        for (int k = 0; k < n; k++) {
+                            // El último mensaje cae justo en ULTIMA_ACTIVIDAD de la sesión
+                            long envio = finSesionChat[s] - (n - 1 - k) * intervalo;
+                            boolean leido = k < n - sinLeer;
+                            escritor.campo(++id).campo(s)
+                                    .campo(aleatorioMensajes.nextBoolean() ? remitentePaciente : remitenteProfesional)
+                                    .campo(TextosSinteticos.mensajeChat(aleatorioMensajes))
+                                    .campo(fecha(envio))
+                                    .campo(leido);
+                            if (leido) {
+                                escritor.campo(fecha(Math.min(ahoraSegundos, envio + 600)));
+                            } else {
+                                escritor.nulo();
+                            }
+                            escritor.fin();
+                        }
+                    }
+                });
+    }
+
+    private void nuevaSesionChat(SplittableRandom aleatorio, int paciente, int profesional, double mediaMensajes) {
+        int s = ++sesionesChat;
+        pacienteSesionChat[s] = paciente;
+        profesionalSesionChat[s] = profesional;
+        inicioSesionChat[s] = fechaAsignacion[paciente] + 3_600L;
+        // Última actividad entre unos minutos y unos días atrás, nunca antes del inicio
+        long fin = ahoraSegundos - (long) (exponencial(aleatorio, 2.0) * 86_400L);
+        finSesionChat[s] = Math.max(inicioSesionChat[s], fin);
+        mensajesSesionChat[s] = (int) Math.min(Integer.MAX_VALUE, Math.round(exponencial(aleatorio, mediaMensajes)));
+    }
+
+    // --- Asistente IA ---
+
+    private void cargarAsistenteIa(Connection conexion) throws SQLException {
+        int capacidad = (int) Math.max(1, mensajesIa / MENSAJES_MEDIOS_SESION_IA * 2);
+        pacienteSesionIa = new int[capacidad + 1];
+        inicioSesionIa = new long[capacidad + 1];
+        mensajesSesionIa = new int[capacidad + 1];
+
+        SplittableRandom aleatorio = aleatorio("SESION_INTERACCION");
+        long pendientes = mensajesIa;
+        while (pendientes > 0 && sesionesIa < capacidad) {
+            int s = ++sesionesIa;
+            int n = (int) Math.round(exponencial(aleatorio, MENSAJES_MEDIOS_SESION_IA));
+            n = (int) Math.min(pendientes, Math.max(2, Math.min(MAXIMO_MENSAJES_SESION_IA, n)));
+            mensajesSesionIa[s] = n;
+            pacienteSesionIa[s] = 1 + aleatorio.nextInt(pacientes);
+            inicioSesionIa[s] = ahoraSegundos - 3_600L - aleatorio.nextLong(365 * 86_400L);
+            pendientes -= n;
+        }
+
+        copiar(conexion, "SESION_INTERACCION",
+                "ID_SESION, ID_PACIENTE, ID_PROFESIONAL, FECHA_INICIO, FECHA_FIN, DURACION_SEGUNDOS, "
+                        + "TIPO_SESION, ESTADO, NUMERO_MENSAJES",
+                escritor -> {
+                    for (int s = 1; s <= sesionesIa; s++) {
+                        long duracion = mensajesSesionIa[s] * 30L;
+                        escritor.campo(s).campo(pacienteSesionIa[s]).campo(profesionalPrincipal[pacienteSesionIa[s]])
+                                .campo(fecha(inicioSesionIa[s])).campo(fecha(inicioSesionIa[s] + duracion))
+                                .campo(duracion).campo("CONVERSACION").campo("FINALIZADA").campo(mensajesSesionIa[s]);
+                        escritor.fin();
+                    }
+                });
+
+        // El sentimiento de cada frase del paciente se calcula una vez con el analizador del backend
+        String[] frases = TextosSinteticos.mensajesIaUsuario();
+        String[] sentimientos = new String[frases.length];
+        AnalizadorSentimiento analizador = new AnalizadorSentimiento("sentimiento/lexico-es.txt");
+        for (int i = 0; i < frases.length; i++) {
+            SentimientoDetectado sentimiento = analizador.analizar(frases[i]);
+            sentimientos[i] = sentimiento.name();
+        }
+
+        copiar(conexion, "MENSAJE_IA", "ID_MENSAJE_IA, ID_SESION, ROL, MENSAJE, TIMESTAMP_MENSAJE, SENTIMIENTO_DETECTADO",
+                escritor -> {
+                    SplittableRandom aleatorioMensajes = aleatorio("MENSAJE_IA");
+                    long id = 0;
+                    for (int s = 1; s <= sesionesIa; s++) {
+                        for (int k = 0; k < mensajesSesionIa[s]; k++) {
+                            escritor.campo(++id).campo(s);
+                            if (k % 2 == 0) {
+                                int frase = aleatorioMensajes.nextInt(frases.length);
+                                escritor.campo("USUARIO").campo(frases[frase]);
+                                escritor.campo(fecha(inicioSesionIa[s] + k * 30L)).campo(sentimientos[frase]);
+                            } else {
+                                escritor.campo("ASISTENTE").campo(TextosSinteticos.respuestaIa(aleatorioMensajes));
+                                escritor.campo(fecha(inicioSesionIa[s] + k * 30L)).nulo();
+                            }
+                            escritor.fin();
+                        }
+                    }
+                });
+    }
+
+    // --- Metas diarias ---
+
+    /**
+     * Dos metas por día hacia atrás desde hoy. Los textos de un mismo día son consecutivos en el
+     * repertorio y, por tanto, distintos, como exige el trigger de metas duplicadas.
+     */
+    private void cargarMetas(Connection conexion) throws SQLException {
+        copiar(conexion, "META_DIARIA",
+                "ID_META, ID_PACIENTE, TEXTO_META, FECHA_ASIGNADA, ESTADO, FECHA_COMPLETADA, FECHA_CREACION",
+                escritor -> {
+                    SplittableRandom aleatorio = aleatorio("META_DIARIA");
+                    String[] metas = TextosSinteticos.METAS;
+                    LocalDate hoy = ahora.toLocalDate();
+                    long id = 0;
+                    for (int q = 1; q <= pacientes; q++) {
+                        int base = aleatorio.nextInt(metas.length);
+                        for (int j = 0; j < metasPorPaciente; j++) {
+                            LocalDate dia = hoy.minusDays(j / 2);
+                            String estado = dia.equals(hoy) ? "PENDIENTE"
+                                    : aleatorio.nextDouble() < 0.7 ? "COMPLETADA"
+                                    : aleatorio.nextBoolean() ? "CANCELADA" : "PENDIENTE";
+                            escritor.campo(++id).campo(q).campo(metas[(base + j) % metas.length]).campo(dia).campo(estado);
+                            if ("COMPLETADA".equals(estado)) {
+                                escritor.campo(dia.atTime(18 + aleatorio.nextInt(4), aleatorio.nextInt(60)));
+                            } else {
+                                escritor.nulo();
+                            }
+                            escritor.campo(dia.atStartOfDay());
+                            escritor.fin();
+                        }
+                    }
+                });
+    }
+
+    // --- Foros ---
+
+    private void cargarForos(Connection conexion) throws SQLException {
+        int primerForo = forosExistentes.isEmpty() ? 1 : forosExistentes.get(forosExistentes.size() - 1) + 1;
+        List<Integer> idsForo = new ArrayList<>(forosExistentes);
+
+        copiar(conexion, "FORO", "ID_FORO, NOMBRE, DESCRIPCION, ID_FASE_DUELO, ACTIVO, FECHA_CREACION", escritor -> {
+            SplittableRandom aleatorio = aleatorio("FORO");
+            for (int f = 0; f < foros; f++) {
+                String[] foro = TextosSinteticos.FOROS[f % TextosSinteticos.FOROS.length];
+                String nombre = f < TextosSinteticos.FOROS.length ? foro[0] : foro[0] + " (" + (f / TextosSinteticos.FOROS.length + 1) + ")";
+                escritor.campo(primerForo + f).campo(nombre).campo(foro[1]);
+                if (fasesDuelo.isEmpty() || f % (fasesDuelo.size() + 1) == fasesDuelo.size()) {
+                    escritor.nulo();
+                } else {
+                    escritor.campo(fasesDuelo.get(f % (fasesDuelo.size() + 1)));
+                }
+                escritor.campo(true).campo(haceDias(aleatorio, 400, 800));
+                escritor.fin();
+                idsForo.add(primerForo + f);
+            }
+        });
+        if (idsForo.isEmpty()) {
+            return;
+        }
+
+        copiar(conexion, "MENSAJE_FORO", "ID_MENSAJE_FORO, ID_FORO, ID_USUARIO, MENSAJE, FECHA_PUBLICACION", escritor -> {
+            SplittableRandom aleatorio = aleatorio("MENSAJE_FORO");
+            long desde = ahoraSegundos - 365 * 86_400L;
+            for (long m = 1; m <= mensajesForo; m++) {
+                // Fechas crecientes con el id, como en la aplicación, para que la paginación por id sea realista
+                long publicacion = desde + (ahoraSegundos - desde) * m / (mensajesForo + 1);
+                escritor.campo(m).campo(idsForo.get(aleatorio.nextInt(idsForo.size())))
+                        .campo(usuarioPaciente[1 + aleatorio.nextInt(pacientes)])
+                        .campo(TextosSinteticos.mensajeForo(aleatorio))
+                        .campo(fecha(publicacion));
+                escritor.fin();
+            }
+        });
+    }
+
+    // --- Preparación y cierre ---
+
+    private static void aplicarMigraciones(Connection conexion, Path directorio) throws IOException, SQLException {
+        List<Path> ficheros;
+        try (Stream<Path> listado = Files.list(directorio)) {
+            ficheros = listado.filter(f -> MIGRACION.matcher(f.getFileName().toString()).matches())
+                    .sorted(Comparator.comparingInt(GeneradorDatos::versionMigracion))
+                    .toList();
+        }
+        if (ficheros.isEmpty()) {
+            throw new IllegalArgumentException("No hay migraciones V*.sql en " + directorio.toAbsolutePath());
+        }
+        for (Path fichero : ficheros) {
+            System.out.println("Aplicando " + fichero.getFileName());
+            sql(conexion, Files.readString(fichero, StandardCharsets.UTF_8));
+        }
+    }
+
+    private static int versionMigracion(Path fichero) {
+        Matcher matcher = MIGRACION.matcher(fichero.getFileName().toString());
+        return matcher.matches() ? Integer.parseInt(matcher.group(1)) : Integer.MAX_VALUE;
+    }
+
+    private static void comprobarBaseVacia(Connection conexion) throws SQLException {
+        for (String tabla : new String[]{"ORGANIZACION", "USUARIO"}) {
+            try (Statement statement = conexion.createStatement();
+                 ResultSet rs = statement.executeQuery("SELECT EXISTS (SELECT 1 FROM " + tabla + ")")) {
+                rs.next();
+                if (rs.getBoolean(1)) {
+                    throw new IllegalStateException("La tabla " + tabla + " ya tiene datos: el generador necesita una base "
+                            + "recién migrada (las claves se asignan desde 1)");
+                }
+            }
+        }
+    }
+
+    /**
+     * Coloca cada secuencia agrupada en el primer valor libre. Con pooled-lo la aplicación usará
+     * a partir de ahí bloques de 50 sin chocar con las claves cargadas.
+     */
+    private static void ajustarSecuencias(Connection conexion) throws SQLException {
+        for (String[] tabla : TABLAS) {
+            sql(conexion, "SELECT setval('SEQ_" + tabla[0] + "', (SELECT COALESCE(MAX(" + tabla[1] + "), 0) + 1 FROM "
+                    + tabla[0] + "), false)");
+        }
+    }
+
+    private static void reconciliar(Connection conexion) throws SQLException {
+        long inicio = System.nanoTime();
+        try (Statement statement = conexion.createStatement()) {
+            try (ResultSet rs = statement.executeQuery("SELECT reconciliar_contadores_no_leidos()")) {
+                rs.next();
+                System.out.printf("Contadores de no leídos recalculados: %,d%n", rs.getInt(1));
+            }
+            try (ResultSet rs = statement.executeQuery("SELECT reconciliar_estadisticas()")) {
+                rs.next();
+                System.out.printf("Estadísticas materializadas recalculadas: %,d%n", rs.getInt(1));
+            }
+        }
+        System.out.printf("Reconciliación en %.1f s%n", segundosDesde(inicio));
+    }
+
+    @FunctionalInterface
+    private interface Filas {
+        void escribir(EscritorCopy escritor) throws SQLException;
+    }
+
+    private static void copiar(Connection conexion, String tabla, String columnas, Filas filas) throws SQLException {
+        long inicio = System.nanoTime();
+        long total;
+        try (EscritorCopy escritor = new EscritorCopy(conexion, tabla, columnas)) {
+            filas.escribir(escritor);
+            total = escritor.cerrar();
+        }
+        double segundos = segundosDesde(inicio);
+        System.out.printf("%-32s %,14d filas %9.1f s %,12.0f filas/s%n", tabla, total, segundos, total / Math.max(segundos, 1e-9));
+    }
+
+    private static void sql(Connection conexion, String sentencia) throws SQLException {
+        try (Statement statement = conexion.createStatement()) {
+            statement.execute(sentencia);
+        }
+    }
+
+    private static List<Integer> leerIds(Connection conexion, String consulta) throws SQLException {
+        List<Integer> ids = new ArrayList<>();
+        try (Statement statement = conexion.createStatement(); ResultSet rs = statement.executeQuery(consulta)) {
+            while (rs.next()) {
+                ids.add(rs.getInt(1));
+            }
+        }
+        return ids;
+    }
+
+    // --- Valores ---
+
+    private SplittableRandom aleatorio(String tabla) {
+        // Un generador por tabla: cambiar el volumen de una tabla no altera el contenido de las demás
+        return new SplittableRandom(semilla * 31 + tabla.hashCode());
+    }
+
+    private static double segundosDesde(long inicioNanos) {
+        return (System.nanoTime() - inicioNanos) / 1e9;
+    }
+
+    private static double exponencial(SplittableRandom aleatorio, double media) {
+        return -Math.log(1.0 - aleatorio.nextDouble()) * media;
+    }
+
+    private LocalDateTime haceDias(SplittableRandom aleatorio, int minimo, int maximo) {
+        return ahora.minusDays(aleatorio.nextInt(minimo, maximo + 1)).minusMinutes(aleatorio.nextInt(1_440));
+    }
+
+    private static LocalDateTime fecha(long segundos) {
+        return LocalDateTime.ofEpochSecond(segundos, 0, ZoneOffset.UTC);
+    }
+
+    private static String nombreOrganizacion(int organizacion) {
+        return "Centro de Acompañamiento en Duelo " + organizacion;
+    }
+
+    private static String dni(int id) {
+        return String.format("%08d%c", id, LETRAS_DNI.charAt(id % 23));
+    }
+
+    /** CIF de sociedad limitada (B) con dígito de control numérico, comprobado con ValidationUtils. */
+    private static String cif(int organizacion) {
+        String digitos = String.format("%07d", organizacion);
+        int suma = 0;
+        for (int i = 0; i < 7; i++) {
+            int digito = digitos.charAt(i) - '0';
+            suma += i % 2 == 0 ? (digito * 2) / 10 + (digito * 2) % 10 : digito;
+        }
+        String cif = "B" + digitos + (10 - suma % 10) % 10;
+        if (!ValidationUtils.isValidCIF(cif)) {
+            throw new IllegalStateException("CIF generado no válido: " + cif);
+        }
+        return cif;
+    }
+
+    private static String numeroSeguridadSocial(int organizacion) {
+        long numero = PROVINCIA * 100_000_000L + organizacion;
+        String nass = String.format("%02d/%08d/%02d", PROVINCIA, organizacion, numero % 97);
+        if (!ValidationUtils.isValidNumeroSeguridadSocial(nass)) {
+            throw new IllegalStateException("Número de Seguridad Social generado no válido: " + nass);
+        }
+        return nass;
+    }
+}
@@ -0,0 +1,274 @@
+package com.alma.alma_carga;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Compara por JDBC, contra el PostgreSQL real, las estrategias de persistencia que el backend ha
+ * ido sustituyendo y que no se pueden medir con JMH sin base de datos:
+ * <ul>
+ *   <li>Inserción de mensajes: clave IDENTITY (un INSERT ... RETURNING por fila, que impide el
+ *       batching de Hibernate) frente a secuencia pooled-lo de 50 con inserciones por lotes, con y
+ *       sin reWriteBatchedInserts en el driver.</li>
+ *   <li>Marcado de leídos de una sesión: un UPDATE por mensaje (cargar y guardar cada entidad)
+ *       frente a un único UPDATE masivo como el de MensajeChatRepository.</li>
+ * </ul>
+ * Se trabaja sobre tablas temporales con la forma de MENSAJE_CHAT, así que se puede lanzar
+ * contra cualquier base (también la de carga) sin tocar sus datos. Para cada variante se hace
+ * una pasada de calentamiento y se informa de la mediana de las repeticiones.
+ */
+final class PruebaPersistencia {
+
+    private static final String DIRECTORIO_RESULTADOS = "resultados";
+    private static final DateTimeFormatter FECHA_FICHERO = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static final int INCREMENTO_SECUENCIA = 50;
+    private static final String TEXTO = "Mensaje de prueba de persistencia con una longitud parecida a la de un chat real";
+
+    private final Argumentos argumentos;
+    private final int filas;
+    private final int lote;
+    private final int sesiones;
+    private final int noLeidosPorSesion;
+    private final int repeticiones;
+
+    PruebaPersistencia(Argumentos argumentos) {
+        this.argumentos = argumentos;
+        this.filas = argumentos.entero("filas", 100_000);
+        this.lote = argumentos.entero("lote", 50);
+        this.sesiones = argumentos.entero("sesiones", 200);
+        this.noLeidosPorSesion = argumentos.entero("no-leidos-por-sesion", 100);
+        this.repeticiones = argumentos.entero("repeticiones", 5);
+    }
+
+    @FunctionalInterface
+    private interface Variante {
+        /** Ejecuta una pasada y devuelve el número de viajes de ida y vuelta al servidor. */
+        long ejecutar(Connection conexion) throws SQLException;
+    }
+
+    void ejecutar() throws SQLException, IOException {
+        List<Map<String, Object>> resultados = new ArrayList<>();
+        System.out.printf("%-48s %10s %12s %12s %12s%n", "Variante", "Filas", "Mediana ms", "Filas/s", "Viajes");
+
+        try (Connection conexion = conectar(false)) {
+            resultados.add(medir(conexion, "insercion-identity", filas, this::insertarIdentity));
+            resultados.add(medir(conexion, "insercion-pooled-lo-batch", filas, this::insertarPooledLo));
+            resultados.add(medir(conexion, "marcar-leidos-por-fila", (long) sesiones * noLeidosPorSesion, this::marcarLeidosPorFila));
+            resultados.add(medir(conexion, "marcar-leidos-masivo", (long) sesiones * noLeidosPorSesion, this::marcarLeidosMasivo));
+        }
+        try (Connection conexion = conectar(true)) {
+            resultados.add(medir(conexion, "insercion-pooled-lo-batch-reescrito", filas, this::insertarPooledLo));
+        }
+
+        Map<String, Object> parametros = new LinkedHashMap<>();
+        parametros.put("filas", filas);
+        parametros.put("lote", lote);
+        parametros.put("sesiones", sesiones);
+        parametros.put("noLeidosPorSesion", noLeidosPorSesion);
+        parametros.put("repeticiones", repeticiones);
+        Map<String, Object> informe = new LinkedHashMap<>();
+        informe.put("fecha", LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS).toString());
+        informe.put("parametros", parametros);
+        informe.put("variantes", resultados);
+
+        Files.createDirectories(Path.of(DIRECTORIO_RESULTADOS));
+        Path salida = Path.of(DIRECTORIO_RESULTADOS, "persistencia-" + LocalDateTime.now().format(FECHA_FICHERO) + ".json");
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(salida.toFile(), informe);
+        System.out.println("Resultados guardados en " + salida);
+    }
+
+    private Connection conectar(boolean reescribirLotes) throws SQLException {
+        Properties propiedades = new Properties();
+        propiedades.setProperty("user", argumentos.jdbcUsuario());
+        propiedades.setProperty("password", argumentos.jdbcPassword());
+        propiedades.setProperty("reWriteBatchedInserts", Boolean.toString(reescribirLotes));
+        Connection conexion = DriverManager.getConnection(argumentos.jdbcUrl(), propiedades);
+        conexion.setAutoCommit(false);
+        return conexion;
+    }
+
+    private Map<String, Object> medir(Connection conexion, String nombre, long filasVariante, Variante variante)
+            throws SQLException {
+        long[] tiempos = new long[repeticiones];
+        long viajes = 0;
+        for (int r = -1; r < repeticiones; r++) {
+            prepararTablas(conexion);
+            long inicio = System.nanoTime();
+            viajes = variante.ejecutar(conexion);
+            conexion.commit();
+            long transcurrido = System.nanoTime() - inicio;
+            if (r >= 0) {
+                tiempos[r] = transcurrido;
+            }
+        }
+        Arrays.sort(tiempos);
+        double medianaMs = tiempos[repeticiones / 2] / 1e6;
+        double filasPorSegundo = filasVariante / (medianaMs / 1000.0);
+        System.out.printf("%-48s %,10d %12.1f %,12.0f %,12d%n", nombre, filasVariante, medianaMs, filasPorSegundo, viajes);
+
+        Map<String, Object> resultado = new LinkedHashMap<>();
+        resultado.put("variante", nombre);
+        resultado.put("filas", filasVariante);
+        resultado.put("medianaMs", Math.round(medianaMs * 10) / 10.0);
+        resultado.put("filasPorSegundo", Math.round(filasPorSegundo));
+        resultado.put("viajes", viajes);
+        return resultado;
+    }
+
+    private void prepararTablas(Connection conexion) throws SQLException {
+        try (Statement statement = conexion.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS CARGA_MENSAJE");
+            statement.execute("DROP SEQUENCE IF EXISTS CARGA_SEQ_IDENTITY");
+            statement.execute("DROP SEQUENCE IF EXISTS CARGA_SEQ_POOLED");
+            statement.execute("CREATE TEMP SEQUENCE CARGA_SEQ_IDENTITY");
+            statement.execute("CREATE TEMP SEQUENCE CARGA_SEQ_POOLED INCREMENT BY " + INCREMENTO_SECUENCIA);
+            statement.execute("""
+                    CREATE TEMP TABLE CARGA_MENSAJE (
+                        ID_MENSAJE INTEGER PRIMARY KEY,
+                        ID_SESION_CHAT INTEGER NOT NULL,
+                        ID_REMITENTE INTEGER NOT NULL,
+                        MENSAJE TEXT NOT NULL,
+                        FECHA_ENVIO TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                        LEIDO BOOLEAN DEFAULT FALSE,
+                        FECHA_LECTURA TIMESTAMP
+                    )""");
+            statement.execute("CREATE INDEX ON CARGA_MENSAJE (ID_SESION_CHAT, ID_MENSAJE)");
+            // Mensajes sin leer de las sesiones que usan las variantes de marcado
+            statement.execute("INSERT INTO CARGA_MENSAJE (ID_MENSAJE, ID_SESION_CHAT, ID_REMITENTE, MENSAJE) "
+                    + "SELECT -g, 1 + (g - 1) / " + noLeidosPorSesion + ", 1, 'pendiente' "
+                    + "FROM generate_series(1, " + (long) sesiones * noLeidosPorSesion + ") g");
+            statement.execute("ANALYZE CARGA_MENSAJE");
+        }
+        conexion.commit();
+    }
+
+    // --- Inserción ---
+
+    /** Equivalente a GenerationType.IDENTITY: Hibernate necesita la clave de cada fila al momento. */
+    private long insertarIdentity(Connection conexion) throws SQLException {
+        long viajes = 0;
+        try (PreparedStatement insert = conexion.prepareStatement(
+                "INSERT INTO CARGA_MENSAJE (ID_MENSAJE, ID_SESION_CHAT, ID_REMITENTE, MENSAJE) "
+                        + "VALUES (nextval('CARGA_SEQ_IDENTITY'), ?, ?, ?) RETURNING ID_MENSAJE")) {
+            for (int i = 0; i < filas; i++) {
+                insert.setInt(1, 1_000_000 + i / 100);
+                insert.setInt(2, 1 + i % 2);
+                insert.setString(3, TEXTO);
+                try (ResultSet rs = insert.executeQuery()) {
+                    rs.next();
+                }
+                viajes++;
+            }
+        }
+        return viajes;
+    }
+
+    /**
+     * Equivalente a la secuencia pooled-lo de V19 con hibernate.jdbc.batch_size: un nextval por
+     * cada bloque de 50 claves y las filas enviadas en lotes.
+     */
+    private long insertarPooledLo(Connection conexion) throws SQLException {
+        long viajes = 0;
+        int siguiente = 0;
+        int limite = 0;
+        try (PreparedStatement secuencia = conexion.prepareStatement("SELECT nextval('CARGA_SEQ_POOLED')");
+             PreparedStatement insert = conexion.prepareStatement(
+                     "INSERT INTO CARGA_MENSAJE (ID_MENSAJE, ID_SESION_CHAT, ID_REMITENTE, MENSAJE) VALUES (?, ?, ?, ?)")) {
+            int enLote = 0;
+            for (int i = 0; i < filas; i++) {
+                if (siguiente == limite) {
+                    try (ResultSet rs = secuencia.executeQuery()) {
+                        rs.next();
+                        siguiente = rs.getInt(1);
+                        limite = siguiente + INCREMENTO_SECUENCIA;
+                    }
+                    viajes++;
+                }
+                insert.setInt(1, siguiente++);
+                insert.setInt(2, 1_000_000 + i / 100);
+                insert.setInt(3, 1 + i % 2);
+                insert.setString(4, TEXTO);
+                insert.addBatch();
+                if (++enLote == lote) {
+                    insert.executeBatch();
+                    viajes++;
+                    enLote = 0;
+                }
+            }
+            if (enLote > 0) {
+                insert.executeBatch();
+                viajes++;
+            }
+        }
+        return viajes;
+    }
+
+    // --- Marcado de leídos ---
+
+    /** Comportamiento anterior: leer los no leídos de la sesión y actualizar cada uno. */
+    private long marcarLeidosPorFila(Connection conexion) throws SQLException {
+        long viajes = 0;
+        try (PreparedStatement select = conexion.prepareStatement(
+                "SELECT ID_MENSAJE FROM CARGA_MENSAJE WHERE ID_SESION_CHAT = ? AND LEIDO = FALSE AND ID_REMITENTE <> ?");
+             PreparedStatement update = conexion.prepareStatement(
+                     "UPDATE CARGA_MENSAJE SET LEIDO = TRUE, FECHA_LECTURA = ? WHERE ID_MENSAJE = ?")) {
+            for (int s = 1; s <= sesiones; s++) {
+                List<Integer> ids = new ArrayList<>(noLeidosPorSesion);
+                select.setInt(1, s);
+                select.setInt(2, 2);
+                try (ResultSet rs = select.executeQuery()) {
+                    while (rs.next()) {
+                        ids.add(rs.getInt(1));
+                    }
+                }
+                viajes++;
+                Timestamp ahora = Timestamp.valueOf(LocalDateTime.now());
+                for (int id : ids) {
+                    update.setTimestamp(1, ahora);
+                    update.setInt(2, id);
+                    update.executeUpdate();
+                    viajes++;
+                }
+                conexion.commit();
+            }
+        }
+        return viajes;
+    }
+
+    /** Comportamiento actual: un UPDATE por sesión (MensajeChatRepository.marcarLeidosPorDestinatario). */
+    private long marcarLeidosMasivo(Connection conexion) throws SQLException {
+        long viajes = 0;
+        try (PreparedStatement update = conexion.prepareStatement(
+                "UPDATE CARGA_MENSAJE SET LEIDO = TRUE, FECHA_LECTURA = ? "
+                        + "WHERE ID_SESION_CHAT = ? AND LEIDO = FALSE AND ID_REMITENTE <> ?")) {
+            for (int s = 1; s <= sesiones; s++) {
+                update.setTimestamp(1, Timestamp.valueOf(LocalDateTime.now()));
+                update.setInt(2, s);
+                update.setInt(3, 2);
+                update.executeUpdate();
+                viajes++;
+                conexion.commit();
+            }
+        }
+        return viajes;
+    }
+}
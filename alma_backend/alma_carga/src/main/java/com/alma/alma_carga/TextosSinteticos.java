@@ -0,0 +1,143 @@
+package com.alma.alma_carga;
+
+import java.util.SplittableRandom;
+
+/**
+ * Repertorio de textos con el que se componen los datos sintéticos. Los mensajes combinan una
+ * apertura y un cuerpo para que haya variedad de longitudes y contenidos sin depender de ficheros
+ * externos, y el vocabulario es el del dominio (duelo, acompañamiento) para que el analizador de
+ * sentimiento y los índices de texto trabajen con datos parecidos a los reales.
+ */
+final class TextosSinteticos {
+
+    static final String[] NOMBRES = {
+        "Lucía", "Hugo", "Martina", "Mateo", "Sofía", "Leo", "Julia", "Daniel", "Paula", "Pablo",
+        "Valeria", "Álvaro", "Carmen", "Manuel", "Elena", "Javier", "Isabel", "Adrián", "Marta", "Diego",
+        "Rosa", "Antonio", "Pilar", "José", "Laura", "Francisco", "Ana", "Miguel", "Nerea", "Sergio"
+    };
+
+    static final String[] APELLIDOS = {
+        "García", "Rodríguez", "González", "Fernández", "López", "Martínez", "Sánchez", "Pérez", "Gómez",
+        "Martín", "Jiménez", "Ruiz", "Hernández", "Díaz", "Moreno", "Muñoz", "Álvarez", "Romero", "Alonso",
+        "Gutiérrez", "Navarro", "Torres", "Domínguez", "Vázquez", "Ramos", "Gil", "Ramírez", "Serrano"
+    };
+
+    static final String[] ESPECIALIDADES = {
+        "Psicología clínica", "Psicología sanitaria", "Duelo y pérdidas", "Psicooncología",
+        "Psicología infantojuvenil", "Terapia familiar", "Psiquiatría", "Trabajo social sanitario"
+    };
+
+    static final String[] GENEROS = {"FEMENINO", "MASCULINO", "NO_BINARIO", "PREFIERO_NO_DECIR"};
+
+    static final String[] MOTIVOS_CITA = {
+        "Seguimiento semanal", "Revisión de objetivos", "Primera consulta", "Sesión de apoyo",
+        "Revisión tras el aniversario", "Valoración del estado de ánimo"
+    };
+
+    private static final String[] APERTURAS_CHAT = {
+        "Hola,", "Buenos días,", "Buenas tardes,", "Te escribo porque", "Quería comentarte que",
+        "Gracias por la sesión,", "Perdona la hora,", "Una pregunta rápida:", "Como hablamos,", "Ayer"
+    };
+
+    private static final String[] CUERPOS_CHAT = {
+        "esta semana he dormido algo mejor aunque sigo despertándome temprano.",
+        "me ha costado mucho volver a la casa de mi madre, pero lo he hecho.",
+        "he hecho el ejercicio de escribir la carta y me ha ayudado bastante.",
+        "hoy es un día difícil, se cumplen seis meses y lo noto mucho.",
+        "¿podríamos mover la cita del jueves a otra hora?",
+        "he salido a caminar todos los días como acordamos.",
+        "a veces siento que nadie entiende lo que estoy pasando.",
+        "mis hijos están más tranquilos y eso me da fuerzas.",
+        "no tengo ganas de ver a nadie, prefiero quedarme en casa.",
+        "he vuelto a reírme con mis amigas, hacía tiempo que no pasaba.",
+        "sigo con la rutina de respiración antes de dormir, noto la diferencia.",
+        "recuerdo mucho a mi padre cuando cocino sus recetas.",
+        "me siento agotado y con mucha rabia, no sé qué hacer con ella.",
+        "te envío el registro de emociones de esta semana.",
+        "creo que estoy preparada para hablar del día del accidente.",
+        "gracias, de verdad, me está ayudando mucho hablar contigo."
+    };
+
+    private static final String[] MENSAJES_IA_USUARIO = {
+        "Hoy me siento muy triste y no tengo ganas de nada.",
+        "He tenido un buen día, he quedado con mi hermana y hemos paseado.",
+        "No sé cómo explicar lo que siento, es como un vacío.",
+        "Estoy muy agradecido por el apoyo que estoy recibiendo.",
+        "Me cuesta concentrarme en el trabajo desde que ella no está.",
+        "Esta mañana he ido al cementerio y he estado tranquila.",
+        "Siento culpa por no haber estado allí en sus últimos días.",
+        "Me alegra ver que poco a poco vuelvo a disfrutar de las cosas.",
+        "Todo me parece inútil, no le veo sentido a seguir así.",
+        "He hablado con mi psicóloga y hemos hecho un plan para la semana.",
+        "Estoy nervioso por la cena familiar del domingo.",
+        "Hoy ha sido un día normal, ni bueno ni malo."
+    };
+
+    private static final String[] RESPUESTAS_IA = {
+        "Gracias por compartirlo. Lo que describes es una reacción muy habitual en el duelo.",
+        "Parece que hoy ha sido un día importante. ¿Qué te ayudó a sentirte así?",
+        "Es comprensible que te sientas así. ¿Te gustaría probar un ejercicio de respiración?",
+        "Me alegra leer eso. Reconocer los pequeños avances es parte del proceso.",
+        "No tienes que hacerlo todo a la vez. ¿Qué pequeño paso podrías dar mañana?",
+        "Si en algún momento sientes que no puedes más, recuerda que puedes llamar al 024.",
+        "Hablar de la culpa es difícil. ¿Lo has podido comentar con tu profesional?",
+        "¿Cómo te gustaría recordar este día dentro de un tiempo?"
+    };
+
+    static final String[] METAS = {
+        "Salir a caminar 20 minutos", "Escribir tres cosas por las que estoy agradecido",
+        "Llamar a un amigo o familiar", "Hacer el ejercicio de respiración antes de dormir",
+        "Preparar una comida completa", "Leer 15 minutos", "Escribir en el diario emocional",
+        "Ordenar un rincón de la casa", "Escuchar la música que me recomendaron",
+        "Acostarme antes de las 23:30", "Tomar el café fuera de casa", "Revisar fotos con calma"
+    };
+
+    static final String[][] FOROS = {
+        {"Primeros días", "Un espacio para quienes acaban de sufrir una pérdida"},
+        {"Pérdida de un hijo", "Madres y padres acompañándose"},
+        {"Duelo por la pareja", "Aprender a vivir de nuevo en solitario"},
+        {"Pérdida de padres", "Cuando se van quienes nos cuidaron"},
+        {"Duelo por suicidio", "Un lugar sin juicios para las personas supervivientes"},
+        {"Fechas señaladas", "Aniversarios, cumpleaños y Navidad"},
+        {"Duelo en jóvenes", "Para quienes afrontan una pérdida antes de los 30"},
+        {"Volver al trabajo", "Experiencias y consejos para retomar la rutina"},
+        {"Duelo migratorio", "Pérdidas lejos de casa"},
+        {"Recursos y lecturas", "Libros, podcasts y actividades que nos han ayudado"},
+        {"Duelo anticipado", "Acompañar una enfermedad larga"},
+        {"Rincón de la memoria", "Compartir recuerdos de quienes ya no están"}
+    };
+
+    private static final String[] MENSAJES_FORO = {
+        "Os leo cada noche y me ayuda saber que no estoy sola.",
+        "Hoy hace un año. Gracias a todos por estar aquí.",
+        "¿A alguien más le pasa que no puede entrar en su habitación?",
+        "Me recomendaron el libro que comentabais y me ha servido mucho.",
+        "Mañana vuelvo al trabajo y tengo mucho miedo.",
+        "Un abrazo enorme, lo que cuentas es exactamente lo que yo sentí.",
+        "Poco a poco, un día detrás de otro. Ánimo.",
+        "He empezado a ir a un grupo presencial y os lo recomiendo."
+    };
+
+    private TextosSinteticos() {
+    }
+
+    static String elegir(String[] opciones, SplittableRandom aleatorio) {
+        return opciones[aleatorio.nextInt(opciones.length)];
+    }
+
+    static String mensajeChat(SplittableRandom aleatorio) {
+        return elegir(APERTURAS_CHAT, aleatorio) + " " + elegir(CUERPOS_CHAT, aleatorio);
+    }
+
+    static String mensajeForo(SplittableRandom aleatorio) {
+        return elegir(MENSAJES_FORO, aleatorio);
+    }
+
+    static String[] mensajesIaUsuario() {
+        return MENSAJES_IA_USUARIO;
+    }
+
+    static String respuestaIa(SplittableRandom aleatorio) {
+        return elegir(RESPUESTAS_IA, aleatorio);
+    }
+}
@@ -0,0 +1,23 @@
+-- =====================================================
+-- V11: REVOCACIÓN DE TOKENS JWT
+-- Versión de token por usuario para el modo de autenticación sin estado
+-- =====================================================
+
+-- MOTIVO:
+-- En el modo "claims-only" el backend construye la autenticación a partir
+-- de los claims firmados del token, sin consultar USUARIO en cada petición.
+-- Para poder invalidar los tokens de un usuario desactivado, eliminado o
+-- con contraseña reseteada, cada token incluye la versión vigente en el
+-- momento de emitirse; incrementar esta columna revoca todos los anteriores.
+
+ALTER TABLE USUARIO
+ADD COLUMN TOKEN_VERSION INTEGER NOT NULL DEFAULT 0;
+
+-- Solo los usuarios con tokens revocados forman parte de la lista en memoria
+CREATE INDEX idx_usuario_token_version ON USUARIO(TOKEN_VERSION) WHERE TOKEN_VERSION > 0;
+
+COMMENT ON COLUMN USUARIO.TOKEN_VERSION IS 'Versión de los tokens JWT del usuario; los tokens con versión inferior se consideran revocados';
+
+-- =====================================================
+-- FIN DE MIGRACIÓN V11
+-- =====================================================
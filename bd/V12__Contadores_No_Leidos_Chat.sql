@@ -0,0 +1,93 @@
+-- =====================================================
+-- V12: CONTADORES MATERIALIZADOS DE MENSAJES NO LEÍDOS
+-- Contador por sesión de chat y destinatario
+-- =====================================================
+
+-- MOTIVO:
+-- El número de mensajes no leídos se recalculaba con COUNT(*) sobre
+-- MENSAJE_CHAT en cada consulta de sesión, de modo que el coste crecía con
+-- la longitud de la conversación. El backend mantiene ahora un contador por
+-- (sesión, destinatario) que se incrementa al enviar un mensaje y se reduce
+-- al marcarlo como leído, con actualizaciones atómicas en la base de datos.
+-- Una tarea periódica corrige cualquier desviación respecto a MENSAJE_CHAT.
+
+-- =====================================================
+-- TABLA: CONTADOR_NO_LEIDOS_CHAT
+-- =====================================================
+CREATE TABLE CONTADOR_NO_LEIDOS_CHAT (
+    ID_CONTADOR SERIAL,
+    ID_SESION_CHAT INTEGER NOT NULL,
+    ID_USUARIO INTEGER NOT NULL,
+    NO_LEIDOS INTEGER NOT NULL DEFAULT 0,
+    FECHA_ACTUALIZACION TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT PK_CONTADOR_NO_LEIDOS_CHAT PRIMARY KEY (ID_CONTADOR),
+    CONSTRAINT UK_CONTADOR_SESION_USUARIO UNIQUE (ID_SESION_CHAT, ID_USUARIO),
+    CONSTRAINT FK_CONTADOR_SESION FOREIGN KEY (ID_SESION_CHAT)
+        REFERENCES SESION_CHAT(ID_SESION_CHAT) ON DELETE CASCADE,
+    CONSTRAINT FK_CONTADOR_USUARIO FOREIGN KEY (ID_USUARIO)
+        REFERENCES USUARIO(ID_USUARIO) ON DELETE CASCADE,
+    CONSTRAINT CK_CONTADOR_NO_NEGATIVO CHECK (NO_LEIDOS >= 0)
+);
+
+CREATE INDEX idx_contador_no_leidos_usuario ON CONTADOR_NO_LEIDOS_CHAT(ID_USUARIO);
+
+COMMENT ON TABLE CONTADOR_NO_LEIDOS_CHAT IS 'Número de mensajes pendientes de leer por cada participante de una sesión de chat';
+COMMENT ON COLUMN CONTADOR_NO_LEIDOS_CHAT.ID_USUARIO IS 'Usuario destinatario de los mensajes pendientes';
+COMMENT ON COLUMN CONTADOR_NO_LEIDOS_CHAT.NO_LEIDOS IS 'Mensajes no leídos enviados por el otro participante';
+
+-- =====================================================
+-- FUNCIÓN DE RECONCILIACIÓN
+-- Recalcula los contadores desde MENSAJE_CHAT y devuelve
+-- cuántos se han corregido
+-- =====================================================
+-- Los envíos y lecturas ajustan el contador en la misma transacción que
+-- modifica MENSAJE_CHAT. Para no pisar esos ajustes, primero se bloquean
+-- todos los contadores y después se recuentan en otra sentencia, cuya
+-- instantánea ya incluye cualquier transacción que los tocara antes del
+-- bloqueo. Las que lleguen después esperan a que termine la reconciliación
+-- y aplican su ajuste sobre el valor corregido.
+CREATE OR REPLACE FUNCTION reconciliar_contadores_no_leidos()
+RETURNS INTEGER AS $$
+DECLARE
+    corregidos INTEGER;
+BEGIN
+    -- Contadores que faltan: se crean a cero y el recuento de abajo los corrige
+    INSERT INTO CONTADOR_NO_LEIDOS_CHAT (ID_SESION_CHAT, ID_USUARIO, NO_LEIDOS)
+    SELECT sc.ID_SESION_CHAT, p.ID_USUARIO, 0
+    FROM SESION_CHAT sc
+    JOIN PACIENTE p ON sc.ID_PACIENTE = p.ID_PACIENTE
+    UNION
+    SELECT sc.ID_SESION_CHAT, prof.ID_USUARIO, 0
+    FROM SESION_CHAT sc
+    JOIN PROFESIONAL prof ON sc.ID_PROFESIONAL = prof.ID_PROFESIONAL
+    ON CONFLICT (ID_SESION_CHAT, ID_USUARIO) DO NOTHING;
+
+    PERFORM 1 FROM CONTADOR_NO_LEIDOS_CHAT ORDER BY ID_CONTADOR FOR UPDATE;
+
+    WITH reales AS (
+        SELECT c.ID_CONTADOR, COUNT(mc.ID_MENSAJE)::INTEGER AS NO_LEIDOS
+        FROM CONTADOR_NO_LEIDOS_CHAT c
+        LEFT JOIN MENSAJE_CHAT mc ON mc.ID_SESION_CHAT = c.ID_SESION_CHAT
+            AND mc.ID_REMITENTE <> c.ID_USUARIO
+            AND mc.LEIDO = FALSE
+        GROUP BY c.ID_CONTADOR
+    )
+    UPDATE CONTADOR_NO_LEIDOS_CHAT c
+    SET NO_LEIDOS = reales.NO_LEIDOS,
+        FECHA_ACTUALIZACION = CURRENT_TIMESTAMP
+    FROM reales
+    WHERE c.ID_CONTADOR = reales.ID_CONTADOR
+      AND c.NO_LEIDOS <> reales.NO_LEIDOS;
+
+    GET DIAGNOSTICS corregidos = ROW_COUNT;
+    RETURN corregidos;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Carga inicial de los contadores con los mensajes existentes
+SELECT reconciliar_contadores_no_leidos();
+
+-- =====================================================
+-- FIN DE MIGRACIÓN V12
+-- =====================================================
@@ -0,0 +1,32 @@
+-- =====================================================
+-- V13: ÍNDICES PARA PAGINACIÓN POR CURSOR DE MENSAJES
+-- Historiales de chat, chat entre pacientes, foros e IA
+-- =====================================================
+
+-- MOTIVO:
+-- Los historiales se consultan por páginas de tamaño fijo ordenadas por
+-- (fecha, id) a partir de un mensaje de referencia. Los índices compuestos
+-- (padre, fecha, id) permiten resolver cada página con un recorrido de
+-- índice acotado, independientemente de la longitud del historial.
+-- Los índices simples sobre la columna padre quedan cubiertos por el prefijo
+-- de los nuevos índices y se eliminan para no penalizar las inserciones.
+
+-- Chat profesional-paciente
+CREATE INDEX idx_mensaje_chat_sesion_fecha_id ON MENSAJE_CHAT(ID_SESION_CHAT, FECHA_ENVIO, ID_MENSAJE);
+DROP INDEX IF EXISTS idx_mensaje_sesion;
+
+-- Chat entre pacientes
+CREATE INDEX idx_mensaje_chat_pac_chat_fecha_id ON MENSAJE_CHAT_PACIENTES(ID_CHAT_PACIENTES, FECHA_ENVIO, ID_MENSAJE);
+DROP INDEX IF EXISTS idx_mensaje_chat_pac_chat;
+
+-- Foros
+CREATE INDEX idx_mensaje_foro_foro_fecha_id ON MENSAJE_FORO(ID_FORO, FECHA_PUBLICACION, ID_MENSAJE_FORO);
+DROP INDEX IF EXISTS idx_mensaje_foro_foro;
+
+-- Conversaciones con la IA
+CREATE INDEX idx_mensaje_ia_sesion_timestamp_id ON MENSAJE_IA(ID_SESION, TIMESTAMP_MENSAJE, ID_MENSAJE_IA);
+DROP INDEX IF EXISTS idx_mensaje_ia_sesion;
+
+-- =====================================================
+-- FIN DE MIGRACIÓN V13
+-- =====================================================
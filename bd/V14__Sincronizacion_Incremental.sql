@@ -0,0 +1,131 @@
+-- =====================================================
+-- V14: SINCRONIZACIÓN INCREMENTAL PARA LA APP MÓVIL
+-- Marcas de modificación y registro de eliminaciones
+-- =====================================================
+
+-- MOTIVO:
+-- La app descargaba completos los listados de citas, metas, sesiones de
+-- chat y mensajes en cada pantalla. El endpoint de sincronización devuelve
+-- solo lo modificado desde la marca de agua del cliente, usando la columna
+-- FECHA_ULTIMA_MODIFICACION, y las eliminaciones mediante "tombstones".
+-- Para que todas las marcas usen el reloj de la base de datos, la función
+-- actualizar_fecha_modificacion() se aplica también en las inserciones.
+
+-- =====================================================
+-- PASO 1: COLUMNAS DE MODIFICACIÓN EN CHAT
+-- =====================================================
+ALTER TABLE SESION_CHAT
+ADD COLUMN FECHA_ULTIMA_MODIFICACION TIMESTAMP DEFAULT CURRENT_TIMESTAMP;
+
+ALTER TABLE MENSAJE_CHAT
+ADD COLUMN FECHA_ULTIMA_MODIFICACION TIMESTAMP DEFAULT CURRENT_TIMESTAMP;
+
+COMMENT ON COLUMN SESION_CHAT.FECHA_ULTIMA_MODIFICACION IS 'Última modificación de la sesión (incluye nueva actividad); usada por la sincronización incremental';
+COMMENT ON COLUMN MENSAJE_CHAT.FECHA_ULTIMA_MODIFICACION IS 'Última modificación del mensaje (p. ej. lectura); usada por la sincronización incremental';
+
+-- =====================================================
+-- PASO 2: TRIGGERS DE MODIFICACIÓN
+-- =====================================================
+CREATE TRIGGER trigger_sesion_chat_modificacion
+BEFORE INSERT OR UPDATE ON SESION_CHAT
+FOR EACH ROW EXECUTE FUNCTION actualizar_fecha_modificacion();
+
+CREATE TRIGGER trigger_mensaje_chat_modificacion
+BEFORE INSERT OR UPDATE ON MENSAJE_CHAT
+FOR EACH ROW EXECUTE FUNCTION actualizar_fecha_modificacion();
+
+-- CITA y META_DIARIA ya tenían trigger de actualización; se añade el de inserción
+CREATE TRIGGER trigger_cita_alta
+BEFORE INSERT ON CITA
+FOR EACH ROW EXECUTE FUNCTION actualizar_fecha_modificacion();
+
+CREATE TRIGGER trigger_meta_alta
+BEFORE INSERT ON META_DIARIA
+FOR EACH ROW EXECUTE FUNCTION actualizar_fecha_modificacion();
+
+-- =====================================================
+-- PASO 3: ÍNDICES PARA CONSULTAS "MODIFICADO DESDE"
+-- =====================================================
+CREATE INDEX idx_cita_paciente_modificacion ON CITA(ID_PACIENTE, FECHA_ULTIMA_MODIFICACION);
+CREATE INDEX idx_cita_profesional_modificacion ON CITA(ID_PROFESIONAL, FECHA_ULTIMA_MODIFICACION);
+CREATE INDEX idx_meta_paciente_modificacion ON META_DIARIA(ID_PACIENTE, FECHA_ULTIMA_MODIFICACION);
+CREATE INDEX idx_mensaje_chat_sesion_modificacion ON MENSAJE_CHAT(ID_SESION_CHAT, FECHA_ULTIMA_MODIFICACION);
+
+-- =====================================================
+-- PASO 4: TABLA REGISTRO_ELIMINACION (TOMBSTONES)
+-- Sin claves foráneas: las entidades referenciadas pueden
+-- haber sido eliminadas también
+-- =====================================================
+CREATE TABLE REGISTRO_ELIMINACION (
+    ID_REGISTRO SERIAL,
+    TIPO_ENTIDAD VARCHAR(30) NOT NULL,
+    ID_ENTIDAD INTEGER NOT NULL,
+    ID_PACIENTE INTEGER,
+    ID_PROFESIONAL INTEGER,
+    FECHA_ELIMINACION TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT PK_REGISTRO_ELIMINACION PRIMARY KEY (ID_REGISTRO),
+    CONSTRAINT CK_TIPO_ENTIDAD_ELIMINADA CHECK (TIPO_ENTIDAD IN ('CITA', 'META', 'SESION_CHAT', 'MENSAJE_CHAT'))
+);
+
+CREATE INDEX idx_eliminacion_paciente_fecha ON REGISTRO_ELIMINACION(ID_PACIENTE, FECHA_ELIMINACION);
+CREATE INDEX idx_eliminacion_profesional_fecha ON REGISTRO_ELIMINACION(ID_PROFESIONAL, FECHA_ELIMINACION);
+CREATE INDEX idx_eliminacion_fecha ON REGISTRO_ELIMINACION(FECHA_ELIMINACION);
+
+COMMENT ON TABLE REGISTRO_ELIMINACION IS 'Registro de entidades eliminadas para la sincronización incremental de los clientes';
+COMMENT ON COLUMN REGISTRO_ELIMINACION.TIPO_ENTIDAD IS 'Tipo de entidad: CITA, META, SESION_CHAT, MENSAJE_CHAT';
+
+-- =====================================================
+-- PASO 5: TRIGGERS DE ELIMINACIÓN
+-- =====================================================
+CREATE OR REPLACE FUNCTION registrar_eliminacion()
+RETURNS TRIGGER AS $$
+DECLARE
+    v_id_paciente INTEGER;
+    v_id_profesional INTEGER;
+BEGIN
+    IF TG_TABLE_NAME = 'cita' THEN
+        INSERT INTO REGISTRO_ELIMINACION (TIPO_ENTIDAD, ID_ENTIDAD, ID_PACIENTE, ID_PROFESIONAL)
+        VALUES ('CITA', OLD.ID_CITA, OLD.ID_PACIENTE, OLD.ID_PROFESIONAL);
+    ELSIF TG_TABLE_NAME = 'meta_diaria' THEN
+        INSERT INTO REGISTRO_ELIMINACION (TIPO_ENTIDAD, ID_ENTIDAD, ID_PACIENTE)
+        VALUES ('META', OLD.ID_META, OLD.ID_PACIENTE);
+    ELSIF TG_TABLE_NAME = 'sesion_chat' THEN
+        INSERT INTO REGISTRO_ELIMINACION (TIPO_ENTIDAD, ID_ENTIDAD, ID_PACIENTE, ID_PROFESIONAL)
+        VALUES ('SESION_CHAT', OLD.ID_SESION_CHAT, OLD.ID_PACIENTE, OLD.ID_PROFESIONAL);
+    ELSIF TG_TABLE_NAME = 'mensaje_chat' THEN
+        -- Si la sesión se está eliminando en cascada ya no es visible: su propio
+        -- registro basta para que el cliente descarte sus mensajes
+        SELECT ID_PACIENTE, ID_PROFESIONAL
+        INTO v_id_paciente, v_id_profesional
+        FROM SESION_CHAT
+        WHERE ID_SESION_CHAT = OLD.ID_SESION_CHAT;
+
+        IF FOUND THEN
+            INSERT INTO REGISTRO_ELIMINACION (TIPO_ENTIDAD, ID_ENTIDAD, ID_PACIENTE, ID_PROFESIONAL)
+            VALUES ('MENSAJE_CHAT', OLD.ID_MENSAJE, v_id_paciente, v_id_profesional);
+        END IF;
+    END IF;
+    RETURN OLD;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trigger_cita_eliminacion
+AFTER DELETE ON CITA
+FOR EACH ROW EXECUTE FUNCTION registrar_eliminacion();
+
+CREATE TRIGGER trigger_meta_eliminacion
+AFTER DELETE ON META_DIARIA
+FOR EACH ROW EXECUTE FUNCTION registrar_eliminacion();
+
+CREATE TRIGGER trigger_sesion_chat_eliminacion
+AFTER DELETE ON SESION_CHAT
+FOR EACH ROW EXECUTE FUNCTION registrar_eliminacion();
+
+CREATE TRIGGER trigger_mensaje_chat_eliminacion
+AFTER DELETE ON MENSAJE_CHAT
+FOR EACH ROW EXECUTE FUNCTION registrar_eliminacion();
+
+-- =====================================================
+-- FIN DE MIGRACIÓN V14
+-- =====================================================
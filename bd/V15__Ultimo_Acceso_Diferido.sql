@@ -0,0 +1,25 @@
+-- =====================================================
+-- V15: ESCRITURA DIFERIDA DE USUARIO.ULTIMO_ACCESO
+-- El último acceso deja de contar como modificación del usuario
+-- =====================================================
+
+-- MOTIVO:
+-- Cada inicio de sesión actualizaba USUARIO.ULTIMO_ACCESO de forma síncrona.
+-- El backend acumula ahora los accesos en memoria y los vuelca periódicamente
+-- en una única sentencia. Además, trigger_usuario_modificacion se disparaba
+-- en esas actualizaciones y marcaba el usuario como modificado; con la
+-- condición WHEN solo se ejecuta si cambia alguna otra columna.
+
+DROP TRIGGER IF EXISTS trigger_usuario_modificacion ON USUARIO;
+
+CREATE TRIGGER trigger_usuario_modificacion
+    BEFORE UPDATE ON USUARIO
+    FOR EACH ROW
+    WHEN ((to_jsonb(OLD) - 'ultimo_acceso') IS DISTINCT FROM (to_jsonb(NEW) - 'ultimo_acceso'))
+    EXECUTE FUNCTION actualizar_fecha_modificacion();
+
+COMMENT ON COLUMN USUARIO.ULTIMO_ACCESO IS 'Último inicio de sesión; se escribe en diferido (puede retrasarse hasta el siguiente volcado)';
+
+-- =====================================================
+-- FIN DE MIGRACIÓN V15
+-- =====================================================
@@ -0,0 +1,46 @@
+-- =====================================================
+-- V16: COLA DE ANÁLISIS DE SESIONES DE IA
+-- Trabajos persistentes para extraer temas y alertas
+-- =====================================================
+
+-- MOTIVO:
+-- Al finalizar una sesión con el chatbot hay que analizar la conversación
+-- completa (temas conversados y alertas para el profesional). Hacerlo dentro
+-- de la petición mantendría abierta la transacción durante todo el análisis.
+-- La finalización solo inserta un trabajo en esta tabla; los workers de
+-- cualquier nodo lo reclaman con SELECT ... FOR UPDATE SKIP LOCKED, de modo
+-- que nunca dos workers procesan el mismo trabajo ni se bloquean entre sí.
+
+CREATE TABLE TRABAJO_ANALISIS_SESION (
+    ID_TRABAJO SERIAL PRIMARY KEY,
+    ID_SESION INTEGER NOT NULL,
+    ESTADO VARCHAR(20) NOT NULL DEFAULT 'PENDIENTE',
+    INTENTOS INTEGER NOT NULL DEFAULT 0,
+    FECHA_CREACION TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    FECHA_DISPONIBLE TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    FECHA_INICIO TIMESTAMP,
+    FECHA_FIN TIMESTAMP,
+    ULTIMO_ERROR TEXT,
+
+    CONSTRAINT FK_TRABAJO_ANALISIS_SESION FOREIGN KEY (ID_SESION)
+        REFERENCES SESION_INTERACCION(ID_SESION) ON DELETE CASCADE,
+    CONSTRAINT CHK_TRABAJO_ANALISIS_ESTADO CHECK (ESTADO IN ('PENDIENTE', 'EN_PROCESO', 'COMPLETADO', 'FALLIDO'))
+);
+
+-- Un único trabajo vivo por sesión (ON CONFLICT DO NOTHING al encolar)
+CREATE UNIQUE INDEX uq_trabajo_analisis_sesion_activo
+    ON TRABAJO_ANALISIS_SESION(ID_SESION) WHERE ESTADO IN ('PENDIENTE', 'EN_PROCESO');
+
+-- Índices parciales: la cola solo recorre los trabajos pendientes o en curso
+CREATE INDEX idx_trabajo_analisis_pendiente
+    ON TRABAJO_ANALISIS_SESION(FECHA_DISPONIBLE, ID_TRABAJO) WHERE ESTADO = 'PENDIENTE';
+CREATE INDEX idx_trabajo_analisis_en_proceso
+    ON TRABAJO_ANALISIS_SESION(FECHA_INICIO) WHERE ESTADO = 'EN_PROCESO';
+
+COMMENT ON TABLE TRABAJO_ANALISIS_SESION IS 'Cola persistente de análisis de sesiones de IA finalizadas';
+COMMENT ON COLUMN TRABAJO_ANALISIS_SESION.FECHA_DISPONIBLE IS 'Momento a partir del cual el trabajo puede reclamarse (reintentos con espera)';
+COMMENT ON COLUMN TRABAJO_ANALISIS_SESION.FECHA_INICIO IS 'Momento en que un worker reclamó el trabajo; si se supera el tiempo máximo vuelve a PENDIENTE';
+
+-- =====================================================
+-- FIN DE MIGRACIÓN V16
+-- =====================================================
@@ -0,0 +1,33 @@
+-- =====================================================
+-- V17: CONTADOR ATÓMICO DE MENSAJES EN SESIONES DE IA
+-- El backend reserva los mensajes con un UPDATE condicional
+-- =====================================================
+
+-- MOTIVO:
+-- El límite de mensajes por sesión se comprobaba con un COUNT previo y el
+-- contador se escribía con lectura-modificación-escritura, por lo que envíos
+-- concurrentes podían superar el límite y perder incrementos. Además
+-- trigger_contador_mensajes_ia recalculaba el contador con un COUNT(*) en
+-- cada inserción. Ahora cada turno reserva sus dos mensajes con
+-- UPDATE ... SET NUMERO_MENSAJES = NUMERO_MENSAJES + 2 WHERE ... <= límite,
+-- que comprueba el límite y actualiza el contador en una sola sentencia.
+
+DROP TRIGGER IF EXISTS trigger_contador_mensajes_ia ON MENSAJE_IA;
+DROP FUNCTION IF EXISTS actualizar_contador_mensajes_ia();
+
+-- Punto de partida coherente con los mensajes existentes
+UPDATE SESION_INTERACCION si
+SET NUMERO_MENSAJES = (
+    SELECT COUNT(*)
+    FROM MENSAJE_IA m
+    WHERE m.ID_SESION = si.ID_SESION
+);
+
+ALTER TABLE SESION_INTERACCION
+ALTER COLUMN NUMERO_MENSAJES SET NOT NULL;
+
+COMMENT ON COLUMN SESION_INTERACCION.NUMERO_MENSAJES IS 'Mensajes reservados en la sesión (usuario y asistente); lo mantiene el backend de forma atómica';
+
+-- =====================================================
+-- FIN DE MIGRACIÓN V17
+-- =====================================================
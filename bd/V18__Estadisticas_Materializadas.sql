@@ -0,0 +1,270 @@
+-- =====================================================
+-- V18: ESTADÍSTICAS MATERIALIZADAS
+-- Contadores por organización y por profesional para los dashboards
+-- =====================================================
+
+-- MOTIVO:
+-- Los dashboards del SUPER_ADMIN y del ADMIN_ORGANIZACION calculaban las
+-- estadísticas con LEFT JOIN + GROUP BY sobre todos los usuarios y todas
+-- las asignaciones en cada petición. Los contadores se guardan ahora en
+-- dos tablas que se actualizan mediante triggers en la misma transacción
+-- que el alta, la asignación o la baja, de modo que cualquier camino de
+-- escritura (registro, asignación, cambios masivos, borrados en cascada)
+-- los mantiene al día. Los dashboards leen una fila por clave primaria.
+-- Una tarea periódica recalcula ambas tablas y corrige cualquier desviación.
+
+-- =====================================================
+-- TABLA: ESTADISTICAS_ORGANIZACION
+-- =====================================================
+CREATE TABLE ESTADISTICAS_ORGANIZACION (
+    ID_ORGANIZACION INTEGER NOT NULL,
+    TOTAL_USUARIOS BIGINT NOT NULL DEFAULT 0,
+    ADMINS BIGINT NOT NULL DEFAULT 0,
+    PROFESIONALES BIGINT NOT NULL DEFAULT 0,
+    PACIENTES BIGINT NOT NULL DEFAULT 0,
+    SUPER_ADMINS BIGINT NOT NULL DEFAULT 0,
+    FECHA_ACTUALIZACION TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT PK_ESTADISTICAS_ORGANIZACION PRIMARY KEY (ID_ORGANIZACION),
+    CONSTRAINT FK_ESTADISTICAS_ORGANIZACION FOREIGN KEY (ID_ORGANIZACION)
+        REFERENCES ORGANIZACION(ID_ORGANIZACION) ON DELETE CASCADE
+);
+
+COMMENT ON TABLE ESTADISTICAS_ORGANIZACION IS 'Número de usuarios de cada tipo por organización, mantenido por triggers sobre USUARIO';
+COMMENT ON COLUMN ESTADISTICAS_ORGANIZACION.TOTAL_USUARIOS IS 'Usuarios de la organización, activos o no';
+
+-- =====================================================
+-- TABLA: ESTADISTICAS_PROFESIONAL
+-- =====================================================
+CREATE TABLE ESTADISTICAS_PROFESIONAL (
+    ID_PROFESIONAL INTEGER NOT NULL,
+    TOTAL_ASIGNACIONES BIGINT NOT NULL DEFAULT 0,
+    ASIGNACIONES_ACTIVAS BIGINT NOT NULL DEFAULT 0,
+    ASIGNACIONES_INACTIVAS BIGINT NOT NULL DEFAULT 0,
+    ASIGNACIONES_PRINCIPALES BIGINT NOT NULL DEFAULT 0,
+    FECHA_ACTUALIZACION TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT PK_ESTADISTICAS_PROFESIONAL PRIMARY KEY (ID_PROFESIONAL),
+    CONSTRAINT FK_ESTADISTICAS_PROFESIONAL FOREIGN KEY (ID_PROFESIONAL)
+        REFERENCES PROFESIONAL(ID_PROFESIONAL) ON DELETE CASCADE
+);
+
+COMMENT ON TABLE ESTADISTICAS_PROFESIONAL IS 'Asignaciones de pacientes por profesional, mantenidas por triggers sobre ASIGNACION_PROFESIONAL_PACIENTE';
+COMMENT ON COLUMN ESTADISTICAS_PROFESIONAL.ASIGNACIONES_ACTIVAS IS 'Pacientes asignados actualmente al profesional';
+
+-- =====================================================
+-- FUNCIONES DE AJUSTE
+-- Un delta positivo crea la fila si no existe; uno negativo
+-- solo actualiza, para no resucitar filas borradas en cascada
+-- =====================================================
+CREATE OR REPLACE FUNCTION ajustar_estadisticas_organizacion(
+    p_id_organizacion INTEGER, p_tipo_usuario VARCHAR, p_delta INTEGER)
+RETURNS VOID AS $$
+DECLARE
+    v_admins INTEGER := CASE WHEN p_tipo_usuario = 'ADMIN_ORGANIZACION' THEN p_delta ELSE 0 END;
+    v_profesionales INTEGER := CASE WHEN p_tipo_usuario = 'PROFESIONAL' THEN p_delta ELSE 0 END;
+    v_pacientes INTEGER := CASE WHEN p_tipo_usuario = 'PACIENTE' THEN p_delta ELSE 0 END;
+    v_super_admins INTEGER := CASE WHEN p_tipo_usuario = 'SUPER_ADMIN' THEN p_delta ELSE 0 END;
+BEGIN
+    IF p_delta > 0 THEN
+        INSERT INTO ESTADISTICAS_ORGANIZACION
+            (ID_ORGANIZACION, TOTAL_USUARIOS, ADMINS, PROFESIONALES, PACIENTES, SUPER_ADMINS)
+        VALUES (p_id_organizacion, p_delta, v_admins, v_profesionales, v_pacientes, v_super_admins)
+        ON CONFLICT (ID_ORGANIZACION) DO UPDATE
+            SET TOTAL_USUARIOS = ESTADISTICAS_ORGANIZACION.TOTAL_USUARIOS + EXCLUDED.TOTAL_USUARIOS,
+                ADMINS = ESTADISTICAS_ORGANIZACION.ADMINS + EXCLUDED.ADMINS,
+                PROFESIONALES = ESTADISTICAS_ORGANIZACION.PROFESIONALES + EXCLUDED.PROFESIONALES,
+                PACIENTES = ESTADISTICAS_ORGANIZACION.PACIENTES + EXCLUDED.PACIENTES,
+                SUPER_ADMINS = ESTADISTICAS_ORGANIZACION.SUPER_ADMINS + EXCLUDED.SUPER_ADMINS,
+                FECHA_ACTUALIZACION = CURRENT_TIMESTAMP;
+    ELSE
+        UPDATE ESTADISTICAS_ORGANIZACION
+        SET TOTAL_USUARIOS = TOTAL_USUARIOS + p_delta,
+            ADMINS = ADMINS + v_admins,
+            PROFESIONALES = PROFESIONALES + v_profesionales,
+            PACIENTES = PACIENTES + v_pacientes,
+            SUPER_ADMINS = SUPER_ADMINS + v_super_admins,
+            FECHA_ACTUALIZACION = CURRENT_TIMESTAMP
+        WHERE ID_ORGANIZACION = p_id_organizacion;
+    END IF;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION ajustar_estadisticas_profesional(
+    p_id_profesional INTEGER, p_activo BOOLEAN, p_es_principal BOOLEAN, p_delta INTEGER)
+RETURNS VOID AS $$
+DECLARE
+    v_activas INTEGER := CASE WHEN p_activo THEN p_delta ELSE 0 END;
+    v_inactivas INTEGER := CASE WHEN p_activo THEN 0 ELSE p_delta END;
+    v_principales INTEGER := CASE WHEN p_es_principal THEN p_delta ELSE 0 END;
+BEGIN
+    IF p_delta > 0 THEN
+        INSERT INTO ESTADISTICAS_PROFESIONAL
+            (ID_PROFESIONAL, TOTAL_ASIGNACIONES, ASIGNACIONES_ACTIVAS, ASIGNACIONES_INACTIVAS, ASIGNACIONES_PRINCIPALES)
+        VALUES (p_id_profesional, p_delta, v_activas, v_inactivas, v_principales)
+        ON CONFLICT (ID_PROFESIONAL) DO UPDATE
+            SET TOTAL_ASIGNACIONES = ESTADISTICAS_PROFESIONAL.TOTAL_ASIGNACIONES + EXCLUDED.TOTAL_ASIGNACIONES,
+                ASIGNACIONES_ACTIVAS = ESTADISTICAS_PROFESIONAL.ASIGNACIONES_ACTIVAS + EXCLUDED.ASIGNACIONES_ACTIVAS,
+                ASIGNACIONES_INACTIVAS = ESTADISTICAS_PROFESIONAL.ASIGNACIONES_INACTIVAS + EXCLUDED.ASIGNACIONES_INACTIVAS,
+                ASIGNACIONES_PRINCIPALES = ESTADISTICAS_PROFESIONAL.ASIGNACIONES_PRINCIPALES + EXCLUDED.ASIGNACIONES_PRINCIPALES,
+                FECHA_ACTUALIZACION = CURRENT_TIMESTAMP;
+    ELSE
+        UPDATE ESTADISTICAS_PROFESIONAL
+        SET TOTAL_ASIGNACIONES = TOTAL_ASIGNACIONES + p_delta,
+            ASIGNACIONES_ACTIVAS = ASIGNACIONES_ACTIVAS + v_activas,
+            ASIGNACIONES_INACTIVAS = ASIGNACIONES_INACTIVAS + v_inactivas,
+            ASIGNACIONES_PRINCIPALES = ASIGNACIONES_PRINCIPALES + v_principales,
+            FECHA_ACTUALIZACION = CURRENT_TIMESTAMP
+        WHERE ID_PROFESIONAL = p_id_profesional;
+    END IF;
+END;
+$$ LANGUAGE plpgsql;
+
+-- =====================================================
+-- TRIGGERS SOBRE USUARIO
+-- Las actualizaciones solo cuentan si cambian el tipo o la organización
+-- =====================================================
+CREATE OR REPLACE FUNCTION actualizar_estadisticas_usuario()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        PERFORM ajustar_estadisticas_organizacion(OLD.ID_ORGANIZACION, OLD.TIPO_USUARIO, -1);
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        PERFORM ajustar_estadisticas_organizacion(NEW.ID_ORGANIZACION, NEW.TIPO_USUARIO, 1);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trigger_estadisticas_usuario
+AFTER INSERT OR DELETE ON USUARIO
+FOR EACH ROW EXECUTE FUNCTION actualizar_estadisticas_usuario();
+
+CREATE TRIGGER trigger_estadisticas_usuario_cambio
+AFTER UPDATE OF TIPO_USUARIO, ID_ORGANIZACION ON USUARIO
+FOR EACH ROW
+WHEN (OLD.TIPO_USUARIO IS DISTINCT FROM NEW.TIPO_USUARIO
+      OR OLD.ID_ORGANIZACION IS DISTINCT FROM NEW.ID_ORGANIZACION)
+EXECUTE FUNCTION actualizar_estadisticas_usuario();
+
+-- =====================================================
+-- TRIGGERS SOBRE ASIGNACION_PROFESIONAL_PACIENTE
+-- Una desactivación pasa la asignación de activas a inactivas
+-- =====================================================
+CREATE OR REPLACE FUNCTION actualizar_estadisticas_asignacion()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        PERFORM ajustar_estadisticas_profesional(OLD.ID_PROFESIONAL, OLD.ACTIVO, OLD.ES_PRINCIPAL, -1);
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        PERFORM ajustar_estadisticas_profesional(NEW.ID_PROFESIONAL, NEW.ACTIVO, NEW.ES_PRINCIPAL, 1);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trigger_estadisticas_asignacion
+AFTER INSERT OR DELETE ON ASIGNACION_PROFESIONAL_PACIENTE
+FOR EACH ROW EXECUTE FUNCTION actualizar_estadisticas_asignacion();
+
+CREATE TRIGGER trigger_estadisticas_asignacion_cambio
+AFTER UPDATE OF ID_PROFESIONAL, ACTIVO, ES_PRINCIPAL ON ASIGNACION_PROFESIONAL_PACIENTE
+FOR EACH ROW
+WHEN (OLD.ID_PROFESIONAL IS DISTINCT FROM NEW.ID_PROFESIONAL
+      OR OLD.ACTIVO IS DISTINCT FROM NEW.ACTIVO
+      OR OLD.ES_PRINCIPAL IS DISTINCT FROM NEW.ES_PRINCIPAL)
+EXECUTE FUNCTION actualizar_estadisticas_asignacion();
+
+-- =====================================================
+-- FUNCIÓN DE RECONCILIACIÓN
+-- Recalcula ambas tablas desde USUARIO y ASIGNACION_PROFESIONAL_PACIENTE
+-- y devuelve cuántas filas se han corregido
+-- =====================================================
+-- Los triggers suman y restan sobre la fila de estadísticas, así que un
+-- recuento tomado al empezar la sentencia y escrito después perdería los
+-- ajustes confirmados entretanto. Cada tabla se bloquea entera antes de
+-- recontar, y el recuento va en una sentencia posterior cuya instantánea ya
+-- incluye las altas y asignaciones que ajustaron esas filas antes del
+-- bloqueo. Los triggers que lleguen después esperan y suman sobre el valor
+-- corregido.
+CREATE OR REPLACE FUNCTION reconciliar_estadisticas()
+RETURNS INTEGER AS $$
+DECLARE
+    corregidas_organizacion INTEGER;
+    corregidas_profesional INTEGER;
+BEGIN
+    -- Filas que faltan: se crean a cero y el recuento de abajo las corrige
+    INSERT INTO ESTADISTICAS_ORGANIZACION (ID_ORGANIZACION)
+    SELECT o.ID_ORGANIZACION FROM ORGANIZACION o
+    ON CONFLICT (ID_ORGANIZACION) DO NOTHING;
+
+    PERFORM 1 FROM ESTADISTICAS_ORGANIZACION ORDER BY ID_ORGANIZACION FOR UPDATE;
+
+    WITH reales AS (
+        SELECT e.ID_ORGANIZACION,
+               COUNT(u.ID_USUARIO) AS TOTAL_USUARIOS,
+               COUNT(u.ID_USUARIO) FILTER (WHERE u.TIPO_USUARIO = 'ADMIN_ORGANIZACION') AS ADMINS,
+               COUNT(u.ID_USUARIO) FILTER (WHERE u.TIPO_USUARIO = 'PROFESIONAL') AS PROFESIONALES,
+               COUNT(u.ID_USUARIO) FILTER (WHERE u.TIPO_USUARIO = 'PACIENTE') AS PACIENTES,
+               COUNT(u.ID_USUARIO) FILTER (WHERE u.TIPO_USUARIO = 'SUPER_ADMIN') AS SUPER_ADMINS
+        FROM ESTADISTICAS_ORGANIZACION e
+        LEFT JOIN USUARIO u ON u.ID_ORGANIZACION = e.ID_ORGANIZACION
+        GROUP BY e.ID_ORGANIZACION
+    )
+    UPDATE ESTADISTICAS_ORGANIZACION e
+    SET TOTAL_USUARIOS = reales.TOTAL_USUARIOS,
+        ADMINS = reales.ADMINS,
+        PROFESIONALES = reales.PROFESIONALES,
+        PACIENTES = reales.PACIENTES,
+        SUPER_ADMINS = reales.SUPER_ADMINS,
+        FECHA_ACTUALIZACION = CURRENT_TIMESTAMP
+    FROM reales
+    WHERE e.ID_ORGANIZACION = reales.ID_ORGANIZACION
+      AND (e.TOTAL_USUARIOS, e.ADMINS, e.PROFESIONALES, e.PACIENTES, e.SUPER_ADMINS)
+          IS DISTINCT FROM
+          (reales.TOTAL_USUARIOS, reales.ADMINS, reales.PROFESIONALES, reales.PACIENTES, reales.SUPER_ADMINS);
+
+    GET DIAGNOSTICS corregidas_organizacion = ROW_COUNT;
+
+    INSERT INTO ESTADISTICAS_PROFESIONAL (ID_PROFESIONAL)
+    SELECT p.ID_PROFESIONAL FROM PROFESIONAL p
+    ON CONFLICT (ID_PROFESIONAL) DO NOTHING;
+
+    PERFORM 1 FROM ESTADISTICAS_PROFESIONAL ORDER BY ID_PROFESIONAL FOR UPDATE;
+
+    WITH reales AS (
+        SELECT e.ID_PROFESIONAL,
+               COUNT(a.ID_ASIGNACION) AS TOTAL_ASIGNACIONES,
+               COUNT(a.ID_ASIGNACION) FILTER (WHERE a.ACTIVO = TRUE) AS ASIGNACIONES_ACTIVAS,
+               COUNT(a.ID_ASIGNACION) FILTER (WHERE a.ACTIVO = FALSE) AS ASIGNACIONES_INACTIVAS,
+               COUNT(a.ID_ASIGNACION) FILTER (WHERE a.ES_PRINCIPAL = TRUE) AS ASIGNACIONES_PRINCIPALES
+        FROM ESTADISTICAS_PROFESIONAL e
+        LEFT JOIN ASIGNACION_PROFESIONAL_PACIENTE a ON a.ID_PROFESIONAL = e.ID_PROFESIONAL
+        GROUP BY e.ID_PROFESIONAL
+    )
+    UPDATE ESTADISTICAS_PROFESIONAL e
+    SET TOTAL_ASIGNACIONES = reales.TOTAL_ASIGNACIONES,
+        ASIGNACIONES_ACTIVAS = reales.ASIGNACIONES_ACTIVAS,
+        ASIGNACIONES_INACTIVAS = reales.ASIGNACIONES_INACTIVAS,
+        ASIGNACIONES_PRINCIPALES = reales.ASIGNACIONES_PRINCIPALES,
+        FECHA_ACTUALIZACION = CURRENT_TIMESTAMP
+    FROM reales
+    WHERE e.ID_PROFESIONAL = reales.ID_PROFESIONAL
+      AND (e.TOTAL_ASIGNACIONES, e.ASIGNACIONES_ACTIVAS, e.ASIGNACIONES_INACTIVAS, e.ASIGNACIONES_PRINCIPALES)
+          IS DISTINCT FROM
+          (reales.TOTAL_ASIGNACIONES, reales.ASIGNACIONES_ACTIVAS,
+           reales.ASIGNACIONES_INACTIVAS, reales.ASIGNACIONES_PRINCIPALES);
+
+    GET DIAGNOSTICS corregidas_profesional = ROW_COUNT;
+    RETURN corregidas_organizacion + corregidas_profesional;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Carga inicial con los usuarios y asignaciones existentes
+SELECT reconciliar_estadisticas();
+
+-- =====================================================
+-- FIN DE MIGRACIÓN V18
+-- =====================================================
@@ -0,0 +1,81 @@
+-- =====================================================
+-- V19: SECUENCIAS AGRUPADAS PARA LAS CLAVES PRIMARIAS
+-- Permite el envío de INSERT en lotes JDBC desde Hibernate
+-- =====================================================
+
+-- MOTIVO:
+-- Con GenerationType.IDENTITY Hibernate necesita ejecutar cada INSERT por
+-- separado para conocer la clave generada, lo que desactiva el batching
+-- JDBC. Las entidades pasan a usar secuencias con el optimizador pooled-lo:
+-- cada llamada a nextval() reserva un bloque de 50 identificadores que el
+-- backend asigna en memoria, y los INSERT se agrupan en lotes.
+--
+-- Las secuencias creadas por SERIAL se renombran a SEQ_<TABLA> y pasan a
+-- incrementar de 50 en 50. El DEFAULT de cada columna sigue apuntando a la
+-- misma secuencia, de modo que los INSERT hechos desde SQL (migraciones,
+-- triggers, cargas manuales) consumen un bloque completo y nunca colisionan
+-- con los identificadores reservados por el backend.
+--
+-- Las tablas que solo se escriben desde SQL (REGISTRO_ELIMINACION,
+-- CONTADOR_NO_LEIDOS_CHAT, TRABAJO_ANALISIS_SESION) mantienen su secuencia
+-- de incremento 1.
+
+-- =====================================================
+-- FUNCIÓN AUXILIAR
+-- Renombra la secuencia SERIAL de la columna y fija el incremento.
+-- Nunca retrocede la secuencia: un identificador ya emitido puede
+-- figurar en REGISTRO_ELIMINACION aunque la fila no exista
+-- =====================================================
+CREATE OR REPLACE FUNCTION migrar_a_secuencia_agrupada(p_tabla TEXT, p_columna TEXT, p_secuencia TEXT)
+RETURNS VOID AS $$
+DECLARE
+    v_actual TEXT;
+    v_maximo BIGINT;
+    v_emitido BIGINT;
+BEGIN
+    v_actual := pg_get_serial_sequence(lower(p_tabla), lower(p_columna));
+    IF v_actual IS NULL THEN
+        RAISE EXCEPTION 'La columna %.% no tiene secuencia asociada', p_tabla, p_columna;
+    END IF;
+
+    EXECUTE format('ALTER SEQUENCE %s RENAME TO %s', v_actual, lower(p_secuencia));
+    EXECUTE format('ALTER SEQUENCE %s INCREMENT BY 50', lower(p_secuencia));
+
+    EXECUTE format('SELECT CASE WHEN is_called THEN last_value ELSE 0 END FROM %s', lower(p_secuencia))
+        INTO v_emitido;
+    EXECUTE format('SELECT COALESCE(MAX(%s), 0) FROM %s', p_columna, p_tabla) INTO v_maximo;
+    v_maximo := GREATEST(v_maximo, v_emitido);
+    PERFORM setval(lower(p_secuencia), GREATEST(v_maximo, 1), v_maximo > 0);
+END;
+$$ LANGUAGE plpgsql;
+
+SELECT migrar_a_secuencia_agrupada('ORGANIZACION', 'ID_ORGANIZACION', 'SEQ_ORGANIZACION');
+SELECT migrar_a_secuencia_agrupada('USUARIO', 'ID_USUARIO', 'SEQ_USUARIO');
+SELECT migrar_a_secuencia_agrupada('PROFESIONAL', 'ID_PROFESIONAL', 'SEQ_PROFESIONAL');
+SELECT migrar_a_secuencia_agrupada('PACIENTE', 'ID_PACIENTE', 'SEQ_PACIENTE');
+SELECT migrar_a_secuencia_agrupada('ASIGNACION_PROFESIONAL_PACIENTE', 'ID_ASIGNACION', 'SEQ_ASIGNACION_PROFESIONAL_PACIENTE');
+SELECT migrar_a_secuencia_agrupada('ADMIN_ORGANIZACION', 'ID_ADMIN', 'SEQ_ADMIN_ORGANIZACION');
+SELECT migrar_a_secuencia_agrupada('SESION_INTERACCION', 'ID_SESION', 'SEQ_SESION_INTERACCION');
+SELECT migrar_a_secuencia_agrupada('AUDITORIA_ADMIN', 'ID_AUDITORIA', 'SEQ_AUDITORIA_ADMIN');
+SELECT migrar_a_secuencia_agrupada('FASE_DUELO', 'ID_FASE', 'SEQ_FASE_DUELO');
+SELECT migrar_a_secuencia_agrupada('PROGRESO_DUELO', 'ID_PROGRESO', 'SEQ_PROGRESO_DUELO');
+SELECT migrar_a_secuencia_agrupada('CITA', 'ID_CITA', 'SEQ_CITA');
+SELECT migrar_a_secuencia_agrupada('SESION_CHAT', 'ID_SESION_CHAT', 'SEQ_SESION_CHAT');
+SELECT migrar_a_secuencia_agrupada('MENSAJE_CHAT', 'ID_MENSAJE', 'SEQ_MENSAJE_CHAT');
+SELECT migrar_a_secuencia_agrupada('MENSAJE_IA', 'ID_MENSAJE_IA', 'SEQ_MENSAJE_IA');
+SELECT migrar_a_secuencia_agrupada('META_DIARIA', 'ID_META', 'SEQ_META_DIARIA');
+SELECT migrar_a_secuencia_agrupada('FORO', 'ID_FORO', 'SEQ_FORO');
+SELECT migrar_a_secuencia_agrupada('MENSAJE_FORO', 'ID_MENSAJE_FORO', 'SEQ_MENSAJE_FORO');
+SELECT migrar_a_secuencia_agrupada('CHAT_PACIENTES', 'ID_CHAT_PACIENTES', 'SEQ_CHAT_PACIENTES');
+SELECT migrar_a_secuencia_agrupada('MENSAJE_CHAT_PACIENTES', 'ID_MENSAJE', 'SEQ_MENSAJE_CHAT_PACIENTES');
+SELECT migrar_a_secuencia_agrupada('PODCAST', 'ID_PODCAST', 'SEQ_PODCAST');
+SELECT migrar_a_secuencia_agrupada('VIDEO', 'ID_VIDEO', 'SEQ_VIDEO');
+SELECT migrar_a_secuencia_agrupada('MUSICA', 'ID_MUSICA', 'SEQ_MUSICA');
+SELECT migrar_a_secuencia_agrupada('USO_RECURSO', 'ID_USO', 'SEQ_USO_RECURSO');
+SELECT migrar_a_secuencia_agrupada('INFORME_EMOCIONAL', 'ID_INFORME', 'SEQ_INFORME_EMOCIONAL');
+
+DROP FUNCTION migrar_a_secuencia_agrupada(TEXT, TEXT, TEXT);
+
+-- =====================================================
+-- FIN DE MIGRACIÓN V19
+-- =====================================================
@@ -0,0 +1,66 @@
+-- =====================================================
+-- V20: MARCAS DE MODIFICACIÓN PARA PETICIONES CONDICIONALES
+-- Validadores ETag / Last-Modified de catálogos y listados
+-- =====================================================
+
+-- MOTIVO:
+-- Los listados que la app refresca constantemente (recursos, foros, fases
+-- del duelo, metas de un paciente, pacientes de un profesional) responden
+-- 304 Not Modified cuando no ha cambiado nada. El validador se calcula con
+-- COUNT, MAX y SUMA de FECHA_ULTIMA_MODIFICACION sobre las filas del
+-- listado, sin cargar entidades.
+--
+-- PODCAST, VIDEO, MUSICA, USO_RECURSO e INFORME_EMOCIONAL tenían desde V9
+-- triggers que asignan FECHA_ULTIMA_MODIFICACION pero no la columna, así que
+-- cualquier UPDATE sobre ellas fallaba. FORO y FASE_DUELO no tenían marca.
+-- Como en V14, la marca se asigna también en las inserciones para que todas
+-- usen el reloj de la base de datos.
+
+-- =====================================================
+-- PASO 1: COLUMNAS DE MODIFICACIÓN
+-- =====================================================
+ALTER TABLE PODCAST ADD COLUMN FECHA_ULTIMA_MODIFICACION TIMESTAMP DEFAULT CURRENT_TIMESTAMP;
+ALTER TABLE VIDEO ADD COLUMN FECHA_ULTIMA_MODIFICACION TIMESTAMP DEFAULT CURRENT_TIMESTAMP;
+ALTER TABLE MUSICA ADD COLUMN FECHA_ULTIMA_MODIFICACION TIMESTAMP DEFAULT CURRENT_TIMESTAMP;
+ALTER TABLE USO_RECURSO ADD COLUMN FECHA_ULTIMA_MODIFICACION TIMESTAMP DEFAULT CURRENT_TIMESTAMP;
+ALTER TABLE INFORME_EMOCIONAL ADD COLUMN FECHA_ULTIMA_MODIFICACION TIMESTAMP DEFAULT CURRENT_TIMESTAMP;
+ALTER TABLE FORO ADD COLUMN FECHA_ULTIMA_MODIFICACION TIMESTAMP DEFAULT CURRENT_TIMESTAMP;
+ALTER TABLE FASE_DUELO ADD COLUMN FECHA_ULTIMA_MODIFICACION TIMESTAMP DEFAULT CURRENT_TIMESTAMP;
+
+COMMENT ON COLUMN FORO.FECHA_ULTIMA_MODIFICACION IS 'Última modificación del foro; usada en los validadores ETag/Last-Modified';
+COMMENT ON COLUMN FASE_DUELO.FECHA_ULTIMA_MODIFICACION IS 'Última modificación de la fase; usada en los validadores ETag/Last-Modified';
+
+-- =====================================================
+-- PASO 2: TRIGGERS DE MODIFICACIÓN
+-- Las tablas de V9 ya tienen el de UPDATE; se añade el de INSERT
+-- =====================================================
+CREATE TRIGGER trigger_podcast_alta
+BEFORE INSERT ON PODCAST
+FOR EACH ROW EXECUTE FUNCTION actualizar_fecha_modificacion();
+
+CREATE TRIGGER trigger_video_alta
+BEFORE INSERT ON VIDEO
+FOR EACH ROW EXECUTE FUNCTION actualizar_fecha_modificacion();
+
+CREATE TRIGGER trigger_musica_alta
+BEFORE INSERT ON MUSICA
+FOR EACH ROW EXECUTE FUNCTION actualizar_fecha_modificacion();
+
+CREATE TRIGGER trigger_foro_modificacion
+BEFORE INSERT OR UPDATE ON FORO
+FOR EACH ROW EXECUTE FUNCTION actualizar_fecha_modificacion();
+
+CREATE TRIGGER trigger_fase_duelo_modificacion
+BEFORE INSERT OR UPDATE ON FASE_DUELO
+FOR EACH ROW EXECUTE FUNCTION actualizar_fecha_modificacion();
+
+-- =====================================================
+-- PASO 3: ÍNDICE PARA EL VALIDADOR DE PACIENTES POR PROFESIONAL
+-- (las metas usan idx_meta_paciente_modificacion, de V14)
+-- =====================================================
+CREATE INDEX idx_asignacion_profesional_modificacion
+ON ASIGNACION_PROFESIONAL_PACIENTE(ID_PROFESIONAL, activo, FECHA_ULTIMA_MODIFICACION);
+
+-- =====================================================
+-- FIN DE MIGRACIÓN V20
+-- =====================================================
@@ -0,0 +1,48 @@
+-- =====================================================
+-- V21: REVOCACIÓN DE TOKENS DE USUARIOS ELIMINADOS
+-- Registro persistente de las cuentas borradas para el modo "claims-only"
+-- =====================================================
+
+-- MOTIVO:
+-- La lista de revocación de cada nodo se recarga leyendo TOKEN_VERSION de
+-- USUARIO (V11). Al borrar un usuario su fila desaparece y los demás nodos
+-- nunca ven la revocación, así que sus tokens siguen siendo válidos hasta
+-- que caducan. El borrado deja ahora una marca en USUARIO_ELIMINADO que la
+-- lista también lee: cualquier token de esos usuarios se rechaza.
+--
+-- La marca la escribe un trigger para cubrir cualquier vía de borrado
+-- (servicio, SQL manual o cascadas). Los identificadores salen de una
+-- secuencia y no se reutilizan, así que la marca no afecta a altas futuras.
+
+-- =====================================================
+-- PASO 1: TABLA USUARIO_ELIMINADO
+-- =====================================================
+CREATE TABLE USUARIO_ELIMINADO (
+    ID_USUARIO INTEGER NOT NULL,
+    FECHA_ELIMINACION TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT PK_USUARIO_ELIMINADO PRIMARY KEY (ID_USUARIO)
+);
+
+COMMENT ON TABLE USUARIO_ELIMINADO IS 'Usuarios borrados; todos sus tokens JWT se consideran revocados';
+
+-- =====================================================
+-- PASO 2: TRIGGER DE ELIMINACIÓN
+-- =====================================================
+CREATE OR REPLACE FUNCTION registrar_usuario_eliminado()
+RETURNS TRIGGER AS $$
+BEGIN
+    INSERT INTO USUARIO_ELIMINADO (ID_USUARIO)
+    VALUES (OLD.ID_USUARIO)
+    ON CONFLICT (ID_USUARIO) DO NOTHING;
+    RETURN OLD;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trigger_usuario_eliminado
+AFTER DELETE ON USUARIO
+FOR EACH ROW EXECUTE FUNCTION registrar_usuario_eliminado();
+
+-- =====================================================
+-- FIN DE MIGRACIÓN V21
+-- =====================================================